@@ -0,0 +1,70 @@
+package com.bankaya.pokemon.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bankaya.pokemon.catalog.PrefixTrie;
+
+/**
+ * Measures the latency distribution of prefix completions over a catalog-sized name set.
+ * <p>
+ * Every invocation completes a random prefix (one to five characters) of a random name, as a
+ * search box does on each keystroke. The sample time mode reports percentiles, including p99,
+ * and the {@code gc} profiler reports the bytes allocated per completion.
+ * </p>
+ *
+ * <p><strong>Run:</strong> {@code mvn -P benchmark test-compile exec:exec
+ * -Dbenchmark=AutocompleteBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class AutocompleteBenchmark {
+
+    /** Trie under test. */
+    private PrefixTrie trie;
+
+    /** Names the prefixes are taken from. */
+    private String[] names;
+
+    /**
+     * Builds the trie.
+     */
+    @Setup
+    public void setup() {
+        trie = PrefixTrie.build(CatalogFixture.createNames());
+        names = CatalogFixture.createNames().keySet().toArray(new String[0]);
+    }
+
+    /**
+     * Completes a random prefix.
+     *
+     * @return The suggestions.
+     */
+    @Benchmark
+    public List<String> complete() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String name = names[random.nextInt(names.length)];
+        return trie.complete(name.substring(0,
+                Math.min(name.length(),
+                        1 + random.nextInt(5))),
+                10);
+    }
+}
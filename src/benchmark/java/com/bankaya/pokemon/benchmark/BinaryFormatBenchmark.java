@@ -0,0 +1,123 @@
+package com.bankaya.pokemon.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Compares the representations of {@code GET /api/v1/pokemon/{nameOrId}}: JSON, CBOR, Smile and
+ * Protocol Buffers.
+ * <p>
+ * {@code encode} writes a random cataloged Pokemon, as the server does; {@code decode} reads one
+ * back, as the consumers do. Both run from four threads with the writers and readers of the
+ * message converters. The setup prints the mean payload size of each format; the {@code gc}
+ * profiler reports the allocation per operation ({@code gc.alloc.rate.norm}).
+ * </p>
+ *
+ * <p><strong>Run:</strong> {@code mvn -P benchmark test-compile exec:exec
+ * -Dbenchmark=BinaryFormatBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx1g", "-Xms1g" })
+public class BinaryFormatBenchmark {
+
+    /** Representation under test. */
+    @Param({ "json", "cbor", "smile", "protobuf" })
+    public String format;
+
+    /** Cataloged Pokemon. */
+    private PokemonDto[] pokemon;
+
+    /** Encoded form of every cataloged Pokemon. */
+    private byte[][] payloads;
+
+    /** Writer of the representation. */
+    private ObjectWriter writer;
+
+    /** Reader of the representation. */
+    private ObjectReader reader;
+
+    /**
+     * Creates the writer and reader of the format and encodes the catalog once.
+     *
+     * @throws IOException If a Pokemon cannot be encoded.
+     */
+    @Setup
+    public void setup() throws IOException {
+        ObjectMapper mapper = switch (format) {
+            case "cbor" -> new ObjectMapper(new CBORFactory());
+            case "smile" -> new ObjectMapper(new SmileFactory());
+            case "protobuf" -> new ProtobufMapper();
+            default -> new ObjectMapper();
+        };
+        writer = mapper.writerFor(PokemonDto.class);
+        reader = mapper.readerFor(PokemonDto.class);
+        if (mapper instanceof ProtobufMapper protobuf) {
+            ProtobufSchema schema = protobuf.generateSchemaFor(PokemonDto.class);
+            writer = writer.with(schema);
+            reader = reader.with(schema);
+        }
+        List<PokemonDto> catalog = CatalogFixture.createCatalog();
+        pokemon = catalog.toArray(PokemonDto[]::new);
+        payloads = new byte[pokemon.length][];
+        long size = 0;
+        for (int i = 0; i < pokemon.length; i++) {
+            payloads[i] = writer.writeValueAsBytes(pokemon[i]);
+            size += payloads[i].length;
+        }
+        System.out.printf("%s: %d bytes per Pokemon%n",
+                format,
+                size / pokemon.length);
+    }
+
+    /**
+     * Encodes a Pokemon.
+     *
+     * @return The payload.
+     * @throws IOException Never.
+     */
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(pokemon[ThreadLocalRandom.current().nextInt(
+                pokemon.length)]);
+    }
+
+    /**
+     * Decodes a Pokemon.
+     *
+     * @return The Pokemon.
+     * @throws IOException Never.
+     */
+    @Benchmark
+    public PokemonDto decode() throws IOException {
+        return reader.readValue(payloads[ThreadLocalRandom.current().nextInt(payloads.length)]);
+    }
+}
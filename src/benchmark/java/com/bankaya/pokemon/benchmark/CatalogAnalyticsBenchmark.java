@@ -0,0 +1,172 @@
+package com.bankaya.pokemon.benchmark;
+
+import java.util.Comparator;
+import java.util.IntSummaryStatistics;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bankaya.pokemon.catalog.CatalogSnapshot;
+import com.bankaya.pokemon.catalog.ColumnScanners;
+import com.bankaya.pokemon.catalog.ColumnStats;
+import com.bankaya.pokemon.catalog.ForkJoinColumnScanner;
+import com.bankaya.pokemon.catalog.IColumnScanner;
+import com.bankaya.pokemon.catalog.ScalarColumnScanner;
+
+/**
+ * Compares the column scanners of the catalog analytics on a base experience column.
+ * <p>
+ * The column holds values between 36 and 635 with 2% unknown values, like the base experience of
+ * the PokeAPI. {@code 1302} rows is the size of the real catalog; the larger sizes show how the
+ * scanners scale. Every scanner runs a filtered aggregate, a histogram and a top-10 query. The
+ * {@code parallel-stream} scanner is the straightforward {@link IntStream#parallel()} version,
+ * kept as a baseline.
+ * </p>
+ *
+ * <p>The {@code vector} scanner is only available when the benchmarks are built with the
+ * {@code java21} profile; otherwise its runs fail in the setup and the other scanners still
+ * run.</p>
+ *
+ * <p><strong>Run:</strong> {@code mvn -P benchmark,java21 test-compile exec:exec
+ * -Dbenchmark=CatalogAnalyticsBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "--add-modules=jdk.incubator.vector" })
+public class CatalogAnalyticsBenchmark {
+
+    /** Scanner under test. */
+    @Param({ "scalar", "parallel-stream", "fork-join", "vector" })
+    public String scanner;
+
+    /** Number of rows of the column. */
+    @Param({ "1302", "100000", "1000000" })
+    public int rows;
+
+    /** Column scanned. */
+    private int[] column;
+
+    /** Scanner instance. */
+    private IColumnScanner instance;
+
+    /**
+     * Builds the column and the scanner.
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        column = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            column[row] = random.nextInt(50) == 0 ? CatalogSnapshot.NULL_INT
+                    : 36 + random.nextInt(600);
+        }
+        instance = switch (scanner) {
+            case "scalar" -> new ScalarColumnScanner();
+            case "parallel-stream" -> new ParallelStreamScanner();
+            case "fork-join" -> new ForkJoinColumnScanner();
+            default -> ColumnScanners.vector();
+        };
+        if (instance == null) {
+            throw new IllegalStateException("Vector API scanner unavailable; build with -P java21");
+        }
+    }
+
+    /**
+     * Aggregates the values between 100 and 300.
+     *
+     * @return The aggregates.
+     */
+    @Benchmark
+    public ColumnStats aggregate() {
+        return instance.aggregate(column,
+                100,
+                300);
+    }
+
+    /**
+     * Counts every known value in buckets of 50.
+     *
+     * @return The bucket counts.
+     */
+    @Benchmark
+    public int[] histogram() {
+        return instance.histogram(column,
+                0,
+                649,
+                50);
+    }
+
+    /**
+     * Ranks the 10 highest values.
+     *
+     * @return The rows.
+     */
+    @Benchmark
+    public int[] topK() {
+        return instance.topK(column,
+                Integer.MIN_VALUE,
+                Integer.MAX_VALUE,
+                10);
+    }
+
+    /**
+     * Baseline scanner built on parallel {@link IntStream}s.
+     */
+    private static final class ParallelStreamScanner implements IColumnScanner {
+
+        @Override
+        public ColumnStats aggregate(int[] column, int min, int max) {
+            int low = Math.max(min, MIN_VALUE);
+            IntSummaryStatistics stats = IntStream.of(column).parallel()
+                    .filter(value -> value >= low && value <= max).summaryStatistics();
+            return stats.getCount() == 0 ? ColumnStats.EMPTY
+                    : new ColumnStats(stats.getCount(), stats.getSum(), stats.getMin(),
+                            stats.getMax());
+        }
+
+        @Override
+        public int[] histogram(int[] column, int min, int max, int bucketWidth) {
+            int low = Math.max(min, MIN_VALUE);
+            int buckets = IColumnScanner.bucketCount(low, max, bucketWidth);
+            return IntStream.of(column).parallel().filter(value -> value >= low && value <= max)
+                    .collect(() -> new int[buckets],
+                            (counts, value) -> counts[(int) (((long) value - low)
+                                    / bucketWidth)]++,
+                            (left, right) -> {
+                                for (int bucket = 0; bucket < buckets; bucket++) {
+                                    left[bucket] += right[bucket];
+                                }
+                            });
+        }
+
+        @Override
+        public int[] topK(int[] column, int min, int max, int k) {
+            int low = Math.max(min, MIN_VALUE);
+            return IntStream.range(0, column.length).parallel()
+                    .filter(row -> column[row] >= low && column[row] <= max).boxed()
+                    .sorted(Comparator.comparingInt((Integer row) -> column[row]).reversed()
+                            .thenComparingInt(row -> row))
+                    .limit(k).mapToInt(Integer::intValue).toArray();
+        }
+
+        @Override
+        public String name() {
+            return "parallel-stream";
+        }
+    }
+}
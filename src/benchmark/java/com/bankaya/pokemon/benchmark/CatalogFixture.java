@@ -0,0 +1,145 @@
+package com.bankaya.pokemon.benchmark;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.bankaya.pokemon.dto.NamedApiResourceDto;
+import com.bankaya.pokemon.dto.PokemonAbilityDto;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.dto.PokemonHeldItemDto;
+import com.bankaya.pokemon.dto.PokemonHeldItemVersionDto;
+
+/**
+ * Generates a synthetic full catalog for the benchmarks.
+ * <p>
+ * The generated records follow the shape of the real PokeAPI catalog: around 1300 Pokemon, each
+ * with one to three abilities out of a few hundred, and some of them holding items with per
+ * version rarities. Every {@link NamedApiResourceDto} is a distinct instance with its own strings,
+ * just like records decoded from JSON. The generator is seeded, so every run builds the same
+ * catalog.
+ * </p>
+ */
+public final class CatalogFixture {
+
+    /** Number of Pokemon in the synthetic catalog. */
+    public static final int CATALOG_SIZE = 1302;
+
+    /** Base URL of the PokeAPI resources. */
+    private static final String BASE_URL = "https://pokeapi.co/api/v2/";
+
+    /** Number of distinct abilities. */
+    private static final int ABILITIES = 307;
+
+    /** Number of distinct held items. */
+    private static final int ITEMS = 120;
+
+    /** Number of distinct game versions. */
+    private static final int VERSIONS = 40;
+
+    /** Syllables used to generate Pokemon-like names. */
+    private static final String[] SYLLABLES = { "pi", "ka", "chu", "char", "man", "der", "bul",
+        "ba", "saur", "squir", "tle", "mew", "two", "ee", "vee", "gar", "dos", "dra", "go", "nite",
+        "lu", "gia", "ho", "oh", "ray", "quaza", "zor", "ua", "mon", "ion" };
+
+    /**
+     * Utility class, not instantiable.
+     */
+    private CatalogFixture() {
+    }
+
+    /**
+     * Creates the synthetic catalog.
+     *
+     * @return The catalog records, ordered by id.
+     */
+    public static List<PokemonDto> createCatalog() {
+        Random random = new Random(42);
+        List<PokemonDto> catalog = new ArrayList<>(CATALOG_SIZE);
+        for (int id = 1; id <= CATALOG_SIZE; id++) {
+            catalog.add(createPokemon(id,
+                    random));
+        }
+        return catalog;
+    }
+
+    /**
+     * Creates a single synthetic Pokemon.
+     *
+     * @param id     The Pokemon id.
+     * @param random The random source.
+     * @return The Pokemon record.
+     */
+    private static PokemonDto createPokemon(int id, Random random) {
+        List<PokemonAbilityDto> abilities = new ArrayList<>();
+        int abilityCount = 1 + random.nextInt(3);
+        for (int slot = 1; slot <= abilityCount; slot++) {
+            int ability = 1 + random.nextInt(ABILITIES);
+            abilities.add(PokemonAbilityDto.builder().slot(slot).isHidden(slot == 3)
+                    .ability(resource("ability",
+                            ability,
+                            "ability-" + ability))
+                    .build());
+        }
+        List<PokemonHeldItemDto> heldItems = new ArrayList<>();
+        int itemCount = random.nextInt(4) == 0 ? 1 + random.nextInt(2) : 0;
+        for (int i = 0; i < itemCount; i++) {
+            int item = 1 + random.nextInt(ITEMS);
+            List<PokemonHeldItemVersionDto> versions = new ArrayList<>();
+            int versionCount = 2 + random.nextInt(17);
+            for (int v = 0; v < versionCount; v++) {
+                int version = 1 + random.nextInt(VERSIONS);
+                versions.add(PokemonHeldItemVersionDto.builder().rarity(1 + random.nextInt(100))
+                        .version(resource("version",
+                                version,
+                                "version-" + version))
+                        .build());
+            }
+            heldItems.add(PokemonHeldItemDto.builder().item(resource("item",
+                    item,
+                    "item-" + item)).versionDetails(versions).build());
+        }
+        return PokemonDto.builder().id(id).name("pokemon-" + id)
+                .baseExperience(36 + random.nextInt(600)).abilities(abilities).heldItems(heldItems)
+                .locationAreaEncounters(BASE_URL + "pokemon/" + id + "/encounters").build();
+    }
+
+    /**
+     * Creates Pokemon-like names, such as {@code pikachar} or {@code dragiamon-go}, for the name
+     * index benchmarks.
+     *
+     * @return The distinct names, indexed to their ids from 1 to {@link #CATALOG_SIZE}.
+     */
+    public static Map<String, Integer> createNames() {
+        Random random = new Random(42);
+        Map<String, Integer> names = new LinkedHashMap<>();
+        while (names.size() < CATALOG_SIZE) {
+            StringBuilder name = new StringBuilder();
+            int syllables = 2 + random.nextInt(3);
+            for (int i = 0; i < syllables; i++) {
+                name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            if (random.nextInt(10) == 0) {
+                name.append('-').append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            names.putIfAbsent(name.toString(),
+                    names.size() + 1);
+        }
+        return names;
+    }
+
+    /**
+     * Creates a resource reference with freshly allocated strings.
+     *
+     * @param type The resource type.
+     * @param id   The resource id.
+     * @param name The resource name.
+     * @return The resource reference.
+     */
+    private static NamedApiResourceDto<?> resource(String type, int id, String name) {
+        return NamedApiResourceDto.builder().name(new String(name))
+                .url(BASE_URL + type + "/" + id + "/").build();
+    }
+}
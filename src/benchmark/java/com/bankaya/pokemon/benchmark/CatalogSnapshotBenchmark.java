@@ -0,0 +1,149 @@
+package com.bankaya.pokemon.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bankaya.pokemon.catalog.CatalogSnapshot;
+import com.bankaya.pokemon.dto.PokemonAbilityDto;
+import com.bankaya.pokemon.dto.PokemonDto;
+
+/**
+ * Compares the object form of the catalog ({@link PokemonDto} graphs) with the columnar
+ * {@link CatalogSnapshot}.
+ * <p>
+ * The setup retains {@code copies} copies of the catalog in the selected form and prints the heap
+ * retained per Pokemon, measured after a full collection. The benchmarks then scan the whole
+ * catalog, reading the base experience of every Pokemon and counting hidden abilities, and
+ * materialize single rows as the serialization edge does.
+ * </p>
+ *
+ * <p><strong>Run:</strong> {@code mvn -P benchmark test-compile exec:exec
+ * -Dbenchmark=CatalogSnapshotBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx1g", "-Xms1g" })
+public class CatalogSnapshotBenchmark {
+
+    /** Representation under test. */
+    @Param({ "objects", "snapshot" })
+    public String form;
+
+    /** Number of retained catalog copies used to measure the memory per Pokemon. */
+    @Param({ "20" })
+    public int copies;
+
+    /** Catalogs in object form. */
+    private List<PokemonDto>[] catalogs;
+
+    /** Catalogs in snapshot form. */
+    private CatalogSnapshot[] snapshots;
+
+    /**
+     * Builds the catalog copies and reports the heap they retain per Pokemon.
+     */
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        long before = usedHeapAfterGc();
+        catalogs = new List[copies];
+        snapshots = new CatalogSnapshot[copies];
+        for (int i = 0; i < copies; i++) {
+            List<PokemonDto> catalog = CatalogFixture.createCatalog();
+            if ("snapshot".equals(form)) {
+                snapshots[i] = CatalogSnapshot.of(catalog);
+            } else {
+                catalogs[i] = catalog;
+            }
+        }
+        long retained = usedHeapAfterGc() - before;
+        System.out.printf("%n[%s] retained heap per Pokemon: %d bytes%n",
+                form,
+                retained / ((long) copies * CatalogFixture.CATALOG_SIZE));
+    }
+
+    /**
+     * Scans the first catalog copy, summing base experience and counting hidden abilities.
+     *
+     * @return The scan result.
+     */
+    @Benchmark
+    public long scan() {
+        return "snapshot".equals(form) ? scanSnapshot(snapshots[0]) : scanObjects(catalogs[0]);
+    }
+
+    /**
+     * Materializes a record, as a response does.
+     *
+     * @return The record.
+     */
+    @Benchmark
+    public PokemonDto materialize() {
+        int row = CatalogFixture.CATALOG_SIZE / 2;
+        return "snapshot".equals(form) ? snapshots[0].materialize(row) : catalogs[0].get(row);
+    }
+
+    /**
+     * Scans the object form.
+     *
+     * @param catalog The catalog.
+     * @return The scan result.
+     */
+    private static long scanObjects(List<PokemonDto> catalog) {
+        long sum = 0;
+        for (PokemonDto pokemon : catalog) {
+            if (pokemon.getBaseExperience() != null) {
+                sum += pokemon.getBaseExperience();
+            }
+            for (PokemonAbilityDto ability : pokemon.getAbilities()) {
+                if (Boolean.TRUE.equals(ability.getIsHidden())) {
+                    sum++;
+                }
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Scans the snapshot form.
+     *
+     * @param snapshot The snapshot.
+     * @return The scan result.
+     */
+    private static long scanSnapshot(CatalogSnapshot snapshot) {
+        long sum = 0;
+        int[] baseExperience = snapshot.baseExperienceColumn();
+        for (int value : baseExperience) {
+            if (value != CatalogSnapshot.NULL_INT) {
+                sum += value;
+            }
+        }
+        return sum + snapshot.hiddenAbilityCount();
+    }
+
+    /**
+     * Returns the heap in use after a full collection.
+     *
+     * @return The used heap, in bytes.
+     */
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
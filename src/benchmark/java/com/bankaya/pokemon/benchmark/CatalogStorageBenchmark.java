@@ -0,0 +1,130 @@
+package com.bankaya.pokemon.benchmark;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.bankaya.pokemon.catalog.HeapPokemonRecordStorage;
+import com.bankaya.pokemon.catalog.IPokemonRecordStorage;
+import com.bankaya.pokemon.catalog.OffHeapPokemonRecordStorage;
+import com.bankaya.pokemon.catalog.ResourceInterner;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares the heap, interned heap and off-heap storages of the catalog records with the whole
+ * catalog cached.
+ * <p>
+ * Each fork runs with a 1 GB heap, like the production pods. After loading the catalog the setup
+ * prints the heap occupancy after a full collection and the direct memory in use; the benchmarks
+ * then measure record reads and a request-like allocation churn, so the {@code gc} profiler
+ * (enabled by the {@code benchmark} Maven profile) reports the GC time and count spent while the
+ * catalog is resident. The difference between the heap occupancy reported for {@code heap} and
+ * {@code heap-interned} is the heap saved by the resource interning table.
+ * </p>
+ *
+ * <p><strong>Run:</strong> {@code mvn -P benchmark test-compile exec:exec
+ * -Dbenchmark=CatalogStorageBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx1g", "-Xms1g" })
+public class CatalogStorageBenchmark {
+
+    /** Storage under test. */
+    @Param({ "heap", "heap-interned", "off-heap" })
+    public String storageType;
+
+    /** Number of times the catalog is replicated, to emulate several caches per pod. */
+    @Param({ "1", "20" })
+    public int copies;
+
+    /** Interning table shared by the interned heap storages. */
+    private final ResourceInterner interner = new ResourceInterner("https://pokeapi.co/api/v2/");
+
+    /** Storages holding the catalog copies. */
+    private IPokemonRecordStorage[] storages;
+
+    /**
+     * Loads the catalog into the storages and reports the memory they use.
+     */
+    @Setup
+    public void setup() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        storages = new IPokemonRecordStorage[copies];
+        for (int i = 0; i < copies; i++) {
+            storages[i] = createStorage(objectMapper);
+            List<PokemonDto> catalog = CatalogFixture.createCatalog();
+            catalog.forEach(storages[i]::put);
+        }
+        System.gc();
+        long heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        long direct = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> "direct".equals(pool.getName()))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed).sum();
+        System.out.printf("%n[%s x%d] heap used after GC: %d KB, direct memory: %d KB%n",
+                storageType,
+                copies,
+                heap / 1024,
+                direct / 1024);
+    }
+
+    /**
+     * Creates the storage selected by {@link #storageType}.
+     *
+     * @param objectMapper The object mapper used to encode off-heap records.
+     * @return The storage.
+     */
+    private IPokemonRecordStorage createStorage(ObjectMapper objectMapper) {
+        switch (storageType) {
+        case "heap-interned":
+            return new HeapPokemonRecordStorage(interner, Long.MAX_VALUE);
+        case "off-heap":
+            return new OffHeapPokemonRecordStorage(objectMapper, Long.MAX_VALUE);
+        default:
+            return new HeapPokemonRecordStorage();
+        }
+    }
+
+    /**
+     * Reads a random record, as a cache hit does.
+     *
+     * @return The record read.
+     */
+    @Benchmark
+    public PokemonDto readRecord() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return storages[random.nextInt(copies)].get(1 + random.nextInt(CatalogFixture.CATALOG_SIZE));
+    }
+
+    /**
+     * Allocates short-lived garbage while the catalog is resident, so the GC profiler reports the
+     * collection cost caused by the cached records.
+     *
+     * @param blackhole Sink preventing dead code elimination.
+     */
+    @Benchmark
+    public void allocationChurn(Blackhole blackhole) {
+        for (int i = 0; i < 64; i++) {
+            blackhole.consume(new byte[4096]);
+        }
+    }
+}
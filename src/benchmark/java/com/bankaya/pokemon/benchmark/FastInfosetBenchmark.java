@@ -0,0 +1,216 @@
+package com.bankaya.pokemon.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bankaya.pokemon.catalog.HeapPokemonRecordStorage;
+import com.bankaya.pokemon.catalog.PokemonCatalogStore;
+import com.bankaya.pokemon.catalog.PokemonRecordConverter;
+import com.bankaya.pokemon.endpoint.MarshallerPool;
+import com.bankaya.pokemon.xsd.GetPokemonAbilitiesResponse;
+import com.bankaya.pokemon.xsd.GetPokemonDetailsResponse;
+import com.bankaya.pokemon.xsd.GetPokemonHeldItemsResponse;
+import com.bankaya.pokemon.xsd.ObjectFactory;
+import com.bankaya.pokemon.xsd.Pokemon;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.xml.fastinfoset.stax.StAXDocumentParser;
+import com.sun.xml.fastinfoset.stax.StAXDocumentSerializer;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Unmarshaller;
+
+/**
+ * Compares the SOAP response envelopes of the three Pokemon operations in text XML and in Fast
+ * Infoset.
+ * <p>
+ * {@code marshal} writes the envelope of a random cataloged Pokemon with the pooled marshallers
+ * of the endpoint, as the server does; {@code parse} reads one back into its JAXB response, as
+ * the consumers do. Both run from four threads over StAX, with the JDK parser and writer for
+ * text XML and those of the Fast Infoset library for binary XML. The setup prints the mean
+ * envelope size of the operation in each format; the {@code gc} profiler reports the allocation
+ * per envelope ({@code gc.alloc.rate.norm}).
+ * </p>
+ *
+ * <p><strong>Run:</strong> {@code mvn -P benchmark test-compile exec:exec
+ * -Dbenchmark=FastInfosetBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx1g", "-Xms1g" })
+public class FastInfosetBenchmark {
+
+    /** Namespace of the SOAP 1.1 envelope. */
+    private static final String SOAP_NS = "http://schemas.xmlsoap.org/soap/envelope/";
+
+    /** Parser factory of the text envelopes. */
+    private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newFactory();
+
+    /** Writer factory of the text envelopes. */
+    private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    /** Encoding under test. */
+    @Param({ "xml", "fastinfoset" })
+    public String format;
+
+    /** Operation whose responses are written. */
+    @Param({ "details", "abilities", "held-items" })
+    public String operation;
+
+    /** Marshallers of the endpoint. */
+    private MarshallerPool marshallers;
+
+    /** Unmarshaller of every benchmark thread. */
+    private ThreadLocal<Unmarshaller> unmarshaller;
+
+    /** Response of every cataloged Pokemon. */
+    private Object[] responses;
+
+    /** Envelope of every response. */
+    private byte[][] envelopes;
+
+    /**
+     * Builds the responses of the operation and writes their envelopes once.
+     *
+     * @throws Exception If an envelope cannot be written.
+     */
+    @Setup
+    public void setup() throws Exception {
+        JAXBContext context = JAXBContext.newInstance(ObjectFactory.class);
+        marshallers = new MarshallerPool(context,
+                8);
+        unmarshaller = ThreadLocal.withInitial(() -> {
+            try {
+                return context.createUnmarshaller();
+            } catch (JAXBException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        PokemonCatalogStore store = new PokemonCatalogStore(new HeapPokemonRecordStorage());
+        CatalogFixture.createCatalog().forEach(store::put);
+        PokemonRecordConverter recordConverter = new PokemonRecordConverter(new ObjectMapper());
+        responses = store.values().stream().map(dto -> response(recordConverter.convert(dto,
+                Pokemon.class))).toArray();
+        envelopes = new byte[responses.length][];
+        long size = 0;
+        for (int i = 0; i < responses.length; i++) {
+            envelopes[i] = write(responses[i]);
+            size += envelopes[i].length;
+        }
+        System.out.printf("%s %s: %d bytes per envelope%n",
+                operation,
+                format,
+                size / responses.length);
+    }
+
+    /**
+     * Writes the envelope of a random response.
+     *
+     * @return The envelope.
+     * @throws XMLStreamException Never.
+     */
+    @Benchmark
+    public byte[] marshal() throws XMLStreamException {
+        return write(responses[ThreadLocalRandom.current().nextInt(responses.length)]);
+    }
+
+    /**
+     * Reads the response of a random envelope.
+     *
+     * @return The JAXB response.
+     * @throws XMLStreamException Never.
+     * @throws JAXBException      Never.
+     */
+    @Benchmark
+    public Object parse() throws XMLStreamException, JAXBException {
+        ByteArrayInputStream in = new ByteArrayInputStream(envelopes[ThreadLocalRandom.current()
+                .nextInt(envelopes.length)]);
+        XMLStreamReader reader = "fastinfoset".equals(format) ? new StAXDocumentParser(in)
+                : INPUT_FACTORY.createXMLStreamReader(in);
+        reader.nextTag();
+        reader.nextTag();
+        reader.nextTag();
+        return unmarshaller.get().unmarshal(reader);
+    }
+
+    /**
+     * Builds the response of the operation as the SOAP adapter does.
+     *
+     * @param pokemon The converted Pokemon.
+     * @return The JAXB response.
+     */
+    private Object response(Pokemon pokemon) {
+        switch (operation) {
+            case "abilities" -> {
+                GetPokemonAbilitiesResponse response = new GetPokemonAbilitiesResponse();
+                response.getAbilities().addAll(pokemon.getAbilities());
+                return response;
+            }
+            case "held-items" -> {
+                GetPokemonHeldItemsResponse response = new GetPokemonHeldItemsResponse();
+                response.getHeldItems().addAll(pokemon.getHeldItems());
+                return response;
+            }
+            default -> {
+                GetPokemonDetailsResponse response = new GetPokemonDetailsResponse();
+                response.setPokemon(pokemon);
+                return response;
+            }
+        }
+    }
+
+    /**
+     * Writes the SOAP 1.1 envelope of a response.
+     *
+     * @param response The JAXB response.
+     * @return The envelope.
+     * @throws XMLStreamException Never.
+     */
+    private byte[] write(Object response) throws XMLStreamException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        XMLStreamWriter writer = "fastinfoset".equals(format) ? new StAXDocumentSerializer(out)
+                : OUTPUT_FACTORY.createXMLStreamWriter(out,
+                        "UTF-8");
+        writer.writeStartDocument();
+        writer.writeStartElement("soapenv",
+                "Envelope",
+                SOAP_NS);
+        writer.writeNamespace("soapenv",
+                SOAP_NS);
+        writer.writeStartElement("soapenv",
+                "Body",
+                SOAP_NS);
+        marshallers.marshal(response,
+                writer);
+        writer.writeEndElement();
+        writer.writeEndElement();
+        writer.writeEndDocument();
+        writer.close();
+        return out.toByteArray();
+    }
+}
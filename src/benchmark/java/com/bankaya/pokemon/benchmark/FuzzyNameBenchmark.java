@@ -0,0 +1,90 @@
+package com.bankaya.pokemon.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bankaya.pokemon.catalog.BkTree;
+import com.bankaya.pokemon.catalog.BkTree.Match;
+
+/**
+ * Measures the latency of fuzzy name lookups over a catalog-sized name set.
+ * <p>
+ * Every invocation searches a random name with one random typo (an inserted, deleted or replaced
+ * character), as the misspelled requests that used to reach the PokeAPI, for different maximum
+ * edit distances.
+ * </p>
+ *
+ * <p><strong>Run:</strong> {@code mvn -P benchmark test-compile exec:exec
+ * -Dbenchmark=FuzzyNameBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FuzzyNameBenchmark {
+
+    /** Maximum edit distance. */
+    @Param({ "1", "2" })
+    public int maxDistance;
+
+    /** Tree under test. */
+    private BkTree tree;
+
+    /** Misspelled names. */
+    private String[] typos;
+
+    /**
+     * Builds the tree and a set of misspelled names.
+     */
+    @Setup
+    public void setup() {
+        tree = BkTree.build(CatalogFixture.createNames());
+        String[] names = CatalogFixture.createNames().keySet().toArray(new String[0]);
+        typos = new String[names.length];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < names.length; i++) {
+            StringBuilder typo = new StringBuilder(names[i]);
+            int position = random.nextInt(typo.length());
+            switch (random.nextInt(3)) {
+            case 0:
+                typo.insert(position,
+                        'z');
+                break;
+            case 1:
+                typo.deleteCharAt(position);
+                break;
+            default:
+                typo.setCharAt(position,
+                        'z');
+            }
+            typos[i] = typo.toString();
+        }
+    }
+
+    /**
+     * Searches a misspelled name.
+     *
+     * @return The suggestions.
+     */
+    @Benchmark
+    public List<Match> search() {
+        return tree.search(typos[ThreadLocalRandom.current().nextInt(typos.length)],
+                maxDistance,
+                3);
+    }
+}
@@ -0,0 +1,171 @@
+package com.bankaya.pokemon.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bankaya.pokemon.api.ContentCoding;
+import com.bankaya.pokemon.api.RenderedResponse;
+import com.bankaya.pokemon.api.RenderedResponseCache;
+import com.bankaya.pokemon.api.RenderedResponseCache.Operation;
+import com.bankaya.pokemon.catalog.HeapPokemonRecordStorage;
+import com.bankaya.pokemon.catalog.PokemonCatalogStore;
+import com.bankaya.pokemon.catalog.PokemonRecordConverter;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares the body of {@code GET /api/v1/pokemon/{nameOrId}} rendered on every request, as the
+ * Spring MVC path does, with the body written from the {@link RenderedResponseCache}.
+ * <p>
+ * Both benchmarks resolve a random cataloged Pokemon by name and write its JSON body to a
+ * discarding channel from four threads. The throughput approximates the requests per second the
+ * serialization step allows, and the {@code gc} profiler reports the allocation per request
+ * ({@code gc.alloc.rate.norm}).
+ * </p>
+ *
+ * <p>{@code gzipPerRequest} and {@code precompressed} compare compressing the cached body on every
+ * request, as a compressing servlet filter would, with writing the gzip variant compressed once.
+ * The setup prints the egress bytes per response of every coding.</p>
+ *
+ * <p><strong>Run:</strong> {@code mvn -P benchmark test-compile exec:exec
+ * -Dbenchmark=RenderedResponseBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx1g", "-Xms1g" })
+public class RenderedResponseBenchmark {
+
+    /** Channel discarding the written bodies. */
+    private static final WritableByteChannel SINK = Channels.newChannel(OutputStream
+            .nullOutputStream());
+
+    /** Object mapper of the message converters. */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /** Converter applied by the services. */
+    private final PokemonRecordConverter recordConverter = new PokemonRecordConverter(
+            objectMapper);
+
+    /** Catalog holding the fixture. */
+    private PokemonCatalogStore store;
+
+    /** Cache under test, filled by the setup. */
+    private RenderedResponseCache cache;
+
+    /** Name of every cataloged Pokemon. */
+    private String[] names;
+
+    /**
+     * Loads the catalog and renders every body once.
+     */
+    @Setup
+    public void setup() {
+        store = new PokemonCatalogStore(new HeapPokemonRecordStorage());
+        CatalogFixture.createCatalog().forEach(store::put);
+        cache = new RenderedResponseCache(store, recordConverter, objectMapper, 64L << 20);
+        names = store.values().stream().map(PokemonDto::getName).toArray(String[]::new);
+        long[] egress = new long[ContentCoding.values().length];
+        for (String name : names) {
+            RenderedResponse response = cache.find(Operation.DETAILS,
+                    name);
+            for (ContentCoding coding : ContentCoding.precompressed()) {
+                egress[coding.ordinal()] += response.length(coding);
+            }
+            egress[ContentCoding.IDENTITY.ordinal()] += cache.get(Operation.DETAILS,
+                    name).remaining();
+        }
+        for (ContentCoding coding : ContentCoding.values()) {
+            System.out.printf("%s: %d bytes per response%n",
+                    coding,
+                    egress[coding.ordinal()] / names.length);
+        }
+    }
+
+    /**
+     * Renders the body on every request.
+     *
+     * @return The number of bytes written.
+     * @throws IOException Never.
+     */
+    @Benchmark
+    public int render() throws IOException {
+        PokemonDto pokemon = store.find(randomName()).get();
+        byte[] body = objectMapper.writeValueAsBytes(recordConverter.convert(pokemon,
+                PokemonDto.class));
+        return SINK.write(ByteBuffer.wrap(body));
+    }
+
+    /**
+     * Writes the cached body.
+     *
+     * @return The number of bytes written.
+     * @throws IOException Never.
+     */
+    @Benchmark
+    public int cached() throws IOException {
+        return SINK.write(cache.get(Operation.DETAILS,
+                randomName()));
+    }
+
+    /**
+     * Compresses the cached body on every request.
+     *
+     * @return The number of bytes written.
+     * @throws IOException Never.
+     */
+    @Benchmark
+    public int gzipPerRequest() throws IOException {
+        ByteBuffer body = cache.get(Operation.DETAILS,
+                randomName());
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.remaining() / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            Channels.newChannel(gzip).write(body);
+        }
+        return SINK.write(ByteBuffer.wrap(out.toByteArray()));
+    }
+
+    /**
+     * Writes the gzip variant compressed when the body entered the cache.
+     *
+     * @return The number of bytes written.
+     * @throws IOException Never.
+     */
+    @Benchmark
+    public int precompressed() throws IOException {
+        return SINK.write(cache.body(cache.find(Operation.DETAILS,
+                randomName()),
+                ContentCoding.GZIP));
+    }
+
+    /**
+     * Picks a random cataloged Pokemon.
+     *
+     * @return Its name.
+     */
+    private String randomName() {
+        return names[ThreadLocalRandom.current().nextInt(names.length)];
+    }
+}
@@ -0,0 +1,132 @@
+package com.bankaya.pokemon.benchmark;
+
+import java.io.OutputStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.transform.stream.StreamResult;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bankaya.pokemon.catalog.HeapPokemonRecordStorage;
+import com.bankaya.pokemon.catalog.PokemonCatalogStore;
+import com.bankaya.pokemon.catalog.PokemonRecordConverter;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.endpoint.SoapPayload;
+import com.bankaya.pokemon.endpoint.SoapPayloadCache;
+import com.bankaya.pokemon.endpoint.SoapPayloadCache.Operation;
+import com.bankaya.pokemon.xsd.GetPokemonDetailsResponse;
+import com.bankaya.pokemon.xsd.Pokemon;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares the {@code getPokemonDetails} payload converted and marshalled on every request with
+ * the fragment served from the {@link SoapPayloadCache}.
+ * <p>
+ * Both benchmarks resolve a random cataloged Pokemon by name and write its payload into a
+ * discarding stream, as it is written into the body of a non-streaming SOAP message. The throughput approximates the requests per second
+ * the serialization step allows from four threads, and the {@code gc} profiler reports the
+ * allocation per request ({@code gc.alloc.rate.norm}).
+ * </p>
+ *
+ * <p><strong>Run:</strong> {@code mvn -P benchmark test-compile exec:exec
+ * -Dbenchmark=SoapPayloadBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx1g", "-Xms1g" })
+public class SoapPayloadBenchmark {
+
+    /** Converter applied by the SOAP adapter. */
+    private final PokemonRecordConverter recordConverter = new PokemonRecordConverter(
+            new ObjectMapper());
+
+    /** Catalog holding the fixture. */
+    private PokemonCatalogStore store;
+
+    /** Cache under test, filled by the setup. */
+    private SoapPayloadCache cache;
+
+    /** Name of every cataloged Pokemon. */
+    private String[] names;
+
+    /**
+     * Loads the catalog and marshals every payload once.
+     */
+    @Setup
+    public void setup() {
+        store = new PokemonCatalogStore(new HeapPokemonRecordStorage());
+        CatalogFixture.createCatalog().forEach(store::put);
+        cache = new SoapPayloadCache(store, 64L << 20);
+        names = store.values().stream().map(PokemonDto::getName).toArray(String[]::new);
+        for (String name : names) {
+            cache.get(Operation.DETAILS,
+                    name,
+                    () -> response(name));
+        }
+    }
+
+    /**
+     * Converts and marshals the payload on every request.
+     */
+    @Benchmark
+    public void marshal() {
+        write(cache.marshal(response(randomName())));
+    }
+
+    /**
+     * Writes the cached payload.
+     */
+    @Benchmark
+    public void cached() {
+        String name = randomName();
+        write(cache.get(Operation.DETAILS,
+                name,
+                () -> response(name)));
+    }
+
+    /**
+     * Builds the response of a Pokemon as the SOAP adapter does.
+     *
+     * @param name The Pokemon name.
+     * @return The JAXB response.
+     */
+    private GetPokemonDetailsResponse response(String name) {
+        GetPokemonDetailsResponse response = new GetPokemonDetailsResponse();
+        response.setPokemon(recordConverter.convert(store.find(name).get(),
+                Pokemon.class));
+        return response;
+    }
+
+    /**
+     * Writes a payload into a discarding stream.
+     *
+     * @param payload The payload.
+     */
+    private static void write(SoapPayload payload) {
+        payload.writeTo(new StreamResult(OutputStream.nullOutputStream()));
+    }
+
+    /**
+     * Picks a random cataloged Pokemon.
+     *
+     * @return Its name.
+     */
+    private String randomName() {
+        return names[ThreadLocalRandom.current().nextInt(names.length)];
+    }
+}
@@ -0,0 +1,180 @@
+package com.bankaya.pokemon.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.namespace.QName;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.oxm.jaxb.Jaxb2Marshaller;
+import org.springframework.ws.WebServiceMessage;
+import org.springframework.ws.WebServiceMessageFactory;
+import org.springframework.ws.server.endpoint.support.PayloadRootUtils;
+import org.springframework.ws.soap.axiom.AxiomSoapMessageFactory;
+import org.springframework.ws.soap.saaj.SaajSoapMessageFactory;
+import org.springframework.ws.transport.TransportConstants;
+import org.springframework.ws.transport.TransportInputStream;
+import org.springframework.xml.transform.TransformerFactoryUtils;
+
+import com.bankaya.pokemon.xsd.GetPokemonDetailsRequest;
+
+/**
+ * Measures the cost of reading a {@code getPokemonDetailsRequest} envelope with the SAAJ message
+ * factory and with the streaming Axiom one of {@code WebServiceConfig}.
+ * <p>
+ * Every operation does what the {@code MessageDispatcherServlet} does before the endpoint method
+ * is called: it creates the message from the request stream, reads the payload root element to
+ * find the endpoint, and unmarshals the request element with JAXB. The average time is the parse
+ * cost per envelope, and the {@code gc} profiler reports the allocation per envelope
+ * ({@code gc.alloc.rate.norm}), which is where the DOM built by SAAJ shows up.
+ * </p>
+ *
+ * <p><strong>Run:</strong> {@code mvn -P benchmark test-compile exec:exec
+ * -Dbenchmark=SoapRequestParseBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx1g", "-Xms1g" })
+public class SoapRequestParseBenchmark {
+
+    /** Transformer factory of the endpoint mapping. */
+    private static final TransformerFactory TRANSFORMER_FACTORY = TransformerFactoryUtils
+            .newInstance();
+
+    /** Message factory under test. */
+    @Param({ "saaj", "axiom" })
+    public String messageFactory;
+
+    /** Whether the requests carry the optional {@code expand} and {@code fields} elements. */
+    @Param({ "false", "true" })
+    public boolean options;
+
+    /** Message factory of the requests. */
+    private WebServiceMessageFactory factory;
+
+    /** Unmarshaller of the request elements. */
+    private Jaxb2Marshaller marshaller;
+
+    /** Request envelope of every cataloged Pokemon id. */
+    private byte[][] envelopes;
+
+    /**
+     * Creates the message factory and the request envelopes.
+     *
+     * @throws Exception If a factory cannot be created.
+     */
+    @Setup
+    public void setup() throws Exception {
+        if ("axiom".equals(messageFactory)) {
+            AxiomSoapMessageFactory axiom = new AxiomSoapMessageFactory();
+            axiom.setPayloadCaching(false);
+            axiom.afterPropertiesSet();
+            factory = axiom;
+        } else {
+            SaajSoapMessageFactory saaj = new SaajSoapMessageFactory();
+            saaj.afterPropertiesSet();
+            factory = saaj;
+        }
+        marshaller = new Jaxb2Marshaller();
+        marshaller.setContextPath(GetPokemonDetailsRequest.class.getPackageName());
+        marshaller.afterPropertiesSet();
+        envelopes = new byte[CatalogFixture.CATALOG_SIZE][];
+        for (int i = 0; i < envelopes.length; i++) {
+            envelopes[i] = envelope(String.valueOf(i + 1)).getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Reads the envelope of a random Pokemon into its request element.
+     *
+     * @return The request element.
+     * @throws IOException          If the envelope cannot be read.
+     * @throws TransformerException If the payload root cannot be read.
+     */
+    @Benchmark
+    public Object parse() throws IOException, TransformerException {
+        WebServiceMessage message = factory.createWebServiceMessage(new EnvelopeInputStream(
+                envelopes[ThreadLocalRandom.current().nextInt(envelopes.length)]));
+        QName root = PayloadRootUtils.getPayloadRootQName(message.getPayloadSource(),
+                TRANSFORMER_FACTORY);
+        if (root == null) {
+            throw new IllegalStateException("Empty payload");
+        }
+        return marshaller.unmarshal(message.getPayloadSource());
+    }
+
+    /**
+     * Writes a request envelope, as sent by a SOAP client.
+     *
+     * @param nameOrId The requested Pokemon.
+     * @return The envelope.
+     */
+    private String envelope(String nameOrId) {
+        String optional = options
+                ? "<pok:expand>abilities</pok:expand><pok:fields>name</pok:fields>"
+                        + "<pok:fields>abilities.ability.name</pok:fields>"
+                : "";
+        return "<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\""
+                + " xmlns:pok=\"http://bankaya.com/pokemon/xsd\"><soapenv:Header/><soapenv:Body>"
+                + "<pok:getPokemonDetailsRequest><pok:nameOrId>" + nameOrId + "</pok:nameOrId>"
+                + optional + "</pok:getPokemonDetailsRequest></soapenv:Body></soapenv:Envelope>";
+    }
+
+    /**
+     * Request stream of a SOAP 1.1 envelope, with its {@code Content-Type} header.
+     */
+    private static final class EnvelopeInputStream extends TransportInputStream {
+
+        /** Envelope bytes. */
+        private final byte[] envelope;
+
+        /**
+         * Creates the stream.
+         *
+         * @param envelope The envelope bytes.
+         */
+        private EnvelopeInputStream(byte[] envelope) {
+            this.envelope = envelope;
+        }
+
+        @Override
+        protected InputStream createInputStream() {
+            return new ByteArrayInputStream(envelope);
+        }
+
+        @Override
+        public Iterator<String> getHeaderNames() {
+            return List.of(TransportConstants.HEADER_CONTENT_TYPE).iterator();
+        }
+
+        @Override
+        public Iterator<String> getHeaders(String name) {
+            return TransportConstants.HEADER_CONTENT_TYPE.equalsIgnoreCase(name) ? List.of(
+                    "text/xml; charset=utf-8").iterator() : Collections.emptyIterator();
+        }
+    }
+}
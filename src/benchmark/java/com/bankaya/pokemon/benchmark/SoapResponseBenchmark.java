@@ -0,0 +1,120 @@
+package com.bankaya.pokemon.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ws.WebServiceMessage;
+import org.springframework.ws.WebServiceMessageFactory;
+import org.springframework.ws.soap.axiom.AxiomSoapMessageFactory;
+import org.springframework.ws.soap.saaj.SaajSoapMessageFactory;
+
+import com.bankaya.pokemon.catalog.HeapPokemonRecordStorage;
+import com.bankaya.pokemon.catalog.PokemonCatalogStore;
+import com.bankaya.pokemon.catalog.PokemonRecordConverter;
+import com.bankaya.pokemon.endpoint.SoapPayloadCache;
+import com.bankaya.pokemon.xsd.GetPokemonHeldItemsResponse;
+import com.bankaya.pokemon.xsd.Pokemon;
+import com.bankaya.pokemon.xsd.PokemonHeldItem;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares writing an uncached {@code getPokemonHeldItems} response into a SAAJ message, where
+ * the response is marshalled into the DOM of the envelope, and into a streaming Axiom message,
+ * where it is marshalled straight into the output stream with a pooled marshaller.
+ * <p>
+ * Every operation creates the response message, sets the payload of a random cataloged Pokemon
+ * as the {@code PokemonEndpoint} does, and writes the message into a discarding stream. The
+ * {@code listScale} parameter repeats the held items of every Pokemon to emulate long lists. The
+ * throughput approximates the responses per second from four threads, and the {@code gc} profiler
+ * reports the memory allocated per response ({@code gc.alloc.rate.norm}).
+ * </p>
+ *
+ * <p><strong>Run:</strong> {@code mvn -P benchmark test-compile exec:exec
+ * -Dbenchmark=SoapResponseBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx1g", "-Xms1g" })
+public class SoapResponseBenchmark {
+
+    /** Message factory under test. */
+    @Param({ "saaj", "axiom" })
+    public String messageFactory;
+
+    /** Number of copies of the held items of every Pokemon. */
+    @Param({ "1", "64" })
+    public int listScale;
+
+    /** Message factory of the responses. */
+    private WebServiceMessageFactory factory;
+
+    /** Cache marshalling the uncached responses; it never caches. */
+    private SoapPayloadCache cache;
+
+    /** Held items response of every cataloged Pokemon. */
+    private GetPokemonHeldItemsResponse[] responses;
+
+    /**
+     * Creates the message factory and the responses of the catalog.
+     *
+     * @throws Exception If a factory cannot be created.
+     */
+    @Setup
+    public void setup() throws Exception {
+        if ("axiom".equals(messageFactory)) {
+            AxiomSoapMessageFactory axiom = new AxiomSoapMessageFactory();
+            axiom.setPayloadCaching(false);
+            axiom.afterPropertiesSet();
+            factory = axiom;
+        } else {
+            SaajSoapMessageFactory saaj = new SaajSoapMessageFactory();
+            saaj.afterPropertiesSet();
+            factory = saaj;
+        }
+        PokemonCatalogStore store = new PokemonCatalogStore(new HeapPokemonRecordStorage());
+        CatalogFixture.createCatalog().forEach(store::put);
+        cache = new SoapPayloadCache(store, 0);
+        PokemonRecordConverter recordConverter = new PokemonRecordConverter(new ObjectMapper());
+        responses = store.values().stream().map(dto -> {
+            List<PokemonHeldItem> items = recordConverter.convert(dto,
+                    Pokemon.class).getHeldItems();
+            GetPokemonHeldItemsResponse response = new GetPokemonHeldItemsResponse();
+            for (int i = 0; i < listScale; i++) {
+                response.getHeldItems().addAll(items);
+            }
+            return response;
+        }).toArray(GetPokemonHeldItemsResponse[]::new);
+    }
+
+    /**
+     * Writes the response of a random Pokemon.
+     *
+     * @throws IOException Never.
+     */
+    @Benchmark
+    public void write() throws IOException {
+        WebServiceMessage message = factory.createWebServiceMessage();
+        cache.marshal(responses[ThreadLocalRandom.current().nextInt(responses.length)]).writeTo(
+                message);
+        message.writeTo(OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,109 @@
+package com.bankaya.pokemon.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bankaya.pokemon.catalog.FieldSelection;
+import com.bankaya.pokemon.catalog.HeapPokemonRecordStorage;
+import com.bankaya.pokemon.catalog.IPokemonRecordStorage;
+import com.bankaya.pokemon.catalog.OffHeapPokemonRecordStorage;
+import com.bankaya.pokemon.catalog.PokemonRecordConverter;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Compares rendering a whole cataloged Pokemon with rendering a sparse fieldset of it, as
+ * {@code GET /api/v1/pokemon/{nameOrId}?fields=...} does.
+ * <p>
+ * {@code render} reads a random record from the storage with the selection, projects it and
+ * writes it as JSON; without {@code fields} the whole record is read and written. With the
+ * off-heap storage the unselected subtrees are skipped while decoding, so the {@code gc} profiler
+ * ({@code gc.alloc.rate.norm}) shows the allocation saved by a narrow selection in addition to the
+ * time.
+ * </p>
+ *
+ * <p><strong>Run:</strong> {@code mvn -P benchmark test-compile exec:exec
+ * -Dbenchmark=SparseFieldsetBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx1g", "-Xms1g" })
+public class SparseFieldsetBenchmark {
+
+    /** Storage under test. */
+    @Param({ "heap", "off-heap" })
+    public String storageType;
+
+    /** Requested fields; empty for the whole Pokemon. */
+    @Param({ "", "id,name,base_experience", "id,name,abilities.ability.name" })
+    public String fields;
+
+    /** Storage holding the catalog. */
+    private IPokemonRecordStorage storage;
+
+    /** Identifiers of the cataloged Pokemon. */
+    private int[] ids;
+
+    /** Parsed selection. */
+    private FieldSelection selection;
+
+    /** Converter projecting the records. */
+    private PokemonRecordConverter recordConverter;
+
+    /** Writer of the JSON bodies. */
+    private ObjectWriter writer;
+
+    /**
+     * Loads the catalog into the storage and parses the selection.
+     */
+    @Setup
+    public void setup() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        storage = "off-heap".equals(storageType) ? new OffHeapPokemonRecordStorage(objectMapper,
+                256L * 1024 * 1024) : new HeapPokemonRecordStorage();
+        List<PokemonDto> catalog = CatalogFixture.createCatalog();
+        catalog.forEach(storage::put);
+        ids = catalog.stream().mapToInt(PokemonDto::getId).toArray();
+        selection = FieldSelection.parse(List.of(fields),
+                FieldSelection.POKEMON);
+        recordConverter = new PokemonRecordConverter(objectMapper);
+        writer = objectMapper.writer();
+    }
+
+    /**
+     * Reads, projects and writes a Pokemon.
+     *
+     * @return The JSON body.
+     * @throws IOException Never.
+     */
+    @Benchmark
+    public byte[] render() throws IOException {
+        int id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        if (selection.isAll()) {
+            return writer.writeValueAsBytes(storage.get(id));
+        }
+        return writer.writeValueAsBytes(recordConverter.project(storage.get(id,
+                selection),
+                selection,
+                JsonNode.class));
+    }
+}
@@ -0,0 +1,209 @@
+package com.bankaya.pokemon.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.bankaya.pokemon.PokemonApplication;
+import com.bankaya.pokemon.catalog.PokemonCatalogStore;
+import com.bankaya.pokemon.grpc.PokemonGrpcServer;
+import com.bankaya.pokemon.grpc.proto.BatchRequest;
+import com.bankaya.pokemon.grpc.proto.CatalogRequest;
+import com.bankaya.pokemon.grpc.proto.PokemonRequest;
+import com.bankaya.pokemon.grpc.proto.PokemonServiceGrpc;
+
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+
+/**
+ * Compares the latency and throughput of the Pokemon details over the three transports: REST
+ * (JSON over HTTP/1.1), SOAP (XML over HTTP/1.1) and gRPC (Protocol Buffers over HTTP/2).
+ * <p>
+ * The setup starts the application on random ports with the synthetic catalog, the gRPC service
+ * enabled and no upstream calls. {@code details} reads a random cataloged Pokemon from 32 client
+ * threads; {@code batch} reads 16 of them, in one {@code GetPokemonBatch} call over gRPC and in
+ * 16 requests over REST and SOAP, which have no batch operation. The response cache is disabled
+ * so that every transport renders its body, and {@code SampleTime} reports the latency
+ * percentiles next to the throughput. The teardown prints the time of a whole
+ * {@code StreamCatalog} call.
+ * </p>
+ *
+ * <p><strong>Run:</strong> {@code mvn -P benchmark test-compile exec:exec
+ * -Dbenchmark=TransportBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(32)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx1g", "-Xms1g" })
+public class TransportBenchmark {
+
+    /** Pokemon read by a {@code batch} operation. */
+    private static final int BATCH_SIZE = 16;
+
+    /** Transport under test. */
+    @Param({ "rest", "soap", "grpc" })
+    public String transport;
+
+    /** Running application. */
+    private ConfigurableApplicationContext context;
+
+    /** HTTP client of the REST API and the SOAP endpoint. */
+    private HttpClient client;
+
+    /** Base URI of the Pokemon resources. */
+    private String restUri;
+
+    /** URI of the SOAP endpoint. */
+    private URI soapUri;
+
+    /** Channel to the gRPC service. */
+    private ManagedChannel channel;
+
+    /** Blocking stub of the gRPC service, thread-safe. */
+    private PokemonServiceGrpc.PokemonServiceBlockingStub stub;
+
+    /**
+     * Starts the application with the gRPC service and loads the synthetic catalog.
+     */
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(PokemonApplication.class).profiles("development")
+                .properties("server.port=0",
+                        "pokemon.catalog.import-on-startup=false",
+                        "pokemon.catalog.load-name-list=false",
+                        "pokemon.response-cache.enabled=false",
+                        "pokemon.grpc.enabled=true",
+                        "pokemon.grpc.port=0")
+                .run();
+        PokemonCatalogStore catalogStore = context.getBean(PokemonCatalogStore.class);
+        CatalogFixture.createCatalog().forEach(catalogStore::put);
+        String base = "http://localhost:" + context.getEnvironment().getProperty(
+                "local.server.port");
+        restUri = base + "/api/v1/pokemon/";
+        soapUri = URI.create(base + "/ws/pokemon");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        channel = NettyChannelBuilder.forAddress("localhost",
+                context.getBean(PokemonGrpcServer.class).getPort()).usePlaintext().build();
+        stub = PokemonServiceGrpc.newBlockingStub(channel);
+    }
+
+    /**
+     * Prints the time of a whole catalog stream, then stops the application.
+     */
+    @TearDown
+    public void tearDown() {
+        long start = System.nanoTime();
+        int[] count = { 0 };
+        stub.streamCatalog(CatalogRequest.getDefaultInstance())
+                .forEachRemaining(pokemon -> count[0]++);
+        System.out.printf("%nStreamCatalog: %d Pokemon in %d ms%n",
+                count[0],
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        channel.shutdownNow();
+        context.close();
+    }
+
+    /**
+     * Reads the details of a random cataloged Pokemon.
+     *
+     * @return The response.
+     * @throws IOException          If the request fails.
+     * @throws InterruptedException If the request is interrupted.
+     */
+    @Benchmark
+    public Object details() throws IOException, InterruptedException {
+        return read(randomId());
+    }
+
+    /**
+     * Reads the details of {@value #BATCH_SIZE} random cataloged Pokemon.
+     *
+     * @return The last response.
+     * @throws IOException          If a request fails.
+     * @throws InterruptedException If a request is interrupted.
+     */
+    @Benchmark
+    public Object batch() throws IOException, InterruptedException {
+        if ("grpc".equals(transport)) {
+            BatchRequest.Builder request = BatchRequest.newBuilder();
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                request.addNamesOrIds(randomId());
+            }
+            return stub.getPokemonBatch(request.build());
+        }
+        Object response = null;
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            response = read(randomId());
+        }
+        return response;
+    }
+
+    /**
+     * Reads the details of a Pokemon over the transport under test.
+     *
+     * @param id The id of the Pokemon.
+     * @return The response.
+     * @throws IOException          If the request fails.
+     * @throws InterruptedException If the request is interrupted.
+     */
+    private Object read(String id) throws IOException, InterruptedException {
+        return switch (transport) {
+            case "grpc" -> stub.getPokemonDetails(PokemonRequest.newBuilder().setNameOrId(id)
+                    .build());
+            case "soap" -> client.send(HttpRequest.newBuilder(soapUri).header("Content-Type",
+                    "text/xml; charset=utf-8").header("SOAPAction",
+                            "\"\"").POST(HttpRequest.BodyPublishers.ofString(envelope(id),
+                                    StandardCharsets.UTF_8)).build(),
+                    HttpResponse.BodyHandlers.ofByteArray()).body();
+            default -> client.send(HttpRequest.newBuilder(URI.create(restUri + id)).GET().build(),
+                    HttpResponse.BodyHandlers.ofByteArray()).body();
+        };
+    }
+
+    /**
+     * Returns the id of a random cataloged Pokemon.
+     *
+     * @return The id.
+     */
+    private static String randomId() {
+        return String.valueOf(1 + ThreadLocalRandom.current().nextInt(
+                CatalogFixture.CATALOG_SIZE));
+    }
+
+    /**
+     * Creates the {@code getPokemonDetailsRequest} envelope of a Pokemon.
+     *
+     * @param nameOrId The name or ID of the Pokemon.
+     * @return The envelope.
+     */
+    private static String envelope(String nameOrId) {
+        return "<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\""
+                + " xmlns:pok=\"http://bankaya.com/pokemon/xsd\"><soapenv:Header/><soapenv:Body>"
+                + "<pok:getPokemonDetailsRequest><pok:nameOrId>" + nameOrId + "</pok:nameOrId>"
+                + "</pok:getPokemonDetailsRequest></soapenv:Body></soapenv:Envelope>";
+    }
+}
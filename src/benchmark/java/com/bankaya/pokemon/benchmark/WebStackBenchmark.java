@@ -0,0 +1,132 @@
+package com.bankaya.pokemon.benchmark;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.bankaya.pokemon.PokemonApplication;
+import com.bankaya.pokemon.catalog.PokemonCatalogStore;
+
+/**
+ * Compares the web stacks of the REST API under load: Spring MVC on Undertow, the same with the
+ * Undertow fast path of the Pokemon reads ({@code pokemon.fast-path.enabled}), and WebFlux on
+ * Reactor Netty (the {@code reactive} profile).
+ * <p>
+ * The setup starts the application on a random port with the synthetic catalog and no upstream
+ * calls; {@code details} then reads random cataloged Pokemon over HTTP from 32 client threads.
+ * With {@code responseCache=false} every request is rendered by the controller, which is the part
+ * of the request that differs between the stacks; with {@code true}, {@code fast-path} writes the
+ * cached bodies on the I/O thread while {@code servlet} writes them from a servlet filter. The teardown prints the threads started since
+ * the setup (live and peak; the client threads are the same for both stacks) and the heap
+ * occupancy after a full collection; the {@code gc} profiler reports the allocation per request
+ * of client and server together.
+ * </p>
+ *
+ * <p><strong>Run:</strong> {@code mvn -P benchmark test-compile exec:exec
+ * -Dbenchmark=WebStackBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(32)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx1g", "-Xms1g" })
+public class WebStackBenchmark {
+
+    /** Web stack under test. */
+    @Param({ "servlet", "fast-path", "reactive" })
+    public String stack;
+
+    /** Whether the cached bodies are served before the controller. */
+    @Param({ "false", "true" })
+    public boolean responseCache;
+
+    /** Running application. */
+    private ConfigurableApplicationContext context;
+
+    /** Client of the application. */
+    private HttpClient client;
+
+    /** Base URI of the Pokemon resources. */
+    private String baseUri;
+
+    /** Live threads before the application started. */
+    private int baselineThreads;
+
+    /**
+     * Starts the application on the stack under test and loads the synthetic catalog.
+     */
+    @Setup
+    public void setup() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        baselineThreads = threads.getThreadCount();
+        context = new SpringApplicationBuilder(PokemonApplication.class).profiles(
+                "reactive".equals(stack) ? new String[] { "development", "reactive" }
+                        : new String[] { "development" })
+                .properties("server.port=0",
+                        "pokemon.catalog.import-on-startup=false",
+                        "pokemon.catalog.load-name-list=false",
+                        "pokemon.response-cache.enabled=" + responseCache,
+                        "pokemon.fast-path.enabled=" + "fast-path".equals(stack))
+                .run();
+        PokemonCatalogStore catalogStore = context.getBean(PokemonCatalogStore.class);
+        CatalogFixture.createCatalog().forEach(catalogStore::put);
+        baseUri = "http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                + "/api/v1/pokemon/";
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        threads.resetPeakThreadCount();
+    }
+
+    /**
+     * Prints the threads and heap used by the application, then stops it.
+     */
+    @TearDown
+    public void tearDown() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        System.gc();
+        long heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        System.out.printf("%n%s: %d live threads, %d peak, %d MB heap after GC%n",
+                stack,
+                threads.getThreadCount() - baselineThreads,
+                threads.getPeakThreadCount() - baselineThreads,
+                heap >> 20);
+        context.close();
+    }
+
+    /**
+     * Reads the details of a random cataloged Pokemon.
+     *
+     * @return The body.
+     * @throws IOException          If the request fails.
+     * @throws InterruptedException If the request is interrupted.
+     */
+    @Benchmark
+    public byte[] details() throws IOException, InterruptedException {
+        int id = 1 + ThreadLocalRandom.current().nextInt(CatalogFixture.CATALOG_SIZE);
+        return client.send(HttpRequest.newBuilder(URI.create(baseUri + id)).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+}
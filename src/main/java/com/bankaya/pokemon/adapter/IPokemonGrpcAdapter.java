@@ -0,0 +1,59 @@
+package com.bankaya.pokemon.adapter;
+
+import java.util.List;
+import com.bankaya.pokemon.grpc.proto.BatchResponse;
+import com.bankaya.pokemon.grpc.proto.Pokemon;
+import com.bankaya.pokemon.grpc.proto.PokemonAbilities;
+import com.bankaya.pokemon.grpc.proto.PokemonHeldItems;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Interface defining the available operations for adapting gRPC calls related to Pokemon.
+ * Provides methods to retrieve Pokemon details, abilities and held items as Protocol Buffers
+ * messages, one at a time, in batches, or for the whole catalog.
+ */
+public interface IPokemonGrpcAdapter {
+
+    /**
+     * Retrieves the complete details of a specific Pokemon.
+     *
+     * @param nameOrId The name or ID of the Pokemon.
+     * @return A {@link Mono} emitting the Pokemon, or empty if it does not exist.
+     */
+    Mono<Pokemon> getPokemonDetails(String nameOrId);
+
+    /**
+     * Retrieves the list of abilities of a specific Pokemon.
+     *
+     * @param nameOrId The name or ID of the Pokemon.
+     * @return A {@link Mono} emitting the abilities, or empty if the Pokemon does not exist.
+     */
+    Mono<PokemonAbilities> getPokemonAbilities(String nameOrId);
+
+    /**
+     * Retrieves the list of held items of a specific Pokemon.
+     *
+     * @param nameOrId The name or ID of the Pokemon.
+     * @param version  The game version to restrict the items to, or {@code null} for every
+     *                 version.
+     * @return A {@link Mono} emitting the held items, or empty if the Pokemon does not exist.
+     */
+    Mono<PokemonHeldItems> getPokemonHeldItems(String nameOrId, String version);
+
+    /**
+     * Retrieves the complete details of several Pokemon.
+     *
+     * @param namesOrIds The names or IDs of the Pokemon.
+     * @return A {@link Mono} emitting the Pokemon found, in request order, and the names or IDs
+     *         not found.
+     */
+    Mono<BatchResponse> getPokemonBatch(List<String> namesOrIds);
+
+    /**
+     * Streams every cataloged Pokemon.
+     *
+     * @return A {@link Flux} emitting the Pokemon by ascending id, as they are requested.
+     */
+    Flux<Pokemon> streamCatalog();
+}
@@ -2,10 +2,19 @@ package com.bankaya.pokemon.adapter;
 
 import java.util.List;
 
+import com.bankaya.pokemon.catalog.FieldSelection;
+import com.bankaya.pokemon.dto.CatalogAnalyticsDto;
+import com.bankaya.pokemon.dto.EvolutionChainDto;
+import com.bankaya.pokemon.dto.HeldItemRarityDto;
+import com.bankaya.pokemon.dto.LocationAreaEncounterDto;
 import com.bankaya.pokemon.dto.PokemonAbilityDto;
 import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.dto.PokemonExpandedDto;
 import com.bankaya.pokemon.dto.PokemonHeldItemDto;
+import com.bankaya.pokemon.dto.PokemonSearchResultDto;
+import com.fasterxml.jackson.databind.JsonNode;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -23,6 +32,34 @@ public interface IPokemonRestAdapter {
      */
     Mono<PokemonDto> getPokemonDetails(String nameOrId);
 
+    /**
+     * Retrieves the complete details of a specific Pokemon together with the details of the
+     * resources it references.
+     *
+     * @param nameOrId The name or ID of the Pokemon whose details are to be fetched.
+     * @param expand   The names of the referenced resources to resolve, such as
+     *                 {@code abilities} or {@code items}.
+     * @return A {@link Mono} emitting a {@link PokemonExpandedDto} containing the details of the
+     *         requested Pokemon and of the requested resources, or a {@code 400 Bad Request}
+     *         {@link org.springframework.web.server.ResponseStatusException} if an expansion is
+     *         unknown.
+     */
+    Mono<PokemonExpandedDto> getPokemonDetails(String nameOrId, List<String> expand);
+
+    /**
+     * Retrieves the details of a specific Pokemon together with the details of the resources it
+     * references, restricting the Pokemon to the selected fields.
+     *
+     * @param nameOrId The name or ID of the Pokemon whose details are to be fetched.
+     * @param expand   The names of the referenced resources to resolve.
+     * @param fields   The fields of the Pokemon to return.
+     * @return A {@link Mono} emitting the JSON form of a {@link PokemonExpandedDto} whose
+     *         {@code pokemon} only holds the selected fields, or a {@code 400 Bad Request}
+     *         {@link org.springframework.web.server.ResponseStatusException} if an expansion is
+     *         unknown.
+     */
+    Mono<JsonNode> getPokemonDetails(String nameOrId, List<String> expand, FieldSelection fields);
+
     /**
      * Retrieves the list of abilities of a specific Pokemon.
      *
@@ -41,4 +78,120 @@ public interface IPokemonRestAdapter {
      */
     Mono<List<PokemonHeldItemDto>> getPokemonHeldItems(String nameOrId);
 
+    /**
+     * Retrieves the list of items held by a specific Pokemon in a single game version.
+     *
+     * @param nameOrId The name or ID of the Pokemon whose held items are to be fetched.
+     * @param version  The name of the game version.
+     * @return A {@link Mono} emitting a {@link List} of {@link PokemonHeldItemDto} whose version
+     *         details are restricted to the requested version.
+     */
+    Mono<List<PokemonHeldItemDto>> getPokemonHeldItems(String nameOrId, String version);
+
+    /**
+     * Retrieves the selected fields of a specific Pokemon.
+     *
+     * @param nameOrId The name or ID of the Pokemon whose details are to be fetched.
+     * @param fields   The fields to return.
+     * @return A {@link Mono} emitting a JSON object holding only the selected fields.
+     */
+    Mono<JsonNode> getPokemonDetails(String nameOrId, FieldSelection fields);
+
+    /**
+     * Retrieves the selected fields of the abilities of a specific Pokemon.
+     *
+     * @param nameOrId The name or ID of the Pokemon whose abilities are to be fetched.
+     * @param fields   The fields to return in every ability.
+     * @return A {@link Mono} emitting a JSON object per ability holding only the selected fields.
+     */
+    Mono<List<JsonNode>> getPokemonAbilities(String nameOrId, FieldSelection fields);
+
+    /**
+     * Retrieves the selected fields of the items held by a specific Pokemon.
+     *
+     * @param nameOrId The name or ID of the Pokemon whose held items are to be fetched.
+     * @param version  The game version to restrict the items to, or {@code null}.
+     * @param fields   The fields to return in every held item.
+     * @return A {@link Mono} emitting a JSON object per held item holding only the selected
+     *         fields.
+     */
+    Mono<List<JsonNode>> getPokemonHeldItems(String nameOrId, String version,
+            FieldSelection fields);
+
+    /**
+     * Retrieves the location areas where a specific Pokemon can be encountered.
+     *
+     * @param nameOrId The name or ID of the Pokemon whose encounters are to be fetched.
+     * @return A {@link Flux} emitting the {@link LocationAreaEncounterDto} of the requested
+     *         Pokemon as they are resolved.
+     */
+    Flux<LocationAreaEncounterDto> getPokemonEncounters(String nameOrId);
+
+    /**
+     * Retrieves the evolution chain of a specific Pokemon with the details of every member.
+     *
+     * @param nameOrId The name or ID of any member of the chain.
+     * @return A {@link Mono} emitting the {@link EvolutionChainDto} of the requested Pokemon.
+     */
+    Mono<EvolutionChainDto> getPokemonEvolution(String nameOrId);
+
+    /**
+     * Searches the catalog for the Pokemon having a combination of abilities, held items and game
+     * versions.
+     *
+     * @param abilities Names of the abilities to match.
+     * @param items     Names of the held items to match.
+     * @param versions  Names of the game versions in which the Pokemon holds an item.
+     * @param matchAll  {@code true} to require every given resource, {@code false} to require any
+     *                  of them.
+     * @return A {@link Mono} emitting a {@link PokemonSearchResultDto} with the matching Pokemon.
+     */
+    Mono<PokemonSearchResultDto> searchPokemon(List<String> abilities, List<String> items,
+            List<String> versions, boolean matchAll);
+
+    /**
+     * Finds the items held in a game version with at least a given rarity.
+     *
+     * @param version   The name of the game version.
+     * @param minRarity The minimum rarity, in percent.
+     * @param limit     The maximum number of results.
+     * @return A {@link Mono} emitting a {@link List} of {@link HeldItemRarityDto}, most common
+     *         first.
+     */
+    Mono<List<HeldItemRarityDto>> findHeldItemsByRarity(String version, int minRarity, int limit);
+
+    /**
+     * Completes a partial Pokemon name.
+     *
+     * @param prefix The beginning of the name.
+     * @param limit  The maximum number of suggestions.
+     * @return A {@link Mono} emitting the matching names, best ranked first.
+     */
+    Mono<List<String>> autocomplete(String prefix, int limit);
+
+    /**
+     * Suggests the known Pokemon names closest to a possibly misspelled name.
+     *
+     * @param name  The name typed by the user.
+     * @param limit The maximum number of suggestions.
+     * @return A {@link Mono} emitting the closest names, closest first.
+     */
+    Mono<List<String>> suggestNames(String name, int limit);
+
+    /**
+     * Aggregates a numeric attribute over the whole catalog.
+     *
+     * @param attribute   The case-insensitive attribute name: {@code id}, {@code base_experience},
+     *                    {@code ability_count} or {@code held_item_count}.
+     * @param min         The inclusive lower bound, {@code null} for none.
+     * @param max         The inclusive upper bound, {@code null} for none.
+     * @param bucketWidth The width of the histogram buckets, {@code null} for no histogram.
+     * @param top         The number of Pokemon with the highest values to return.
+     * @return A {@link Mono} emitting the aggregates, histogram and ranking, or a
+     *         {@code 400 Bad Request} {@link org.springframework.web.server.ResponseStatusException}
+     *         if the attribute is unknown.
+     */
+    Mono<CatalogAnalyticsDto> analyzeCatalog(String attribute, Integer min, Integer max,
+            Integer bucketWidth, int top);
+
 }
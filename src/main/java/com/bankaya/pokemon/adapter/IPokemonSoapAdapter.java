@@ -4,6 +4,8 @@ import com.bankaya.pokemon.xsd.GetPokemonAbilitiesRequest;
 import com.bankaya.pokemon.xsd.GetPokemonAbilitiesResponse;
 import com.bankaya.pokemon.xsd.GetPokemonDetailsRequest;
 import com.bankaya.pokemon.xsd.GetPokemonDetailsResponse;
+import com.bankaya.pokemon.xsd.GetPokemonEncountersRequest;
+import com.bankaya.pokemon.xsd.GetPokemonEncountersResponse;
 import com.bankaya.pokemon.xsd.GetPokemonHeldItemsRequest;
 import com.bankaya.pokemon.xsd.GetPokemonHeldItemsResponse;
 
@@ -39,4 +41,14 @@ public interface IPokemonSoapAdapter {
      * @return A response object containing the list of items held by the requested Pokemon.
      */
     GetPokemonHeldItemsResponse getPokemonHeldItems(GetPokemonHeldItemsRequest request);
+
+    /**
+     * Retrieves the location areas where a specific Pokemon can be encountered.
+     *
+     * @param request The request object containing the name or ID of the Pokemon whose encounters
+     *                are to be fetched.
+     * @return A response object containing the resolved encounters of the requested Pokemon.
+     */
+    GetPokemonEncountersResponse getPokemonEncounters(GetPokemonEncountersRequest request);
+
 }
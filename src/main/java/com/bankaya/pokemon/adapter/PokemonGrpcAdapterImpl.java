@@ -0,0 +1,151 @@
+package com.bankaya.pokemon.adapter;
+
+import java.util.List;
+import java.util.Optional;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import com.bankaya.pokemon.dto.PokemonAbilityDto;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.dto.PokemonHeldItemDto;
+import com.bankaya.pokemon.grpc.PokemonProtoConverter;
+import com.bankaya.pokemon.grpc.proto.BatchResponse;
+import com.bankaya.pokemon.grpc.proto.Pokemon;
+import com.bankaya.pokemon.grpc.proto.PokemonAbilities;
+import com.bankaya.pokemon.grpc.proto.PokemonHeldItems;
+import com.bankaya.pokemon.service.IPokemonCatalogService;
+import com.bankaya.pokemon.service.IPokemonService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementation of the {@link IPokemonGrpcAdapter} interface that utilizes {@link IPokemonService}
+ * to interact with Pokemon services and provide responses to gRPC calls.
+ * <p>
+ * This class is managed by the Spring container and uses dependency injection to receive an
+ * instance of {@link IPokemonService}. The DTOs are converted to the Protocol Buffers messages
+ * with the {@link PokemonProtoConverter}.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Component
+public class PokemonGrpcAdapterImpl implements IPokemonGrpcAdapter {
+
+    /**
+     * Number of Pokemon of a batch resolved at the same time.
+     */
+    static final int BATCH_CONCURRENCY = 16;
+
+    /**
+     * Service providing operations related to Pokemon.
+     */
+    private final IPokemonService pokemonService;
+
+    /**
+     * Service answering catalog-wide queries.
+     */
+    private final IPokemonCatalogService catalogService;
+
+    /**
+     * {@inheritDoc}
+     *
+     * Implements the retrieval of Pokemon details using the {@link IPokemonService}.
+     */
+    @Override
+    public Mono<Pokemon> getPokemonDetails(String nameOrId) {
+        return pokemonService.getPokemonDetails(nameOrId,
+                PokemonDto.class).map(PokemonProtoConverter::toProto);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Implements the retrieval of a Pokemon's abilities using the {@link IPokemonService}.
+     */
+    @Override
+    public Mono<PokemonAbilities> getPokemonAbilities(String nameOrId) {
+        return pokemonService.getPokemonAbilities(nameOrId,
+                new TypeReference<List<PokemonAbilityDto>>() {
+                }).map(abilities -> PokemonAbilities.newBuilder().addAllAbilities(
+                        PokemonProtoConverter.abilities(abilities)).build());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Implements the retrieval of items held by a Pokemon using the {@link IPokemonService}.
+     */
+    @Override
+    public Mono<PokemonHeldItems> getPokemonHeldItems(String nameOrId, String version) {
+        TypeReference<List<PokemonHeldItemDto>> typeRef = new TypeReference<>() {
+        };
+        Mono<List<PokemonHeldItemDto>> heldItems = version == null || version.isBlank()
+                ? pokemonService.getPokemonHeldItems(nameOrId,
+                        typeRef)
+                : pokemonService.getPokemonHeldItems(nameOrId,
+                        version,
+                        typeRef);
+        return heldItems.map(items -> PokemonHeldItems.newBuilder().addAllHeldItems(
+                PokemonProtoConverter.heldItems(items)).build());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Resolves up to {@link #BATCH_CONCURRENCY} Pokemon at the same time with the
+     * {@link IPokemonService}, keeping the request order. Pokemon answered with {@code 404 Not
+     * Found} are listed as not found; any other error fails the batch.
+     */
+    @Override
+    public Mono<BatchResponse> getPokemonBatch(List<String> namesOrIds) {
+        return Flux.fromIterable(namesOrIds).flatMapSequential(nameOrId -> getPokemonDetails(
+                nameOrId).map(Optional::of).onErrorResume(PokemonGrpcAdapterImpl::isNotFound,
+                        e -> Mono.empty()).defaultIfEmpty(Optional.empty()).map(
+                                pokemon -> new BatchEntry(nameOrId,
+                                        pokemon.orElse(null))),
+                BATCH_CONCURRENCY).collect(BatchResponse::newBuilder,
+                        (batch, entry) -> {
+                            if (entry.pokemon() == null) {
+                                batch.addNotFound(entry.nameOrId());
+                            } else {
+                                batch.addPokemon(entry.pokemon());
+                            }
+                        }).map(BatchResponse.Builder::build);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Streams the catalog of the {@link IPokemonCatalogService}; every record is read and converted
+     * when the caller requests it.
+     */
+    @Override
+    public Flux<Pokemon> streamCatalog() {
+        return catalogService.streamCatalog().map(PokemonProtoConverter::toProto);
+    }
+
+    /**
+     * Tells whether an error of the {@link IPokemonService} means that the Pokemon does not exist,
+     * either in the PokeAPI name list or upstream.
+     *
+     * @param error The error.
+     * @return {@code true} for a {@code 404 Not Found}.
+     */
+    private static boolean isNotFound(Throwable error) {
+        return error instanceof ResponseStatusException status && status.getStatusCode()
+                .value() == 404
+                || error instanceof WebClientResponseException response && response
+                        .getStatusCode().value() == 404;
+    }
+
+    /**
+     * Result of a Pokemon of a batch.
+     *
+     * @param nameOrId The requested name or ID.
+     * @param pokemon  The Pokemon, or {@code null} if it does not exist.
+     */
+    private record BatchEntry(String nameOrId, Pokemon pokemon) {
+    }
+}
@@ -1,13 +1,34 @@
 package com.bankaya.pokemon.adapter;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import com.bankaya.pokemon.catalog.CatalogSnapshot.NumericColumn;
+import com.bankaya.pokemon.catalog.FieldSelection;
+import com.bankaya.pokemon.catalog.PokemonRecordConverter;
+import com.bankaya.pokemon.dto.CatalogAnalyticsDto;
+import com.bankaya.pokemon.dto.EvolutionChainDto;
+import com.bankaya.pokemon.dto.HeldItemRarityDto;
+import com.bankaya.pokemon.dto.LocationAreaEncounterDto;
 import com.bankaya.pokemon.dto.PokemonAbilityDto;
 import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.dto.PokemonExpandedDto;
 import com.bankaya.pokemon.dto.PokemonHeldItemDto;
+import com.bankaya.pokemon.dto.PokemonSearchResultDto;
+import com.bankaya.pokemon.service.IPokemonCatalogService;
+import com.bankaya.pokemon.service.IPokemonEncounterService;
+import com.bankaya.pokemon.service.IPokemonEvolutionService;
+import com.bankaya.pokemon.service.IPokemonExpansionService;
+import com.bankaya.pokemon.service.IPokemonExpansionService.Expansion;
 import com.bankaya.pokemon.service.IPokemonService;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -27,6 +48,31 @@ public class PokemonRestAdapterImpl implements IPokemonRestAdapter {
      */
     private final IPokemonService pokemonService;
 
+    /**
+     * Service answering catalog-wide queries.
+     */
+    private final IPokemonCatalogService catalogService;
+
+    /**
+     * Service resolving the resources referenced by a Pokemon.
+     */
+    private final IPokemonExpansionService expansionService;
+
+    /**
+     * Service resolving the location-area encounters of a Pokemon.
+     */
+    private final IPokemonEncounterService encounterService;
+
+    /**
+     * Converter applying field selections to the expanded Pokemon.
+     */
+    private final PokemonRecordConverter recordConverter;
+
+    /**
+     * Service resolving the evolution chains.
+     */
+    private final IPokemonEvolutionService evolutionService;
+
     /**
      * {@inheritDoc}
      *
@@ -43,6 +89,57 @@ public class PokemonRestAdapterImpl implements IPokemonRestAdapter {
                 PokemonDto.class);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Parses the expansion names, retrieves the Pokemon details using the {@link IPokemonService}
+     * and resolves the requested references with the {@link IPokemonExpansionService}.
+     *
+     * @param nameOrId The name or ID of the Pokemon whose details are to be fetched.
+     * @param expand   The names of the referenced resources to resolve.
+     * @return A {@link Mono} emitting a {@link PokemonExpandedDto} with the Pokemon details and
+     *         the details of the referenced resources.
+     */
+    @Override
+    public Mono<PokemonExpandedDto> getPokemonDetails(String nameOrId, List<String> expand) {
+        Set<Expansion> expansions;
+        try {
+            expansions = Expansion.parse(expand);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e);
+        }
+        return pokemonService.getPokemonDetails(nameOrId,
+                PokemonDto.class).flatMap(pokemon -> expansionService.expand(pokemon,
+                        expansions));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Resolves the expanded Pokemon as {@link #getPokemonDetails(String, List)} does, then
+     * replaces the Pokemon of the response with its selected fields.
+     *
+     * @param nameOrId The name or ID of the Pokemon whose details are to be fetched.
+     * @param expand   The names of the referenced resources to resolve.
+     * @param fields   The fields of the Pokemon to return.
+     * @return A {@link Mono} emitting the expanded response holding only the selected Pokemon
+     *         fields.
+     */
+    @Override
+    public Mono<JsonNode> getPokemonDetails(String nameOrId, List<String> expand,
+            FieldSelection fields) {
+        return getPokemonDetails(nameOrId,
+                expand).map(expanded -> {
+                    ObjectNode body = recordConverter.convert(expanded,
+                            ObjectNode.class);
+                    body.set("pokemon",
+                            recordConverter.project(expanded.getPokemon(),
+                                    fields,
+                                    JsonNode.class));
+                    return body;
+                });
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -78,4 +175,183 @@ public class PokemonRestAdapterImpl implements IPokemonRestAdapter {
                 new TypeReference<List<PokemonHeldItemDto>>() {
                 });
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Implements the retrieval of the items held in a single version using the
+     * {@link IPokemonService}.
+     */
+    @Override
+    public Mono<List<PokemonHeldItemDto>> getPokemonHeldItems(String nameOrId, String version) {
+        return pokemonService.getPokemonHeldItems(nameOrId,
+                version,
+                new TypeReference<List<PokemonHeldItemDto>>() {
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Retrieves the selected fields of the Pokemon using the {@link IPokemonService}, as a JSON
+     * tree holding only those fields.
+     *
+     * @param nameOrId The name or ID of the Pokemon whose details are to be fetched.
+     * @param fields   The fields to return.
+     * @return A {@link Mono} emitting the selected fields.
+     */
+    @Override
+    public Mono<JsonNode> getPokemonDetails(String nameOrId, FieldSelection fields) {
+        return pokemonService.getPokemonDetails(nameOrId,
+                fields,
+                JsonNode.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Retrieves the selected fields of the abilities using the {@link IPokemonService}.
+     *
+     * @param nameOrId The name or ID of the Pokemon whose abilities are to be fetched.
+     * @param fields   The fields to return in every ability.
+     * @return A {@link Mono} emitting the selected fields of every ability.
+     */
+    @Override
+    public Mono<List<JsonNode>> getPokemonAbilities(String nameOrId, FieldSelection fields) {
+        return pokemonService.getPokemonAbilities(nameOrId,
+                fields,
+                JsonNode.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Retrieves the selected fields of the held items using the {@link IPokemonService}.
+     *
+     * @param nameOrId The name or ID of the Pokemon whose held items are to be fetched.
+     * @param version  The game version, or {@code null} for every version.
+     * @param fields   The fields to return in every held item.
+     * @return A {@link Mono} emitting the selected fields of every held item.
+     */
+    @Override
+    public Mono<List<JsonNode>> getPokemonHeldItems(String nameOrId, String version,
+            FieldSelection fields) {
+        return pokemonService.getPokemonHeldItems(nameOrId,
+                version,
+                fields,
+                JsonNode.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Retrieves the Pokemon using the {@link IPokemonService} and resolves its encounters with the
+     * {@link IPokemonEncounterService}.
+     *
+     * @param nameOrId The name or ID of the Pokemon whose encounters are to be fetched.
+     * @return A {@link Flux} emitting the {@link LocationAreaEncounterDto} of the Pokemon.
+     */
+    @Override
+    public Flux<LocationAreaEncounterDto> getPokemonEncounters(String nameOrId) {
+        return pokemonService.getPokemonDetails(nameOrId,
+                PokemonDto.class).flatMapMany(encounterService::getEncounters);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Retrieves the Pokemon using the {@link IPokemonService} and resolves its chain with the
+     * {@link IPokemonEvolutionService}.
+     *
+     * @param nameOrId The name or ID of any member of the chain.
+     * @return A {@link Mono} emitting the {@link EvolutionChainDto} of the Pokemon.
+     */
+    @Override
+    public Mono<EvolutionChainDto> getPokemonEvolution(String nameOrId) {
+        return pokemonService.getPokemonDetails(nameOrId,
+                PokemonDto.class).flatMap(evolutionService::getEvolutionChain);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Delegates the search to the {@link IPokemonCatalogService}.
+     */
+    @Override
+    public Mono<PokemonSearchResultDto> searchPokemon(List<String> abilities, List<String> items,
+            List<String> versions, boolean matchAll) {
+        return catalogService.searchPokemon(abilities,
+                items,
+                versions,
+                matchAll);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Delegates the query to the {@link IPokemonCatalogService}.
+     */
+    @Override
+    public Mono<List<HeldItemRarityDto>> findHeldItemsByRarity(String version, int minRarity,
+            int limit) {
+        return catalogService.findHeldItemsByRarity(version,
+                minRarity,
+                limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Delegates the completion to the {@link IPokemonCatalogService}.
+     */
+    @Override
+    public Mono<List<String>> autocomplete(String prefix, int limit) {
+        return catalogService.autocomplete(prefix,
+                limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Delegates the suggestion to the {@link IPokemonCatalogService}.
+     */
+    @Override
+    public Mono<List<String>> suggestNames(String name, int limit) {
+        return catalogService.suggestNames(name,
+                limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Maps the attribute name to its catalog column and delegates the scan to the
+     * {@link IPokemonCatalogService}.
+     */
+    @Override
+    public Mono<CatalogAnalyticsDto> analyzeCatalog(String attribute, Integer min, Integer max,
+            Integer bucketWidth, int top) {
+        NumericColumn column;
+        try {
+            column = NumericColumn.valueOf(attribute.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return badRequest(new IllegalArgumentException("Unknown attribute: " + attribute, e));
+        }
+        return catalogService.analyze(column,
+                min,
+                max,
+                bucketWidth,
+                top);
+    }
+
+    /**
+     * Maps an invalid request parameter to a {@code 400 Bad Request} error.
+     *
+     * @param <T>   The type of the expected value.
+     * @param error The parsing error.
+     * @return A {@link Mono} failing with a {@link ResponseStatusException}.
+     */
+    private static <T> Mono<T> badRequest(IllegalArgumentException error) {
+        return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                error.getMessage()));
+    }
 }
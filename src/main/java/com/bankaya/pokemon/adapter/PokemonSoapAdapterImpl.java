@@ -1,14 +1,27 @@
 package com.bankaya.pokemon.adapter;
 
 import java.util.List;
+import java.util.Set;
 import org.springframework.stereotype.Component;
+import com.bankaya.pokemon.catalog.FieldSelection;
+import com.bankaya.pokemon.catalog.PokemonRecordConverter;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.dto.PokemonExpandedDto;
+import com.bankaya.pokemon.service.IPokemonEncounterService;
+import com.bankaya.pokemon.service.IPokemonExpansionService;
+import com.bankaya.pokemon.service.IPokemonExpansionService.Expansion;
 import com.bankaya.pokemon.service.IPokemonService;
+import com.bankaya.pokemon.xsd.AbilityDetail;
 import com.bankaya.pokemon.xsd.GetPokemonAbilitiesRequest;
 import com.bankaya.pokemon.xsd.GetPokemonAbilitiesResponse;
 import com.bankaya.pokemon.xsd.GetPokemonDetailsRequest;
 import com.bankaya.pokemon.xsd.GetPokemonDetailsResponse;
+import com.bankaya.pokemon.xsd.GetPokemonEncountersRequest;
+import com.bankaya.pokemon.xsd.GetPokemonEncountersResponse;
 import com.bankaya.pokemon.xsd.GetPokemonHeldItemsRequest;
 import com.bankaya.pokemon.xsd.GetPokemonHeldItemsResponse;
+import com.bankaya.pokemon.xsd.ItemDetail;
+import com.bankaya.pokemon.xsd.LocationAreaEncounter;
 import com.bankaya.pokemon.xsd.Pokemon;
 import com.bankaya.pokemon.xsd.PokemonAbility;
 import com.bankaya.pokemon.xsd.PokemonHeldItem;
@@ -32,11 +45,29 @@ public class PokemonSoapAdapterImpl implements IPokemonSoapAdapter {
      */
     private final IPokemonService pokemonService;
 
+    /**
+     * Service resolving the resources referenced by a Pokemon.
+     */
+    private final IPokemonExpansionService expansionService;
+
+    /**
+     * Service resolving the location-area encounters of a Pokemon.
+     */
+    private final IPokemonEncounterService encounterService;
+
+    /**
+     * Converter from the expanded DTOs to the JAXB types.
+     */
+    private final PokemonRecordConverter recordConverter;
+
     /**
      * {@inheritDoc}
      *
      * Implements the retrieval of Pokemon details using the {@link IPokemonService}.
-     * Maps the service response to a {@link GetPokemonDetailsResponse} object.
+     * Maps the service response to a {@link GetPokemonDetailsResponse} object. When the request
+     * lists {@code expand} values, the referenced abilities and items are resolved with the
+     * {@link IPokemonExpansionService} and returned in the same response. When the request lists
+     * {@code fields}, only the selected fields of the Pokemon are converted and returned.
      *
      * @param request The request object containing the name or ID of the Pokemon whose details are 
      * to be fetched.
@@ -45,19 +76,78 @@ public class PokemonSoapAdapterImpl implements IPokemonSoapAdapter {
      */
     @Override
     public GetPokemonDetailsResponse getPokemonDetails(GetPokemonDetailsRequest request) {
-        return pokemonService.getPokemonDetails(request.getNameOrId(),
-                Pokemon.class).map(detail -> {
+        FieldSelection fields = FieldSelection.parse(request.getFields(),
+                FieldSelection.POKEMON);
+        if (!request.getExpand().isEmpty()) {
+            return getExpandedPokemonDetails(request.getNameOrId(),
+                    Expansion.parse(request.getExpand()),
+                    fields);
+        }
+        return (fields.isAll() ? pokemonService.getPokemonDetails(request.getNameOrId(),
+                Pokemon.class)
+                : pokemonService.getPokemonDetails(request.getNameOrId(),
+                        fields,
+                        Pokemon.class)).map(detail -> {
                     GetPokemonDetailsResponse response = new GetPokemonDetailsResponse();
                     response.setPokemon(detail);
                     return response;
                 }).block();
     }
 
+    /**
+     * Retrieves the details of a Pokemon together with the details of the resources it
+     * references.
+     *
+     * @param nameOrId   The name or ID of the Pokemon.
+     * @param expansions The kinds of referenced resources to resolve.
+     * @param fields     The fields of the Pokemon to return.
+     * @return A response object containing the Pokemon and the requested resource details.
+     */
+    private GetPokemonDetailsResponse getExpandedPokemonDetails(String nameOrId,
+            Set<Expansion> expansions, FieldSelection fields) {
+        return pokemonService.getPokemonDetails(nameOrId,
+                PokemonDto.class).flatMap(pokemon -> expansionService.expand(pokemon,
+                        expansions))
+                .map(expanded -> toResponse(expanded,
+                        fields))
+                .block();
+    }
+
+    /**
+     * Maps an expanded Pokemon to a {@link GetPokemonDetailsResponse}.
+     *
+     * @param expanded The expanded Pokemon.
+     * @param fields   The fields of the Pokemon to return.
+     * @return The response object.
+     */
+    private GetPokemonDetailsResponse toResponse(PokemonExpandedDto expanded,
+            FieldSelection fields) {
+        GetPokemonDetailsResponse response = new GetPokemonDetailsResponse();
+        response.setPokemon(fields.isAll() ? recordConverter.convert(expanded.getPokemon(),
+                Pokemon.class)
+                : recordConverter.project(expanded.getPokemon(),
+                        fields,
+                        Pokemon.class));
+        if (expanded.getAbilityDetails() != null) {
+            response.getAbilityDetails().addAll(recordConverter.convert(expanded
+                    .getAbilityDetails(),
+                    new TypeReference<List<AbilityDetail>>() {
+                    }));
+        }
+        if (expanded.getItemDetails() != null) {
+            response.getItemDetails().addAll(recordConverter.convert(expanded.getItemDetails(),
+                    new TypeReference<List<ItemDetail>>() {
+                    }));
+        }
+        return response;
+    }
+
     /**
      * {@inheritDoc}
      *
      * Implements the retrieval of a Pokemon's abilities using the {@link IPokemonService}.
-     * Maps the service response to a {@link GetPokemonAbilitiesResponse} object.
+     * Maps the service response to a {@link GetPokemonAbilitiesResponse} object. When the request
+     * lists {@code fields}, only the selected fields of every ability are converted.
      *
      * @param request The request object containing the name or ID of the Pokemon whose abilities 
      * are to be fetched.
@@ -66,9 +156,14 @@ public class PokemonSoapAdapterImpl implements IPokemonSoapAdapter {
      */
     @Override
     public GetPokemonAbilitiesResponse getPokemonAbilities(GetPokemonAbilitiesRequest request) {
-        return pokemonService.getPokemonAbilities(request.getNameOrId(),
+        FieldSelection fields = FieldSelection.parse(request.getFields(),
+                FieldSelection.POKEMON.get("abilities"));
+        return (fields.isAll() ? pokemonService.getPokemonAbilities(request.getNameOrId(),
                 new TypeReference<List<PokemonAbility>>() {
-                }).map(abilities -> {
+                })
+                : pokemonService.getPokemonAbilities(request.getNameOrId(),
+                        fields,
+                        PokemonAbility.class)).map(abilities -> {
                     GetPokemonAbilitiesResponse response = new GetPokemonAbilitiesResponse();
                     response.getAbilities().addAll(abilities);
                     return response;
@@ -79,7 +174,8 @@ public class PokemonSoapAdapterImpl implements IPokemonSoapAdapter {
      * {@inheritDoc}
      *
      * Implements the retrieval of items held by a Pokemon using the {@link IPokemonService}.
-     * Maps the service response to a {@link GetPokemonHeldItemsResponse} object.
+     * Maps the service response to a {@link GetPokemonHeldItemsResponse} object. When the request
+     * lists {@code fields}, only the selected fields of every held item are converted.
      *
      * @param request The request object containing the name or ID of the Pokemon whose held items
      *  are to be fetched.
@@ -88,13 +184,45 @@ public class PokemonSoapAdapterImpl implements IPokemonSoapAdapter {
      */
     @Override
     public GetPokemonHeldItemsResponse getPokemonHeldItems(GetPokemonHeldItemsRequest request) {
-        return pokemonService.getPokemonHeldItems(request.getNameOrId(),
+        FieldSelection fields = FieldSelection.parse(request.getFields(),
+                FieldSelection.POKEMON.get("held_items"));
+        return (fields.isAll() ? pokemonService.getPokemonHeldItems(request.getNameOrId(),
                 new TypeReference<List<PokemonHeldItem>>() {
-                }).map(items -> {
+                })
+                : pokemonService.getPokemonHeldItems(request.getNameOrId(),
+                        null,
+                        fields,
+                        PokemonHeldItem.class)).map(items -> {
                     GetPokemonHeldItemsResponse response = new GetPokemonHeldItemsResponse();
                     response.getHeldItems().addAll(items);
                     return response;
                 }).block();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Retrieves the Pokemon using the {@link IPokemonService}, resolves its encounters with the
+     * {@link IPokemonEncounterService} and maps them to a {@link GetPokemonEncountersResponse}
+     * object.
+     *
+     * @param request The request object containing the name or ID of the Pokemon whose encounters
+     * are to be fetched.
+     * @return A response object containing the encounters of the requested Pokemon, or
+     * {@code null} if not found.
+     */
+    @Override
+    public GetPokemonEncountersResponse getPokemonEncounters(GetPokemonEncountersRequest request) {
+        return pokemonService.getPokemonDetails(request.getNameOrId(),
+                PokemonDto.class).flatMap(pokemon -> encounterService.getEncounters(pokemon)
+                        .collectList())
+                .map(encounters -> {
+                    GetPokemonEncountersResponse response = new GetPokemonEncountersResponse();
+                    response.getEncounters().addAll(recordConverter.convert(encounters,
+                            new TypeReference<List<LocationAreaEncounter>>() {
+                            }));
+                    return response;
+                }).block();
+    }
+
 }
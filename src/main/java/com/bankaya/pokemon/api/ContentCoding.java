@@ -0,0 +1,194 @@
+package com.bankaya.pokemon.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Content codings of the precompressed response bodies, in order of preference.
+ * <p>
+ * Bodies are compressed once, when they enter the {@link RenderedResponseCache}, with the highest
+ * compression level of each coding: the cost is paid once per Pokemon instead of once per
+ * request. Brotli requires the native library of brotli4j; on platforms where it cannot be loaded,
+ * only gzip variants are created.
+ * </p>
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ContentCoding {
+
+    /** Brotli ({@code br}). */
+    BROTLI("br"),
+
+    /** Gzip ({@code gzip}). */
+    GZIP("gzip"),
+
+    /** No coding; {@link #getToken()} is {@code null}. */
+    IDENTITY(null);
+
+    /** Quality of the Brotli variants, the highest one. */
+    private static final int BROTLI_QUALITY = 11;
+
+    /** Whether the Brotli native library is available. */
+    private static final boolean BROTLI_AVAILABLE = loadBrotli();
+
+    /** The {@code Content-Encoding} token. */
+    private final String token;
+
+    /**
+     * Compresses a body.
+     *
+     * @param body The body.
+     * @return The compressed body; the body itself for {@link #IDENTITY}.
+     */
+    public byte[] encode(byte[] body) {
+        return switch (this) {
+            case BROTLI -> brotli(body);
+            case GZIP -> gzip(body);
+            case IDENTITY -> body;
+        };
+    }
+
+    /**
+     * Returns the codings of the precompressed variants on this platform.
+     *
+     * @return Gzip, and Brotli when its native library is available.
+     */
+    public static Set<ContentCoding> precompressed() {
+        return BROTLI_AVAILABLE ? EnumSet.of(BROTLI,
+                GZIP) : EnumSet.of(GZIP);
+    }
+
+    /**
+     * Selects the coding of a response.
+     *
+     * @param acceptEncoding The {@code Accept-Encoding} header, may be {@code null}.
+     * @param brotli         Whether a Brotli variant exists.
+     * @param gzip           Whether a gzip variant exists.
+     * @return The acceptable coding with the highest quality value, the first one in declaration
+     *         order on ties; {@link #IDENTITY} when no variant is acceptable.
+     */
+    public static ContentCoding negotiate(String acceptEncoding, boolean brotli, boolean gzip) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return IDENTITY;
+        }
+        double brotliQuality = -1;
+        double gzipQuality = -1;
+        double anyQuality = -1;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String name = params[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(params);
+            switch (name) {
+                case "br" -> brotliQuality = quality;
+                case "gzip", "x-gzip" -> gzipQuality = Math.max(gzipQuality,
+                        quality);
+                case "*" -> anyQuality = quality;
+                default -> {
+                    // Other codings are never produced.
+                }
+            }
+        }
+        brotliQuality = brotli ? (brotliQuality >= 0 ? brotliQuality : anyQuality) : 0;
+        gzipQuality = gzip ? (gzipQuality >= 0 ? gzipQuality : anyQuality) : 0;
+        if (brotliQuality > 0 && brotliQuality >= gzipQuality) {
+            return BROTLI;
+        }
+        return gzipQuality > 0 ? GZIP : IDENTITY;
+    }
+
+    /**
+     * Decompresses a gzip body.
+     *
+     * @param compressed The gzip body.
+     * @param length     The length of the decompressed body.
+     * @return The decompressed body.
+     */
+    static byte[] gunzip(byte[] compressed, int length) {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return in.readNBytes(length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the quality value of an {@code Accept-Encoding} element.
+     *
+     * @param params The coding and its parameters.
+     * @return The quality value; {@code 1} when absent, {@code 0} when invalid.
+     */
+    private static double quality(String[] params) {
+        for (int i = 1; i < params.length; i++) {
+            String param = params[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Compresses a body with gzip at the highest level.
+     *
+     * @param body The body.
+     * @return The gzip body.
+     */
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Compresses a body with Brotli at the highest quality.
+     *
+     * @param body The body.
+     * @return The Brotli body.
+     */
+    private static byte[] brotli(byte[] body) {
+        try {
+            return Encoder.compress(body,
+                    new Encoder.Parameters().setQuality(BROTLI_QUALITY)
+                            .setMode(Encoder.Mode.TEXT));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Loads the Brotli native library.
+     *
+     * @return {@code true} if it is available.
+     */
+    private static boolean loadBrotli() {
+        try {
+            return Brotli4jLoader.isAvailable();
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+}
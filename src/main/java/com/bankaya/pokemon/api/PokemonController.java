@@ -1,19 +1,32 @@
 package com.bankaya.pokemon.api;
 
 import java.util.List;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 import com.bankaya.pokemon.adapter.IPokemonRestAdapter;
+import com.bankaya.pokemon.catalog.FieldSelection;
+import com.bankaya.pokemon.dto.CatalogAnalyticsDto;
+import com.bankaya.pokemon.dto.EvolutionChainDto;
+import com.bankaya.pokemon.dto.HeldItemRarityDto;
+import com.bankaya.pokemon.dto.LocationAreaEncounterDto;
 import com.bankaya.pokemon.dto.PokemonAbilityDto;
 import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.dto.PokemonExpandedDto;
 import com.bankaya.pokemon.dto.PokemonHeldItemDto;
+import com.bankaya.pokemon.dto.PokemonSearchResultDto;
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -45,6 +58,26 @@ import reactor.core.publisher.Mono;
 @Slf4j
 public class PokemonController {
 
+    /**
+     * Media type of the Smile representations.
+     */
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    /**
+     * Maximum number of Pokemon ranked by an analytics query.
+     */
+    private static final int MAX_TOP = 1000;
+
+    /**
+     * Maximum number of held items returned by a rarity query.
+     */
+    private static final int MAX_HELD_ITEMS = 1000;
+
+    /**
+     * Maximum number of name suggestions returned for a misspelled name.
+     */
+    private static final int MAX_SUGGESTIONS = 100;
+
     /**
      * Adapter for interacting with Pokemon RESTful services.
      */
@@ -58,7 +91,9 @@ public class PokemonController {
      * the requested Pokemon.
      * 
      * <p><strong>Endpoint:</strong> {@code GET /api/v1/pokemon/{nameOrId}}</p>
-     * <p><strong>Produces:</strong> {@code application/json}</p>
+     * <p><strong>Produces:</strong> {@code application/json}, or {@code application/cbor},
+     * {@code application/x-jackson-smile} and {@code application/x-protobuf} for the clients
+     * asking for a binary representation.</p>
      * 
      * <p><strong>Swagger Documentation:</strong></p>
      * <ul>
@@ -70,13 +105,142 @@ public class PokemonController {
     @Operation(
         summary = "Get Pokemon details by name",
         description = "Returns the detailed information about a Pokemon (height, weight, base experience, etc.).")
-    @GetMapping(path = "/{nameOrId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @GetMapping(path = "/{nameOrId}",
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+                APPLICATION_SMILE_VALUE,
+                ProtobufJacksonHttpMessageConverter.APPLICATION_PROTOBUF_VALUE })
     public Mono<PokemonDto> getPokemonDetails(@PathVariable String nameOrId) {
         log.info("Get Pokemon details from: {}",
                 nameOrId);
         return adapter.getPokemonDetails(nameOrId);
     }
 
+    /**
+     * Retrieves the details of a specific Pokemon together with the details of the abilities and
+     * held items it references, in a single response.
+     *
+     * @param nameOrId The name or ID of the Pokemon whose details are to be fetched.
+     * @param expand   The references to resolve: {@code abilities} and/or {@code items}.
+     * @return A {@link Mono} emitting a {@link PokemonExpandedDto}, or a {@code 400 Bad Request}
+     * error if an expansion is unknown.
+     * 
+     * <p><strong>Endpoint:</strong>
+     * {@code GET /api/v1/pokemon/{nameOrId}?expand=abilities,items}</p>
+     * <p><strong>Produces:</strong> {@code application/json}</p>
+     * 
+     * <p><strong>Swagger Documentation:</strong></p>
+     * <ul>
+     *   <li><strong>Summary:</strong> Get Pokemon details with expanded resources</li>
+     *   <li><strong>Description:</strong> Returns the Pokemon details and the effect, cost, etc.
+     *   of its abilities and held items.</li>
+     * </ul>
+     */
+    @Operation(
+        summary = "Get Pokemon details with expanded resources",
+        description = "Returns the Pokemon details and the effect, cost, etc. of its abilities and held items.")
+    @GetMapping(path = "/{nameOrId}", params = { "expand", "!fields" },
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<PokemonExpandedDto> getPokemonDetails(@PathVariable String nameOrId,
+            @Parameter(description = "References to resolve: abilities, items")
+            @RequestParam List<String> expand) {
+        log.info("Get Pokemon details from: {}, expand: {}",
+                nameOrId,
+                expand);
+        return adapter.getPokemonDetails(nameOrId,
+                expand);
+    }
+
+    /**
+     * Retrieves the details of a specific Pokemon together with the details of the abilities and
+     * held items it references, restricting the Pokemon to the selected fields.
+     *
+     * @param nameOrId The name or ID of the Pokemon whose details are to be fetched.
+     * @param expand   The references to resolve: {@code abilities} and/or {@code items}.
+     * @param fields   Dotted paths of the Pokemon fields to return, as in
+     *                 {@link #getPokemonFields(String, List)}.
+     * @return A {@link Mono} emitting a {@link PokemonExpandedDto} whose {@code pokemon} only
+     * holds the selected fields, or a {@code 400 Bad Request} error if an expansion or a field is
+     * unknown.
+     * 
+     * <p><strong>Endpoint:</strong>
+     * {@code GET /api/v1/pokemon/{nameOrId}?expand=abilities&fields=id,abilities.ability.name}</p>
+     * <p><strong>Produces:</strong> {@code application/json}</p>
+     * 
+     * <p><strong>Swagger Documentation:</strong></p>
+     * <ul>
+     *   <li><strong>Summary:</strong> Get selected Pokemon fields with expanded resources</li>
+     *   <li><strong>Description:</strong> Returns the requested fields of a Pokemon and the
+     *   details of its abilities and held items.</li>
+     * </ul>
+     */
+    @Operation(
+        summary = "Get selected Pokemon fields with expanded resources",
+        description = "Returns the requested fields of a Pokemon and the details of its abilities and held items.")
+    @GetMapping(path = "/{nameOrId}", params = { "expand", "fields" },
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<JsonNode> getPokemonExpandedFields(@PathVariable String nameOrId,
+            @Parameter(description = "References to resolve: abilities, items")
+            @RequestParam List<String> expand,
+            @Parameter(description = "Fields to return, such as id,name,abilities.ability.name")
+            @RequestParam List<String> fields) {
+        log.info("Get Pokemon fields from: {}, expand: {}, fields: {}",
+                nameOrId,
+                expand,
+                fields);
+        try {
+            return adapter.getPokemonDetails(nameOrId,
+                    expand,
+                    FieldSelection.parse(fields,
+                            FieldSelection.POKEMON));
+        } catch (IllegalArgumentException e) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    e.getMessage()));
+        }
+    }
+
+    /**
+     * Retrieves the selected fields of a specific Pokemon by its name or ID (sparse fieldset).
+     *
+     * @param nameOrId The name or ID of the Pokemon whose details are to be fetched.
+     * @param fields   Dotted paths of the fields to return, such as {@code id},
+     *                 {@code base_experience} or {@code abilities.ability.name}.
+     * @return A {@link Mono} emitting a JSON object holding only the selected fields, or a
+     * {@code 400 Bad Request} error if a field is unknown.
+     * 
+     * <p><strong>Endpoint:</strong>
+     * {@code GET /api/v1/pokemon/{nameOrId}?fields=id,name,base_experience}</p>
+     * <p><strong>Produces:</strong> {@code application/json}, {@code application/cbor} or
+     * {@code application/x-jackson-smile}.</p>
+     * 
+     * <p><strong>Swagger Documentation:</strong></p>
+     * <ul>
+     *   <li><strong>Summary:</strong> Get selected Pokemon fields by name</li>
+     *   <li><strong>Description:</strong> Returns only the requested fields of a Pokemon; the
+     *   others are neither read nor serialized.</li>
+     * </ul>
+     */
+    @Operation(
+        summary = "Get selected Pokemon fields by name",
+        description = "Returns only the requested fields of a Pokemon; the others are neither read nor serialized.")
+    @GetMapping(path = "/{nameOrId}", params = { "fields", "!expand" },
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+                APPLICATION_SMILE_VALUE })
+    public Mono<JsonNode> getPokemonFields(@PathVariable String nameOrId,
+            @Parameter(description = "Fields to return, such as id,name,abilities.ability.name")
+            @RequestParam List<String> fields) {
+        log.info("Get Pokemon fields from: {}, fields: {}",
+                nameOrId,
+                fields);
+        try {
+            return adapter.getPokemonDetails(nameOrId,
+                    FieldSelection.parse(fields,
+                            FieldSelection.POKEMON));
+        } catch (IllegalArgumentException e) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    e.getMessage()));
+        }
+    }
+
     /**
      * Retrieves the list of abilities of a specific Pokemon by its name or ID.
      *
@@ -85,6 +249,8 @@ public class PokemonController {
      * the abilities of the requested Pokemon.
      * 
      * <p><strong>Endpoint:</strong> {@code GET /api/v1/pokemon/{nameOrId}/abilities}</p>
+     * <p><strong>Produces:</strong> {@code application/json}, {@code application/cbor} or
+     * {@code application/x-jackson-smile}.</p>
      * 
      * <p><strong>Swagger Documentation:</strong></p>
      * <ul>
@@ -103,14 +269,57 @@ public class PokemonController {
         return adapter.getPokemonAbilities(nameOrId);
     }
 
+    /**
+     * Retrieves the selected fields of the abilities of a specific Pokemon by its name or ID.
+     *
+     * @param nameOrId The name or ID of the Pokemon whose abilities are to be fetched.
+     * @param fields   Dotted paths of the fields to return in every ability, such as
+     *                 {@code ability.name}.
+     * @return A {@link Mono} emitting a JSON object per ability holding only the selected fields,
+     * or a {@code 400 Bad Request} error if a field is unknown.
+     * 
+     * <p><strong>Endpoint:</strong>
+     * {@code GET /api/v1/pokemon/{nameOrId}/abilities?fields=ability.name}</p>
+     * 
+     * <p><strong>Swagger Documentation:</strong></p>
+     * <ul>
+     *   <li><strong>Summary:</strong> Get selected ability fields by name</li>
+     *   <li><strong>Description:</strong> Returns only the requested fields of every ability of
+     *   a Pokemon.</li>
+     * </ul>
+     */
+    @Operation(
+        summary = "Get selected ability fields by name",
+        description = "Returns only the requested fields of every ability of a Pokemon.")
+    @GetMapping(path = "/{nameOrId}/abilities", params = "fields")
+    public Mono<List<JsonNode>> getPokemonAbilityFields(@PathVariable String nameOrId,
+            @Parameter(description = "Fields to return, such as is_hidden,ability.name")
+            @RequestParam List<String> fields) {
+        log.info("Get Pokemon ability fields from: {}, fields: {}",
+                nameOrId,
+                fields);
+        try {
+            return adapter.getPokemonAbilities(nameOrId,
+                    FieldSelection.parse(fields,
+                            FieldSelection.POKEMON.get("abilities")));
+        } catch (IllegalArgumentException e) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    e.getMessage()));
+        }
+    }
+
     /**
      * Retrieves the list of held items of a specific Pokemon by its name or ID.
      *
      * @param nameOrId The name or ID of the Pokemon whose held items are to be fetched.
+     * @param version  Optional game version; when given, only the items held in that version are
+     *                 returned, with their version details restricted to it.
      * @return A {@link Mono} emitting a {@link List} of {@link PokemonHeldItemDto} representing
      *  the items held by the requested Pokemon.
      * 
      * <p><strong>Endpoint:</strong> {@code GET /api/v1/pokemon/{nameOrId}/held-items}</p>
+     * <p><strong>Produces:</strong> {@code application/json}, {@code application/cbor} or
+     * {@code application/x-jackson-smile}.</p>
      * 
      * <p><strong>Swagger Documentation:</strong></p>
      * <ul>
@@ -123,9 +332,333 @@ public class PokemonController {
         summary = "Get Pokemon items by name",
         description = "Returns all the held items that a specific Pokemon can carry.")
     @GetMapping("/{nameOrId}/held-items")
-    public Mono<List<PokemonHeldItemDto>> getPokemonHeldItems(@PathVariable String nameOrId) {
-        log.info("Get Pokemon held items from: {}",
+    public Mono<List<PokemonHeldItemDto>> getPokemonHeldItems(@PathVariable String nameOrId,
+            @Parameter(description = "Only return the items held in this game version")
+            @RequestParam(required = false) String version) {
+        log.info("Get Pokemon held items from: {}, version: {}",
+                nameOrId,
+                version);
+        if (version == null || version.isBlank()) {
+            return adapter.getPokemonHeldItems(nameOrId);
+        }
+        return adapter.getPokemonHeldItems(nameOrId,
+                version);
+    }
+
+    /**
+     * Retrieves the selected fields of the held items of a specific Pokemon by its name or ID.
+     *
+     * @param nameOrId The name or ID of the Pokemon whose held items are to be fetched.
+     * @param version  Optional game version, as in {@link #getPokemonHeldItems(String, String)}.
+     * @param fields   Dotted paths of the fields to return in every held item, such as
+     *                 {@code item.name}.
+     * @return A {@link Mono} emitting a JSON object per held item holding only the selected
+     * fields, or a {@code 400 Bad Request} error if a field is unknown.
+     * 
+     * <p><strong>Endpoint:</strong>
+     * {@code GET /api/v1/pokemon/{nameOrId}/held-items?fields=item.name}</p>
+     * 
+     * <p><strong>Swagger Documentation:</strong></p>
+     * <ul>
+     *   <li><strong>Summary:</strong> Get selected held item fields by name</li>
+     *   <li><strong>Description:</strong> Returns only the requested fields of every held item
+     *   of a Pokemon.</li>
+     * </ul>
+     */
+    @Operation(
+        summary = "Get selected held item fields by name",
+        description = "Returns only the requested fields of every held item of a Pokemon.")
+    @GetMapping(path = "/{nameOrId}/held-items", params = "fields")
+    public Mono<List<JsonNode>> getPokemonHeldItemFields(@PathVariable String nameOrId,
+            @Parameter(description = "Only return the items held in this game version")
+            @RequestParam(required = false) String version,
+            @Parameter(description = "Fields to return, such as item.name,version_details.rarity")
+            @RequestParam List<String> fields) {
+        log.info("Get Pokemon held item fields from: {}, version: {}, fields: {}",
+                nameOrId,
+                version,
+                fields);
+        try {
+            return adapter.getPokemonHeldItems(nameOrId,
+                    version == null || version.isBlank() ? null : version,
+                    FieldSelection.parse(fields,
+                            FieldSelection.POKEMON.get("held_items")));
+        } catch (IllegalArgumentException e) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    e.getMessage()));
+        }
+    }
+
+    /**
+     * Retrieves the location areas where a specific Pokemon can be encountered, by its name or
+     * ID.
+     *
+     * @param nameOrId The name or ID of the Pokemon whose encounters are to be fetched.
+     * @return A {@link Flux} emitting the {@link LocationAreaEncounterDto} of the requested
+     * Pokemon, with their location and English area name resolved.
+     * 
+     * <p><strong>Endpoint:</strong> {@code GET /api/v1/pokemon/{nameOrId}/encounters}</p>
+     * <p><strong>Produces:</strong> {@code application/json}, or {@code application/x-ndjson} to
+     * receive every encounter as soon as it is resolved.</p>
+     * 
+     * <p><strong>Swagger Documentation:</strong></p>
+     * <ul>
+     *   <li><strong>Summary:</strong> Get Pokemon encounters by name</li>
+     *   <li><strong>Description:</strong> Returns the location areas where a specific Pokemon can
+     *   be encountered, per game version.</li>
+     * </ul>
+     */
+    @Operation(
+        summary = "Get Pokemon encounters by name",
+        description = "Returns the location areas where a specific Pokemon can be encountered, per game version.")
+    @GetMapping(path = "/{nameOrId}/encounters",
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Flux<LocationAreaEncounterDto> getPokemonEncounters(@PathVariable String nameOrId) {
+        log.info("Get Pokemon encounters from: {}",
+                nameOrId);
+        return adapter.getPokemonEncounters(nameOrId);
+    }
+
+    /**
+     * Retrieves the evolution chain of a specific Pokemon by its name or ID, with the details of
+     * every member.
+     *
+     * @param nameOrId The name or ID of any member of the chain.
+     * @return A {@link Mono} emitting the {@link EvolutionChainDto} of the requested Pokemon.
+     * 
+     * <p><strong>Endpoint:</strong> {@code GET /api/v1/pokemon/{nameOrId}/evolution}</p>
+     * <p><strong>Produces:</strong> {@code application/json}</p>
+     * 
+     * <p><strong>Swagger Documentation:</strong></p>
+     * <ul>
+     *   <li><strong>Summary:</strong> Get Pokemon evolution chain by name</li>
+     *   <li><strong>Description:</strong> Returns every stage of the evolution chain of a Pokemon,
+     *   with its evolution condition and Pokemon details.</li>
+     * </ul>
+     */
+    @Operation(
+        summary = "Get Pokemon evolution chain by name",
+        description = "Returns every stage of the evolution chain of a Pokemon, with its evolution condition and Pokemon details.")
+    @GetMapping(path = "/{nameOrId}/evolution", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<EvolutionChainDto> getPokemonEvolution(@PathVariable String nameOrId) {
+        log.info("Get Pokemon evolution chain from: {}",
                 nameOrId);
-        return adapter.getPokemonHeldItems(nameOrId);
+        return adapter.getPokemonEvolution(nameOrId);
+    }
+
+    /**
+     * Finds the items held by cataloged Pokemon in a game version, most common first.
+     *
+     * @param version   The name of the game version.
+     * @param minRarity The minimum rarity, in percent.
+     * @param limit     The maximum number of results, between 1 and {@value #MAX_HELD_ITEMS}.
+     * @return A {@link Mono} emitting a {@link List} of {@link HeldItemRarityDto}, or a
+     * {@code 400 Bad Request} error if the limit is out of range.
+     * 
+     * <p><strong>Endpoint:</strong>
+     * {@code GET /api/v1/pokemon/held-items?version=x&minRarity=50&limit=10}</p>
+     * 
+     * <p><strong>Swagger Documentation:</strong></p>
+     * <ul>
+     *   <li><strong>Summary:</strong> Find held items by version and rarity</li>
+     *   <li><strong>Description:</strong> Returns the top cataloged held items of a version with at
+     *   least the given rarity.</li>
+     * </ul>
+     */
+    @Operation(
+        summary = "Find held items by version and rarity",
+        description = "Returns the top cataloged held items of a version with at least the given rarity.")
+    @GetMapping(path = "/held-items", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<List<HeldItemRarityDto>> findHeldItemsByRarity(@RequestParam String version,
+            @RequestParam(defaultValue = "0") int minRarity,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.info("Find held items in version: {}, min rarity: {}, limit: {}",
+                version,
+                minRarity,
+                limit);
+        if (limit < 1 || limit > MAX_HELD_ITEMS) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + MAX_HELD_ITEMS));
+        }
+        return adapter.findHeldItemsByRarity(version,
+                minRarity,
+                limit);
+    }
+
+    /**
+     * Searches the catalog for the Pokemon having a combination of abilities, held items and
+     * game versions.
+     *
+     * @param abilities Names of the abilities to match.
+     * @param items     Names of the held items to match.
+     * @param versions  Names of the game versions in which the Pokemon holds an item.
+     * @param match     {@code all} to require every given resource, {@code any} to require any of
+     *                  them.
+     * @return A {@link Mono} emitting a {@link PokemonSearchResultDto} with the matching Pokemon,
+     * or a {@code 400 Bad Request} error if no resource is given.
+     * 
+     * <p><strong>Endpoint:</strong> {@code GET /api/v1/pokemon/search?ability=levitate&match=all}
+     * </p>
+     * 
+     * <p><strong>Swagger Documentation:</strong></p>
+     * <ul>
+     *   <li><strong>Summary:</strong> Search Pokemon by abilities, held items and versions</li>
+     *   <li><strong>Description:</strong> Returns the cataloged Pokemon having all (or any) of
+     *   the given resources.</li>
+     * </ul>
+     */
+    @Operation(
+        summary = "Search Pokemon by abilities, held items and versions",
+        description = "Returns the cataloged Pokemon having all (or any) of the given resources.")
+    @GetMapping(path = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<PokemonSearchResultDto> searchPokemon(
+            @RequestParam(name = "ability", required = false) List<String> abilities,
+            @RequestParam(name = "item", required = false) List<String> items,
+            @RequestParam(name = "version", required = false) List<String> versions,
+            @Parameter(description = "all (AND) or any (OR)")
+            @RequestParam(defaultValue = "all") String match) {
+        log.info("Search Pokemon with abilities: {}, items: {}, versions: {}, match: {}",
+                abilities,
+                items,
+                versions,
+                match);
+        if (isEmpty(abilities) && isEmpty(items) && isEmpty(versions)) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At least one ability, item or version is required"));
+        }
+        if (!"all".equalsIgnoreCase(match) && !"any".equalsIgnoreCase(match)) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "match must be 'all' or 'any'"));
+        }
+        return adapter.searchPokemon(abilities,
+                items,
+                versions,
+                "all".equalsIgnoreCase(match));
+    }
+
+    /**
+     * Completes a partial Pokemon name, as typed in a search box.
+     *
+     * @param prefix The beginning of the name.
+     * @param limit  The maximum number of suggestions.
+     * @return A {@link Mono} emitting the known names starting with the prefix, lowest Pokemon id
+     * first.
+     * 
+     * <p><strong>Endpoint:</strong> {@code GET /api/v1/pokemon/autocomplete?q=pika&limit=10}</p>
+     * 
+     * <p><strong>Swagger Documentation:</strong></p>
+     * <ul>
+     *   <li><strong>Summary:</strong> Autocomplete Pokemon names</li>
+     *   <li><strong>Description:</strong> Returns the known Pokemon names starting with the given
+     *   prefix.</li>
+     * </ul>
+     */
+    @Operation(
+        summary = "Autocomplete Pokemon names",
+        description = "Returns the known Pokemon names starting with the given prefix.")
+    @GetMapping(path = "/autocomplete", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<List<String>> autocomplete(@RequestParam("q") String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        log.debug("Autocomplete Pokemon names from: {}",
+                prefix);
+        return adapter.autocomplete(prefix,
+                limit);
+    }
+
+    /**
+     * Suggests the known Pokemon names closest to a possibly misspelled name.
+     *
+     * @param name  The name typed by the user.
+     * @param limit The maximum number of suggestions, between 1 and {@value #MAX_SUGGESTIONS}.
+     * @return A {@link Mono} emitting the closest known names, closest first, or a
+     * {@code 400 Bad Request} error if the limit is out of range.
+     * 
+     * <p><strong>Endpoint:</strong> {@code GET /api/v1/pokemon/suggest?q=pikachuu}</p>
+     * 
+     * <p><strong>Swagger Documentation:</strong></p>
+     * <ul>
+     *   <li><strong>Summary:</strong> Suggest Pokemon names</li>
+     *   <li><strong>Description:</strong> Returns the known Pokemon names within a small edit
+     *   distance of the given name.</li>
+     * </ul>
+     */
+    @Operation(
+        summary = "Suggest Pokemon names",
+        description = "Returns the known Pokemon names within a small edit distance of the given name.")
+    @GetMapping(path = "/suggest", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<List<String>> suggestNames(@RequestParam("q") String name,
+            @RequestParam(defaultValue = "5") int limit) {
+        log.debug("Suggest Pokemon names for: {}",
+                name);
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + MAX_SUGGESTIONS));
+        }
+        return adapter.suggestNames(name,
+                limit);
+    }
+
+    /**
+     * Aggregates a numeric attribute over the whole local catalog.
+     *
+     * @param attribute   The attribute: id, base_experience, ability_count or held_item_count.
+     * @param min         The inclusive lower bound of the values considered.
+     * @param max         The inclusive upper bound of the values considered.
+     * @param bucketWidth The width of the histogram buckets; no histogram when absent.
+     * @param top         The number of Pokemon with the highest values to return.
+     * @return A {@link Mono} emitting the count, sum, range and average of the values, with the
+     * optional histogram and ranking.
+     * 
+     * <p><strong>Endpoint:</strong>
+     * {@code GET /api/v1/pokemon/analytics?attribute=base_experience&min=100&bucketWidth=50&top=10}</p>
+     * <p><strong>Produces:</strong> {@code application/json}</p>
+     * 
+     * <p><strong>Swagger Documentation:</strong></p>
+     * <ul>
+     *   <li><strong>Summary:</strong> Analyze the catalog</li>
+     *   <li><strong>Description:</strong> Returns the aggregates, histogram and top Pokemon of a
+     *   numeric attribute across the local catalog.</li>
+     * </ul>
+     */
+    @Operation(
+        summary = "Analyze the catalog",
+        description = "Returns the aggregates, histogram and top Pokemon of a numeric attribute across the local catalog.")
+    @GetMapping(path = "/analytics", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<CatalogAnalyticsDto> analyzeCatalog(
+            @Parameter(description = "id, base_experience, ability_count or held_item_count")
+            @RequestParam(defaultValue = "base_experience") String attribute,
+            @RequestParam(required = false) Integer min,
+            @RequestParam(required = false) Integer max,
+            @RequestParam(required = false) Integer bucketWidth,
+            @RequestParam(defaultValue = "10") int top) {
+        log.info("Analyze catalog attribute: {}, min: {}, max: {}, bucket width: {}, top: {}",
+                attribute,
+                min,
+                max,
+                bucketWidth,
+                top);
+        if (bucketWidth != null && bucketWidth <= 0) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "bucketWidth must be positive"));
+        }
+        if (top < 0 || top > MAX_TOP) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "top must be between 0 and " + MAX_TOP));
+        }
+        return adapter.analyzeCatalog(attribute,
+                min,
+                max,
+                bucketWidth,
+                top);
+    }
+
+    /**
+     * Checks whether an optional list parameter is missing or empty.
+     *
+     * @param values The parameter values.
+     * @return {@code true} if there are no values.
+     */
+    private static boolean isEmpty(List<String> values) {
+        return values == null || values.isEmpty();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,56 @@
+package com.bankaya.pokemon.api;
+
+import java.io.InputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link ShallowEtagHeaderFilter} of the Pokemon reads answered by Spring MVC.
+ * <p>
+ * Adds a strong {@code ETag} to {@code GET /api/v1/pokemon/{nameOrId}}, {@code .../abilities}
+ * and {@code .../held-items} when the {@link RenderedResponseFilter} lets them through (Pokemon
+ * not in the catalog yet, query parameters, bodies too large to cache), and answers a matching
+ * {@code If-None-Match} with {@code 304 Not Modified}. The body is still rendered, but not sent.
+ * The tags are the ones of {@link RenderedResponse}, so a client keeps its validator whichever
+ * path answers it. Other resources, such as the streamed encounters, are not buffered.
+ * </p>
+ *
+ * <p>Successful responses to requests without query parameters also get the
+ * {@code Cache-Control} and {@code Vary} headers of the cached ones; the status is only known
+ * once the body is buffered, so error responses never carry them.</p>
+ *
+ * @see RenderedResponseFilter
+ */
+@RequiredArgsConstructor
+public class PokemonEtagFilter extends ShallowEtagHeaderFilter {
+
+    /**
+     * Value of the {@code Cache-Control} header of the cached operations.
+     */
+    private final String cacheControl;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod()) || RenderedResponseFilter.operation(
+                RenderedResponseFilter.segments(request)) == null;
+    }
+
+    @Override
+    protected boolean isEligibleForEtag(HttpServletRequest request, HttpServletResponse response,
+            int responseStatusCode, InputStream inputStream) {
+        boolean eligible = super.isEligibleForEtag(request,
+                response,
+                responseStatusCode,
+                inputStream);
+        if (eligible && request.getQueryString() == null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL,
+                    cacheControl);
+            response.setHeader(HttpHeaders.VARY,
+                    RenderedResponseFilter.VARY);
+        }
+        return eligible;
+    }
+}
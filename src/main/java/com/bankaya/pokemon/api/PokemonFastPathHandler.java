@@ -0,0 +1,357 @@
+package com.bankaya.pokemon.api;
+
+import java.nio.ByteBuffer;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+import com.bankaya.pokemon.adapter.IPokemonRestAdapter;
+import com.bankaya.pokemon.api.RenderedResponseCache.Operation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.ETag;
+import io.undertow.util.ETagUtils;
+import io.undertow.util.Headers;
+import io.undertow.util.Methods;
+import io.undertow.util.SameThreadExecutor;
+import io.undertow.util.StatusCodes;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Undertow handler answering the plain Pokemon reads on the I/O thread, ahead of the servlet
+ * chain.
+ * <p>
+ * Handles {@code GET /api/v1/pokemon/{nameOrId}}, {@code .../abilities} and
+ * {@code .../held-items} without query parameters, for clients preferring JSON, with the rules
+ * of the {@link RenderedResponseFilter}:
+ * </p>
+ * <ul>
+ *   <li>Bodies of the {@link RenderedResponseCache} are written as they are, with their
+ *   validators and precompressed variants, without leaving the I/O thread. Bodies not cached yet
+ *   are rendered on a worker thread.</li>
+ *   <li>Other Pokemon are read from the {@link IPokemonRestAdapter}; the rendered body gets the
+ *   {@code ETag} the {@link PokemonEtagFilter} would compute. The exchange waits for the
+ *   adapter without holding a worker thread.</li>
+ *   <li>Reads the adapter cannot answer are ended on the fast path with the error body of
+ *   Spring Boot ({@code timestamp}, {@code status}, {@code error} and {@code path}): {@code 404}
+ *   when the adapter finds nothing, the status of a {@link ResponseStatusException} (such as an
+ *   upstream {@code 404}) and {@code 500} for any other error. Handing them over to Spring MVC
+ *   would call the adapter, and the PokeAPI, a second time.</li>
+ *   <li>Every other request goes through the servlet chain and Spring MVC unchanged.</li>
+ * </ul>
+ *
+ * <p>DispatcherServlet, handler mapping, argument resolution, message converter selection and
+ * the servlet filters are skipped, so these requests are not recorded by the
+ * {@code http.server.requests} metrics of Spring MVC.</p>
+ *
+ * @see RenderedResponseFilter
+ * @see PokemonController
+ */
+@Slf4j
+public class PokemonFastPathHandler implements HttpHandler {
+
+    /** Value of the {@code Content-Type} header of the bodies. */
+    private static final String JSON = MediaType.APPLICATION_JSON_VALUE;
+
+    /**
+     * Handler of the servlet deployment.
+     */
+    private final HttpHandler next;
+
+    /**
+     * Adapter answering the reads not cached.
+     */
+    private final IPokemonRestAdapter adapter;
+
+    /**
+     * Writer of the bodies, configured as the JSON message converter.
+     */
+    private final ObjectWriter writer;
+
+    /**
+     * Cache of the rendered bodies; {@code null} when the response cache is disabled, in which
+     * case no validator is added.
+     */
+    private final RenderedResponseCache cache;
+
+    /**
+     * Value of the {@code Cache-Control} header of the cached operations.
+     */
+    private final String cacheControl;
+
+    /**
+     * Creates the handler.
+     *
+     * @param next         The handler of the servlet deployment.
+     * @param adapter      The adapter answering the reads not cached.
+     * @param writer       The writer of the bodies.
+     * @param cache        The cache of the rendered bodies, or {@code null}.
+     * @param cacheControl The {@code Cache-Control} header of the cached operations.
+     */
+    public PokemonFastPathHandler(HttpHandler next, IPokemonRestAdapter adapter,
+            ObjectWriter writer, RenderedResponseCache cache, String cacheControl) {
+        this.next = next;
+        this.adapter = adapter;
+        this.writer = writer;
+        this.cache = cache;
+        this.cacheControl = cacheControl;
+    }
+
+    @Override
+    public void handleRequest(HttpServerExchange exchange) throws Exception {
+        String[] segments = Methods.GET.equals(exchange.getRequestMethod()) && exchange
+                .getQueryString().isEmpty() ? RenderedResponseFilter.segments(exchange
+                        .getRelativePath()) : new String[0];
+        Operation operation = RenderedResponseFilter.operation(segments);
+        if (operation == null || !RenderedResponseFilter.acceptsJson(exchange.getRequestHeaders()
+                .getFirst(Headers.ACCEPT))) {
+            next.handleRequest(exchange);
+            return;
+        }
+        if (cache == null) {
+            exchange.dispatch(SameThreadExecutor.INSTANCE,
+                    () -> subscribe(exchange,
+                            read(operation,
+                                    segments[0])));
+            return;
+        }
+        RenderedResponse rendered = cache.findCached(operation,
+                segments[0]);
+        if (rendered != null) {
+            writeCached(exchange,
+                    rendered);
+            return;
+        }
+        exchange.dispatch(() -> render(exchange,
+                operation,
+                segments[0]));
+    }
+
+    /**
+     * Renders a body missing from the cache on a worker thread, or reads it from the adapter when
+     * the Pokemon is not in the catalog. Rendering reads and decodes the catalog record, which
+     * must not block the I/O thread.
+     *
+     * @param exchange  The exchange, dispatched.
+     * @param operation The operation.
+     * @param nameOrId  The name or ID of the Pokemon.
+     */
+    private void render(HttpServerExchange exchange, Operation operation, String nameOrId) {
+        RenderedResponse rendered;
+        try {
+            rendered = cache.find(operation,
+                    nameOrId);
+        } catch (RuntimeException e) {
+            fail(exchange,
+                    e);
+            return;
+        }
+        if (rendered != null) {
+            writeCached(exchange,
+                    rendered);
+            return;
+        }
+        subscribe(exchange,
+                read(operation,
+                        nameOrId));
+    }
+
+    /**
+     * Reads the body of an operation from the adapter.
+     *
+     * @param operation The operation.
+     * @param nameOrId  The name or ID of the Pokemon.
+     * @return The body.
+     */
+    private Mono<?> read(Operation operation, String nameOrId) {
+        return switch (operation) {
+            case DETAILS -> adapter.getPokemonDetails(nameOrId);
+            case ABILITIES -> adapter.getPokemonAbilities(nameOrId);
+            case HELD_ITEMS -> adapter.getPokemonHeldItems(nameOrId);
+        };
+    }
+
+    /**
+     * Writes the body read from the adapter when it arrives, or the error response when the
+     * adapter finds nothing or fails.
+     *
+     * @param <T>      The type of the body.
+     * @param exchange The exchange, dispatched.
+     * @param body     The body read from the adapter.
+     */
+    private <T> void subscribe(HttpServerExchange exchange, Mono<T> body) {
+        body.map(Optional::of).defaultIfEmpty(Optional.empty()).subscribe(value -> value
+                .ifPresentOrElse(dto -> write(exchange,
+                        dto),
+                        () -> fail(exchange,
+                                null)),
+                error -> fail(exchange,
+                        error));
+    }
+
+    /**
+     * Writes a cached body, or {@code 304 Not Modified} when the client already holds it.
+     *
+     * @param exchange The exchange.
+     * @param rendered The cached body.
+     */
+    private void writeCached(HttpServerExchange exchange, RenderedResponse rendered) {
+        ContentCoding coding = rendered.negotiate(exchange.getRequestHeaders().getFirst(
+                Headers.ACCEPT_ENCODING));
+        String etag = rendered.getEtag(coding);
+        headers(exchange,
+                etag);
+        if (notModified(exchange,
+                etag)) {
+            cache.notModified(rendered,
+                    coding);
+            return;
+        }
+        ByteBuffer body = cache.body(rendered,
+                coding);
+        if (coding.getToken() != null) {
+            exchange.getResponseHeaders().put(Headers.CONTENT_ENCODING,
+                    coding.getToken());
+        }
+        send(exchange,
+                body);
+    }
+
+    /**
+     * Renders and writes a body read from the adapter.
+     *
+     * @param exchange The exchange.
+     * @param value    The DTO or list of DTOs.
+     */
+    private void write(HttpServerExchange exchange, Object value) {
+        ByteBuffer body;
+        try {
+            body = ByteBuffer.wrap(writer.writeValueAsBytes(value));
+        } catch (JsonProcessingException e) {
+            fail(exchange,
+                    e);
+            return;
+        }
+        if (cache != null) {
+            String etag = RenderedResponse.etag(body);
+            headers(exchange,
+                    etag);
+            if (notModified(exchange,
+                    etag)) {
+                return;
+            }
+        }
+        send(exchange,
+                body);
+    }
+
+    /**
+     * Sets the validators and caching headers of the Pokemon reads.
+     *
+     * @param exchange The exchange.
+     * @param etag     The quoted entity tag of the body.
+     */
+    private void headers(HttpServerExchange exchange, String etag) {
+        exchange.getResponseHeaders().put(Headers.CACHE_CONTROL,
+                cacheControl);
+        exchange.getResponseHeaders().put(Headers.VARY,
+                RenderedResponseFilter.VARY);
+        exchange.getResponseHeaders().put(Headers.ETAG,
+                etag);
+    }
+
+    /**
+     * Answers {@code 304 Not Modified} when the {@code If-None-Match} header of the request
+     * matches an entity tag.
+     *
+     * @param exchange The exchange.
+     * @param etag     The quoted entity tag of the body.
+     * @return {@code true} if the response was ended with {@code 304}.
+     */
+    private static boolean notModified(HttpServerExchange exchange, String etag) {
+        if (ETagUtils.handleIfNoneMatch(exchange,
+                new ETag(false, etag.substring(1, etag.length() - 1)),
+                true)) {
+            return false;
+        }
+        exchange.setStatusCode(StatusCodes.NOT_MODIFIED);
+        exchange.endExchange();
+        return true;
+    }
+
+    /**
+     * Writes a JSON body without blocking and ends the exchange.
+     *
+     * @param exchange The exchange.
+     * @param body     The body.
+     */
+    private static void send(HttpServerExchange exchange, ByteBuffer body) {
+        exchange.getResponseHeaders().put(Headers.CONTENT_TYPE,
+                JSON);
+        exchange.getResponseHeaders().put(Headers.CONTENT_LENGTH,
+                body.remaining());
+        exchange.getResponseSender().send(body);
+    }
+
+    /**
+     * Ends a read that could not be answered with the error response Spring MVC would write.
+     *
+     * @param exchange The exchange.
+     * @param error    The error of the read, or {@code null} if the adapter found nothing.
+     */
+    private void fail(HttpServerExchange exchange, Throwable error) {
+        HttpStatus status = status(error);
+        if (status.is5xxServerError()) {
+            log.error("Fast path of {} failed",
+                    exchange.getRelativePath(),
+                    error);
+        }
+        if (exchange.isResponseStarted()) {
+            exchange.endExchange();
+            return;
+        }
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("timestamp",
+                new Date());
+        attributes.put("status",
+                status.value());
+        attributes.put("error",
+                status.getReasonPhrase());
+        attributes.put("path",
+                exchange.getRequestPath());
+        ByteBuffer body;
+        try {
+            body = ByteBuffer.wrap(writer.writeValueAsBytes(attributes));
+        } catch (JsonProcessingException e) {
+            exchange.setStatusCode(StatusCodes.INTERNAL_SERVER_ERROR);
+            exchange.endExchange();
+            return;
+        }
+        exchange.setStatusCode(status.value());
+        send(exchange,
+                body);
+    }
+
+    /**
+     * Maps the outcome of a failed read to the status of the response.
+     *
+     * @param error The error of the read, or {@code null} if the adapter found nothing.
+     * @return The status.
+     */
+    static HttpStatus status(Throwable error) {
+        if (error == null) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (error instanceof ResponseStatusException response) {
+            HttpStatus status = HttpStatus.resolve(response.getStatusCode().value());
+            return status == null ? HttpStatus.INTERNAL_SERVER_ERROR : status;
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+}
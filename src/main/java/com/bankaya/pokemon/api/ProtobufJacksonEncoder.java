@@ -0,0 +1,48 @@
+package com.bankaya.pokemon.api;
+
+import java.util.Map;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.codec.json.AbstractJackson2Encoder;
+import org.springframework.util.MimeType;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+
+/**
+ * WebFlux encoder writing the DTOs as Protocol Buffers ({@code application/x-protobuf}) with
+ * Jackson, used when the REST API is served by Reactor Netty.
+ * <p>
+ * Writes the same messages as the {@link ProtobufJacksonHttpMessageConverter} of Spring MVC,
+ * with the schemas of {@link ProtobufSchemas}. Only single DTOs are encoded; lists and streams
+ * are left to the other encoders.
+ * </p>
+ *
+ * @see ProtobufJacksonHttpMessageConverter
+ */
+public class ProtobufJacksonEncoder extends AbstractJackson2Encoder {
+
+    /** Schemas of the encoded classes. */
+    private final ProtobufSchemas schemas;
+
+    /**
+     * Creates an encoder.
+     *
+     * @param mapper The Protocol Buffers mapper.
+     */
+    public ProtobufJacksonEncoder(ProtobufMapper mapper) {
+        super(mapper,
+                MimeType.valueOf(ProtobufJacksonHttpMessageConverter.APPLICATION_PROTOBUF_VALUE));
+        this.schemas = new ProtobufSchemas(mapper);
+    }
+
+    @Override
+    public boolean canEncode(ResolvableType elementType, MimeType mimeType) {
+        return ProtobufSchemas.isDto(elementType.toClass()) && super.canEncode(elementType,
+                mimeType);
+    }
+
+    @Override
+    protected ObjectWriter customizeWriter(ObjectWriter writer, MimeType mimeType,
+            ResolvableType elementType, Map<String, Object> hints) {
+        return writer.with(schemas.get(elementType.toClass()));
+    }
+}
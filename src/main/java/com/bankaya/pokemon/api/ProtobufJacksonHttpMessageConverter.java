@@ -0,0 +1,99 @@
+package com.bankaya.pokemon.api;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.util.MimeType;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+
+/**
+ * Message converter reading and writing the DTOs as Protocol Buffers
+ * ({@code application/x-protobuf}) with Jackson.
+ * <p>
+ * The schema of a DTO is derived from the class itself, as Jackson sees it: one message per DTO
+ * class, one field per property with the JSON property name, in declaration order. For
+ * {@link PokemonDto}, that is the {@code PokemonDto}, {@code PokemonAbilityDto},
+ * {@code PokemonHeldItemDto}, {@code PokemonHeldItemVersionDto} and {@code NamedApiResourceDto}
+ * messages. Schemas are generated once per class by {@link ProtobufSchemas}. Absent
+ * ({@code null}) properties are not written.
+ * </p>
+ *
+ * <p>Protocol Buffers has no top-level repeated value: only single DTOs of the
+ * {@code com.bankaya.pokemon.dto} package are converted; lists are left to the other
+ * converters.</p>
+ *
+ * @see ProtobufJacksonEncoder
+ * @see PokemonController
+ */
+public class ProtobufJacksonHttpMessageConverter extends AbstractJackson2HttpMessageConverter {
+
+    /** The Protocol Buffers media type. */
+    public static final String APPLICATION_PROTOBUF_VALUE = "application/x-protobuf";
+
+    /** Schemas of the converted classes. */
+    private final ProtobufSchemas schemas;
+
+    /**
+     * Creates a converter.
+     *
+     * @param mapper The Protocol Buffers mapper.
+     */
+    public ProtobufJacksonHttpMessageConverter(ProtobufMapper mapper) {
+        super(mapper,
+                MediaType.parseMediaType(APPLICATION_PROTOBUF_VALUE));
+        this.schemas = new ProtobufSchemas(mapper);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return ProtobufSchemas.isDto(getJavaType(type,
+                contextClass).getRawClass()) && super.canRead(type,
+                        contextClass,
+                        mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return ProtobufSchemas.isDto(clazz) && super.canWrite(clazz,
+                mediaType);
+    }
+
+    /**
+     * Returns the schema of a DTO.
+     *
+     * @param type The DTO class.
+     * @return The schema; its {@code getSource()} renders the {@code .proto} definition.
+     */
+    public ProtobufSchema schema(Class<?> type) {
+        return schemas.get(type);
+    }
+
+    /**
+     * Writes a DTO with the schema of its runtime class, whatever the declared type.
+     */
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        super.writeInternal(object,
+                object.getClass(),
+                outputMessage);
+    }
+
+    @Override
+    protected ObjectReader customizeReader(ObjectReader reader, JavaType javaType) {
+        return reader.with(schema(javaType.getRawClass()));
+    }
+
+    @Override
+    protected ObjectWriter customizeWriter(ObjectWriter writer, MimeType mimeType,
+            JavaType javaType) {
+        return writer.with(schema(javaType.getRawClass()));
+    }
+}
@@ -0,0 +1,65 @@
+package com.bankaya.pokemon.api;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.http.converter.HttpMessageConversionException;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+
+/**
+ * Protocol Buffers schemas of the DTOs, generated once per class from the classes themselves.
+ * <p>
+ * Shared by the {@link ProtobufJacksonHttpMessageConverter} of Spring MVC and the
+ * {@link ProtobufJacksonEncoder} of WebFlux, so both stacks write the same messages.
+ * </p>
+ */
+final class ProtobufSchemas {
+
+    /** Package of the converted classes. */
+    private static final String DTO_PACKAGE = PokemonDto.class.getPackageName();
+
+    /** Mapper generating the schemas. */
+    private final ProtobufMapper mapper;
+
+    /** Schemas, indexed by class. */
+    private final Map<Class<?>, ProtobufSchema> schemas = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the schemas of a mapper.
+     *
+     * @param mapper The Protocol Buffers mapper.
+     */
+    ProtobufSchemas(ProtobufMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Returns the schema of a DTO.
+     *
+     * @param type The DTO class.
+     * @return The schema; its {@code getSource()} renders the {@code .proto} definition.
+     */
+    ProtobufSchema get(Class<?> type) {
+        return schemas.computeIfAbsent(type,
+                key -> {
+                    try {
+                        return mapper.generateSchemaFor(key);
+                    } catch (JsonMappingException e) {
+                        throw new HttpMessageConversionException("No Protobuf schema for " + key
+                                .getName(), e);
+                    }
+                });
+    }
+
+    /**
+     * Checks whether a class is a single DTO.
+     *
+     * @param clazz The class.
+     * @return {@code true} if it belongs to the DTO package and is not an interface.
+     */
+    static boolean isDto(Class<?> clazz) {
+        return !clazz.isInterface() && DTO_PACKAGE.equals(clazz.getPackageName());
+    }
+}
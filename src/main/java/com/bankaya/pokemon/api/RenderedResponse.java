@@ -0,0 +1,244 @@
+package com.bankaya.pokemon.api;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongConsumer;
+import org.springframework.util.DigestUtils;
+import lombok.Getter;
+
+/**
+ * A rendered JSON body with its entity tag and its precompressed variants.
+ * <p>
+ * The entity tag is a strong validator computed once from the body, in the format of
+ * {@link org.springframework.web.filter.ShallowEtagHeaderFilter}: a body served from the
+ * {@link RenderedResponseCache} and the same body rendered by Spring MVC carry the same tag. Each
+ * compressed variant has its own tag, the body tag with the coding appended.
+ * </p>
+ *
+ * <p>A precompressed response only keeps its compressed variants, in read-only direct buffers.
+ * The uncompressed body is decompressed from the gzip variant the first time a client of the
+ * cache needs it, and kept from then on. A response created uncompressed can be given its
+ * variants later with {@link #precompress(Map)}: until then, every client gets the uncompressed
+ * body.</p>
+ */
+public class RenderedResponse {
+
+    /** The quoted strong entity tag of the uncompressed body. */
+    @Getter
+    private final String etag;
+
+    /** The length of the uncompressed body. */
+    private final int length;
+
+    /**
+     * The compressed variants; an immutable map, empty until the body is compressed and never
+     * modified afterwards.
+     */
+    private volatile Map<ContentCoding, ByteBuffer> variants;
+
+    /**
+     * The uncompressed body; {@code null} for a precompressed response until a client needs it.
+     * Guarded by {@code this}.
+     */
+    private ByteBuffer identity;
+
+    /** Whether the response left the cache. Guarded by {@code this}. */
+    private boolean retired;
+
+    /**
+     * Creates a response without compressed variants.
+     *
+     * @param body The read-only body, positioned at its start; never modified.
+     */
+    RenderedResponse(ByteBuffer body) {
+        this.etag = etag(body.duplicate());
+        this.length = body.remaining();
+        this.variants = Map.of();
+        this.identity = body;
+    }
+
+    /**
+     * Creates a precompressed response, without uncompressed copy.
+     *
+     * @param body    The body.
+     * @param codings The codings of the variants; must include {@link ContentCoding#GZIP}.
+     */
+    RenderedResponse(byte[] body, Set<ContentCoding> codings) {
+        this.etag = etag(ByteBuffer.wrap(body));
+        this.length = body.length;
+        this.variants = compress(body,
+                codings);
+    }
+
+    /**
+     * Compresses a body into the variants of a response.
+     *
+     * @param body    The body.
+     * @param codings The codings of the variants; must include {@link ContentCoding#GZIP}.
+     * @return The variants, in read-only direct buffers.
+     */
+    static Map<ContentCoding, ByteBuffer> compress(byte[] body, Set<ContentCoding> codings) {
+        Map<ContentCoding, ByteBuffer> compressed = new EnumMap<>(ContentCoding.class);
+        for (ContentCoding coding : codings) {
+            byte[] encoded = coding.encode(body);
+            compressed.put(coding,
+                    ByteBuffer.allocateDirect(encoded.length).put(encoded).flip()
+                            .asReadOnlyBuffer());
+        }
+        return Collections.unmodifiableMap(compressed);
+    }
+
+    /**
+     * Returns the uncompressed body.
+     *
+     * @return A new view of the body, positioned at its start and owned by the caller.
+     */
+    public ByteBuffer getBody() {
+        return getBody(ContentCoding.IDENTITY);
+    }
+
+    /**
+     * Returns a variant of the body. The uncompressed body of a precompressed response is
+     * decompressed on every call; the {@link RenderedResponseCache} keeps it instead.
+     *
+     * @param coding A coding selected with {@link #negotiate(String)}.
+     * @return A new view of the variant, positioned at its start and owned by the caller.
+     */
+    public ByteBuffer getBody(ContentCoding coding) {
+        return coding == ContentCoding.IDENTITY ? identity(null) : variants.get(coding).duplicate();
+    }
+
+    /**
+     * Returns the entity tag of a variant.
+     *
+     * @param coding The coding of the variant.
+     * @return The quoted strong entity tag.
+     */
+    public String getEtag(ContentCoding coding) {
+        return coding == ContentCoding.IDENTITY ? etag
+                : etag.substring(0, etag.length() - 1) + "-" + coding.getToken() + "\"";
+    }
+
+    /**
+     * Selects the variant of a request.
+     *
+     * @param acceptEncoding The {@code Accept-Encoding} header, may be {@code null}.
+     * @return The coding of the variant to send.
+     */
+    public ContentCoding negotiate(String acceptEncoding) {
+        return ContentCoding.negotiate(acceptEncoding,
+                variants.containsKey(ContentCoding.BROTLI),
+                variants.containsKey(ContentCoding.GZIP));
+    }
+
+    /**
+     * Returns the length of the uncompressed body.
+     *
+     * @return The number of bytes.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns the length of a variant.
+     *
+     * @param coding The coding of the variant.
+     * @return The number of bytes sent for that variant.
+     */
+    public int length(ContentCoding coding) {
+        return coding == ContentCoding.IDENTITY ? length : variants.get(coding).remaining();
+    }
+
+    /**
+     * Returns the number of bytes the response holds.
+     *
+     * @return The number of bytes of the variants and of the uncompressed body, if kept.
+     */
+    synchronized long size() {
+        return compressedSize() + (identity != null ? length : 0);
+    }
+
+    /**
+     * Gives an uncompressed response its compressed variants, and drops the uncompressed body.
+     * Clients negotiate the variants from then on.
+     *
+     * @param compressed The variants built with {@link #compress(byte[], Set)}.
+     * @return The change of {@link #size()}, or {@code 0} if the response already left the cache
+     *         or was already compressed, in which case nothing changes.
+     */
+    synchronized long precompress(Map<ContentCoding, ByteBuffer> compressed) {
+        if (retired || !variants.isEmpty() || compressed.isEmpty()) {
+            return 0;
+        }
+        long before = size();
+        variants = compressed;
+        identity = null;
+        return size() - before;
+    }
+
+    /**
+     * Returns the uncompressed body, keeping it for later requests when asked to and the response
+     * is still cached.
+     *
+     * @param kept Receives the number of bytes kept; {@code null} to never keep the body.
+     * @return A new view of the body, positioned at its start.
+     */
+    synchronized ByteBuffer identity(LongConsumer kept) {
+        if (identity != null) {
+            return identity.duplicate();
+        }
+        byte[] body = ContentCoding.gunzip(bytes(variants.get(ContentCoding.GZIP)),
+                length);
+        if (kept == null || retired) {
+            return ByteBuffer.wrap(body).asReadOnlyBuffer();
+        }
+        identity = ByteBuffer.allocateDirect(length).put(body).flip().asReadOnlyBuffer();
+        kept.accept(length);
+        return identity.duplicate();
+    }
+
+    /**
+     * Marks the response as removed from the cache.
+     *
+     * @return The number of bytes it held.
+     */
+    synchronized long retire() {
+        retired = true;
+        return size();
+    }
+
+    /**
+     * Returns the size of the compressed variants.
+     *
+     * @return The number of bytes.
+     */
+    private long compressedSize() {
+        return variants.values().stream().mapToLong(ByteBuffer::capacity).sum();
+    }
+
+    /**
+     * Copies a buffer.
+     *
+     * @param buffer The buffer, never modified.
+     * @return Its remaining bytes.
+     */
+    private static byte[] bytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Computes the entity tag of a body.
+     *
+     * @param body The body.
+     * @return The quoted tag: {@code "0"} followed by the hexadecimal MD5 digest of the body.
+     */
+    static String etag(ByteBuffer body) {
+        return "\"0" + DigestUtils.md5DigestAsHex(bytes(body)) + "\"";
+    }
+}
@@ -0,0 +1,588 @@
+package com.bankaya.pokemon.api;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import com.bankaya.pokemon.catalog.ICatalogListener;
+import com.bankaya.pokemon.catalog.PokemonCatalogStore;
+import com.bankaya.pokemon.catalog.PokemonRecordConverter;
+import com.bankaya.pokemon.dto.PokemonAbilityDto;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.dto.PokemonHeldItemDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cache of the rendered JSON bodies of the REST responses of cataloged Pokemon.
+ * <p>
+ * A body is rendered with the application {@link ObjectMapper}, from the same converted record
+ * the controller would serialize, so it is byte for byte the response of the Spring MVC path. It
+ * is then copied once into a read-only direct buffer, which the servlet container can write to
+ * the socket without copying it back to the heap. Its strong entity tag is computed at the same
+ * time, so conditional requests are answered without rendering or hashing anything.
+ * </p>
+ *
+ * <p>By default, only the gzip and Brotli variants of a body are kept. A body enters the cache
+ * uncompressed and is compressed once by the compressor of the cache, off the request path;
+ * until then, every client gets the uncompressed body. Once compressed, the uncompressed body is
+ * dropped, and kept again once a client without compression support requests it. When the
+ * compressor is saturated, the body stays uncompressed. The bytes written per coding are
+ * published as metrics.</p>
+ *
+ * <p><strong>Invalidation and eviction:</strong></p>
+ * <ul>
+ *   <li>The cache is an {@link ICatalogListener}: every body of a Pokemon is dropped when its
+ *   record is replaced or evicted, so the next request renders the new record.</li>
+ *   <li>A body rendered while its record was being replaced is served but not cached.</li>
+ *   <li>When the bodies exceed {@link #maxBytes}, the least recently used ones are evicted.
+ *   Bodies larger than {@link #maxBytes} on their own are served but not cached.</li>
+ * </ul>
+ *
+ * @see RenderedResponseFilter
+ */
+@Slf4j
+public class RenderedResponseCache implements ICatalogListener, MeterBinder {
+
+    /** Type of the rendered ability lists. */
+    private static final TypeReference<List<PokemonAbilityDto>> ABILITIES =
+            new TypeReference<List<PokemonAbilityDto>>() {
+            };
+
+    /** Type of the rendered held item lists. */
+    private static final TypeReference<List<PokemonHeldItemDto>> HELD_ITEMS =
+            new TypeReference<List<PokemonHeldItemDto>>() {
+            };
+
+    /** Catalog whose records are rendered. */
+    private final PokemonCatalogStore catalogStore;
+
+    /** Converter applied to the records before rendering, as the services do. */
+    private final PokemonRecordConverter recordConverter;
+
+    /** Object mapper of the Spring MVC message converters. */
+    private final ObjectMapper objectMapper;
+
+    /** Maximum size of the cached bodies. */
+    private final long maxBytes;
+
+    /** Codings of the precompressed variants. */
+    private final Set<ContentCoding> codings;
+
+    /** Executor compressing the cached bodies. */
+    private final Executor compressor;
+
+    /**
+     * Rendered responses, indexed by operation and Pokemon id, in least recently used order.
+     * Guarded by {@code this}.
+     */
+    private final LinkedHashMap<Key, RenderedResponse> responses = new LinkedHashMap<>(256,
+            0.75f, true);
+
+    /** Size of the cached bodies. */
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    /**
+     * Version of every Pokemon id, incremented on every change of its record. Entries are never
+     * removed, so a version never goes back; there is at most one per cataloged id.
+     */
+    private final Map<Integer, Long> versions = new ConcurrentHashMap<>();
+
+    /** Requests served from a cached body. */
+    private final AtomicLong hits = new AtomicLong();
+
+    /** Requests whose body had to be rendered. */
+    private final AtomicLong misses = new AtomicLong();
+
+    /** Bodies evicted to make room for others. */
+    private final AtomicLong evictions = new AtomicLong();
+
+    /** Requests answered with {@code 304 Not Modified}. */
+    private final AtomicLong notModified = new AtomicLong();
+
+    /** Body bytes not sent thanks to {@code 304 Not Modified} answers. */
+    private final AtomicLong savedBytes = new AtomicLong();
+
+    /** Body bytes written, indexed by {@link ContentCoding} ordinal. */
+    private final AtomicLong[] written = Stream.generate(AtomicLong::new)
+            .limit(ContentCoding.values().length).toArray(AtomicLong[]::new);
+
+    /**
+     * Creates the cache and registers it on the catalog store.
+     *
+     * @param catalogStore    The catalog whose records are rendered.
+     * @param recordConverter The converter applied to the records before rendering.
+     * @param objectMapper    The object mapper of the message converters.
+     * @param maxBytes        The maximum size of the cached bodies.
+     */
+    public RenderedResponseCache(PokemonCatalogStore catalogStore,
+            PokemonRecordConverter recordConverter, ObjectMapper objectMapper, long maxBytes) {
+        this(catalogStore, recordConverter, objectMapper, maxBytes, ContentCoding.precompressed());
+    }
+
+    /**
+     * Creates the cache and registers it on the catalog store. Bodies are compressed by the
+     * thread rendering them, before they are returned.
+     *
+     * @param catalogStore    The catalog whose records are rendered.
+     * @param recordConverter The converter applied to the records before rendering.
+     * @param objectMapper    The object mapper of the message converters.
+     * @param maxBytes        The maximum size of the cached bodies.
+     * @param codings         The codings of the precompressed variants; empty to keep the
+     *                        uncompressed bodies only.
+     */
+    public RenderedResponseCache(PokemonCatalogStore catalogStore,
+            PokemonRecordConverter recordConverter, ObjectMapper objectMapper, long maxBytes,
+            Set<ContentCoding> codings) {
+        this(catalogStore, recordConverter, objectMapper, maxBytes, codings, Runnable::run);
+    }
+
+    /**
+     * Creates the cache and registers it on the catalog store.
+     *
+     * @param catalogStore    The catalog whose records are rendered.
+     * @param recordConverter The converter applied to the records before rendering.
+     * @param objectMapper    The object mapper of the message converters.
+     * @param maxBytes        The maximum size of the cached bodies.
+     * @param codings         The codings of the precompressed variants; empty to keep the
+     *                        uncompressed bodies only.
+     * @param compressor      The executor compressing the cached bodies, such as the one of
+     *                        {@link #compressor(int)}; shut down with the cache when it is an
+     *                        {@link ExecutorService}.
+     */
+    public RenderedResponseCache(PokemonCatalogStore catalogStore,
+            PokemonRecordConverter recordConverter, ObjectMapper objectMapper, long maxBytes,
+            Set<ContentCoding> codings, Executor compressor) {
+        this.catalogStore = catalogStore;
+        this.recordConverter = recordConverter;
+        this.objectMapper = objectMapper;
+        this.maxBytes = maxBytes;
+        this.codings = Set.copyOf(codings);
+        this.compressor = compressor;
+        catalogStore.addListener(this);
+    }
+
+    /**
+     * Creates a bounded executor compressing bodies on daemon threads. Bodies submitted while its
+     * queue is full are not compressed.
+     *
+     * @param threads The number of threads.
+     * @return The executor.
+     */
+    public static ExecutorService compressor(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(1024), runnable -> {
+                    Thread thread = new Thread(runnable,
+                            "pokemon-response-compressor-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Returns the rendered body of an operation on a cataloged Pokemon, rendering it if needed.
+     *
+     * @param operation The operation.
+     * @param nameOrId  The name or ID of the Pokemon.
+     * @return A read-only buffer positioned at the start of the body, owned by the caller; or
+     *         {@code null} if the Pokemon is not in the catalog or the operation has no body, in
+     *         which case the request must go through Spring MVC.
+     */
+    public ByteBuffer get(Operation operation, String nameOrId) {
+        RenderedResponse response = find(operation,
+                nameOrId);
+        return response == null ? null : body(response,
+                ContentCoding.IDENTITY);
+    }
+
+    /**
+     * Returns the rendered response of an operation on a cataloged Pokemon, rendering it if
+     * needed.
+     *
+     * @param operation The operation.
+     * @param nameOrId  The name or ID of the Pokemon.
+     * @return The body with its entity tag; or {@code null} if the Pokemon is not in the catalog
+     *         or the operation has no body, in which case the request must go through Spring MVC.
+     */
+    public RenderedResponse find(Operation operation, String nameOrId) {
+        Key key = key(operation,
+                nameOrId);
+        if (key == null) {
+            return null;
+        }
+        RenderedResponse cached = cached(key);
+        if (cached != null) {
+            return cached;
+        }
+        long expected = version(key.getId());
+        byte[] body = catalogStore.find(String.valueOf(key.getId())).map(pokemon -> render(
+                operation,
+                pokemon)).orElse(null);
+        if (body == null) {
+            return null;
+        }
+        misses.incrementAndGet();
+        if (body.length > maxBytes) {
+            return new RenderedResponse(ByteBuffer.wrap(body).asReadOnlyBuffer());
+        }
+        RenderedResponse response = new RenderedResponse(ByteBuffer.allocateDirect(body.length)
+                .put(body).flip().asReadOnlyBuffer());
+        if (store(key,
+                response,
+                expected) && !codings.isEmpty()) {
+            compress(response,
+                    body);
+        }
+        return response;
+    }
+
+    /**
+     * Returns the rendered response of an operation on a cataloged Pokemon if it is cached,
+     * without rendering anything. Cheap enough for the I/O threads of the server.
+     *
+     * @param operation The operation.
+     * @param nameOrId  The name or ID of the Pokemon.
+     * @return The body with its entity tag; or {@code null} if it is not cached, in which case
+     *         {@link #find(Operation, String)} renders it.
+     */
+    public RenderedResponse findCached(Operation operation, String nameOrId) {
+        Key key = key(operation,
+                nameOrId);
+        return key == null ? null : cached(key);
+    }
+
+    /**
+     * Returns a variant of a rendered response to write it, keeping the uncompressed body of a
+     * cached response once a client needs it.
+     *
+     * @param response The rendered response.
+     * @param coding   The coding selected with {@link RenderedResponse#negotiate(String)}.
+     * @return A new view of the variant, positioned at its start and owned by the caller.
+     */
+    public ByteBuffer body(RenderedResponse response, ContentCoding coding) {
+        ByteBuffer body = coding == ContentCoding.IDENTITY ? response.identity(usedBytes::addAndGet)
+                : response.getBody(coding);
+        written[coding.ordinal()].addAndGet(body.remaining());
+        if (usedBytes.get() > maxBytes) {
+            evict();
+        }
+        return body;
+    }
+
+    /**
+     * Records a request answered with {@code 304 Not Modified} instead of a rendered body.
+     *
+     * @param response The response the client already holds.
+     * @param coding   The coding of the variant the client holds.
+     */
+    public void notModified(RenderedResponse response, ContentCoding coding) {
+        notModified.incrementAndGet();
+        savedBytes.addAndGet(response.length(coding));
+    }
+
+    /**
+     * Returns the number of cached bodies.
+     *
+     * @return The number of bodies.
+     */
+    public synchronized int size() {
+        return responses.size();
+    }
+
+    /**
+     * Returns the number of bytes held by the cached bodies.
+     *
+     * @return The number of bytes.
+     */
+    public long usedBytes() {
+        return usedBytes.get();
+    }
+
+    /**
+     * Stops the compressor of the cache, if it owns one.
+     */
+    public void shutdown() {
+        if (compressor instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public void onPut(PokemonDto previous, PokemonDto current) {
+        if (previous != null && previous.getId() != null) {
+            invalidate(previous.getId());
+        }
+        if (current != null && current.getId() != null) {
+            invalidate(current.getId());
+        }
+    }
+
+    @Override
+    public void onRemove(int id) {
+        invalidate(id);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("pokemon.response.cache.used",
+                usedBytes,
+                AtomicLong::get).baseUnit(BaseUnits.BYTES)
+                .description("Bytes used by the rendered response bodies").register(registry);
+        Gauge.builder("pokemon.response.cache.entries",
+                this,
+                RenderedResponseCache::size)
+                .description("Rendered response bodies cached").register(registry);
+        FunctionCounter.builder("pokemon.response.cache.hits",
+                hits,
+                AtomicLong::get)
+                .description("Responses written from a cached body").register(registry);
+        FunctionCounter.builder("pokemon.response.cache.misses",
+                misses,
+                AtomicLong::get)
+                .description("Responses whose body had to be rendered").register(registry);
+        FunctionCounter.builder("pokemon.response.cache.evictions",
+                evictions,
+                AtomicLong::get)
+                .description("Rendered response bodies evicted to make room for others")
+                .register(registry);
+        FunctionCounter.builder("pokemon.response.cache.not.modified",
+                notModified,
+                AtomicLong::get)
+                .description("Conditional requests answered with 304 Not Modified")
+                .register(registry);
+        FunctionCounter.builder("pokemon.response.cache.saved",
+                savedBytes,
+                AtomicLong::get).baseUnit(BaseUnits.BYTES)
+                .description("Body bytes not sent thanks to 304 Not Modified").register(registry);
+        for (ContentCoding coding : ContentCoding.values()) {
+            FunctionCounter.builder("pokemon.response.cache.written",
+                    written[coding.ordinal()],
+                    AtomicLong::get).baseUnit(BaseUnits.BYTES)
+                    .tag("encoding",
+                            coding.getToken() == null ? "identity" : coding.getToken())
+                    .description("Body bytes written from the cache").register(registry);
+        }
+        Gauge.builder("pokemon.response.cache.not.modified.ratio",
+                this,
+                RenderedResponseCache::notModifiedRatio)
+                .description("Share of the cached operations answered with 304 Not Modified")
+                .register(registry);
+    }
+
+    /**
+     * Returns the share of the requests answered with {@code 304 Not Modified}.
+     *
+     * @return The ratio of {@code 304} answers to the requests served by the cache.
+     */
+    double notModifiedRatio() {
+        long served = hits.get() + misses.get();
+        return served == 0 ? 0 : (double) notModified.get() / served;
+    }
+
+    /**
+     * Resolves the key of an operation on a cataloged Pokemon.
+     *
+     * @param operation The operation.
+     * @param nameOrId  The name or ID of the Pokemon.
+     * @return The key, or {@code null} if the Pokemon is not in the catalog.
+     */
+    private Key key(Operation operation, String nameOrId) {
+        Optional<Integer> id = catalogStore.resolveId(nameOrId);
+        return id.isEmpty() ? null : new Key(operation, id.get());
+    }
+
+    /**
+     * Returns a cached response, marking it as the most recently used one.
+     *
+     * @param key The key of the response.
+     * @return The response, or {@code null} if it is not cached.
+     */
+    private RenderedResponse cached(Key key) {
+        RenderedResponse cached;
+        synchronized (this) {
+            cached = responses.get(key);
+        }
+        if (cached != null) {
+            hits.incrementAndGet();
+        }
+        return cached;
+    }
+
+    /**
+     * Caches a rendered response, evicting the least recently used ones if needed.
+     *
+     * @param key      The key of the response.
+     * @param response The response.
+     * @param expected The version of the Pokemon read before rendering it.
+     * @return {@code true} if the response was cached; {@code false} if its record was replaced
+     *         in the meantime or another thread cached it first.
+     */
+    private synchronized boolean store(Key key, RenderedResponse response, long expected) {
+        // Invalidations bump the version of the id before taking the monitor, so a body rendered
+        // from a replaced record is either rejected here or removed by the invalidation.
+        if (version(key.getId()) != expected || responses.containsKey(key)) {
+            return false;
+        }
+        responses.put(key,
+                response);
+        usedBytes.addAndGet(response.size());
+        evict();
+        return true;
+    }
+
+    /**
+     * Compresses a cached response with the compressor of the cache.
+     *
+     * @param response The response, cached uncompressed.
+     * @param body     Its body.
+     */
+    private void compress(RenderedResponse response, byte[] body) {
+        try {
+            compressor.execute(() -> {
+                long delta = response.precompress(RenderedResponse.compress(body,
+                        codings));
+                if (delta != 0) {
+                    usedBytes.addAndGet(delta);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Response compressor saturated, body of {} bytes kept uncompressed",
+                    body.length);
+        }
+    }
+
+    /**
+     * Evicts the least recently used responses until the cached bodies fit in
+     * {@link #maxBytes}.
+     */
+    private synchronized void evict() {
+        Iterator<RenderedResponse> eldest = responses.values().iterator();
+        while (usedBytes.get() > maxBytes && eldest.hasNext()) {
+            RenderedResponse evicted = eldest.next();
+            eldest.remove();
+            usedBytes.addAndGet(-evicted.retire());
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the current version of a Pokemon.
+     *
+     * @param id The Pokemon id.
+     * @return The number of changes of its record.
+     */
+    private long version(int id) {
+        return versions.getOrDefault(id,
+                0L);
+    }
+
+    /**
+     * Bumps the version of a Pokemon, then drops every cached body of it. Renders of the same
+     * Pokemon that started before are rejected by {@link #store(Key, RenderedResponse, long)};
+     * those of other Pokemon are not affected.
+     *
+     * @param id The Pokemon id.
+     */
+    private void invalidate(int id) {
+        versions.merge(id,
+                1L,
+                Long::sum);
+        drop(id);
+    }
+
+    /**
+     * Drops every cached body of a Pokemon.
+     *
+     * @param id The Pokemon id.
+     */
+    private synchronized void drop(int id) {
+        for (Operation operation : Operation.values()) {
+            RenderedResponse removed = responses.remove(new Key(operation, id));
+            if (removed != null) {
+                usedBytes.addAndGet(-removed.retire());
+            }
+        }
+    }
+
+    /**
+     * Renders the body of an operation.
+     *
+     * @param operation The operation.
+     * @param pokemon   The catalog record.
+     * @return The UTF-8 JSON body, or {@code null} if the operation has no body for the record.
+     */
+    private byte[] render(Operation operation, PokemonDto pokemon) {
+        Object value = switch (operation) {
+            case DETAILS -> recordConverter.convert(pokemon,
+                    PokemonDto.class);
+            case ABILITIES -> recordConverter.convert(pokemon.getAbilities(),
+                    ABILITIES);
+            case HELD_ITEMS -> recordConverter.convert(pokemon.getHeldItems(),
+                    HELD_ITEMS);
+        };
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            log.warn("Unable to render {} of Pokemon {}: {}",
+                    operation,
+                    pokemon.getId(),
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Operations whose responses are cached.
+     */
+    public enum Operation {
+
+        /** {@code GET /api/v1/pokemon/{nameOrId}}. */
+        DETAILS,
+
+        /** {@code GET /api/v1/pokemon/{nameOrId}/abilities}. */
+        ABILITIES,
+
+        /** {@code GET /api/v1/pokemon/{nameOrId}/held-items}, without a version. */
+        HELD_ITEMS
+
+    }
+
+    /**
+     * Key of a cached body.
+     */
+    @Value
+    private static class Key {
+
+        /** The operation. */
+        Operation operation;
+
+        /** The Pokemon id. */
+        int id;
+
+    }
+}
@@ -0,0 +1,210 @@
+package com.bankaya.pokemon.api;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Set;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import com.bankaya.pokemon.api.RenderedResponseCache.Operation;
+import io.undertow.servlet.spec.ServletOutputStreamImpl;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Servlet filter answering the plain Pokemon reads of cataloged Pokemon from the
+ * {@link RenderedResponseCache}, before Spring MVC.
+ * <p>
+ * Handles {@code GET /api/v1/pokemon/{nameOrId}}, {@code .../abilities} and
+ * {@code .../held-items} without query parameters, for clients preferring JSON; clients asking
+ * for a binary representation (CBOR, Smile, Protocol Buffers) are answered by the controller.
+ * When the body is available, it is written with its length in a single call: on Undertow, the
+ * direct buffer is handed to the response channel as it is. Every other request, and every Pokemon not in the
+ * catalog yet, goes through the controller unchanged.
+ * </p>
+ *
+ * <p><strong>Conditional requests:</strong></p>
+ * <ul>
+ *   <li>Successful responses of the three operations without query parameters carry the
+ *   configured {@code Cache-Control} header, whichever path answers them; variants selected by
+ *   query parameters ({@code expand}, {@code fields}, {@code version}) and error responses do
+ *   not.</li>
+ *   <li>Cached bodies carry their strong {@code ETag}; a request whose {@code If-None-Match}
+ *   matches it is answered with {@code 304 Not Modified} without converting, serializing nor
+ *   hashing anything.</li>
+ *   <li>Responses rendered by Spring MVC get the same {@code ETag} from the
+ *   {@link PokemonEtagFilter} registered after this one.</li>
+ * </ul>
+ *
+ * <p><strong>Compression:</strong> the precompressed variant accepted by the
+ * {@code Accept-Encoding} header of the request is written with its {@code Content-Encoding},
+ * its own length and its own {@code ETag}; the responses carrying {@code Cache-Control} also
+ * carry {@code Vary: Accept, Accept-Encoding}. Nothing is compressed per request.</p>
+ *
+ * @see RenderedResponseCache
+ * @see RenderedResponseWebFilter
+ * @see PokemonController
+ */
+@RequiredArgsConstructor
+public class RenderedResponseFilter extends OncePerRequestFilter {
+
+    /** Path of the Pokemon resources. */
+    static final String BASE_PATH = "/api/v1/pokemon/";
+
+    /**
+     * First segments of the collection resources, which are not Pokemon names: a request to
+     * {@code /api/v1/pokemon/search} is never a read of a Pokemon named {@code search}.
+     */
+    static final Set<String> COLLECTIONS = Set.of("held-items",
+            "search",
+            "autocomplete",
+            "suggest",
+            "analytics");
+
+    /** Value of the {@code Vary} header of the cached operations. */
+    static final String VARY = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+
+    /**
+     * Cache of the rendered bodies.
+     */
+    private final RenderedResponseCache cache;
+
+    /**
+     * Value of the {@code Cache-Control} header of the cached operations.
+     */
+    private final String cacheControl;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain chain) throws ServletException, IOException {
+        String[] segments = segments(request);
+        Operation operation = operation(segments);
+        RenderedResponse rendered = operation != null && request.getQueryString() == null
+                && acceptsJson(request.getHeader(HttpHeaders.ACCEPT)) ? cache.find(operation,
+                        segments[0]) : null;
+        if (rendered == null) {
+            chain.doFilter(request,
+                    response);
+            return;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                cacheControl);
+        response.setHeader(HttpHeaders.VARY,
+                VARY);
+        ContentCoding coding = rendered.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (new ServletWebRequest(request, response).checkNotModified(rendered.getEtag(coding))) {
+            cache.notModified(rendered,
+                    coding);
+            return;
+        }
+        ByteBuffer body = cache.body(rendered,
+                coding);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        if (coding.getToken() != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING,
+                    coding.getToken());
+        }
+        response.setContentLength(body.remaining());
+        write(response.getOutputStream(),
+                body);
+    }
+
+    /**
+     * Splits the path of a request to the Pokemon resources.
+     *
+     * @param request The request.
+     * @return The segments of the path after {@link #BASE_PATH}; none for other resources.
+     */
+    static String[] segments(HttpServletRequest request) {
+        return segments(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    /**
+     * Splits a path within the application.
+     *
+     * @param path The path, without context path.
+     * @return The segments of the path after {@link #BASE_PATH}; none for other resources.
+     */
+    static String[] segments(String path) {
+        return path.startsWith(BASE_PATH) ? path.substring(BASE_PATH.length()).split("/")
+                : new String[0];
+    }
+
+    /**
+     * Finds the cached operation of a path.
+     *
+     * @param segments The segments of the path after {@link #BASE_PATH}.
+     * @return The operation, or {@code null} if the path is not cached.
+     */
+    static Operation operation(String[] segments) {
+        if (segments.length == 0 || segments[0].isEmpty() || COLLECTIONS.contains(segments[0])) {
+            return null;
+        }
+        if (segments.length == 1) {
+            return Operation.DETAILS;
+        }
+        if (segments.length == 2 && "abilities".equals(segments[1])) {
+            return Operation.ABILITIES;
+        }
+        if (segments.length == 2 && "held-items".equals(segments[1])) {
+            return Operation.HELD_ITEMS;
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether an {@code Accept} header selects a JSON response: JSON is acceptable, and
+     * preferred to every other type the request names explicitly, such as the binary
+     * representations of the {@link PokemonController}.
+     *
+     * @param accept The header, may be {@code null}.
+     * @return {@code true} if JSON is the response to send.
+     */
+    static boolean acceptsJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        double json = 0;
+        double other = 0;
+        try {
+            for (MediaType type : MediaType.parseMediaTypes(accept)) {
+                if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                    json = Math.max(json,
+                            type.getQualityValue());
+                } else if (!type.isWildcardType() && !type.isWildcardSubtype()) {
+                    other = Math.max(other,
+                            type.getQualityValue());
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return json > 0 && json > other;
+    }
+
+    /**
+     * Writes a body to the response.
+     *
+     * @param out  The response stream.
+     * @param body The body.
+     * @throws IOException If the body cannot be written.
+     */
+    private static void write(ServletOutputStream out, ByteBuffer body) throws IOException {
+        if (out instanceof ServletOutputStreamImpl undertow) {
+            undertow.write(body);
+        } else {
+            Channels.newChannel(out).write(body);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.bankaya.pokemon.api;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import com.bankaya.pokemon.api.RenderedResponseCache.Operation;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * WebFlux counterpart of the {@link RenderedResponseFilter} and the {@link PokemonEtagFilter},
+ * used when the REST API is served by Reactor Netty.
+ * <p>
+ * Answers the plain Pokemon reads of cataloged Pokemon from the {@link RenderedResponseCache}
+ * with the same headers, validators and precompressed variants as the servlet filter. The
+ * cached body is wrapped, not copied, into the Netty buffer written to the connection; bodies
+ * not cached yet are rendered on the bounded elastic scheduler, off the event loop. Every
+ * other request goes through the controller; the bodies it renders for the three operations get
+ * the same strong {@code ETag} as the cached ones, and a matching {@code If-None-Match} is
+ * answered with {@code 304 Not Modified}. As on the servlet stack, only successful responses to
+ * requests without query parameters carry the caching headers.
+ * </p>
+ *
+ * @see RenderedResponseFilter
+ * @see PokemonController
+ */
+@RequiredArgsConstructor
+public class RenderedResponseWebFilter implements WebFilter {
+
+    /**
+     * Cache of the rendered bodies.
+     */
+    private final RenderedResponseCache cache;
+
+    /**
+     * Value of the {@code Cache-Control} header of the cached operations.
+     */
+    private final String cacheControl;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+        String[] segments = RenderedResponseFilter.segments(request.getPath()
+                .pathWithinApplication().value());
+        Operation operation = RenderedResponseFilter.operation(segments);
+        if (operation == null) {
+            return chain.filter(exchange);
+        }
+        boolean plain = request.getURI().getRawQuery() == null;
+        Mono<Void> controller = Mono.defer(() -> chain.filter(exchange.mutate().response(
+                new EtagResponse(exchange, plain ? cacheControl : null)).build()));
+        if (!plain || !RenderedResponseFilter.acceptsJson(request.getHeaders().getFirst(
+                HttpHeaders.ACCEPT))) {
+            return controller;
+        }
+        RenderedResponse cached = cache.findCached(operation,
+                segments[0]);
+        if (cached != null) {
+            return write(exchange,
+                    cached);
+        }
+        // Rendering reads and decodes the catalog record, which must not block the event loop.
+        return Mono.fromCallable(() -> Optional.ofNullable(cache.find(operation,
+                segments[0]))).subscribeOn(Schedulers.boundedElastic()).flatMap(
+                        rendered -> rendered.isPresent() ? write(exchange,
+                                rendered.get()) : controller);
+    }
+
+    /**
+     * Writes a cached response, or {@code 304 Not Modified} when the client already holds it.
+     *
+     * @param exchange The exchange.
+     * @param rendered The cached response.
+     * @return The completion of the response.
+     */
+    private Mono<Void> write(ServerWebExchange exchange, RenderedResponse rendered) {
+        ServerHttpRequest request = exchange.getRequest();
+        ServerHttpResponse response = exchange.getResponse();
+        cacheHeaders(response.getHeaders(),
+                cacheControl);
+        ContentCoding coding = rendered.negotiate(request.getHeaders().getFirst(
+                HttpHeaders.ACCEPT_ENCODING));
+        if (exchange.checkNotModified(rendered.getEtag(coding))) {
+            cache.notModified(rendered,
+                    coding);
+            return response.setComplete();
+        }
+        ByteBuffer body = cache.body(rendered,
+                coding);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        if (coding.getToken() != null) {
+            response.getHeaders().set(HttpHeaders.CONTENT_ENCODING,
+                    coding.getToken());
+        }
+        response.getHeaders().setContentLength(body.remaining());
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    /**
+     * Sets the caching headers of a successful response of the cached operations.
+     *
+     * @param headers      The response headers.
+     * @param cacheControl The value of the {@code Cache-Control} header.
+     */
+    private static void cacheHeaders(HttpHeaders headers, String cacheControl) {
+        headers.set(HttpHeaders.CACHE_CONTROL,
+                cacheControl);
+        headers.set(HttpHeaders.VARY,
+                RenderedResponseFilter.VARY);
+    }
+
+    /**
+     * Response buffering the body rendered by the controller to tag it, as the
+     * {@link PokemonEtagFilter} does on the servlet stack.
+     */
+    private static class EtagResponse extends ServerHttpResponseDecorator {
+
+        /** Exchange of the response, checking the conditional headers of the request. */
+        private final ServerWebExchange exchange;
+
+        /**
+         * {@code Cache-Control} header of a successful response, or {@code null} when the request
+         * has query parameters.
+         */
+        private final String cacheControl;
+
+        /**
+         * Creates the response.
+         *
+         * @param exchange     The exchange whose response is decorated.
+         * @param cacheControl The {@code Cache-Control} header of a successful response, or
+         *                     {@code null}.
+         */
+        EtagResponse(ServerWebExchange exchange, String cacheControl) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.cacheControl = cacheControl;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            if (status != null && !status.is2xxSuccessful()) {
+                return super.writeWith(body);
+            }
+            if (cacheControl != null) {
+                cacheHeaders(getHeaders(),
+                        cacheControl);
+            }
+            return DataBufferUtils.join(body).flatMap(buffer -> {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                DataBufferUtils.release(buffer);
+                if (exchange.checkNotModified(RenderedResponse.etag(ByteBuffer.wrap(bytes)))) {
+                    return setComplete();
+                }
+                getHeaders().setContentLength(bytes.length);
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.bankaya.pokemon.catalog;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import lombok.Value;
+
+/**
+ * Immutable BK-tree over names, answering "names within edit distance {@code k}" queries.
+ * <p>
+ * Every node holds a name and its children are keyed by their Levenshtein distance to it. By the
+ * triangle inequality, a query for {@code word} within distance {@code k} only has to descend
+ * into the children whose key lies in {@code [d - k, d + k]}, where {@code d} is the distance
+ * between {@code word} and the node, which prunes most of the tree for small {@code k}. The
+ * distance itself is computed with a bounded dynamic program that stops as soon as every cell of
+ * a row exceeds the bound.
+ * </p>
+ *
+ * <p>Nodes are stored in parallel arrays, with the children of a node contiguous in the edge
+ * arrays.</p>
+ */
+public final class BkTree {
+
+    /** Empty tree. */
+    private static final BkTree EMPTY = build(Map.of());
+
+    /** Name of every node; node 0 is the root. */
+    private final String[] names;
+
+    /** Pokemon id of every node. */
+    private final int[] ids;
+
+    /** Start of the edges of every node; one extra trailing entry. */
+    private final int[] edgeOffsets;
+
+    /** Distance key of every edge. */
+    private final int[] edgeDistances;
+
+    /** Target node of every edge. */
+    private final int[] edgeTargets;
+
+    /**
+     * Creates a tree from its arrays. Use {@link #build(Map)}.
+     *
+     * @param names         The node names.
+     * @param ids           The node ids.
+     * @param edgeOffsets   The start of the edges of every node.
+     * @param edgeDistances The distance key of every edge.
+     * @param edgeTargets   The target node of every edge.
+     */
+    private BkTree(String[] names, int[] ids, int[] edgeOffsets, int[] edgeDistances,
+            int[] edgeTargets) {
+        this.names = names;
+        this.ids = ids;
+        this.edgeOffsets = edgeOffsets;
+        this.edgeDistances = edgeDistances;
+        this.edgeTargets = edgeTargets;
+    }
+
+    /**
+     * Returns the empty tree.
+     *
+     * @return A tree without names.
+     */
+    public static BkTree empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a tree.
+     *
+     * @param names Pokemon id of every lower-case name.
+     * @return The tree.
+     */
+    public static BkTree build(Map<String, Integer> names) {
+        String[] sorted = names.keySet().toArray(new String[0]);
+        // Sorting by id makes the tree deterministic and puts base forms near the root.
+        Arrays.sort(sorted,
+                Comparator.comparing((String name) -> names.get(name))
+                        .thenComparing(Comparator.naturalOrder()));
+        int size = sorted.length;
+        int[] ids = new int[size];
+        List<List<int[]>> children = new ArrayList<>(size);
+        for (int node = 0; node < size; node++) {
+            ids[node] = names.get(sorted[node]);
+            children.add(new ArrayList<>(2));
+            if (node > 0) {
+                insert(sorted,
+                        children,
+                        node);
+            }
+        }
+        int[] edgeOffsets = new int[size + 1];
+        int[] edgeDistances = new int[Math.max(size - 1,
+                0)];
+        int[] edgeTargets = new int[edgeDistances.length];
+        int edge = 0;
+        for (int node = 0; node < size; node++) {
+            edgeOffsets[node] = edge;
+            for (int[] child : children.get(node)) {
+                edgeDistances[edge] = child[0];
+                edgeTargets[edge] = child[1];
+                edge++;
+            }
+        }
+        edgeOffsets[size] = edge;
+        return new BkTree(sorted, ids, edgeOffsets, edgeDistances, edgeTargets);
+    }
+
+    /**
+     * Returns the names within an edit distance of a word.
+     *
+     * @param word        The lower-case word.
+     * @param maxDistance The maximum Levenshtein distance.
+     * @param limit       The maximum number of matches; no match is returned below 1.
+     * @return The matches, closest first, then lowest Pokemon id first.
+     */
+    public List<Match> search(String word, int maxDistance, int limit) {
+        List<Match> matches = new ArrayList<>();
+        if (names.length == 0 || limit < 1) {
+            return matches;
+        }
+        Deque<Integer> pending = new ArrayDeque<>();
+        pending.push(0);
+        while (!pending.isEmpty()) {
+            int node = pending.pop();
+            int maxEdgeDistance = 0;
+            for (int edge = edgeOffsets[node]; edge < edgeOffsets[node + 1]; edge++) {
+                maxEdgeDistance = Math.max(maxEdgeDistance,
+                        edgeDistances[edge]);
+            }
+            // Past this bound neither the node nor any of its children can match.
+            int distance = distance(word,
+                    names[node],
+                    maxEdgeDistance + maxDistance);
+            if (distance <= maxDistance) {
+                matches.add(new Match(names[node], ids[node], distance));
+            }
+            for (int edge = edgeOffsets[node]; edge < edgeOffsets[node + 1]; edge++) {
+                if (Math.abs(edgeDistances[edge] - distance) <= maxDistance) {
+                    pending.push(edgeTargets[edge]);
+                }
+            }
+        }
+        matches.sort(Comparator.comparingInt(Match::getDistance)
+                .thenComparingInt(Match::getId));
+        return matches.size() > limit ? matches.subList(0,
+                limit) : matches;
+    }
+
+    /**
+     * Returns the number of names.
+     *
+     * @return The number of names in the tree.
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Computes the Levenshtein distance between two strings, giving up past a bound.
+     *
+     * @param a     The first string.
+     * @param b     The second string.
+     * @param bound The bound; {@link Integer#MAX_VALUE} for the exact distance.
+     * @return The distance, or {@code bound + 1} if it is greater than the bound.
+     */
+    static int distance(String a, String b, int bound) {
+        if (Math.abs(a.length() - b.length()) > bound) {
+            return bound + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1,
+                        previous[j] + 1),
+                        previous[j - 1] + cost);
+                rowMin = Math.min(rowMin,
+                        current[j]);
+            }
+            if (rowMin > bound) {
+                return bound + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()],
+                bound == Integer.MAX_VALUE ? Integer.MAX_VALUE : bound + 1);
+    }
+
+    /**
+     * Inserts a node below the root.
+     *
+     * @param names    The node names.
+     * @param children The children of every node, as (distance, node) pairs.
+     * @param node     The node to insert.
+     */
+    private static void insert(String[] names, List<List<int[]>> children, int node) {
+        int parent = 0;
+        while (true) {
+            int distance = distance(names[node],
+                    names[parent],
+                    Integer.MAX_VALUE);
+            int next = -1;
+            for (int[] child : children.get(parent)) {
+                if (child[0] == distance) {
+                    next = child[1];
+                    break;
+                }
+            }
+            if (next < 0) {
+                children.get(parent).add(new int[] { distance, node });
+                return;
+            }
+            parent = next;
+        }
+    }
+
+    /**
+     * A name found by a search.
+     */
+    @Value
+    public static class Match {
+
+        /** The matching name. */
+        String name;
+
+        /** The Pokemon id. */
+        int id;
+
+        /** The Levenshtein distance to the searched word. */
+        int distance;
+
+    }
+}
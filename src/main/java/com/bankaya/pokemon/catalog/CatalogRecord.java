@@ -0,0 +1,256 @@
+package com.bankaya.pokemon.catalog;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import com.bankaya.pokemon.dto.NamedApiResourceDto;
+import com.bankaya.pokemon.dto.PokemonAbilityDto;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.dto.PokemonHeldItemDto;
+import com.bankaya.pokemon.dto.PokemonHeldItemVersionDto;
+
+/**
+ * Immutable form of a Pokemon record kept by the {@link HeapPokemonRecordStorage}.
+ * <p>
+ * The DTOs served by the application are mutable, so they cannot be shared safely between the
+ * records of the catalog and its callers. Records are therefore copied into this immutable graph
+ * when they are stored, with their {@link Resource} references canonicalized (see
+ * {@link ResourceInterner}), and converted back into fresh DTOs every time they are read.
+ * </p>
+ *
+ * @param id                     The Pokemon id.
+ * @param name                   The Pokemon name.
+ * @param baseExperience         The base experience.
+ * @param locationAreaEncounters The URL of the location area encounters.
+ * @param abilities              The abilities, or {@code null}.
+ * @param heldItems              The held items, or {@code null}.
+ */
+record CatalogRecord(Integer id, String name, Integer baseExperience,
+        String locationAreaEncounters, List<Ability> abilities, List<HeldItem> heldItems) {
+
+    /** Estimated size of a record instance: header, fields and boxed values. */
+    private static final long RECORD_BYTES = 48;
+
+    /** Estimated size of an empty string: the string and its byte array headers. */
+    private static final long STRING_BYTES = 40;
+
+    /** Estimated size of an empty unmodifiable list: the list and its array headers. */
+    private static final long LIST_BYTES = 32;
+
+    /**
+     * Immutable resource reference.
+     * <p>
+     * References interned by the {@link ResourceInterner} do not keep their URL: they keep the
+     * URL prefix shared by every resource of their type (such as
+     * {@code https://pokeapi.co/api/v2/ability/}) and their numeric id, and the URL is rebuilt
+     * when the record is converted back into a DTO for serialization. Other references keep
+     * their whole URL as prefix, with a negative id.
+     * </p>
+     *
+     * @param name      The resource name.
+     * @param urlPrefix The shared URL prefix of the resource type, or the whole URL.
+     * @param id        The resource id, or {@code -1} when {@code urlPrefix} is the whole URL.
+     */
+    record Resource(String name, String urlPrefix, int id) {
+
+        /**
+         * Copies a resource reference DTO, keeping its whole URL.
+         *
+         * @param resource The resource reference, may be {@code null}.
+         * @return The immutable reference, or {@code null}.
+         */
+        static Resource of(NamedApiResourceDto<?> resource) {
+            return resource == null ? null : new Resource(resource.getName(), resource.getUrl(),
+                    -1);
+        }
+
+        /**
+         * Returns the URL of the resource, rebuilding it from the prefix and the id if needed.
+         *
+         * @return The URL.
+         */
+        String url() {
+            return id < 0 ? urlPrefix : urlPrefix + id + '/';
+        }
+
+        /**
+         * Creates a new resource reference DTO.
+         *
+         * @return The DTO.
+         */
+        NamedApiResourceDto<?> toDto() {
+            return NamedApiResourceDto.builder().name(name).url(url()).build();
+        }
+    }
+
+    /**
+     * Immutable ability slot.
+     *
+     * @param isHidden Whether the ability is hidden.
+     * @param slot     The slot of the ability.
+     * @param ability  The ability.
+     */
+    record Ability(Boolean isHidden, Integer slot, Resource ability) {
+    }
+
+    /**
+     * Immutable held item.
+     *
+     * @param item           The item.
+     * @param versionDetails The rarity of the item per version, or {@code null}.
+     */
+    record HeldItem(Resource item, List<Version> versionDetails) {
+    }
+
+    /**
+     * Immutable rarity of a held item in a game version.
+     *
+     * @param version The game version.
+     * @param rarity  The rarity.
+     */
+    record Version(Resource version, Integer rarity) {
+    }
+
+    /**
+     * Copies a Pokemon record, canonicalizing its resource references.
+     *
+     * @param pokemon   The record to copy; it is not modified.
+     * @param resources The canonicalization applied to every resource reference.
+     * @return The immutable record.
+     */
+    static CatalogRecord of(PokemonDto pokemon, UnaryOperator<Resource> resources) {
+        Function<NamedApiResourceDto<?>, Resource> resource = dto -> {
+            Resource copy = Resource.of(dto);
+            return copy == null ? null : resources.apply(copy);
+        };
+        return new CatalogRecord(pokemon.getId(), pokemon.getName(), pokemon.getBaseExperience(),
+                pokemon.getLocationAreaEncounters(), map(pokemon.getAbilities(),
+                        ability -> new Ability(ability.getIsHidden(), ability.getSlot(),
+                                resource.apply(ability.getAbility()))),
+                map(pokemon.getHeldItems(),
+                        heldItem -> new HeldItem(resource.apply(heldItem.getItem()),
+                                map(heldItem.getVersionDetails(),
+                                        version -> new Version(resource.apply(version
+                                                .getVersion()), version.getRarity())))));
+    }
+
+    /**
+     * Creates a new Pokemon DTO holding the values of the record.
+     *
+     * @return The DTO, which the caller may modify.
+     */
+    PokemonDto toDto() {
+        return toDto(FieldSelection.ALL);
+    }
+
+    /**
+     * Creates a new Pokemon DTO holding the selected values of the record. The abilities and held
+     * items are only converted when selected, so narrow reads do not allocate their graphs.
+     *
+     * @param fields The fields to convert; the unselected lists are left {@code null}.
+     * @return The DTO, which the caller may modify.
+     */
+    PokemonDto toDto(FieldSelection fields) {
+        return PokemonDto.builder().id(id).name(name).baseExperience(baseExperience)
+                .locationAreaEncounters(locationAreaEncounters)
+                .abilities(!fields.includes("abilities") ? null : map(abilities,
+                        ability -> PokemonAbilityDto.builder().isHidden(ability.isHidden())
+                                .slot(ability.slot()).ability(toDto(ability.ability())).build()))
+                .heldItems(!fields.includes("held_items") ? null : map(heldItems,
+                        heldItem -> PokemonHeldItemDto.builder().item(toDto(heldItem.item()))
+                                .versionDetails(map(heldItem.versionDetails(),
+                                        version -> PokemonHeldItemVersionDto.builder()
+                                                .version(toDto(version.version()))
+                                                .rarity(version.rarity()).build()))
+                                .build()))
+                .build();
+    }
+
+    /**
+     * Estimates the heap retained by the record, assuming compressed references and compact
+     * strings. Interned resource references are shared by the whole catalog, so they are not
+     * counted; the estimate only bounds the storage, it is not an exact measurement.
+     *
+     * @return The estimated number of bytes.
+     */
+    long estimatedBytes() {
+        long bytes = RECORD_BYTES + bytes(name) + bytes(locationAreaEncounters);
+        if (abilities != null) {
+            bytes += listBytes(abilities.size());
+            for (Ability ability : abilities) {
+                bytes += ability == null ? 0 : RECORD_BYTES + bytes(ability.ability());
+            }
+        }
+        if (heldItems != null) {
+            bytes += listBytes(heldItems.size());
+            for (HeldItem heldItem : heldItems) {
+                if (heldItem == null) {
+                    continue;
+                }
+                bytes += RECORD_BYTES + bytes(heldItem.item());
+                if (heldItem.versionDetails() != null) {
+                    bytes += listBytes(heldItem.versionDetails().size());
+                    for (Version version : heldItem.versionDetails()) {
+                        bytes += version == null ? 0 : RECORD_BYTES + bytes(version.version());
+                    }
+                }
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Estimates the heap retained by a resource reference that is not interned.
+     *
+     * @param resource The resource reference, may be {@code null}.
+     * @return The estimated number of bytes.
+     */
+    private static long bytes(Resource resource) {
+        return resource == null || resource.id() >= 0 ? 0 : RECORD_BYTES + bytes(resource.name())
+                + bytes(resource.urlPrefix());
+    }
+
+    /**
+     * Estimates the heap retained by a string.
+     *
+     * @param value The string, may be {@code null}.
+     * @return The estimated number of bytes.
+     */
+    private static long bytes(String value) {
+        return value == null ? 0 : STRING_BYTES + value.length();
+    }
+
+    /**
+     * Estimates the heap retained by an unmodifiable list, without its elements.
+     *
+     * @param size The number of elements.
+     * @return The estimated number of bytes.
+     */
+    private static long listBytes(int size) {
+        return LIST_BYTES + 4L * size;
+    }
+
+    /**
+     * Creates the DTO of a resource reference.
+     *
+     * @param resource The resource reference, may be {@code null}.
+     * @return The DTO, or {@code null}.
+     */
+    private static NamedApiResourceDto<?> toDto(Resource resource) {
+        return resource == null ? null : resource.toDto();
+    }
+
+    /**
+     * Maps the elements of a list, keeping {@code null} lists and elements.
+     *
+     * @param <S>    The source element type.
+     * @param <T>    The target element type.
+     * @param list   The list, may be {@code null}.
+     * @param mapper The mapping of the non-null elements.
+     * @return An unmodifiable list, or {@code null}.
+     */
+    private static <S, T> List<T> map(List<S> list, Function<S, T> mapper) {
+        return list == null ? null : list.stream().map(element -> element == null ? null : mapper
+                .apply(element)).toList();
+    }
+}
@@ -0,0 +1,564 @@
+package com.bankaya.pokemon.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import com.bankaya.pokemon.dto.NamedApiResourceDto;
+import com.bankaya.pokemon.dto.PokemonAbilityDto;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.dto.PokemonHeldItemDto;
+import com.bankaya.pokemon.dto.PokemonHeldItemVersionDto;
+
+/**
+ * Immutable, primitive-specialized snapshot of the whole catalog (struct-of-arrays layout).
+ * <p>
+ * Instead of one object graph per Pokemon, every attribute is stored in its own column: an
+ * {@code int[]} for ids, base experience, ability slots and item rarities, a {@link BitSet} for
+ * the hidden flags and offset arrays delimiting the variable-length ability, held item and
+ * version lists of every row. The names and URLs of the resource references are stored once in a
+ * dictionary and referenced by index. Rows are sorted by Pokemon id.
+ * </p>
+ *
+ * <p>A {@link PokemonDto} (or only its abilities or held items) is materialized on demand by the
+ * {@code materialize*} methods, right before serialization. Every materialized DTO, including its
+ * resource references, is a new instance that callers may modify. Scans over numeric attributes
+ * read the columns directly.</p>
+ *
+ * <p><strong>Missing values:</strong> {@code null} integers are stored as {@link #NULL_INT} and
+ * {@code null} lists and hidden flags are tracked by dedicated bit sets, so materialized records
+ * are equal to the records the snapshot was built from.</p>
+ *
+ * @see PokemonCatalogStore#snapshot()
+ */
+public final class CatalogSnapshot {
+
+    /** Sentinel stored in the integer columns for {@code null} values. */
+    public static final int NULL_INT = Integer.MIN_VALUE;
+
+    /** Empty snapshot. */
+    private static final CatalogSnapshot EMPTY = of(List.of());
+
+    /** Pokemon ids, sorted ascending. */
+    private final int[] ids;
+
+    /** Pokemon names. */
+    private final String[] names;
+
+    /** Base experience of every row. */
+    private final int[] baseExperience;
+
+    /** Location area encounters URL of every row. */
+    private final String[] locationAreaEncounters;
+
+    /** Start of the abilities of every row in the ability columns; one extra trailing entry. */
+    private final int[] abilityOffsets;
+
+    /** Dictionary index of every ability. */
+    private final int[] abilityRefs;
+
+    /** Slot of every ability. */
+    private final int[] abilitySlots;
+
+    /** Hidden flag of every ability. */
+    private final BitSet abilityHidden;
+
+    /** Abilities whose hidden flag is {@code null}. */
+    private final BitSet nullHidden;
+
+    /** Start of the held items of every row in the item columns; one extra trailing entry. */
+    private final int[] itemOffsets;
+
+    /** Dictionary index of every held item. */
+    private final int[] itemRefs;
+
+    /** Start of the versions of every held item in the version columns; one extra entry. */
+    private final int[] versionOffsets;
+
+    /** Dictionary index of every held item version. */
+    private final int[] versionRefs;
+
+    /** Rarity of every held item version. */
+    private final int[] rarities;
+
+    /** Rows whose abilities list is {@code null}. */
+    private final BitSet nullAbilities;
+
+    /** Rows whose held items list is {@code null}. */
+    private final BitSet nullHeldItems;
+
+    /** Held items whose version details list is {@code null}. */
+    private final BitSet nullVersionDetails;
+
+    /** Names of the distinct resource references, addressed by the {@code *Refs} columns. */
+    private final String[] resourceNames;
+
+    /** URLs of the distinct resource references, addressed by the {@code *Refs} columns. */
+    private final String[] resourceUrls;
+
+    /** Number of abilities of every row, {@link #NULL_INT} for {@code null} lists. */
+    private final int[] abilityCounts;
+
+    /** Number of held items of every row, {@link #NULL_INT} for {@code null} lists. */
+    private final int[] heldItemCounts;
+
+    /**
+     * Creates a snapshot from its columns. Use {@link #of(Collection)}.
+     *
+     * @param builder The builder holding the columns.
+     */
+    private CatalogSnapshot(Builder builder) {
+        int rows = builder.ids.size();
+        this.ids = toArray(builder.ids);
+        this.names = builder.names.toArray(new String[rows]);
+        this.baseExperience = toArray(builder.baseExperience);
+        this.locationAreaEncounters = builder.locationAreaEncounters.toArray(new String[rows]);
+        this.abilityOffsets = toArray(builder.abilityOffsets);
+        this.abilityRefs = toArray(builder.abilityRefs);
+        this.abilitySlots = toArray(builder.abilitySlots);
+        this.abilityHidden = builder.abilityHidden;
+        this.nullHidden = builder.nullHidden;
+        this.itemOffsets = toArray(builder.itemOffsets);
+        this.itemRefs = toArray(builder.itemRefs);
+        this.versionOffsets = toArray(builder.versionOffsets);
+        this.versionRefs = toArray(builder.versionRefs);
+        this.rarities = toArray(builder.rarities);
+        this.nullAbilities = builder.nullAbilities;
+        this.nullHeldItems = builder.nullHeldItems;
+        this.nullVersionDetails = builder.nullVersionDetails;
+        this.resourceNames = builder.resourceNames.toArray(new String[0]);
+        this.resourceUrls = builder.resourceUrls.toArray(new String[0]);
+        this.abilityCounts = counts(abilityOffsets,
+                nullAbilities);
+        this.heldItemCounts = counts(itemOffsets,
+                nullHeldItems);
+    }
+
+    /**
+     * Returns the empty snapshot.
+     *
+     * @return A snapshot without rows.
+     */
+    public static CatalogSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a snapshot from catalog records.
+     *
+     * @param records The records; records without id are ignored.
+     * @return The snapshot, with its rows sorted by Pokemon id.
+     */
+    public static CatalogSnapshot of(Collection<PokemonDto> records) {
+        Builder builder = new Builder();
+        records.stream().filter(pokemon -> pokemon.getId() != null)
+                .sorted(Comparator.comparing(PokemonDto::getId)).forEach(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return The number of Pokemon in the snapshot.
+     */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Finds the row of a Pokemon.
+     *
+     * @param id The Pokemon id.
+     * @return The row, or a negative value if the Pokemon is not in the snapshot.
+     */
+    public int rowOf(int id) {
+        return Arrays.binarySearch(ids,
+                id);
+    }
+
+    /**
+     * Returns the id of a row.
+     *
+     * @param row The row.
+     * @return The Pokemon id.
+     */
+    public int id(int row) {
+        return ids[row];
+    }
+
+    /**
+     * Returns the name of a row.
+     *
+     * @param row The row.
+     * @return The Pokemon name.
+     */
+    public String name(int row) {
+        return names[row];
+    }
+
+    /**
+     * Returns the base experience of a row.
+     *
+     * @param row The row.
+     * @return The base experience, or {@link #NULL_INT} if unknown.
+     */
+    public int baseExperience(int row) {
+        return baseExperience[row];
+    }
+
+    /**
+     * Returns the id column. The array is shared and must not be modified.
+     *
+     * @return The Pokemon ids, sorted ascending.
+     */
+    public int[] idColumn() {
+        return ids;
+    }
+
+    /**
+     * Returns the base experience column. The array is shared and must not be modified.
+     *
+     * @return The base experience of every row, {@link #NULL_INT} for unknown values.
+     */
+    public int[] baseExperienceColumn() {
+        return baseExperience;
+    }
+
+    /**
+     * Returns a numeric column. The array is shared and must not be modified.
+     *
+     * @param column The column.
+     * @return The value of every row, {@link #NULL_INT} for unknown values.
+     */
+    public int[] column(NumericColumn column) {
+        return switch (column) {
+            case ID -> ids;
+            case BASE_EXPERIENCE -> baseExperience;
+            case ABILITY_COUNT -> abilityCounts;
+            case HELD_ITEM_COUNT -> heldItemCounts;
+        };
+    }
+
+    /**
+     * Returns the number of hidden abilities in the whole catalog.
+     *
+     * @return The number of abilities flagged as hidden.
+     */
+    public int hiddenAbilityCount() {
+        return abilityHidden.cardinality();
+    }
+
+    /**
+     * Materializes the full record of a row.
+     *
+     * @param row The row.
+     * @return A new {@link PokemonDto} equal to the record the row was built from.
+     */
+    public PokemonDto materialize(int row) {
+        return PokemonDto.builder().id(ids[row]).name(names[row])
+                .baseExperience(boxed(baseExperience[row])).abilities(materializeAbilities(row))
+                .heldItems(materializeHeldItems(row))
+                .locationAreaEncounters(locationAreaEncounters[row]).build();
+    }
+
+    /**
+     * Materializes the selected fields of a row; the abilities and held items are only
+     * materialized when selected.
+     *
+     * @param row    The row.
+     * @param fields The fields to materialize.
+     * @return A new {@link PokemonDto} whose unselected lists are {@code null}.
+     */
+    public PokemonDto materialize(int row, FieldSelection fields) {
+        return PokemonDto.builder().id(ids[row]).name(names[row])
+                .baseExperience(boxed(baseExperience[row]))
+                .abilities(fields.includes("abilities") ? materializeAbilities(row) : null)
+                .heldItems(fields.includes("held_items") ? materializeHeldItems(row) : null)
+                .locationAreaEncounters(locationAreaEncounters[row]).build();
+    }
+
+    /**
+     * Materializes the abilities of a row.
+     *
+     * @param row The row.
+     * @return The abilities, or {@code null} if the record had none.
+     */
+    public List<PokemonAbilityDto> materializeAbilities(int row) {
+        if (nullAbilities.get(row)) {
+            return null;
+        }
+        int start = abilityOffsets[row];
+        int end = abilityOffsets[row + 1];
+        List<PokemonAbilityDto> abilities = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            abilities.add(new PokemonAbilityDto(nullHidden.get(i) ? null : abilityHidden.get(i),
+                    boxed(abilitySlots[i]), resource(abilityRefs[i])));
+        }
+        return abilities;
+    }
+
+    /**
+     * Materializes the held items of a row.
+     *
+     * @param row The row.
+     * @return The held items, or {@code null} if the record had none.
+     */
+    public List<PokemonHeldItemDto> materializeHeldItems(int row) {
+        if (nullHeldItems.get(row)) {
+            return null;
+        }
+        int start = itemOffsets[row];
+        int end = itemOffsets[row + 1];
+        List<PokemonHeldItemDto> heldItems = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            heldItems.add(new PokemonHeldItemDto(resource(itemRefs[i]), materializeVersions(i)));
+        }
+        return heldItems;
+    }
+
+    /**
+     * Materializes the version details of a held item.
+     *
+     * @param item The held item index in the item columns.
+     * @return The version details, or {@code null} if the held item had none.
+     */
+    private List<PokemonHeldItemVersionDto> materializeVersions(int item) {
+        if (nullVersionDetails.get(item)) {
+            return null;
+        }
+        int start = versionOffsets[item];
+        int end = versionOffsets[item + 1];
+        List<PokemonHeldItemVersionDto> versions = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            versions.add(new PokemonHeldItemVersionDto(resource(versionRefs[i]),
+                    boxed(rarities[i])));
+        }
+        return versions;
+    }
+
+    /**
+     * Creates the resource reference of a dictionary index.
+     *
+     * @param ref The dictionary index, negative for {@code null}.
+     * @return A new resource reference, or {@code null}.
+     */
+    private NamedApiResourceDto<?> resource(int ref) {
+        return ref < 0 ? null : new NamedApiResourceDto<>(resourceNames[ref], resourceUrls[ref]);
+    }
+
+    /**
+     * Boxes a column value, mapping {@link #NULL_INT} to {@code null}.
+     *
+     * @param value The column value.
+     * @return The boxed value.
+     */
+    private static Integer boxed(int value) {
+        return value == NULL_INT ? null : value;
+    }
+
+    /**
+     * Derives the length of the list of every row from its offsets.
+     *
+     * @param offsets The offsets, with one extra trailing entry.
+     * @param nulls   The rows whose list is {@code null}.
+     * @return The length of every row, {@link #NULL_INT} for {@code null} lists.
+     */
+    private static int[] counts(int[] offsets, BitSet nulls) {
+        int[] counts = new int[Math.max(offsets.length - 1,
+                0)];
+        for (int row = 0; row < counts.length; row++) {
+            counts[row] = nulls.get(row) ? NULL_INT : offsets[row + 1] - offsets[row];
+        }
+        return counts;
+    }
+
+    /**
+     * Copies a list of integers into an array.
+     *
+     * @param values The values.
+     * @return The array.
+     */
+    private static int[] toArray(List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Accumulates the columns of a snapshot.
+     */
+    private static final class Builder {
+
+        /** Id column. */
+        private final List<Integer> ids = new ArrayList<>();
+
+        /** Name column. */
+        private final List<String> names = new ArrayList<>();
+
+        /** Base experience column. */
+        private final List<Integer> baseExperience = new ArrayList<>();
+
+        /** Location area encounters column. */
+        private final List<String> locationAreaEncounters = new ArrayList<>();
+
+        /** Ability offsets. */
+        private final List<Integer> abilityOffsets = new ArrayList<>();
+
+        /** Ability references. */
+        private final List<Integer> abilityRefs = new ArrayList<>();
+
+        /** Ability slots. */
+        private final List<Integer> abilitySlots = new ArrayList<>();
+
+        /** Ability hidden flags. */
+        private final BitSet abilityHidden = new BitSet();
+
+        /** Abilities with a {@code null} hidden flag. */
+        private final BitSet nullHidden = new BitSet();
+
+        /** Held item offsets. */
+        private final List<Integer> itemOffsets = new ArrayList<>();
+
+        /** Held item references. */
+        private final List<Integer> itemRefs = new ArrayList<>();
+
+        /** Version offsets. */
+        private final List<Integer> versionOffsets = new ArrayList<>();
+
+        /** Version references. */
+        private final List<Integer> versionRefs = new ArrayList<>();
+
+        /** Version rarities. */
+        private final List<Integer> rarities = new ArrayList<>();
+
+        /** Rows with {@code null} abilities. */
+        private final BitSet nullAbilities = new BitSet();
+
+        /** Rows with {@code null} held items. */
+        private final BitSet nullHeldItems = new BitSet();
+
+        /** Held items with {@code null} version details. */
+        private final BitSet nullVersionDetails = new BitSet();
+
+        /** Resource names of the dictionary. */
+        private final List<String> resourceNames = new ArrayList<>();
+
+        /** Resource URLs of the dictionary. */
+        private final List<String> resourceUrls = new ArrayList<>();
+
+        /** Dictionary index of every distinct name and URL pair. */
+        private final Map<List<String>, Integer> resourceIndex = new HashMap<>();
+
+        /**
+         * Appends a record as a new row.
+         *
+         * @param pokemon The record.
+         */
+        void add(PokemonDto pokemon) {
+            int row = ids.size();
+            ids.add(pokemon.getId());
+            names.add(pokemon.getName());
+            baseExperience.add(unboxed(pokemon.getBaseExperience()));
+            locationAreaEncounters.add(pokemon.getLocationAreaEncounters());
+            abilityOffsets.add(abilityRefs.size());
+            if (pokemon.getAbilities() == null) {
+                nullAbilities.set(row);
+            } else {
+                pokemon.getAbilities().forEach(ability -> {
+                    abilityHidden.set(abilityRefs.size(),
+                            Boolean.TRUE.equals(ability.getIsHidden()));
+                    nullHidden.set(abilityRefs.size(),
+                            ability.getIsHidden() == null);
+                    abilityRefs.add(ref(ability.getAbility()));
+                    abilitySlots.add(unboxed(ability.getSlot()));
+                });
+            }
+            itemOffsets.add(itemRefs.size());
+            if (pokemon.getHeldItems() == null) {
+                nullHeldItems.set(row);
+            } else {
+                pokemon.getHeldItems().forEach(this::addHeldItem);
+            }
+        }
+
+        /**
+         * Appends a held item and its version details.
+         *
+         * @param heldItem The held item.
+         */
+        private void addHeldItem(PokemonHeldItemDto heldItem) {
+            versionOffsets.add(versionRefs.size());
+            if (heldItem.getVersionDetails() == null) {
+                nullVersionDetails.set(itemRefs.size());
+            } else {
+                heldItem.getVersionDetails().forEach(version -> {
+                    versionRefs.add(ref(version.getVersion()));
+                    rarities.add(unboxed(version.getRarity()));
+                });
+            }
+            itemRefs.add(ref(heldItem.getItem()));
+        }
+
+        /**
+         * Returns the dictionary index of a resource, adding it if needed.
+         *
+         * @param resource The resource reference.
+         * @return The dictionary index, or {@code -1} for {@code null}.
+         */
+        private int ref(NamedApiResourceDto<?> resource) {
+            if (resource == null) {
+                return -1;
+            }
+            return resourceIndex.computeIfAbsent(Arrays.asList(resource.getName(),
+                    resource.getUrl()),
+                    key -> {
+                        resourceNames.add(resource.getName());
+                        resourceUrls.add(resource.getUrl());
+                        return resourceNames.size() - 1;
+                    });
+        }
+
+        /**
+         * Builds the snapshot, closing the offset columns.
+         *
+         * @return The snapshot.
+         */
+        CatalogSnapshot build() {
+            abilityOffsets.add(abilityRefs.size());
+            itemOffsets.add(itemRefs.size());
+            versionOffsets.add(versionRefs.size());
+            return new CatalogSnapshot(this);
+        }
+
+        /**
+         * Unboxes a value, mapping {@code null} to {@link #NULL_INT}.
+         *
+         * @param value The value.
+         * @return The column value.
+         */
+        private static int unboxed(Integer value) {
+            return value == null ? NULL_INT : value;
+        }
+    }
+
+    /**
+     * Numeric columns available to scans.
+     */
+    public enum NumericColumn {
+
+        /** The Pokemon id. */
+        ID,
+
+        /** The base experience. */
+        BASE_EXPERIENCE,
+
+        /** The number of abilities. */
+        ABILITY_COUNT,
+
+        /** The number of held items. */
+        HELD_ITEM_COUNT
+
+    }
+}
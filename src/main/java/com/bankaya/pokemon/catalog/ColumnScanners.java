@@ -0,0 +1,62 @@
+package com.bankaya.pokemon.catalog;
+
+import com.bankaya.pokemon.config.CatalogProperties.ScanMode;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Factory of the {@link IColumnScanner} implementations.
+ * <p>
+ * The Vector API scanner is only compiled by the {@code java21} build profile, with the
+ * {@code jdk.incubator.vector} module, so it is loaded reflectively: when the class or the module
+ * is missing at runtime, the fork-join scanner is used instead.
+ * </p>
+ */
+@Slf4j
+public final class ColumnScanners {
+
+    /** Class name of the Vector API scanner. */
+    static final String VECTOR_SCANNER = "com.bankaya.pokemon.catalog.VectorColumnScanner";
+
+    private ColumnScanners() {
+    }
+
+    /**
+     * Creates the scanner of a scan mode.
+     *
+     * @param mode The scan mode.
+     * @return The scanner; the fork-join scanner when the Vector API one is unavailable.
+     */
+    public static IColumnScanner create(ScanMode mode) {
+        switch (mode) {
+            case SCALAR:
+                return new ScalarColumnScanner();
+            case FORK_JOIN:
+                return new ForkJoinColumnScanner();
+            default:
+                IColumnScanner vector = vector();
+                if (vector != null) {
+                    return vector;
+                }
+                if (mode == ScanMode.VECTOR) {
+                    log.warn("The Vector API scanner is unavailable, using the fork-join scanner");
+                }
+                return new ForkJoinColumnScanner();
+        }
+    }
+
+    /**
+     * Loads the Vector API scanner.
+     *
+     * @return The scanner, or {@code null} if it is not available in this runtime.
+     */
+    public static IColumnScanner vector() {
+        try {
+            return (IColumnScanner) Class.forName(VECTOR_SCANNER).getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            log.debug("Vector API scanner not loaded: {}",
+                    e.toString());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.bankaya.pokemon.catalog;
+
+import lombok.Value;
+
+/**
+ * Aggregates of the values matched by a column scan.
+ */
+@Value
+public class ColumnStats {
+
+    /** Aggregates of an empty set of values. */
+    public static final ColumnStats EMPTY = new ColumnStats(0, 0, Integer.MAX_VALUE,
+            Integer.MIN_VALUE);
+
+    /** The number of values. */
+    long count;
+
+    /** The sum of the values. */
+    long sum;
+
+    /** The smallest value; {@link Integer#MAX_VALUE} when there is none. */
+    int min;
+
+    /** The largest value; {@link Integer#MIN_VALUE} when there is none. */
+    int max;
+
+    /**
+     * Combines the aggregates of two disjoint sets of values.
+     *
+     * @param other The aggregates of the other set.
+     * @return The aggregates of both sets.
+     */
+    public ColumnStats merge(ColumnStats other) {
+        return new ColumnStats(count + other.count, sum + other.sum,
+                Math.min(min, other.min), Math.max(max, other.max));
+    }
+
+    /**
+     * Returns the mean of the values.
+     *
+     * @return The mean, or {@code null} when there is no value.
+     */
+    public Double average() {
+        return count == 0 ? null : (double) sum / count;
+    }
+}
@@ -0,0 +1,216 @@
+package com.bankaya.pokemon.catalog;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import com.fasterxml.jackson.core.filter.TokenFilter;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+
+/**
+ * Immutable tree of the fields of a Pokemon requested by a client (sparse fieldset).
+ * <p>
+ * A selection is parsed from dotted paths of the snake case names of the JSON representation,
+ * such as {@code id}, {@code base_experience} or {@code abilities.ability.name}; camel case names
+ * ({@code baseExperience}), as used by the SOAP types, are accepted as well. A selected field
+ * without sub-path selects its whole subtree; {@link #ALL} selects every field.
+ * </p>
+ *
+ * <p>The selection is applied as early as possible: storages only decode, and snapshots only
+ * materialize, the selected subtrees, and {@link PokemonRecordConverter#project} only converts
+ * them. Unselected subtrees are never allocated nor serialized.</p>
+ */
+public final class FieldSelection {
+
+    /** Selection of every field. */
+    public static final FieldSelection ALL = new FieldSelection(Map.of());
+
+    /** Every field of a Pokemon, as a selection; used to validate the requested paths. */
+    public static final FieldSelection POKEMON = pokemonFields();
+
+    /** Translation of the camel case names. */
+    private static final PropertyNamingStrategies.SnakeCaseStrategy SNAKE_CASE =
+            new PropertyNamingStrategies.SnakeCaseStrategy();
+
+    /** Selected fields and their sub-selections; empty when every field is selected. */
+    private final Map<String, FieldSelection> fields;
+
+    /** Parser filter of the selection. */
+    private final TokenFilter tokenFilter;
+
+    /**
+     * Creates a selection.
+     *
+     * @param fields The selected fields and their sub-selections, never modified.
+     */
+    private FieldSelection(Map<String, FieldSelection> fields) {
+        this.fields = fields;
+        this.tokenFilter = fields.isEmpty() ? TokenFilter.INCLUDE_ALL : new TokenFilter() {
+
+            @Override
+            public TokenFilter includeProperty(String name) {
+                FieldSelection selection = fields.get(name);
+                return selection == null ? null : selection.tokenFilter;
+            }
+        };
+    }
+
+    /**
+     * Parses the paths requested by a client.
+     *
+     * @param paths  The dotted paths; comma separated lists are split.
+     * @param schema The fields that may be selected, such as {@link #POKEMON} or one of its
+     *               sub-selections.
+     * @return The selection; {@link #ALL} when no path is given.
+     * @throws IllegalArgumentException If a path is not a field of the schema.
+     */
+    public static FieldSelection parse(Collection<String> paths, FieldSelection schema) {
+        Map<String, Object> tree = new LinkedHashMap<>();
+        for (String list : paths) {
+            for (String path : list.split(",")) {
+                if (!path.isBlank()) {
+                    add(tree,
+                            path.trim(),
+                            schema);
+                }
+            }
+        }
+        return tree.isEmpty() ? ALL : of(tree);
+    }
+
+    /**
+     * Checks whether every field is selected.
+     *
+     * @return {@code true} if the selection is {@link #ALL} or a whole subtree.
+     */
+    public boolean isAll() {
+        return fields.isEmpty();
+    }
+
+    /**
+     * Checks whether a field is selected.
+     *
+     * @param field The snake case name of the field.
+     * @return {@code true} if the field, or part of it, is selected.
+     */
+    public boolean includes(String field) {
+        return fields.isEmpty() || fields.containsKey(field);
+    }
+
+    /**
+     * Returns the selection of the sub-fields of a selected field.
+     *
+     * @param field The snake case name of the field.
+     * @return The sub-selection; {@link #ALL} when the whole field is selected.
+     */
+    public FieldSelection get(String field) {
+        return fields.getOrDefault(field,
+                ALL);
+    }
+
+    /**
+     * Returns the selection of a single field of the enclosing object, with this selection as
+     * its sub-selection.
+     *
+     * @param field The snake case name of the field.
+     * @return The selection of the field.
+     */
+    public FieldSelection nest(String field) {
+        return new FieldSelection(Map.of(field,
+                this));
+    }
+
+    /**
+     * Returns a Jackson filter skipping the unselected fields while parsing.
+     *
+     * @return The filter; {@link TokenFilter#INCLUDE_ALL} when every field is selected.
+     */
+    public TokenFilter tokenFilter() {
+        return tokenFilter;
+    }
+
+    @Override
+    public String toString() {
+        return fields.isEmpty() ? "*" : fields.toString();
+    }
+
+    /**
+     * Adds a path to a selection tree.
+     *
+     * @param tree   The tree of the selected names; {@code null} values are whole subtrees.
+     * @param path   The dotted path.
+     * @param schema The fields that may be selected.
+     */
+    @SuppressWarnings("unchecked")
+    private static void add(Map<String, Object> tree, String path, FieldSelection schema) {
+        Map<String, Object> node = tree;
+        FieldSelection allowed = schema;
+        String[] segments = path.split("\\.");
+        for (int i = 0; i < segments.length; i++) {
+            String name = SNAKE_CASE.translate(segments[i].trim());
+            if (allowed.isAll() || !allowed.fields.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown field: " + path);
+            }
+            allowed = allowed.fields.get(name);
+            boolean last = i == segments.length - 1;
+            if (node.containsKey(name) && node.get(name) == null) {
+                return;
+            }
+            if (last) {
+                node.put(name,
+                        null);
+                return;
+            }
+            node = (Map<String, Object>) node.computeIfAbsent(name,
+                    key -> new LinkedHashMap<String, Object>());
+        }
+    }
+
+    /**
+     * Creates a selection from a selection tree.
+     *
+     * @param tree The tree of the selected names; {@code null} values are whole subtrees.
+     * @return The selection.
+     */
+    @SuppressWarnings("unchecked")
+    private static FieldSelection of(Map<String, Object> tree) {
+        Map<String, FieldSelection> fields = new LinkedHashMap<>();
+        tree.forEach((name, children) -> fields.put(name,
+                children == null ? ALL : of((Map<String, Object>) children)));
+        return new FieldSelection(Map.copyOf(fields));
+    }
+
+    /**
+     * Creates the selection of every field of a Pokemon.
+     *
+     * @return The fields of {@link com.bankaya.pokemon.dto.PokemonDto} and its nested DTOs.
+     */
+    private static FieldSelection pokemonFields() {
+        FieldSelection resource = new FieldSelection(Map.of("name",
+                ALL,
+                "url",
+                ALL));
+        return new FieldSelection(Map.of("id",
+                ALL,
+                "name",
+                ALL,
+                "base_experience",
+                ALL,
+                "location_area_encounters",
+                ALL,
+                "abilities",
+                new FieldSelection(Map.of("is_hidden",
+                        ALL,
+                        "slot",
+                        ALL,
+                        "ability",
+                        resource)),
+                "held_items",
+                new FieldSelection(Map.of("item",
+                        resource,
+                        "version_details",
+                        new FieldSelection(Map.of("version",
+                                resource,
+                                "rarity",
+                                ALL))))));
+    }
+}
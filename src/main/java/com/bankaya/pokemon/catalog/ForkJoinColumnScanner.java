@@ -0,0 +1,204 @@
+package com.bankaya.pokemon.catalog;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parallel column scanner, splitting the column in halves across a {@link ForkJoinPool}.
+ * <p>
+ * Slices below {@link #THRESHOLD} rows are scanned sequentially with the
+ * {@link ScalarColumnScanner} loops; every task returns its own partial result (aggregates, bucket
+ * counts or top-K heap), merged on the way back up, so no state is shared between threads. Small
+ * columns never leave the calling thread.
+ * </p>
+ */
+public class ForkJoinColumnScanner implements IColumnScanner {
+
+    /** Number of rows below which a slice is scanned sequentially. */
+    static final int THRESHOLD = 1 << 14;
+
+    /** Pool running the tasks. */
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a scanner running on the common pool.
+     */
+    public ForkJoinColumnScanner() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a scanner.
+     *
+     * @param pool The pool running the tasks.
+     */
+    public ForkJoinColumnScanner(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public ColumnStats aggregate(int[] column, int min, int max) {
+        int low = Math.max(min, MIN_VALUE);
+        return pool.invoke(new Scan<ColumnStats>(0, column.length) {
+
+            @Override
+            ColumnStats scan(int from, int to) {
+                return ScalarColumnScanner.aggregate(column,
+                        low,
+                        max,
+                        from,
+                        to);
+            }
+
+            @Override
+            ColumnStats merge(ColumnStats left, ColumnStats right) {
+                return left.merge(right);
+            }
+        });
+    }
+
+    @Override
+    public int[] histogram(int[] column, int min, int max, int bucketWidth) {
+        int low = Math.max(min, MIN_VALUE);
+        int buckets = IColumnScanner.bucketCount(low, max, bucketWidth);
+        return pool.invoke(new Scan<int[]>(0, column.length) {
+
+            @Override
+            int[] scan(int from, int to) {
+                int[] counts = new int[buckets];
+                ScalarColumnScanner.histogram(column,
+                        low,
+                        max,
+                        bucketWidth,
+                        counts,
+                        from,
+                        to);
+                return counts;
+            }
+
+            @Override
+            int[] merge(int[] left, int[] right) {
+                for (int bucket = 0; bucket < left.length; bucket++) {
+                    left[bucket] += right[bucket];
+                }
+                return left;
+            }
+        });
+    }
+
+    @Override
+    public int[] topK(int[] column, int min, int max, int k) {
+        int low = Math.max(min, MIN_VALUE);
+        return pool.invoke(new Scan<TopKHeap>(0, column.length) {
+
+            @Override
+            TopKHeap scan(int from, int to) {
+                TopKHeap heap = new TopKHeap(k);
+                ScalarColumnScanner.topK(column,
+                        low,
+                        max,
+                        heap,
+                        from,
+                        to);
+                return heap;
+            }
+
+            @Override
+            TopKHeap merge(TopKHeap left, TopKHeap right) {
+                return left.merge(right);
+            }
+        }).rows();
+    }
+
+    @Override
+    public String name() {
+        return "fork-join";
+    }
+
+    /**
+     * Divide-and-conquer scan of a slice of a column.
+     *
+     * @param <T> The type of the partial results.
+     */
+    private abstract static class Scan<T> extends RecursiveTask<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        /** The first row, inclusive. */
+        private final int from;
+
+        /** The last row, exclusive. */
+        private final int to;
+
+        /**
+         * Creates a task.
+         *
+         * @param from The first row, inclusive.
+         * @param to   The last row, exclusive.
+         */
+        Scan(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Scans a slice sequentially.
+         *
+         * @param from The first row, inclusive.
+         * @param to   The last row, exclusive.
+         * @return The partial result.
+         */
+        abstract T scan(int from, int to);
+
+        /**
+         * Merges the partial results of two adjacent slices.
+         *
+         * @param left  The result of the first slice, which may be reused.
+         * @param right The result of the second slice.
+         * @return The merged result.
+         */
+        abstract T merge(T left, T right);
+
+        @Override
+        protected T compute() {
+            if (to - from <= THRESHOLD) {
+                return scan(from,
+                        to);
+            }
+            int middle = (from + to) >>> 1;
+            Scan<T> left = child(from,
+                    middle);
+            Scan<T> right = child(middle,
+                    to);
+            left.fork();
+            T rightResult = right.compute();
+            return merge(left.join(),
+                    rightResult);
+        }
+
+        /**
+         * Creates a task scanning a sub-slice with the same operations.
+         *
+         * @param from The first row, inclusive.
+         * @param to   The last row, exclusive.
+         * @return The task.
+         */
+        private Scan<T> child(int from, int to) {
+            Scan<T> parent = this;
+            return new Scan<T>(from, to) {
+
+                @Override
+                T scan(int from, int to) {
+                    return parent.scan(from,
+                            to);
+                }
+
+                @Override
+                T merge(T left, T right) {
+                    return parent.merge(left,
+                            right);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.bankaya.pokemon.catalog;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.stereotype.Component;
+import com.bankaya.pokemon.catalog.BkTree.Match;
+import com.bankaya.pokemon.config.CatalogProperties;
+
+/**
+ * Typo-tolerant lookup over every known Pokemon name.
+ * <p>
+ * Near-misses such as {@code pikachuu} or {@code charizzard} are matched against an immutable
+ * {@link BkTree} built from the {@link PokemonNameRegistry} and swapped atomically on every
+ * rebuild, like the autocomplete trie. The maximum edit distance is
+ * {@link CatalogProperties#getFuzzyMaxDistance()}.
+ * </p>
+ *
+ * @see BkTree
+ * @see CatalogProperties.FuzzyMode
+ */
+@Component
+public class FuzzyNameIndex {
+
+    /** Current tree. */
+    private final AtomicReference<BkTree> tree = new AtomicReference<>(BkTree.empty());
+
+    /** Registry of known names. */
+    private final PokemonNameRegistry nameRegistry;
+
+    /** Catalog configuration. */
+    private final CatalogProperties properties;
+
+    /**
+     * Creates the index and registers its builder on the name registry.
+     *
+     * @param nameRegistry The registry of known names.
+     * @param properties   The catalog configuration.
+     */
+    public FuzzyNameIndex(PokemonNameRegistry nameRegistry, CatalogProperties properties) {
+        this.nameRegistry = nameRegistry;
+        this.properties = properties;
+        nameRegistry.onRebuild(names -> tree.set(BkTree.build(names)));
+    }
+
+    /**
+     * Returns the known names closest to a possibly misspelled name.
+     *
+     * @param name  The name typed by the user.
+     * @param limit The maximum number of suggestions.
+     * @return The names within the configured edit distance, closest first.
+     */
+    public List<Match> suggest(String name, int limit) {
+        return tree.get().search(PokemonCatalogStore.normalize(name),
+                properties.getFuzzyMaxDistance(),
+                limit);
+    }
+
+    /**
+     * Checks whether a lookup is known to miss: fuzzy resolution is enabled, the registry holds
+     * the complete PokeAPI name list and the given name is neither an id nor a known name.
+     *
+     * @param nameOrId The name or ID requested.
+     * @return {@code true} if the lookup should be resolved with {@link #suggest(String, int)}
+     *         instead of calling the PokeAPI.
+     */
+    public boolean isUnknown(String nameOrId) {
+        if (properties.getFuzzyMode() == CatalogProperties.FuzzyMode.OFF
+                || !nameRegistry.isNameListLoaded() || nameOrId == null) {
+            return false;
+        }
+        String key = PokemonCatalogStore.normalize(nameOrId);
+        return !key.isEmpty() && !PokemonCatalogStore.isNumeric(key)
+                && nameRegistry.idOf(key) == null;
+    }
+
+    /**
+     * Returns the configured resolution mode.
+     *
+     * @return The mode.
+     */
+    public CatalogProperties.FuzzyMode getMode() {
+        return properties.getFuzzyMode();
+    }
+}
@@ -0,0 +1,228 @@
+package com.bankaya.pokemon.catalog;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+import java.util.function.UnaryOperator;
+import com.bankaya.pokemon.dto.PokemonDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link IPokemonRecordStorage} keeping the records as plain objects on the Java heap.
+ * <p>
+ * This is the default storage and the fastest one to read. Records are stored as immutable
+ * {@link CatalogRecord}s and read back as fresh DTOs, so callers can never modify the stored
+ * records; reads of selected fields only convert those fields. To reduce the retained memory, the
+ * resource references can be passed through a {@link ResourceInterner}, so every resource shared
+ * across the catalog is kept only once.
+ * </p>
+ *
+ * <p><strong>Eviction:</strong></p>
+ * <ul>
+ *   <li>The estimated heap size of the records (see {@link CatalogRecord#estimatedBytes()}) is
+ *   bounded by a byte budget.</li>
+ *   <li>When a write exceeds the budget, the least recently read records are evicted and the
+ *   eviction listener is notified.</li>
+ * </ul>
+ *
+ * <p><strong>Metrics:</strong> registered as a {@link MeterBinder}, the storage publishes
+ * {@code pokemon.catalog.heap.used}, {@code pokemon.catalog.heap.budget},
+ * {@code pokemon.catalog.heap.entries} and {@code pokemon.catalog.heap.evictions} through the
+ * actuator metrics endpoint.</p>
+ *
+ * <p><strong>Thread Safety:</strong> the access-ordered index is guarded by the instance monitor;
+ * records are copied and converted outside of it.</p>
+ */
+@Slf4j
+public class HeapPokemonRecordStorage implements IPokemonRecordStorage, MeterBinder {
+
+    /** Maximum number of bytes the records may use, as estimated by the records themselves. */
+    private final long byteBudget;
+
+    /** Records indexed by Pokemon id, in least recently used order. */
+    private final LinkedHashMap<Integer, CatalogRecord> records = new LinkedHashMap<>(256, 0.75f,
+            true);
+
+    /** Estimated number of bytes currently used by the records. */
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    /** Number of records evicted since startup. */
+    private final AtomicLong evictions = new AtomicLong();
+
+    /** Canonicalization applied to every resource reference before it is stored. */
+    private final UnaryOperator<CatalogRecord.Resource> canonicalizer;
+
+    /** Callback notified with the id of every evicted record. */
+    private volatile IntConsumer evictionListener = id -> {
+    };
+
+    /**
+     * Creates an unbounded storage keeping the records exactly as they are given.
+     */
+    public HeapPokemonRecordStorage() {
+        this(UnaryOperator.identity(),
+                Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a storage interning the resource references of every stored record.
+     *
+     * @param interner   The interning table shared by the catalog.
+     * @param byteBudget The maximum number of bytes the records may use.
+     */
+    public HeapPokemonRecordStorage(ResourceInterner interner, long byteBudget) {
+        this(interner::intern,
+                byteBudget);
+    }
+
+    /**
+     * Creates the storage.
+     *
+     * @param canonicalizer The canonicalization applied to every resource reference.
+     * @param byteBudget    The maximum number of bytes the records may use.
+     */
+    private HeapPokemonRecordStorage(UnaryOperator<CatalogRecord.Resource> canonicalizer,
+            long byteBudget) {
+        this.canonicalizer = canonicalizer;
+        this.byteBudget = byteBudget;
+    }
+
+    @Override
+    public PokemonDto get(int id) {
+        return get(id,
+                FieldSelection.ALL);
+    }
+
+    @Override
+    public PokemonDto get(int id, FieldSelection fields) {
+        CatalogRecord record;
+        synchronized (this) {
+            record = records.get(id);
+        }
+        return record == null ? null : record.toDto(fields);
+    }
+
+    @Override
+    public PokemonDto put(PokemonDto pokemon) {
+        CatalogRecord record = CatalogRecord.of(pokemon,
+                canonicalizer);
+        long size = record.estimatedBytes();
+        List<Integer> evicted = new ArrayList<>();
+        CatalogRecord previous;
+        synchronized (this) {
+            previous = records.remove(pokemon.getId());
+            if (previous != null) {
+                usedBytes.addAndGet(-previous.estimatedBytes());
+            }
+            if (size > byteBudget) {
+                log.warn("Pokemon {} needs {} bytes, over the heap budget of {} bytes",
+                        pokemon.getId(),
+                        size,
+                        byteBudget);
+            } else {
+                evictUntilFits(size,
+                        evicted);
+                records.put(pokemon.getId(),
+                        record);
+                usedBytes.addAndGet(size);
+            }
+        }
+        evicted.forEach(evictionListener::accept);
+        return previous == null ? null : previous.toDto();
+    }
+
+    @Override
+    public synchronized boolean remove(int id) {
+        CatalogRecord previous = records.remove(id);
+        if (previous == null) {
+            return false;
+        }
+        usedBytes.addAndGet(-previous.estimatedBytes());
+        return true;
+    }
+
+    @Override
+    public synchronized boolean contains(int id) {
+        return records.containsKey(id);
+    }
+
+    @Override
+    public Collection<PokemonDto> values() {
+        List<CatalogRecord> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(records.values());
+        }
+        return snapshot.stream().map(CatalogRecord::toDto).toList();
+    }
+
+    @Override
+    public synchronized int size() {
+        return records.size();
+    }
+
+    @Override
+    public void setEvictionListener(IntConsumer listener) {
+        this.evictionListener = listener;
+    }
+
+    /**
+     * Returns the estimated number of bytes currently used by the records.
+     *
+     * @return The used bytes.
+     */
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    /**
+     * Registers the heap usage gauges and the eviction counter.
+     *
+     * @param registry The meter registry.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("pokemon.catalog.heap.used",
+                usedBytes,
+                AtomicLong::get).baseUnit(BaseUnits.BYTES)
+                .description("Estimated bytes used by the heap catalog records").register(registry);
+        Gauge.builder("pokemon.catalog.heap.budget",
+                () -> byteBudget).baseUnit(BaseUnits.BYTES)
+                .description("Byte budget of the heap catalog records").register(registry);
+        Gauge.builder("pokemon.catalog.heap.entries",
+                this,
+                HeapPokemonRecordStorage::size)
+                .description("Records held by the heap catalog").register(registry);
+        FunctionCounter.builder("pokemon.catalog.heap.evictions",
+                evictions,
+                AtomicLong::get)
+                .description("Records evicted from the heap catalog").register(registry);
+    }
+
+    /**
+     * Evicts the least recently used records until the given size fits in the budget. Must be
+     * called while holding the instance monitor.
+     *
+     * @param required The number of bytes about to be added.
+     * @param evicted  Receives the ids of the evicted records.
+     */
+    private void evictUntilFits(long required, List<Integer> evicted) {
+        Iterator<Map.Entry<Integer, CatalogRecord>> eldest = records.entrySet().iterator();
+        while (usedBytes.get() + required > byteBudget && eldest.hasNext()) {
+            Map.Entry<Integer, CatalogRecord> entry = eldest.next();
+            usedBytes.addAndGet(-entry.getValue().estimatedBytes());
+            evicted.add(entry.getKey());
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+}
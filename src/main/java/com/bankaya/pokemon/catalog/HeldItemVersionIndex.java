@@ -0,0 +1,292 @@
+package com.bankaya.pokemon.catalog;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import org.springframework.stereotype.Component;
+import com.bankaya.pokemon.dto.NamedApiResourceDto;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.dto.PokemonHeldItemDto;
+import com.bankaya.pokemon.dto.PokemonHeldItemVersionDto;
+import lombok.Value;
+
+/**
+ * Version-partitioned index of the held items of the catalog.
+ * <p>
+ * For every game version the index keeps a partition with one entry per (Pokemon, item) pair held
+ * in that version, sorted by rarity in descending order, and the held items of every Pokemon
+ * already filtered to that version. Both answer without walking the {@code versionDetails} of any
+ * record:
+ * </p>
+ * <ul>
+ *   <li>{@link #heldItems(String, int)} returns the precomputed held items of a Pokemon in a
+ *   version.</li>
+ *   <li>{@link #topByRarity(String, int, int)} returns the first entries of the sorted partition,
+ *   stopping at the first entry below the requested rarity.</li>
+ * </ul>
+ *
+ * <p>The index is maintained incrementally as an {@link ICatalogListener}. The sorted entries of a
+ * partition are kept in a {@link ConcurrentSkipListSet}, so a change of a record only removes and
+ * inserts the entries of that record, in logarithmic time, instead of copying and sorting the
+ * partitions it references; a bulk import costs {@code O(n log n)} overall. Writers are
+ * serialized while reads never lock; a read concurrent with the change of a record may not see
+ * the entries of that record yet.</p>
+ *
+ * @see PokemonCatalogStore
+ */
+@Component
+public class HeldItemVersionIndex implements ICatalogListener {
+
+    /** Orders entries by rarity, most common first, then by Pokemon id and item name. */
+    private static final Comparator<Entry> BY_RARITY = Comparator.comparingInt(Entry::getRarity)
+            .reversed().thenComparingInt(Entry::getPokemonId)
+            .thenComparing(entry -> String.valueOf(entry.getItem().getName()));
+
+    /** Partitions indexed by lower-case version name. */
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+
+    /** Ids of the indexed Pokemon, including those without held items. */
+    private final Set<Integer> indexed = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates the index and registers it on the catalog store.
+     *
+     * @param catalogStore The catalog to index.
+     */
+    public HeldItemVersionIndex(PokemonCatalogStore catalogStore) {
+        catalogStore.addListenerWithReplay(this);
+    }
+
+    @Override
+    public synchronized void onPut(PokemonDto previous, PokemonDto current) {
+        if (previous == null && current == null) {
+            return;
+        }
+        Map<String, List<Entry>> added = current == null ? Map.of() : entriesByVersion(current);
+        Set<String> versions = new LinkedHashSet<>(added.keySet());
+        if (previous != null) {
+            versions.addAll(entriesByVersion(previous).keySet());
+            indexed.remove(previous.getId());
+        }
+        int id = current != null ? current.getId() : previous.getId();
+        versions.forEach(version -> update(version,
+                id,
+                added.getOrDefault(version,
+                        List.of())));
+        if (current != null) {
+            indexed.add(current.getId());
+        }
+    }
+
+    @Override
+    public synchronized void onRemove(int id) {
+        if (indexed.remove(id)) {
+            partitions.entrySet().stream().filter(entry -> entry.getValue().byPokemon
+                    .containsKey(id)).map(Map.Entry::getKey).toList()
+                    .forEach(version -> update(version,
+                            id,
+                            List.of()));
+        }
+    }
+
+    /**
+     * Checks whether a Pokemon is indexed.
+     *
+     * @param id The Pokemon id.
+     * @return {@code true} if the held items of the Pokemon are indexed.
+     */
+    public boolean contains(int id) {
+        return indexed.contains(id);
+    }
+
+    /**
+     * Returns the held items of a Pokemon in a version.
+     *
+     * @param version The version name.
+     * @param id      The Pokemon id.
+     * @return The held items whose version details are restricted to the version; empty if the
+     *         Pokemon holds nothing in that version.
+     */
+    public List<PokemonHeldItemDto> heldItems(String version, int id) {
+        Partition partition = partitions.get(PokemonCatalogStore.normalize(version));
+        return partition == null ? List.of() : partition.byPokemon.getOrDefault(id,
+                List.of());
+    }
+
+    /**
+     * Returns the items held in a version with at least a given rarity, most common first.
+     *
+     * @param version   The version name.
+     * @param minRarity The minimum rarity, in percent.
+     * @param limit     The maximum number of entries.
+     * @return The matching entries, sorted by rarity in descending order.
+     */
+    public List<Entry> topByRarity(String version, int minRarity, int limit) {
+        Partition partition = partitions.get(PokemonCatalogStore.normalize(version));
+        if (partition == null) {
+            return List.of();
+        }
+        List<Entry> result = new ArrayList<>();
+        for (Entry entry : partition.entries) {
+            if (result.size() >= limit || entry.getRarity() < minRarity) {
+                break;
+            }
+            result.add(entry);
+        }
+        return result;
+    }
+
+    /**
+     * Filters the held items of a record to a version, without using the index. Used for records
+     * that could not be indexed.
+     *
+     * @param pokemon The record.
+     * @param version The version name.
+     * @return The held items whose version details are restricted to the version.
+     */
+    public static List<PokemonHeldItemDto> filter(PokemonDto pokemon, String version) {
+        List<Entry> entries = entriesByVersion(pokemon).get(PokemonCatalogStore.normalize(
+                version));
+        return entries == null ? List.of() : toHeldItems(entries);
+    }
+
+    /**
+     * Replaces the entries of a Pokemon in the partition of a version.
+     *
+     * @param version The lower-case version name.
+     * @param id      The Pokemon id.
+     * @param entries The new entries of the Pokemon in the version.
+     */
+    private void update(String version, int id, List<Entry> entries) {
+        Partition partition = partitions.get(version);
+        if (partition == null) {
+            if (entries.isEmpty()) {
+                return;
+            }
+            partition = new Partition();
+            partitions.put(version,
+                    partition);
+        }
+        partition.replace(id,
+                entries);
+        if (partition.isEmpty()) {
+            partitions.remove(version);
+        }
+    }
+
+    /**
+     * Groups the held item entries of a record by version.
+     *
+     * @param pokemon The record.
+     * @return The entries indexed by lower-case version name.
+     */
+    private static Map<String, List<Entry>> entriesByVersion(PokemonDto pokemon) {
+        if (pokemon.getHeldItems() == null) {
+            return Map.of();
+        }
+        Map<String, List<Entry>> entries = new HashMap<>();
+        for (PokemonHeldItemDto heldItem : pokemon.getHeldItems()) {
+            if (heldItem.getItem() == null || heldItem.getVersionDetails() == null) {
+                continue;
+            }
+            for (PokemonHeldItemVersionDto details : heldItem.getVersionDetails()) {
+                if (details.getVersion() == null || details.getVersion().getName() == null) {
+                    continue;
+                }
+                entries.computeIfAbsent(PokemonCatalogStore.normalize(details.getVersion()
+                        .getName()),
+                        key -> new ArrayList<>())
+                        .add(new Entry(pokemon.getId(), heldItem.getItem(),
+                                details.getVersion(),
+                                details.getRarity() == null ? 0 : details.getRarity()));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Rebuilds held items from the entries of a single Pokemon in a single version.
+     *
+     * @param entries The entries.
+     * @return The held items.
+     */
+    private static List<PokemonHeldItemDto> toHeldItems(List<Entry> entries) {
+        return entries.stream().map(entry -> new PokemonHeldItemDto(entry.getItem(),
+                List.of(new PokemonHeldItemVersionDto(entry.getVersion(),
+                        entry.getRarity())))).toList();
+    }
+
+    /**
+     * Index of a single version. Modified by a single writer at a time.
+     */
+    private static final class Partition {
+
+        /** Entries sorted by rarity in descending order. */
+        private final NavigableSet<Entry> entries = new ConcurrentSkipListSet<>(BY_RARITY);
+
+        /** Entries of every Pokemon, used to remove them when the Pokemon changes. */
+        private final Map<Integer, List<Entry>> entriesByPokemon = new ConcurrentHashMap<>();
+
+        /** Held items restricted to the version, indexed by Pokemon id. */
+        private final Map<Integer, List<PokemonHeldItemDto>> byPokemon = new ConcurrentHashMap<>();
+
+        /**
+         * Replaces the entries of a Pokemon.
+         *
+         * @param id      The Pokemon id.
+         * @param current The new entries of the Pokemon, in any order; empty to remove it.
+         */
+        void replace(int id, List<Entry> current) {
+            List<Entry> previous = entriesByPokemon.remove(id);
+            if (previous != null) {
+                previous.forEach(entries::remove);
+            }
+            if (current.isEmpty()) {
+                byPokemon.remove(id);
+                return;
+            }
+            List<Entry> sorted = current.stream().sorted(BY_RARITY).toList();
+            entries.addAll(sorted);
+            entriesByPokemon.put(id,
+                    sorted);
+            byPokemon.put(id,
+                    toHeldItems(sorted));
+        }
+
+        /**
+         * Checks whether the partition has no entry left.
+         *
+         * @return {@code true} if no Pokemon holds an item in the version.
+         */
+        boolean isEmpty() {
+            return entriesByPokemon.isEmpty();
+        }
+    }
+
+    /**
+     * A Pokemon holding an item in a version with a given rarity.
+     */
+    @Value
+    public static class Entry {
+
+        /** The Pokemon id. */
+        int pokemonId;
+
+        /** The held item. */
+        NamedApiResourceDto<?> item;
+
+        /** The version. */
+        NamedApiResourceDto<?> version;
+
+        /** The rarity, in percent. */
+        int rarity;
+
+    }
+}
@@ -0,0 +1,34 @@
+package com.bankaya.pokemon.catalog;
+
+import com.bankaya.pokemon.dto.PokemonDto;
+
+/**
+ * Listener notified of every change of the {@link PokemonCatalogStore}.
+ * <p>
+ * Secondary structures derived from the catalog, such as the reverse indexes, register a listener
+ * to be maintained incrementally while records are imported or cached, instead of being rebuilt
+ * from the whole catalog. Listeners are called on the thread modifying the store, possibly
+ * concurrently, so implementations must be thread-safe and fast.
+ * </p>
+ *
+ * @see PokemonCatalogStore#addListener(ICatalogListener)
+ * @see PokemonCatalogStore#addListenerWithReplay(ICatalogListener)
+ */
+public interface ICatalogListener {
+
+    /**
+     * Called after a record has been stored or replaced. Calls for the same id never overlap.
+     *
+     * @param previous The replaced record, or {@code null} if there was none.
+     * @param current  The stored record, or {@code null} if the storage rejected it.
+     */
+    void onPut(PokemonDto previous, PokemonDto current);
+
+    /**
+     * Called after a record has been evicted or removed from the store.
+     *
+     * @param id The id of the evicted or removed record.
+     */
+    void onRemove(int id);
+
+}
@@ -0,0 +1,74 @@
+package com.bankaya.pokemon.catalog;
+
+/**
+ * Filter, aggregate and top-K scans over the numeric columns of a {@link CatalogSnapshot}.
+ * <p>
+ * Every scan only considers the values within an inclusive {@code [min, max]} range. Lower bounds
+ * are raised to {@link #MIN_VALUE}, so the {@link CatalogSnapshot#NULL_INT} sentinel of unknown
+ * values is never matched.
+ * </p>
+ *
+ * <p>Implementations differ only in how they walk the column: sequentially
+ * ({@link ScalarColumnScanner}), split across the fork-join pool ({@link ForkJoinColumnScanner})
+ * or with SIMD instructions through the Vector API (on the {@code java21} build profile). They
+ * return identical results.</p>
+ *
+ * @see ColumnScanners
+ */
+public interface IColumnScanner {
+
+    /** Smallest value matched by a scan. */
+    int MIN_VALUE = CatalogSnapshot.NULL_INT + 1;
+
+    /**
+     * Aggregates the values of a column within a range.
+     *
+     * @param column The column.
+     * @param min    The inclusive lower bound.
+     * @param max    The inclusive upper bound.
+     * @return The count, sum, minimum and maximum of the matching values.
+     */
+    ColumnStats aggregate(int[] column, int min, int max);
+
+    /**
+     * Counts the values of a column within a range per bucket of equal width.
+     *
+     * @param column      The column.
+     * @param min         The inclusive lower bound, start of the first bucket.
+     * @param max         The inclusive upper bound.
+     * @param bucketWidth The width of every bucket, positive.
+     * @return The number of matching values of every bucket; bucket {@code i} starts at
+     *         {@code min + i * bucketWidth}.
+     */
+    int[] histogram(int[] column, int min, int max, int bucketWidth);
+
+    /**
+     * Finds the rows with the highest values of a column within a range.
+     *
+     * @param column The column.
+     * @param min    The inclusive lower bound.
+     * @param max    The inclusive upper bound.
+     * @param k      The maximum number of rows.
+     * @return The rows, highest value first, then lowest row first.
+     */
+    int[] topK(int[] column, int min, int max, int k);
+
+    /**
+     * Returns the name of the scanner, reported with the results.
+     *
+     * @return The scanner name.
+     */
+    String name();
+
+    /**
+     * Returns the number of buckets of a histogram.
+     *
+     * @param min         The inclusive lower bound.
+     * @param max         The inclusive upper bound.
+     * @param bucketWidth The width of every bucket.
+     * @return The number of buckets.
+     */
+    static int bucketCount(int min, int max, int bucketWidth) {
+        return max < min ? 0 : (int) (((long) max - min) / bucketWidth + 1);
+    }
+}
@@ -0,0 +1,85 @@
+package com.bankaya.pokemon.catalog;
+
+import java.util.Collection;
+import java.util.function.IntConsumer;
+import com.bankaya.pokemon.dto.PokemonDto;
+
+/**
+ * Storage backend for the records of the {@link PokemonCatalogStore}.
+ * <p>
+ * The store keeps its name index on heap and delegates the records themselves to a storage
+ * backend, so the representation of the records (plain objects on heap or serialized bytes
+ * outside the heap) can be selected per profile without touching the store callers.
+ * </p>
+ *
+ * @see HeapPokemonRecordStorage
+ * @see OffHeapPokemonRecordStorage
+ */
+public interface IPokemonRecordStorage {
+
+    /**
+     * Retrieves the record of a Pokemon.
+     *
+     * @param id The Pokemon id.
+     * @return The record, or {@code null} if it is not stored.
+     */
+    PokemonDto get(int id);
+
+    /**
+     * Retrieves the selected fields of the record of a Pokemon. Storages holding serialized
+     * records only decode those fields; the others are left {@code null}.
+     *
+     * @param id     The Pokemon id.
+     * @param fields The fields to read.
+     * @return The record, or {@code null} if it is not stored.
+     */
+    default PokemonDto get(int id, FieldSelection fields) {
+        return get(id);
+    }
+
+    /**
+     * Stores or replaces the record of a Pokemon.
+     *
+     * @param pokemon The record to store; its id must not be {@code null}.
+     * @return The previous record, or {@code null} if there was none.
+     */
+    PokemonDto put(PokemonDto pokemon);
+
+    /**
+     * Removes the record of a Pokemon. The eviction listener is not notified.
+     *
+     * @param id The Pokemon id.
+     * @return {@code true} if the record was stored.
+     */
+    boolean remove(int id);
+
+    /**
+     * Checks whether a record is stored.
+     *
+     * @param id The Pokemon id.
+     * @return {@code true} if the record is stored.
+     */
+    boolean contains(int id);
+
+    /**
+     * Returns the records currently stored.
+     *
+     * @return The stored records.
+     */
+    Collection<PokemonDto> values();
+
+    /**
+     * Returns the number of records currently stored.
+     *
+     * @return The number of records.
+     */
+    int size();
+
+    /**
+     * Registers the callback invoked with the id of every record evicted by the storage.
+     *
+     * @param listener The eviction callback.
+     */
+    void setEvictionListener(IntConsumer listener);
+
+}
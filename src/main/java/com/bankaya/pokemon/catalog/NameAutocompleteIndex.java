@@ -0,0 +1,54 @@
+package com.bankaya.pokemon.catalog;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.stereotype.Component;
+
+/**
+ * Prefix autocomplete over every known Pokemon name.
+ * <p>
+ * Suggestions are served from an immutable {@link PrefixTrie} built from the
+ * {@link PokemonNameRegistry}. When new names appear the registry rebuilds the trie on its
+ * background thread and the new trie replaces the previous one atomically, so lookups never wait
+ * for a rebuild and never see a partially built structure.
+ * </p>
+ *
+ * @see PrefixTrie
+ * @see PokemonNameRegistry
+ */
+@Component
+public class NameAutocompleteIndex {
+
+    /** Current trie. */
+    private final AtomicReference<PrefixTrie> trie = new AtomicReference<>(PrefixTrie.empty());
+
+    /**
+     * Creates the index and registers its builder on the name registry.
+     *
+     * @param nameRegistry The registry of known names.
+     */
+    public NameAutocompleteIndex(PokemonNameRegistry nameRegistry) {
+        nameRegistry.onRebuild(names -> trie.set(PrefixTrie.build(names)));
+    }
+
+    /**
+     * Returns the best ranked names starting with a prefix.
+     *
+     * @param prefix The prefix typed by the user.
+     * @param limit  The maximum number of names, capped to {@link PrefixTrie#MAX_SUGGESTIONS}.
+     * @return The matching names, lowest Pokemon id first.
+     */
+    public List<String> complete(String prefix, int limit) {
+        return trie.get().complete(PokemonCatalogStore.normalize(prefix),
+                limit);
+    }
+
+    /**
+     * Returns the number of indexed names.
+     *
+     * @return The number of names in the current trie.
+     */
+    public int size() {
+        return trie.get().size();
+    }
+}
@@ -0,0 +1,278 @@
+package com.bankaya.pokemon.catalog;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.filter.FilteringParserDelegate;
+import com.fasterxml.jackson.core.filter.TokenFilter;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link IPokemonRecordStorage} keeping the records serialized in direct buffers, outside the
+ * Java heap.
+ * <p>
+ * Every record is encoded once as UTF-8 JSON into its own direct {@link ByteBuffer} and decoded
+ * into a fresh {@link PokemonDto} on every read. The only objects left on the heap per record are
+ * the buffer header and the map entry, so a fully cached catalog no longer inflates the old
+ * generation nor the work of the garbage collector.
+ * </p>
+ *
+ * <p><strong>Eviction:</strong></p>
+ * <ul>
+ *   <li>The total size of the encoded records is bounded by a byte budget.</li>
+ *   <li>When a write exceeds the budget, the least recently read records are evicted and the
+ *   eviction listener is notified.</li>
+ * </ul>
+ *
+ * <p><strong>Metrics:</strong> registered as a {@link MeterBinder}, the storage publishes
+ * {@code pokemon.catalog.offheap.used}, {@code pokemon.catalog.offheap.budget},
+ * {@code pokemon.catalog.offheap.entries} and {@code pokemon.catalog.offheap.evictions} through
+ * the actuator metrics endpoint.</p>
+ *
+ * <p><strong>Thread Safety:</strong> the access-ordered index is guarded by the instance monitor;
+ * encoding and decoding happen outside of it.</p>
+ */
+@Slf4j
+public class OffHeapPokemonRecordStorage implements IPokemonRecordStorage, MeterBinder {
+
+    /** Maximum number of bytes the encoded records may use. */
+    private final long byteBudget;
+
+    /** Writer used to encode the records. */
+    private final ObjectWriter writer;
+
+    /** Reader used to decode the records. */
+    private final ObjectReader reader;
+
+    /** Encoded records indexed by Pokemon id, in least recently used order. */
+    private final LinkedHashMap<Integer, ByteBuffer> buffers = new LinkedHashMap<>(256, 0.75f,
+            true);
+
+    /** Number of bytes currently used by the encoded records. */
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    /** Number of records evicted since startup. */
+    private final AtomicLong evictions = new AtomicLong();
+
+    /** Callback notified with the id of every evicted record. */
+    private volatile IntConsumer evictionListener = id -> {
+    };
+
+    /**
+     * Creates the storage.
+     *
+     * @param objectMapper The application object mapper.
+     * @param byteBudget   The maximum number of bytes the encoded records may use.
+     */
+    public OffHeapPokemonRecordStorage(ObjectMapper objectMapper, long byteBudget) {
+        this.byteBudget = byteBudget;
+        this.writer = objectMapper.writerFor(PokemonDto.class);
+        this.reader = objectMapper.readerFor(PokemonDto.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    @Override
+    public PokemonDto get(int id) {
+        return get(id,
+                FieldSelection.ALL);
+    }
+
+    @Override
+    public PokemonDto get(int id, FieldSelection fields) {
+        ByteBuffer buffer;
+        synchronized (this) {
+            buffer = buffers.get(id);
+        }
+        return buffer == null ? null : decode(buffer,
+                fields);
+    }
+
+    @Override
+    public PokemonDto put(PokemonDto pokemon) {
+        ByteBuffer encoded = encode(pokemon);
+        List<Integer> evicted = new ArrayList<>();
+        ByteBuffer previous;
+        synchronized (this) {
+            previous = buffers.remove(pokemon.getId());
+            if (previous != null) {
+                usedBytes.addAndGet(-previous.capacity());
+            }
+            if (encoded.capacity() > byteBudget) {
+                log.warn("Pokemon {} needs {} bytes, over the off-heap budget of {} bytes",
+                        pokemon.getId(),
+                        encoded.capacity(),
+                        byteBudget);
+            } else {
+                evictUntilFits(encoded.capacity(),
+                        evicted);
+                buffers.put(pokemon.getId(),
+                        encoded);
+                usedBytes.addAndGet(encoded.capacity());
+            }
+        }
+        evicted.forEach(evictionListener::accept);
+        return previous == null ? null : decode(previous);
+    }
+
+    @Override
+    public synchronized boolean remove(int id) {
+        ByteBuffer previous = buffers.remove(id);
+        if (previous == null) {
+            return false;
+        }
+        usedBytes.addAndGet(-previous.capacity());
+        return true;
+    }
+
+    @Override
+    public synchronized boolean contains(int id) {
+        return buffers.containsKey(id);
+    }
+
+    @Override
+    public Collection<PokemonDto> values() {
+        List<ByteBuffer> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(buffers.values());
+        }
+        List<PokemonDto> records = new ArrayList<>(snapshot.size());
+        snapshot.forEach(buffer -> records.add(decode(buffer)));
+        return records;
+    }
+
+    @Override
+    public synchronized int size() {
+        return buffers.size();
+    }
+
+    @Override
+    public void setEvictionListener(IntConsumer listener) {
+        this.evictionListener = listener;
+    }
+
+    /**
+     * Returns the number of bytes currently used by the encoded records.
+     *
+     * @return The used bytes.
+     */
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    /**
+     * Registers the off-heap usage gauges and the eviction counter.
+     *
+     * @param registry The meter registry.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("pokemon.catalog.offheap.used",
+                usedBytes,
+                AtomicLong::get).baseUnit(BaseUnits.BYTES)
+                .description("Bytes used by the off-heap catalog records").register(registry);
+        Gauge.builder("pokemon.catalog.offheap.budget",
+                () -> byteBudget).baseUnit(BaseUnits.BYTES)
+                .description("Byte budget of the off-heap catalog records").register(registry);
+        Gauge.builder("pokemon.catalog.offheap.entries",
+                this,
+                OffHeapPokemonRecordStorage::size)
+                .description("Records held by the off-heap catalog").register(registry);
+        FunctionCounter.builder("pokemon.catalog.offheap.evictions",
+                evictions,
+                AtomicLong::get)
+                .description("Records evicted from the off-heap catalog").register(registry);
+    }
+
+    /**
+     * Evicts the least recently used records until the given size fits in the budget. Must be
+     * called while holding the instance monitor.
+     *
+     * @param required The number of bytes about to be added.
+     * @param evicted  Receives the ids of the evicted records.
+     */
+    private void evictUntilFits(int required, List<Integer> evicted) {
+        Iterator<Map.Entry<Integer, ByteBuffer>> eldest = buffers.entrySet().iterator();
+        while (usedBytes.get() + required > byteBudget && eldest.hasNext()) {
+            Map.Entry<Integer, ByteBuffer> entry = eldest.next();
+            usedBytes.addAndGet(-entry.getValue().capacity());
+            evicted.add(entry.getKey());
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /**
+     * Encodes a record into a new direct buffer.
+     *
+     * @param pokemon The record to encode.
+     * @return A read-only direct buffer holding the encoded record.
+     */
+    private ByteBuffer encode(PokemonDto pokemon) {
+        try {
+            byte[] bytes = writer.writeValueAsBytes(pokemon);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+            buffer.put(bytes).flip();
+            return buffer.asReadOnlyBuffer();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to encode Pokemon " + pokemon.getId(), e);
+        }
+    }
+
+    /**
+     * Decodes a record from its direct buffer.
+     *
+     * @param buffer The buffer holding the encoded record; its position is not modified.
+     * @return A new record instance.
+     */
+    private PokemonDto decode(ByteBuffer buffer) {
+        return decode(buffer,
+                FieldSelection.ALL);
+    }
+
+    /**
+     * Decodes the selected fields of a record from its direct buffer. The unselected fields are
+     * skipped by the parser, without creating any object.
+     *
+     * @param buffer The buffer holding the encoded record; its position is not modified.
+     * @param fields The fields to decode.
+     * @return A new record instance.
+     */
+    private PokemonDto decode(ByteBuffer buffer, FieldSelection fields) {
+        try {
+            JsonParser parser = reader.createParser(new ByteBufferBackedInputStream(buffer
+                    .duplicate()));
+            if (!fields.isAll()) {
+                parser = new FilteringParserDelegate(parser,
+                        fields.tokenFilter(),
+                        TokenFilter.Inclusion.INCLUDE_ALL_AND_PATH,
+                        true);
+            }
+            try (JsonParser input = parser) {
+                return reader.readValue(input);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
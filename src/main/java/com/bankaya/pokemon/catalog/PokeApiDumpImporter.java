@@ -0,0 +1,392 @@
+package com.bankaya.pokemon.catalog;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import com.bankaya.pokemon.config.CatalogProperties;
+import com.bankaya.pokemon.dto.NamedApiResourceDto;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Imports the public PokeAPI static data dump into the {@link PokemonCatalogStore}.
+ * <p>
+ * The dump follows the layout of the {@code PokeAPI/api-data} repository, where every Pokemon is
+ * stored as {@code data/api/v2/pokemon/{id}/index.json}. Each file is parsed straight into a
+ * compact {@link PokemonDto}; every other section of the document (moves, sprites, game indices,
+ * etc.) is skipped by the parser and never materialized.
+ * </p>
+ *
+ * <p><strong>Import behavior:</strong></p>
+ * <ul>
+ *   <li><strong>Parallel:</strong> files are parsed on a dedicated {@link ForkJoinPool} sized by
+ *   {@link CatalogProperties#getImportParallelism()}.</li>
+ *   <li><strong>Incremental:</strong> the last modification time of every imported file is
+ *   remembered for the lifetime of the application, so re-importing only parses the files that
+ *   changed. Re-imports run every {@link CatalogProperties#getImportInterval()} when set.</li>
+ *   <li><strong>Deletions:</strong> the records of files that were imported and are no longer
+ *   part of the dump are removed from the store.</li>
+ *   <li><strong>Relative URLs:</strong> the dump references resources as {@code /api/v2/...}; they
+ *   are rewritten against the configured PokeAPI base URI so responses look the same as when
+ *   served from the upstream API.</li>
+ * </ul>
+ *
+ * @see PokemonCatalogStore
+ * @see CatalogProperties
+ */
+@Component
+@Slf4j
+public class PokeApiDumpImporter {
+
+    /** Relative path of the Pokemon resources inside the dump data directory. */
+    private static final String POKEMON_PATH = "api/v2/pokemon";
+
+    /** Name of the file holding every resource document in the dump. */
+    private static final String INDEX_FILE = "index.json";
+
+    /** Prefix used by the dump for relative resource URLs. */
+    private static final String RELATIVE_URL_PREFIX = "/api/v2/";
+
+    /**
+     * Outcome of importing a single dump file.
+     */
+    enum Outcome {
+        /** The file was parsed and stored. */
+        IMPORTED,
+        /** The file did not change since the last import. */
+        SKIPPED,
+        /** The file could not be parsed. */
+        FAILED
+    }
+
+    /**
+     * Summary of an import run.
+     */
+    @Data
+    @AllArgsConstructor
+    public static class ImportResult {
+
+        /** Number of files parsed and stored. */
+        private long imported;
+
+        /** Number of files skipped because they did not change. */
+        private long skipped;
+
+        /** Number of files that could not be parsed. */
+        private long failed;
+
+        /** Number of records removed because their file is no longer part of the dump. */
+        private long removed;
+
+    }
+
+    /** Catalog configuration properties. */
+    private final CatalogProperties properties;
+
+    /** Store receiving the imported records. */
+    private final PokemonCatalogStore store;
+
+    /** Reader for compact Pokemon records, ignoring the sections the catalog does not keep. */
+    private final ObjectReader pokemonReader;
+
+    /** Origin (scheme and authority) used to rewrite relative dump URLs. */
+    private final String origin;
+
+    /** Last modification time and Pokemon id of every file already imported. */
+    private final Map<Path, ImportedFile> importedFiles = new ConcurrentHashMap<>();
+
+    /** Background thread running the periodic re-imports. */
+    private final ScheduledExecutorService reimporter = Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+                Thread thread = new Thread(runnable, "pokemon-dump-import");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * Last modification time of an imported file and id of the record it produced.
+     *
+     * @param modified The last modification time of the file when it was imported.
+     * @param id       The id of the imported Pokemon.
+     */
+    private record ImportedFile(FileTime modified, int id) {
+    }
+
+    /**
+     * Creates the importer.
+     *
+     * @param properties   The catalog configuration properties.
+     * @param store        The store receiving the imported records.
+     * @param objectMapper The application object mapper.
+     * @param baseUri      The PokeAPI base URI, used to rewrite relative URLs.
+     */
+    public PokeApiDumpImporter(CatalogProperties properties, PokemonCatalogStore store,
+            ObjectMapper objectMapper,
+            @Value("${skaro.pokeapi.base-uri:https://pokeapi.co/api/v2/}") String baseUri) {
+        this.properties = properties;
+        this.store = store;
+        this.pokemonReader = objectMapper.readerFor(PokemonDto.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        URI uri = URI.create(baseUri);
+        this.origin = uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+
+    /**
+     * Imports the configured dump once the application is ready, if enabled, and schedules the
+     * periodic re-imports.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void importOnStartup() {
+        Path dumpDirectory = properties.getDumpDirectory();
+        if (dumpDirectory == null) {
+            return;
+        }
+        if (properties.isImportOnStartup()) {
+            importDump(dumpDirectory);
+        }
+        Duration interval = properties.getImportInterval();
+        if (interval != null && !interval.isZero() && !interval.isNegative()) {
+            reimporter.scheduleWithFixedDelay(() -> reimport(dumpDirectory),
+                    interval.toMillis(),
+                    interval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Stops the periodic re-imports.
+     */
+    @PreDestroy
+    public void shutdown() {
+        reimporter.shutdownNow();
+    }
+
+    /**
+     * Imports every Pokemon document found in the dump, skipping the unchanged ones and removing
+     * the records whose file was deleted since the previous run.
+     *
+     * @param dumpDirectory The dump root or its {@code data} directory.
+     * @return The summary of the import run.
+     */
+    public synchronized ImportResult importDump(Path dumpDirectory) {
+        Path pokemonDirectory = resolvePokemonDirectory(dumpDirectory);
+        if (pokemonDirectory == null) {
+            log.warn("No PokeAPI dump found under: {}",
+                    dumpDirectory);
+            return new ImportResult(0, 0, 0, 0);
+        }
+        long start = System.nanoTime();
+        List<Path> files = listPokemonFiles(pokemonDirectory);
+        Map<Outcome, Long> outcomes = importInParallel(files);
+        long removed = removeDeleted(pokemonDirectory,
+                new HashSet<>(files));
+        store.refreshSnapshot();
+        ImportResult result = new ImportResult(outcomes.getOrDefault(Outcome.IMPORTED,
+                0L),
+                outcomes.getOrDefault(Outcome.SKIPPED,
+                        0L),
+                outcomes.getOrDefault(Outcome.FAILED,
+                        0L),
+                removed);
+        log.info("PokeAPI dump import finished in {} ms: {} imported, {} unchanged, {} failed, "
+                + "{} removed",
+                (System.nanoTime() - start) / 1_000_000,
+                result.getImported(),
+                result.getSkipped(),
+                result.getFailed(),
+                result.getRemoved());
+        return result;
+    }
+
+    /**
+     * Runs a scheduled re-import, logging failures so later runs are still executed.
+     *
+     * @param dumpDirectory The dump root or its {@code data} directory.
+     */
+    private void reimport(Path dumpDirectory) {
+        try {
+            importDump(dumpDirectory);
+        } catch (RuntimeException e) {
+            log.warn("PokeAPI dump re-import failed: {}",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Removes the records of the files imported from a Pokemon directory that are no longer
+     * part of it.
+     *
+     * @param pokemonDirectory The Pokemon directory of the dump.
+     * @param files            The files currently in the dump.
+     * @return The number of removed records.
+     */
+    private long removeDeleted(Path pokemonDirectory, Set<Path> files) {
+        long removed = 0;
+        for (Map.Entry<Path, ImportedFile> entry : importedFiles.entrySet()) {
+            Path file = entry.getKey();
+            if (file.startsWith(pokemonDirectory) && !files.contains(file)) {
+                importedFiles.remove(file);
+                if (store.remove(entry.getValue().id())) {
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Parses the files on a dedicated pool so the import does not compete with the common pool.
+     *
+     * @param files The dump files to import.
+     * @return The number of files per outcome.
+     */
+    private Map<Outcome, Long> importInParallel(List<Path> files) {
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1,
+                properties.getImportParallelism()));
+        try {
+            return pool.submit(() -> files.parallelStream().map(this::importFile)
+                    .collect(Collectors.groupingBy(Function.identity(),
+                            Collectors.counting())))
+                    .get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("PokeAPI dump import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("PokeAPI dump import failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Imports a single dump file, unless it did not change since the last import and its record
+     * is still stored.
+     *
+     * @param file The {@code index.json} file of a Pokemon.
+     * @return The outcome of the import.
+     */
+    Outcome importFile(Path file) {
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+            ImportedFile imported = importedFiles.get(file);
+            if (imported != null && imported.modified().equals(modified)
+                    && store.contains(imported.id())) {
+                return Outcome.SKIPPED;
+            }
+            PokemonDto pokemon = pokemonReader.readValue(file.toFile());
+            if (pokemon.getId() == null) {
+                log.warn("Unable to import {}: missing Pokemon id",
+                        file);
+                return Outcome.FAILED;
+            }
+            store.put(absolutize(pokemon));
+            importedFiles.put(file,
+                    new ImportedFile(modified, pokemon.getId()));
+            return Outcome.IMPORTED;
+        } catch (IOException e) {
+            log.warn("Unable to import {}: {}",
+                    file,
+                    e.getMessage());
+            return Outcome.FAILED;
+        }
+    }
+
+    /**
+     * Locates the Pokemon directory inside the dump.
+     *
+     * @param dumpDirectory The dump root or its {@code data} directory.
+     * @return The Pokemon directory, or {@code null} if it does not exist.
+     */
+    private Path resolvePokemonDirectory(Path dumpDirectory) {
+        return Stream.of(dumpDirectory.resolve("data").resolve(POKEMON_PATH),
+                dumpDirectory.resolve(POKEMON_PATH)).filter(Files::isDirectory).findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Lists the {@code index.json} file of every numeric Pokemon directory.
+     *
+     * @param pokemonDirectory The Pokemon directory of the dump.
+     * @return The files to import.
+     */
+    private List<Path> listPokemonFiles(Path pokemonDirectory) {
+        try (Stream<Path> children = Files.list(pokemonDirectory)) {
+            return children.filter(dir -> dir.getFileName().toString().chars()
+                    .allMatch(c -> c >= '0' && c <= '9')).map(dir -> dir.resolve(INDEX_FILE))
+                    .filter(Files::isRegularFile).collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Rewrites the relative URLs of a dump record against the PokeAPI origin.
+     *
+     * @param pokemon The record read from the dump.
+     * @return The same record, with absolute URLs.
+     */
+    private PokemonDto absolutize(PokemonDto pokemon) {
+        pokemon.setLocationAreaEncounters(absolutize(pokemon.getLocationAreaEncounters()));
+        if (pokemon.getAbilities() != null) {
+            pokemon.getAbilities().forEach(ability -> absolutize(ability.getAbility()));
+        }
+        if (pokemon.getHeldItems() != null) {
+            pokemon.getHeldItems().forEach(heldItem -> {
+                absolutize(heldItem.getItem());
+                if (heldItem.getVersionDetails() != null) {
+                    heldItem.getVersionDetails()
+                            .forEach(version -> absolutize(version.getVersion()));
+                }
+            });
+        }
+        return pokemon;
+    }
+
+    /**
+     * Rewrites the URL of a resource reference against the PokeAPI origin.
+     *
+     * @param resource The resource reference, may be {@code null}.
+     */
+    private void absolutize(NamedApiResourceDto<?> resource) {
+        if (resource != null) {
+            resource.setUrl(absolutize(resource.getUrl()));
+        }
+    }
+
+    /**
+     * Rewrites a relative dump URL against the PokeAPI origin.
+     *
+     * @param url The URL, may be {@code null}.
+     * @return The absolute URL.
+     */
+    private String absolutize(String url) {
+        return url != null && url.startsWith(RELATIVE_URL_PREFIX) ? origin + url : url;
+    }
+}
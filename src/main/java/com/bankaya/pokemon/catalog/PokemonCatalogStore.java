@@ -0,0 +1,443 @@
+package com.bankaya.pokemon.catalog;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import com.bankaya.pokemon.config.CatalogProperties;
+import com.bankaya.pokemon.dto.PokemonDto;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-memory store of compact Pokemon records.
+ * <p>
+ * Each Pokemon is kept as a single {@link PokemonDto}, which only carries the fields the
+ * application actually serves (abilities, base experience, held items, id, name and location
+ * area encounters). The records themselves live in an {@link IPokemonRecordStorage}, while the
+ * name index is kept on heap so that lookups by name or id are a single hash probe before the
+ * record is read.
+ * </p>
+ *
+ * <p>For whole-catalog scans the store also exposes an immutable {@link CatalogSnapshot}. The
+ * first snapshot is built on the first {@link #snapshot()} call; later changes are coalesced and
+ * rebuilt on a background thread, {@link CatalogProperties#getSnapshotRebuildDelay()} after the
+ * first change, so a burst of read-through misses or imported records costs a single rebuild and
+ * never a rebuild on the request path. Bulk loaders call {@link #refreshSnapshot()} once they are
+ * done.</p>
+ *
+ * <p>Derived structures are kept up to date through {@link ICatalogListener}s, notified of every
+ * stored, replaced, removed or evicted record. Writes of the same id are serialized, so the
+ * listeners see the changes of a record in order. Evictions are notified by the background
+ * thread, under the evicted id like any write, and skipped if the record was stored again in the
+ * meantime.</p>
+ *
+ * <p><strong>Thread Safety:</strong></p>
+ * <ul>
+ *   <li>The name index is backed by {@link ConcurrentHashMap}; storages are thread-safe, so the
+ *   store is safe for concurrent imports and reads.</li>
+ *   <li>Snapshots are immutable; a snapshot taken while the catalog is being modified may not
+ *   include the latest changes, which are picked up by the next background rebuild.</li>
+ * </ul>
+ *
+ * @see PokeApiDumpImporter
+ * @see IPokemonRecordStorage
+ */
+@Component
+public class PokemonCatalogStore {
+
+    /** Storage backend of the records. */
+    private final IPokemonRecordStorage storage;
+
+    /** Pokemon ids indexed by lower-case Pokemon name. */
+    private final Map<String, Integer> idByName = new ConcurrentHashMap<>();
+
+    /** Lower-case Pokemon names indexed by Pokemon id, used to clean the index on eviction. */
+    private final Map<Integer, String> nameById = new ConcurrentHashMap<>();
+
+    /**
+     * Ids of the records being written. Writes of a record run inside {@link Map#compute} on its
+     * id, so replacing the record and notifying the listeners is atomic per id; no mapping is
+     * ever kept.
+     */
+    private final Map<Integer, Object> writes = new ConcurrentHashMap<>();
+
+    /** Listeners notified of every change. */
+    private final List<ICatalogListener> listeners = new CopyOnWriteArrayList<>();
+
+    /** Incremented on every modification of the catalog. */
+    private final AtomicLong version = new AtomicLong();
+
+    /** Latest snapshot built. */
+    private volatile CatalogSnapshot snapshot = CatalogSnapshot.empty();
+
+    /** Catalog version the latest snapshot was built from, {@code -1} before the first one. */
+    private volatile long snapshotVersion = -1;
+
+    /** Delay between the first change of the catalog and the background snapshot rebuild. */
+    private final Duration snapshotRebuildDelay;
+
+    /** Whether a snapshot rebuild is already scheduled. */
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    /** Background thread running the snapshot rebuilds and the eviction cleanups. */
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+                Thread thread = new Thread(runnable, "pokemon-catalog-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * Creates the store on top of a storage backend, with the default snapshot rebuild delay.
+     *
+     * @param storage The storage backend of the records.
+     */
+    public PokemonCatalogStore(IPokemonRecordStorage storage) {
+        this(storage,
+                new CatalogProperties());
+    }
+
+    /**
+     * Creates the store on top of a storage backend.
+     *
+     * @param storage    The storage backend of the records.
+     * @param properties The catalog configuration properties.
+     */
+    @Autowired
+    public PokemonCatalogStore(IPokemonRecordStorage storage, CatalogProperties properties) {
+        this.storage = storage;
+        this.snapshotRebuildDelay = properties.getSnapshotRebuildDelay();
+        storage.setEvictionListener(this::evicted);
+    }
+
+    /**
+     * Stores or replaces a Pokemon record. Concurrent writes of the same id are serialized, so the
+     * listeners are notified of the replacements in the order they happened.
+     *
+     * @param pokemon The record to store. Records without an id are ignored.
+     */
+    public void put(PokemonDto pokemon) {
+        if (pokemon == null || pokemon.getId() == null) {
+            return;
+        }
+        writes.compute(pokemon.getId(),
+                (id, pending) -> {
+                    store(pokemon);
+                    return null;
+                });
+    }
+
+    /**
+     * Stores or replaces a Pokemon record and notifies the listeners, while holding its id.
+     *
+     * @param pokemon The record to store.
+     */
+    private void store(PokemonDto pokemon) {
+        PokemonDto previous = storage.put(pokemon);
+        version.incrementAndGet();
+        boolean stored = storage.contains(pokemon.getId());
+        if (pokemon.getName() != null && stored) {
+            String name = normalize(pokemon.getName());
+            String previousName = nameById.put(pokemon.getId(),
+                    name);
+            if (previousName != null && !previousName.equals(name)) {
+                idByName.remove(previousName,
+                        pokemon.getId());
+            }
+            idByName.put(name,
+                    pokemon.getId());
+        }
+        PokemonDto current = stored ? pokemon : null;
+        listeners.forEach(listener -> listener.onPut(previous,
+                current));
+    }
+
+    /**
+     * Removes a Pokemon record, for instance when it is no longer part of the imported dump.
+     *
+     * @param id The Pokemon id.
+     * @return {@code true} if the record was stored.
+     */
+    public boolean remove(int id) {
+        boolean[] removed = { false };
+        writes.compute(id,
+                (key, pending) -> {
+                    removed[0] = storage.remove(id);
+                    if (removed[0]) {
+                        unindex(id);
+                    }
+                    return null;
+                });
+        return removed[0];
+    }
+
+    /**
+     * Registers a listener notified of every later change of the catalog.
+     *
+     * @param listener The listener.
+     */
+    public void addListener(ICatalogListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Registers a listener, then notifies it of every record already stored as if it had just
+     * been put. Derived structures use it to index the existing catalog without missing the
+     * changes made while they are being built.
+     * <p>
+     * Each record is read again while holding its id, so the listener may be notified twice of
+     * the same record (once by a concurrent {@link #put(PokemonDto)} and once by the replay), but
+     * never of an outdated or removed one; {@link ICatalogListener#onPut(PokemonDto, PokemonDto)}
+     * must therefore be idempotent.
+     * </p>
+     *
+     * @param listener The listener.
+     */
+    public void addListenerWithReplay(ICatalogListener listener) {
+        listeners.add(listener);
+        storage.values().forEach(pokemon -> writes.compute(pokemon.getId(),
+                (id, pending) -> {
+                    PokemonDto current = storage.contains(id) ? storage.get(id) : null;
+                    if (current != null) {
+                        listener.onPut(null,
+                                current);
+                    }
+                    return null;
+                }));
+    }
+
+    /**
+     * Resolves a Pokemon record by its name or numeric id.
+     *
+     * @param nameOrId The name or ID of the Pokemon.
+     * @return An {@link Optional} with the record, or empty if it is not in the catalog.
+     */
+    public Optional<PokemonDto> find(String nameOrId) {
+        return resolveId(nameOrId).map(storage::get);
+    }
+
+    /**
+     * Resolves the selected fields of a Pokemon record by its name or numeric id.
+     *
+     * @param nameOrId The name or ID of the Pokemon.
+     * @param fields   The fields to read; the others may be left {@code null}.
+     * @return An {@link Optional} with the record, or empty if it is not in the catalog.
+     */
+    public Optional<PokemonDto> find(String nameOrId, FieldSelection fields) {
+        return resolveId(nameOrId).map(id -> storage.get(id,
+                fields));
+    }
+
+    /**
+     * Resolves the canonical Pokemon id for a name or numeric id.
+     *
+     * @param nameOrId The name or ID of the Pokemon.
+     * @return An {@link Optional} with the id, or empty if it is not in the catalog.
+     */
+    public Optional<Integer> resolveId(String nameOrId) {
+        if (nameOrId == null || nameOrId.isBlank()) {
+            return Optional.empty();
+        }
+        String key = normalize(nameOrId);
+        if (isNumeric(key)) {
+            Integer id = Integer.valueOf(key);
+            return storage.contains(id) ? Optional.of(id) : Optional.empty();
+        }
+        return Optional.ofNullable(idByName.get(key));
+    }
+
+    /**
+     * Returns the name of a stored Pokemon.
+     *
+     * @param id The Pokemon id.
+     * @return The lower-case Pokemon name, or {@code null} if it is not in the catalog.
+     */
+    public String nameOf(int id) {
+        return nameById.get(id);
+    }
+
+    /**
+     * Checks whether a Pokemon record is stored, without reading it.
+     *
+     * @param id The Pokemon id.
+     * @return {@code true} if the record is in the catalog.
+     */
+    public boolean contains(int id) {
+        return storage.contains(id);
+    }
+
+    /**
+     * Reads a Pokemon record by its id.
+     *
+     * @param id The Pokemon id.
+     * @return An {@link Optional} with the record, or empty if it is not in the catalog.
+     */
+    public Optional<PokemonDto> find(int id) {
+        return storage.contains(id) ? Optional.ofNullable(storage.get(id)) : Optional.empty();
+    }
+
+    /**
+     * Returns the ids of the named Pokemon currently stored, without reading their records.
+     *
+     * @return The ids, in ascending order.
+     */
+    public int[] ids() {
+        return nameById.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+    }
+
+    /**
+     * Returns the records currently stored.
+     *
+     * @return The stored records.
+     */
+    public Collection<PokemonDto> values() {
+        return storage.values();
+    }
+
+    /**
+     * Returns the number of records currently stored.
+     *
+     * @return The catalog size.
+     */
+    public int size() {
+        return storage.size();
+    }
+
+    /**
+     * Returns an immutable columnar snapshot of the catalog. The first call builds it; when the
+     * catalog changed since the latest snapshot, that snapshot is returned and a background
+     * rebuild is scheduled.
+     *
+     * @return The snapshot.
+     */
+    public CatalogSnapshot snapshot() {
+        long built = snapshotVersion;
+        if (built < 0) {
+            return refreshSnapshot();
+        }
+        if (built != version.get()) {
+            scheduleRebuild();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Rebuilds the snapshot right away if the catalog changed since the latest one.
+     *
+     * @return The up-to-date snapshot.
+     */
+    public synchronized CatalogSnapshot refreshSnapshot() {
+        long current = version.get();
+        if (snapshotVersion != current) {
+            snapshot = CatalogSnapshot.of(storage.values());
+            snapshotVersion = current;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Stops the background snapshot rebuild thread.
+     */
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * Schedules a rebuild of the snapshot, unless one is already pending.
+     */
+    private void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false,
+                true)) {
+            rebuilder.schedule(this::rebuildSnapshot,
+                    snapshotRebuildDelay.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Runs a scheduled snapshot rebuild. The flag is cleared first, so changes made during the
+     * rebuild schedule the next one.
+     */
+    private void rebuildSnapshot() {
+        rebuildScheduled.set(false);
+        refreshSnapshot();
+    }
+
+    /**
+     * Schedules the cleanup of a record evicted by the storage. Storages report evictions while
+     * the writer of another id holds that id, so taking the evicted id right away could deadlock
+     * two writers evicting each other's records; the background thread takes it instead.
+     *
+     * @param id The id of the evicted record.
+     */
+    private void evicted(int id) {
+        try {
+            rebuilder.execute(() -> writes.compute(id,
+                    (key, pending) -> {
+                        if (!storage.contains(id)) {
+                            unindex(id);
+                        }
+                        return null;
+                    }));
+        } catch (RejectedExecutionException e) {
+            // The store is shutting down.
+        }
+    }
+
+    /**
+     * Removes an evicted or removed record from the name index and notifies the listeners.
+     *
+     * @param id The id of the evicted or removed record.
+     */
+    private void unindex(int id) {
+        version.incrementAndGet();
+        String name = nameById.remove(id);
+        if (name != null) {
+            idByName.remove(name,
+                    id);
+        }
+        listeners.forEach(listener -> listener.onRemove(id));
+    }
+
+    /**
+     * Normalizes a name or id to the form used as index key.
+     *
+     * @param nameOrId The raw name or id.
+     * @return The trimmed, lower-case key.
+     */
+    static String normalize(String nameOrId) {
+        return nameOrId.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Checks whether a key only contains decimal digits.
+     *
+     * @param key The normalized key.
+     * @return {@code true} if the key can be parsed as a Pokemon id.
+     */
+    static boolean isNumeric(String key) {
+        if (key.isEmpty() || key.length() > 9) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,289 @@
+package com.bankaya.pokemon.catalog;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import com.bankaya.pokemon.config.CatalogProperties;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.util.retry.Retry;
+
+/**
+ * Registry of every known Pokemon name, feeding the name indexes.
+ * <p>
+ * Names come from two sources: the full name list of the PokeAPI
+ * ({@code GET pokemon?limit=100000}), loaded once the application is ready, and the records
+ * stored in the {@link PokemonCatalogStore}, which also cover offline mode. Name indexes are
+ * immutable structures built from a copy of the registry; they register a builder with
+ * {@link #onRebuild(Consumer)} and are rebuilt on a background thread shortly after new names
+ * appear, so a burst of imports causes a single rebuild.
+ * </p>
+ *
+ * <p>Evicted records keep their names: the Pokemon still exists and can be fetched again.</p>
+ *
+ * @see NameAutocompleteIndex
+ */
+@Component
+@Slf4j
+public class PokemonNameRegistry implements ICatalogListener {
+
+    /** Page size large enough to fetch the whole name list in one request. */
+    private static final int NAME_LIST_LIMIT = 100000;
+
+    /** Number of retries of a failed name list load. */
+    private static final int NAME_LIST_RETRIES = 5;
+
+    /** Pokemon ids indexed by lower-case name. */
+    private final Map<String, Integer> names = new ConcurrentHashMap<>();
+
+    /** Builders invoked with the current names on every rebuild. */
+    private final List<Consumer<Map<String, Integer>>> builders = new CopyOnWriteArrayList<>();
+
+    /** Whether the PokeAPI name list has been loaded. */
+    private volatile boolean nameListLoaded;
+
+    /** Whether a rebuild is already scheduled. */
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    /** Background thread running the rebuilds. */
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+                Thread thread = new Thread(runnable, "pokemon-name-index");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /** Catalog configuration. */
+    private final CatalogProperties properties;
+
+    /** HTTP client used to load the name list. */
+    private final HttpClient httpClient;
+
+    /** Object mapper used to parse the name list. */
+    private final ObjectMapper objectMapper;
+
+    /** Base URI of the PokeAPI. */
+    private final String baseUri;
+
+    /**
+     * Creates the registry and registers it on the catalog store.
+     *
+     * @param catalogStore The catalog whose names are registered.
+     * @param properties   The catalog configuration.
+     * @param httpClient   The HTTP client used to load the name list.
+     * @param objectMapper The object mapper used to parse the name list.
+     * @param baseUri      The base URI of the PokeAPI.
+     */
+    public PokemonNameRegistry(PokemonCatalogStore catalogStore, CatalogProperties properties,
+            HttpClient httpClient, ObjectMapper objectMapper,
+            @Value("${skaro.pokeapi.base-uri:https://pokeapi.co/api/v2/}") String baseUri) {
+        this.properties = properties;
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUri = baseUri.endsWith("/") ? baseUri : baseUri + "/";
+        catalogStore.addListener(this);
+        catalogStore.values().forEach(pokemon -> register(pokemon.getName(),
+                pokemon.getId()));
+    }
+
+    /**
+     * Registers a builder of a name index and runs it with the current names.
+     *
+     * @param builder Builder invoked with an immutable copy of the names.
+     */
+    public void onRebuild(Consumer<Map<String, Integer>> builder) {
+        builders.add(builder);
+        builder.accept(Map.copyOf(names));
+    }
+
+    /**
+     * Returns the id of a known name.
+     *
+     * @param name The lower-case name.
+     * @return The Pokemon id, or {@code null} if the name is unknown.
+     */
+    public Integer idOf(String name) {
+        return names.get(name);
+    }
+
+    /**
+     * Checks whether the full PokeAPI name list has been loaded.
+     *
+     * @return {@code true} if every existing Pokemon name is registered.
+     */
+    public boolean isNameListLoaded() {
+        return nameListLoaded;
+    }
+
+    /**
+     * Returns the number of known names.
+     *
+     * @return The number of names.
+     */
+    public int size() {
+        return names.size();
+    }
+
+    @Override
+    public void onPut(PokemonDto previous, PokemonDto current) {
+        if (current != null && register(current.getName(),
+                current.getId())) {
+            scheduleRebuild();
+        }
+    }
+
+    @Override
+    public void onRemove(int id) {
+        // Evicted Pokemon remain valid names.
+    }
+
+    /**
+     * Loads the PokeAPI name list once the application is ready, if enabled.
+     * <p>
+     * Error responses and empty lists are retried with an exponential backoff starting at
+     * {@link CatalogProperties#getNameListRetryBackoff()}; until a list is loaded, only the names
+     * of the cataloged Pokemon are known and {@link #isNameListLoaded()} stays {@code false}.
+     * </p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadNameList() {
+        if (!properties.isLoadNameList()) {
+            return;
+        }
+        String uri = baseUri + "pokemon?limit=" + NAME_LIST_LIMIT;
+        httpClient.get().uri(uri).responseSingle((response, body) -> response.status()
+                .code() == 200 ? body.asByteArray()
+                        : Mono.error(new IllegalStateException("HTTP " + response.status()
+                                .code())))
+                .flatMap(bytes -> Mono.fromCallable(() -> parseNameList(objectMapper.readTree(
+                        bytes))))
+                .retryWhen(Retry.backoff(NAME_LIST_RETRIES,
+                        properties.getNameListRetryBackoff())
+                        .doBeforeRetry(signal -> log.debug("Retrying the Pokemon name list: {}",
+                                signal.failure().getMessage())))
+                .subscribe(this::registerNameList,
+                        error -> log.warn("Unable to load the Pokemon name list from {}: {}",
+                                uri,
+                                error.getMessage()));
+    }
+
+    /**
+     * Rebuilds every name index now, on the calling thread.
+     */
+    public void rebuild() {
+        rebuildScheduled.set(false);
+        Map<String, Integer> copy = Map.copyOf(names);
+        builders.forEach(builder -> builder.accept(copy));
+        log.debug("Rebuilt {} name indexes over {} names",
+                builders.size(),
+                copy.size());
+    }
+
+    /**
+     * Stops the background rebuild thread.
+     */
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    /**
+     * Reads the names of a PokeAPI named resource list.
+     *
+     * @param list The {@code pokemon} resource list.
+     * @return The Pokemon ids indexed by name.
+     * @throws IllegalStateException If the list holds no name, such as an error body.
+     */
+    static Map<String, Integer> parseNameList(JsonNode list) {
+        Map<String, Integer> parsed = new HashMap<>();
+        for (JsonNode result : list.path("results")) {
+            String name = result.path("name").asText(null);
+            Integer id = idFromUrl(result.path("url").asText());
+            if (name != null && id != null) {
+                parsed.put(name,
+                        id);
+            }
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalStateException("Empty Pokemon name list");
+        }
+        return parsed;
+    }
+
+    /**
+     * Registers the names of the PokeAPI name list and rebuilds the indexes.
+     *
+     * @param list The Pokemon ids indexed by name.
+     */
+    private void registerNameList(Map<String, Integer> list) {
+        int added = 0;
+        for (Map.Entry<String, Integer> entry : list.entrySet()) {
+            if (register(entry.getKey(),
+                    entry.getValue())) {
+                added++;
+            }
+        }
+        nameListLoaded = true;
+        log.info("Loaded {} new Pokemon names from the PokeAPI",
+                added);
+        if (added > 0) {
+            rebuilder.execute(this::rebuild);
+        }
+    }
+
+    /**
+     * Registers a name.
+     *
+     * @param name The name; ignored when {@code null}.
+     * @param id   The Pokemon id.
+     * @return {@code true} if the name was not known.
+     */
+    private boolean register(String name, Integer id) {
+        return name != null && id != null && names.putIfAbsent(PokemonCatalogStore.normalize(name),
+                id) == null;
+    }
+
+    /**
+     * Schedules a rebuild of the indexes, unless one is already pending.
+     */
+    private void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false,
+                true)) {
+            rebuilder.schedule(this::rebuild,
+                    properties.getNameIndexRebuildDelay().toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Extracts the id of a resource URL such as {@code .../pokemon/25/}.
+     *
+     * @param url The resource URL.
+     * @return The id, or {@code null} if the URL does not end with one.
+     */
+    public static Integer idFromUrl(String url) {
+        try {
+            String[] segments = URI.create(url).getPath().split("/");
+            return segments.length == 0 ? null : Integer.valueOf(segments[segments.length - 1]);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.bankaya.pokemon.catalog;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.stereotype.Component;
+import com.bankaya.pokemon.dto.NamedApiResourceDto;
+import com.bankaya.pokemon.dto.PokemonAbilityDto;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.dto.PokemonHeldItemDto;
+import com.bankaya.pokemon.dto.PokemonHeldItemVersionDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Converts catalog records into the types requested by the adapters.
+ * <p>
+ * Catalog records are {@link com.bankaya.pokemon.dto.PokemonDto} instances, whose JSON form uses
+ * the snake case names of the PokeAPI. The converter relies on a copy of the application
+ * {@link ObjectMapper} configured with {@link PropertyNamingStrategies#SNAKE_CASE}, so the same
+ * record can be converted both into the REST DTOs and into the JAXB types generated from
+ * {@code pokemon.xsd}.
+ * </p>
+ *
+ * <p>Sparse fieldsets are applied by {@link #project}: only the selected fields of the record are
+ * copied into a JSON tree, which is then returned as is (REST) or converted into the target type
+ * (SOAP). Unselected subtrees are never converted.</p>
+ */
+@Component
+public class PokemonRecordConverter {
+
+    /**
+     * Snake case object mapper used for the conversions.
+     */
+    private final ObjectMapper snakeCaseMapper;
+
+    /**
+     * Creates the converter from the application {@link ObjectMapper}.
+     *
+     * @param objectMapper The application object mapper; it is copied and never modified.
+     */
+    public PokemonRecordConverter(ObjectMapper objectMapper) {
+        this.snakeCaseMapper = objectMapper.copy()
+                .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+    }
+
+    /**
+     * Converts a catalog record, or a part of it, into the target type.
+     *
+     * @param <T>        The target type.
+     * @param record     The record or sub-record to convert.
+     * @param targetType The {@link Class} of the target type.
+     * @return The converted value.
+     */
+    public <T> T convert(Object record, Class<T> targetType) {
+        if (targetType.isInstance(record)) {
+            return targetType.cast(record);
+        }
+        return snakeCaseMapper.convertValue(record,
+                targetType);
+    }
+
+    /**
+     * Converts a catalog record, or a part of it, into the target generic type.
+     *
+     * @param <T>     The target type.
+     * @param record  The record or sub-record to convert.
+     * @param typeRef The {@link TypeReference} of the target type.
+     * @return The converted value.
+     */
+    public <T> T convert(Object record, TypeReference<T> typeRef) {
+        return snakeCaseMapper.convertValue(record,
+                typeRef);
+    }
+
+    /**
+     * Converts the selected fields of a catalog record, or of a part of it, into the target type.
+     *
+     * @param <T>        The target type; {@link JsonNode} to get the projected tree itself.
+     * @param record     The record or sub-record: a Pokemon DTO or a list of them.
+     * @param fields     The fields to convert.
+     * @param targetType The {@link Class} of the target type.
+     * @return The converted value, whose unselected fields are absent.
+     */
+    public <T> T project(Object record, FieldSelection fields, Class<T> targetType) {
+        return convert(tree(record,
+                fields),
+                targetType);
+    }
+
+    /**
+     * Converts the selected fields of every element of a list of sub-records into the target
+     * type.
+     *
+     * @param <T>         The target element type.
+     * @param records     The sub-records, such as the abilities of a Pokemon; may be {@code null}.
+     * @param fields      The fields to convert in every element.
+     * @param elementType The {@link Class} of the target element type.
+     * @return The converted elements; empty when there are no sub-records.
+     */
+    public <T> List<T> projectAll(List<?> records, FieldSelection fields, Class<T> elementType) {
+        if (records == null) {
+            return List.of();
+        }
+        List<T> projected = new ArrayList<>(records.size());
+        for (Object record : records) {
+            projected.add(project(record,
+                    fields,
+                    elementType));
+        }
+        return projected;
+    }
+
+    /**
+     * Copies the selected fields of a value into a JSON tree.
+     *
+     * @param value  The value: a DTO, a list, a scalar or {@code null}.
+     * @param fields The fields to copy.
+     * @return The tree, with the snake case names of the JSON representation.
+     */
+    private JsonNode tree(Object value, FieldSelection fields) {
+        JsonNodeFactory factory = snakeCaseMapper.getNodeFactory();
+        if (value == null) {
+            return factory.nullNode();
+        } else if (value instanceof List<?> list) {
+            ArrayNode array = factory.arrayNode(list.size());
+            list.forEach(element -> array.add(tree(element,
+                    fields)));
+            return array;
+        } else if (fields.isAll()) {
+            return snakeCaseMapper.valueToTree(value);
+        }
+        ObjectNode node = factory.objectNode();
+        if (value instanceof PokemonDto pokemon) {
+            field(node,
+                    "id",
+                    pokemon.getId(),
+                    fields);
+            field(node,
+                    "name",
+                    pokemon.getName(),
+                    fields);
+            field(node,
+                    "base_experience",
+                    pokemon.getBaseExperience(),
+                    fields);
+            field(node,
+                    "abilities",
+                    pokemon.getAbilities(),
+                    fields);
+            field(node,
+                    "held_items",
+                    pokemon.getHeldItems(),
+                    fields);
+            field(node,
+                    "location_area_encounters",
+                    pokemon.getLocationAreaEncounters(),
+                    fields);
+        } else if (value instanceof PokemonAbilityDto ability) {
+            field(node,
+                    "is_hidden",
+                    ability.getIsHidden(),
+                    fields);
+            field(node,
+                    "slot",
+                    ability.getSlot(),
+                    fields);
+            field(node,
+                    "ability",
+                    ability.getAbility(),
+                    fields);
+        } else if (value instanceof PokemonHeldItemDto heldItem) {
+            field(node,
+                    "item",
+                    heldItem.getItem(),
+                    fields);
+            field(node,
+                    "version_details",
+                    heldItem.getVersionDetails(),
+                    fields);
+        } else if (value instanceof PokemonHeldItemVersionDto versionDetail) {
+            field(node,
+                    "version",
+                    versionDetail.getVersion(),
+                    fields);
+            field(node,
+                    "rarity",
+                    versionDetail.getRarity(),
+                    fields);
+        } else if (value instanceof NamedApiResourceDto<?> resource) {
+            field(node,
+                    "name",
+                    resource.getName(),
+                    fields);
+            field(node,
+                    "url",
+                    resource.getUrl(),
+                    fields);
+        } else {
+            throw new IllegalArgumentException("Cannot select fields of " + value.getClass());
+        }
+        return node;
+    }
+
+    /**
+     * Copies a field into a JSON object if it is selected.
+     *
+     * @param node   The JSON object.
+     * @param name   The snake case name of the field.
+     * @param value  The value of the field.
+     * @param fields The selected fields of the object.
+     */
+    private void field(ObjectNode node, String name, Object value, FieldSelection fields) {
+        if (!fields.includes(name)) {
+            return;
+        }
+        FieldSelection selection = fields.get(name);
+        if (value instanceof Integer number) {
+            node.put(name,
+                    number);
+        } else if (value instanceof String text) {
+            node.put(name,
+                    text);
+        } else if (value instanceof Boolean flag) {
+            node.put(name,
+                    flag);
+        } else {
+            node.set(name,
+                    tree(value,
+                            selection));
+        }
+    }
+}
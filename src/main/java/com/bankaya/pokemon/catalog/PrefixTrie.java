@@ -0,0 +1,251 @@
+package com.bankaya.pokemon.catalog;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable array-backed trie over names, returning ranked prefix matches.
+ * <p>
+ * Nodes are numbered in breadth-first order so the children of a node are contiguous and sorted
+ * by label; a node is described by a few parallel primitive arrays (label, first child, number of
+ * children). Each node also stores the ids of the best ranked names below it (at most
+ * {@link #MAX_SUGGESTIONS}), precomputed at build time, so a lookup is a walk of one node per
+ * character of the prefix followed by a copy of that list: no traversal of the subtree and no
+ * allocation besides the result.
+ * </p>
+ *
+ * <p>Names are ranked by their rank value, lowest first (Pokemon ids, so base forms come before
+ * alternative forms), then alphabetically.</p>
+ */
+public final class PrefixTrie {
+
+    /** Maximum number of suggestions precomputed per node. */
+    public static final int MAX_SUGGESTIONS = 20;
+
+    /** Empty trie. */
+    private static final PrefixTrie EMPTY = build(Map.of());
+
+    /** Names, sorted alphabetically. */
+    private final String[] names;
+
+    /** Label of every node; the root has none. */
+    private final char[] labels;
+
+    /** First child of every node. */
+    private final int[] firstChild;
+
+    /** Number of children of every node. */
+    private final int[] childCount;
+
+    /** Start of the suggestions of every node; one extra trailing entry. */
+    private final int[] suggestionOffsets;
+
+    /** Suggestions of every node, as indexes in {@link #names}, best ranked first. */
+    private final int[] suggestions;
+
+    /**
+     * Creates a trie from its arrays. Use {@link #build(Map)}.
+     *
+     * @param names             The sorted names.
+     * @param labels            The node labels.
+     * @param firstChild        The first child of every node.
+     * @param childCount        The number of children of every node.
+     * @param suggestionOffsets The start of the suggestions of every node.
+     * @param suggestions       The suggestions of every node.
+     */
+    private PrefixTrie(String[] names, char[] labels, int[] firstChild, int[] childCount,
+            int[] suggestionOffsets, int[] suggestions) {
+        this.names = names;
+        this.labels = labels;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.suggestionOffsets = suggestionOffsets;
+        this.suggestions = suggestions;
+    }
+
+    /**
+     * Returns the empty trie.
+     *
+     * @return A trie without names.
+     */
+    public static PrefixTrie empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a trie.
+     *
+     * @param ranks Rank of every lower-case name; lower ranks are suggested first.
+     * @return The trie.
+     */
+    public static PrefixTrie build(Map<String, Integer> ranks) {
+        String[] names = ranks.keySet().toArray(new String[0]);
+        Arrays.sort(names);
+        int[] rank = new int[names.length];
+        int totalChars = 0;
+        for (int i = 0; i < names.length; i++) {
+            rank[i] = ranks.get(names[i]);
+            totalChars += names[i].length();
+        }
+        int maxNodes = totalChars + 1;
+        char[] labels = new char[maxNodes];
+        int[] firstChild = new int[maxNodes];
+        int[] childCount = new int[maxNodes];
+        int[] suggestionOffsets = new int[maxNodes + 1];
+        int[] suggestions = new int[maxNodes * MAX_SUGGESTIONS];
+        int nodes = 1;
+        int suggestionCount = 0;
+        Deque<int[]> queue = new ArrayDeque<>();
+        // Each entry: node, first name, end name (exclusive), depth.
+        queue.add(new int[] { 0, 0, names.length, 0 });
+        while (!queue.isEmpty()) {
+            int[] entry = queue.poll();
+            int node = entry[0];
+            int lo = entry[1];
+            int hi = entry[2];
+            int depth = entry[3];
+            suggestionOffsets[node] = suggestionCount;
+            suggestionCount = rankRange(names,
+                    rank,
+                    lo,
+                    hi,
+                    suggestions,
+                    suggestionCount);
+            firstChild[node] = nodes;
+            int i = lo;
+            while (i < hi && names[i].length() == depth) {
+                i++;
+            }
+            while (i < hi) {
+                char label = names[i].charAt(depth);
+                int end = i;
+                while (end < hi && names[end].charAt(depth) == label) {
+                    end++;
+                }
+                labels[nodes] = label;
+                queue.add(new int[] { nodes, i, end, depth + 1 });
+                nodes++;
+                childCount[node]++;
+                i = end;
+            }
+        }
+        suggestionOffsets[nodes] = suggestionCount;
+        return new PrefixTrie(names, Arrays.copyOf(labels, nodes),
+                Arrays.copyOf(firstChild, nodes), Arrays.copyOf(childCount, nodes),
+                Arrays.copyOf(suggestionOffsets, nodes + 1),
+                Arrays.copyOf(suggestions, suggestionCount));
+    }
+
+    /**
+     * Returns the best ranked names starting with a prefix.
+     *
+     * @param prefix The lower-case prefix.
+     * @param limit  The maximum number of names, capped to {@link #MAX_SUGGESTIONS}.
+     * @return The matching names, best ranked first.
+     */
+    public List<String> complete(String prefix, int limit) {
+        int node = 0;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = child(node,
+                    prefix.charAt(i));
+            if (node < 0) {
+                return Collections.emptyList();
+            }
+        }
+        int start = suggestionOffsets[node];
+        int count = Math.min(Math.min(limit,
+                MAX_SUGGESTIONS),
+                suggestionOffsets[node + 1] - start);
+        String[] result = new String[Math.max(count,
+                0)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = names[suggestions[start + i]];
+        }
+        return Arrays.asList(result);
+    }
+
+    /**
+     * Returns the number of names.
+     *
+     * @return The number of names in the trie.
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Returns the number of nodes.
+     *
+     * @return The number of nodes, including the root.
+     */
+    public int nodeCount() {
+        return labels.length;
+    }
+
+    /**
+     * Checks whether a name is in the trie.
+     *
+     * @param name The lower-case name.
+     * @return {@code true} if the name is present.
+     */
+    public boolean contains(String name) {
+        return Arrays.binarySearch(names,
+                name) >= 0;
+    }
+
+    /**
+     * Finds the child of a node with a given label.
+     *
+     * @param node  The parent node.
+     * @param label The label.
+     * @return The child node, or {@code -1} if there is none.
+     */
+    private int child(int node, char label) {
+        int lo = firstChild[node];
+        int hi = lo + childCount[node] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            char midLabel = labels[mid];
+            if (midLabel < label) {
+                lo = mid + 1;
+            } else if (midLabel > label) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Appends the best ranked names of a range to the suggestions.
+     *
+     * @param names       The sorted names.
+     * @param rank        The rank of every name.
+     * @param lo          The first name of the range.
+     * @param hi          The end of the range, exclusive.
+     * @param suggestions The suggestions array.
+     * @param count       The number of suggestions already stored.
+     * @return The new number of suggestions stored.
+     */
+    private static int rankRange(String[] names, int[] rank, int lo, int hi, int[] suggestions,
+            int count) {
+        Integer[] range = new Integer[hi - lo];
+        for (int i = lo; i < hi; i++) {
+            range[i - lo] = i;
+        }
+        Arrays.sort(range,
+                (a, b) -> rank[a] != rank[b] ? Integer.compare(rank[a],
+                        rank[b]) : names[a].compareTo(names[b]));
+        int selected = Math.min(range.length,
+                MAX_SUGGESTIONS);
+        for (int i = 0; i < selected; i++) {
+            suggestions[count++] = range[i];
+        }
+        return count;
+    }
+}
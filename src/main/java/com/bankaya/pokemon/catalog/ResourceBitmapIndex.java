@@ -0,0 +1,240 @@
+package com.bankaya.pokemon.catalog;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.stereotype.Component;
+import com.bankaya.pokemon.dto.NamedApiResourceDto;
+import com.bankaya.pokemon.dto.PokemonDto;
+
+/**
+ * Reverse indexes from abilities, held items and game versions to the Pokemon of the catalog.
+ * <p>
+ * Every indexed resource name maps to a compressed {@link RoaringBitmap} of Pokemon ids. The
+ * indexes are maintained incrementally as an {@link ICatalogListener}: every record imported from
+ * the dump or cached from the PokeAPI is indexed when it is stored, re-indexed when it is replaced
+ * and removed when it is evicted. Queries combine the bitmaps of the requested resources with
+ * {@code AND} or {@code OR}, which only touches a few compressed containers per resource.
+ * </p>
+ *
+ * <p><strong>Thread Safety:</strong></p>
+ * <ul>
+ *   <li>Bitmaps are guarded by a read-write lock; queries return new bitmaps, so their results
+ *   can be iterated without holding the lock.</li>
+ * </ul>
+ *
+ * @see PokemonCatalogStore
+ */
+@Component
+public class ResourceBitmapIndex implements ICatalogListener {
+
+    /** Bitmaps of Pokemon ids indexed by dimension and lower-case resource name. */
+    private final Map<Dimension, Map<String, RoaringBitmap>> bitmaps = new EnumMap<>(
+            Dimension.class);
+
+    /** Lock guarding the bitmaps. */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Creates the index and registers it on the catalog store.
+     *
+     * @param catalogStore The catalog to index.
+     */
+    public ResourceBitmapIndex(PokemonCatalogStore catalogStore) {
+        for (Dimension dimension : Dimension.values()) {
+            bitmaps.put(dimension,
+                    new HashMap<>());
+        }
+        catalogStore.addListenerWithReplay(this);
+    }
+
+    @Override
+    public void onPut(PokemonDto previous, PokemonDto current) {
+        lock.writeLock().lock();
+        try {
+            if (previous != null) {
+                forEachResource(previous,
+                        (dimension, name) -> remove(dimension,
+                                name,
+                                previous.getId()));
+            }
+            if (current != null) {
+                forEachResource(current,
+                        (dimension, name) -> bitmaps.get(dimension)
+                                .computeIfAbsent(name,
+                                        key -> new RoaringBitmap())
+                                .add(current.getId()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onRemove(int id) {
+        lock.writeLock().lock();
+        try {
+            bitmaps.values().forEach(dimension -> dimension.values()
+                    .removeIf(bitmap -> {
+                        bitmap.remove(id);
+                        return bitmap.isEmpty();
+                    }));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the Pokemon matching a combination of resources.
+     *
+     * @param terms    Resource names requested per dimension.
+     * @param matchAll {@code true} to require every resource ({@code AND}), {@code false} to
+     *                 require any of them ({@code OR}).
+     * @return A new bitmap with the ids of the matching Pokemon; empty when no term is given.
+     */
+    public RoaringBitmap query(Map<Dimension, ? extends Collection<String>> terms,
+            boolean matchAll) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = null;
+            for (Map.Entry<Dimension, ? extends Collection<String>> entry : terms.entrySet()) {
+                for (String name : entry.getValue()) {
+                    RoaringBitmap bitmap = bitmaps.get(entry.getKey())
+                            .get(PokemonCatalogStore.normalize(name));
+                    if (bitmap == null) {
+                        if (matchAll) {
+                            return new RoaringBitmap();
+                        }
+                        continue;
+                    }
+                    if (result == null) {
+                        result = bitmap.clone();
+                    } else if (matchAll) {
+                        result.and(bitmap);
+                    } else {
+                        result.or(bitmap);
+                    }
+                }
+            }
+            return result == null ? new RoaringBitmap() : result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of distinct resources indexed in a dimension.
+     *
+     * @param dimension The dimension.
+     * @return The number of resources with at least one Pokemon.
+     */
+    public int size(Dimension dimension) {
+        lock.readLock().lock();
+        try {
+            return bitmaps.get(dimension).size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a Pokemon from a bitmap, dropping the bitmap once empty.
+     *
+     * @param dimension The dimension.
+     * @param name      The resource name.
+     * @param id        The Pokemon id.
+     */
+    private void remove(Dimension dimension, String name, int id) {
+        Map<String, RoaringBitmap> names = bitmaps.get(dimension);
+        RoaringBitmap bitmap = names.get(name);
+        if (bitmap != null) {
+            bitmap.remove(id);
+            if (bitmap.isEmpty()) {
+                names.remove(name);
+            }
+        }
+    }
+
+    /**
+     * Visits the distinct resources referenced by a record.
+     *
+     * @param pokemon The record.
+     * @param visitor Visitor receiving the dimension and lower-case name of every resource.
+     */
+    private static void forEachResource(PokemonDto pokemon, ResourceVisitor visitor) {
+        Map<Dimension, Set<String>> names = new EnumMap<>(Dimension.class);
+        if (pokemon.getAbilities() != null) {
+            pokemon.getAbilities().forEach(ability -> collect(names,
+                    Dimension.ABILITY,
+                    ability.getAbility()));
+        }
+        if (pokemon.getHeldItems() != null) {
+            pokemon.getHeldItems().forEach(heldItem -> {
+                collect(names,
+                        Dimension.ITEM,
+                        heldItem.getItem());
+                if (heldItem.getVersionDetails() != null) {
+                    heldItem.getVersionDetails().forEach(version -> collect(names,
+                            Dimension.VERSION,
+                            version.getVersion()));
+                }
+            });
+        }
+        names.forEach((dimension, values) -> values.forEach(name -> visitor.visit(dimension,
+                name)));
+    }
+
+    /**
+     * Adds the name of a resource to the names collected for a dimension.
+     *
+     * @param names     The collected names.
+     * @param dimension The dimension.
+     * @param resource  The resource reference, ignored when {@code null} or unnamed.
+     */
+    private static void collect(Map<Dimension, Set<String>> names, Dimension dimension,
+            NamedApiResourceDto<?> resource) {
+        if (resource != null && resource.getName() != null) {
+            names.computeIfAbsent(dimension,
+                    key -> new HashSet<>())
+                    .add(PokemonCatalogStore.normalize(resource.getName()));
+        }
+    }
+
+    /**
+     * Indexed resource kinds.
+     */
+    public enum Dimension {
+
+        /** Abilities a Pokemon may have. */
+        ABILITY,
+
+        /** Items a Pokemon may hold in the wild. */
+        ITEM,
+
+        /** Game versions in which a Pokemon holds an item. */
+        VERSION
+
+    }
+
+    /**
+     * Visitor of the resources referenced by a record.
+     */
+    @FunctionalInterface
+    private interface ResourceVisitor {
+
+        /**
+         * Visits a resource.
+         *
+         * @param dimension The resource kind.
+         * @param name      The lower-case resource name.
+         */
+        void visit(Dimension dimension, String name);
+
+    }
+}
@@ -0,0 +1,175 @@
+package com.bankaya.pokemon.catalog;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Flyweight table of the resource references shared across the catalog.
+ * <p>
+ * The same few hundred abilities, items and versions are referenced thousands of times across
+ * the catalog, each reference decoded with its own name and URL strings. The interner keeps a
+ * single immutable {@link CatalogRecord.Resource} per resource, keyed by the resource type and the
+ * numeric id parsed from the URL, and the records stored on heap reference it instead of their own
+ * copy. Interned resources do not keep their URL either: only the URL prefix of their type, shared
+ * by every resource of the type, and their id, from which the URL is rebuilt when the record is
+ * converted back into a DTO for serialization. Since the shared instances are immutable, they are
+ * never exposed to callers: records are converted back into fresh DTOs when they are read.
+ * </p>
+ *
+ * <p>References whose URL does not follow the {@code {base-uri}{type}/{id}/} pattern, with an id
+ * without leading zeros, are left untouched.</p>
+ *
+ * <p><strong>Metrics:</strong> {@code pokemon.catalog.interned.resources} reports the distinct
+ * resources held by the table and {@code pokemon.catalog.interned.references} the references
+ * replaced by a shared instance.</p>
+ *
+ * @see CatalogRecord
+ * @see HeapPokemonRecordStorage
+ */
+@Component
+public class ResourceInterner implements MeterBinder {
+
+    /** Base URI of the PokeAPI resources. */
+    private final String baseUri;
+
+    /** Every resource type seen, indexed by name. */
+    private final Map<String, Type> types = new ConcurrentHashMap<>();
+
+    /** Source of resource type codes. */
+    private final AtomicInteger nextTypeCode = new AtomicInteger();
+
+    /** Interned resources, keyed by type code (high 32 bits) and resource id (low 32 bits). */
+    private final Map<Long, CatalogRecord.Resource> table = new ConcurrentHashMap<>();
+
+    /** Number of references replaced by an interned instance. */
+    private final LongAdder internedReferences = new LongAdder();
+
+    /**
+     * Creates the interner.
+     *
+     * @param baseUri The PokeAPI base URI, which prefixes every interned URL.
+     */
+    public ResourceInterner(
+            @Value("${skaro.pokeapi.base-uri:https://pokeapi.co/api/v2/}") String baseUri) {
+        this.baseUri = baseUri.endsWith("/") ? baseUri : baseUri + "/";
+    }
+
+    /**
+     * Returns the interned instance of a resource reference.
+     *
+     * @param resource The resource reference, may be {@code null}.
+     * @return The shared instance, or the reference itself when it cannot be interned.
+     */
+    CatalogRecord.Resource intern(CatalogRecord.Resource resource) {
+        if (resource == null) {
+            return null;
+        }
+        if (resource.id() >= 0) {
+            return resource;
+        }
+        String url = resource.url();
+        if (url == null || !url.startsWith(baseUri) || !url.endsWith("/")) {
+            return resource;
+        }
+        int typeEnd = url.indexOf('/',
+                baseUri.length());
+        int id = parseId(url,
+                typeEnd + 1,
+                url.length() - 1);
+        if (typeEnd <= baseUri.length() || id < 0) {
+            return resource;
+        }
+        Type type = types.computeIfAbsent(url.substring(baseUri.length(),
+                typeEnd),
+                name -> new Type(nextTypeCode.getAndIncrement(), url.substring(0,
+                        typeEnd + 1)));
+        long key = ((long) type.code() << 32) | id;
+        CatalogRecord.Resource interned = table.computeIfAbsent(key,
+                k -> new CatalogRecord.Resource(resource.name(), type.urlPrefix(), id));
+        if (!Objects.equals(interned.name(),
+                resource.name())) {
+            return resource;
+        }
+        internedReferences.increment();
+        return interned;
+    }
+
+    /**
+     * Returns the number of distinct resources held by the table.
+     *
+     * @return The number of interned resources.
+     */
+    public int size() {
+        return table.size();
+    }
+
+    /**
+     * Returns the number of references replaced by an interned instance.
+     *
+     * @return The number of interned references.
+     */
+    public long getInternedReferences() {
+        return internedReferences.sum();
+    }
+
+    /**
+     * Registers the interning metrics.
+     *
+     * @param registry The meter registry.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("pokemon.catalog.interned.resources",
+                this,
+                ResourceInterner::size)
+                .description("Distinct resource references held by the interning table")
+                .register(registry);
+        FunctionCounter.builder("pokemon.catalog.interned.references",
+                internedReferences,
+                LongAdder::sum)
+                .description("Resource references replaced by a shared instance")
+                .register(registry);
+    }
+
+    /**
+     * Resource type of the interned references.
+     *
+     * @param code      The numeric code of the type, used to build the table keys.
+     * @param urlPrefix The URL prefix shared by the resources of the type.
+     */
+    private record Type(int code, String urlPrefix) {
+    }
+
+    /**
+     * Parses the decimal resource id between two positions of a URL.
+     *
+     * @param url   The URL.
+     * @param start The first position of the id.
+     * @param end   The position after the last digit of the id.
+     * @return The id, or {@code -1} if the range is not a valid id.
+     */
+    private static int parseId(String url, int start, int end) {
+        if (start <= 0 || start >= end || end - start > 9
+                || url.charAt(start) == '0' && end - start > 1) {
+            return -1;
+        }
+        int id = 0;
+        for (int i = start; i < end; i++) {
+            char c = url.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            id = id * 10 + (c - '0');
+        }
+        return id;
+    }
+}
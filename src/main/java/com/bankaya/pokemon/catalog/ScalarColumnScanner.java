@@ -0,0 +1,118 @@
+package com.bankaya.pokemon.catalog;
+
+/**
+ * Sequential column scanner, walking every value with plain loops.
+ * <p>
+ * Also used by the other scanners for the ranges and tails they do not split or vectorize.
+ * </p>
+ */
+public class ScalarColumnScanner implements IColumnScanner {
+
+    @Override
+    public ColumnStats aggregate(int[] column, int min, int max) {
+        return aggregate(column,
+                Math.max(min, MIN_VALUE),
+                max,
+                0,
+                column.length);
+    }
+
+    @Override
+    public int[] histogram(int[] column, int min, int max, int bucketWidth) {
+        int low = Math.max(min, MIN_VALUE);
+        int[] counts = new int[IColumnScanner.bucketCount(low, max, bucketWidth)];
+        histogram(column,
+                low,
+                max,
+                bucketWidth,
+                counts,
+                0,
+                column.length);
+        return counts;
+    }
+
+    @Override
+    public int[] topK(int[] column, int min, int max, int k) {
+        TopKHeap heap = new TopKHeap(k);
+        topK(column,
+                Math.max(min, MIN_VALUE),
+                max,
+                heap,
+                0,
+                column.length);
+        return heap.rows();
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    /**
+     * Aggregates the values of a slice of a column within a range.
+     *
+     * @param column The column.
+     * @param min    The inclusive lower bound, at least {@link #MIN_VALUE}.
+     * @param max    The inclusive upper bound.
+     * @param from   The first row, inclusive.
+     * @param to     The last row, exclusive.
+     * @return The aggregates of the matching values.
+     */
+    static ColumnStats aggregate(int[] column, int min, int max, int from, int to) {
+        long count = 0;
+        long sum = 0;
+        int low = Integer.MAX_VALUE;
+        int high = Integer.MIN_VALUE;
+        for (int row = from; row < to; row++) {
+            int value = column[row];
+            if (value >= min && value <= max) {
+                count++;
+                sum += value;
+                low = Math.min(low, value);
+                high = Math.max(high, value);
+            }
+        }
+        return count == 0 ? ColumnStats.EMPTY : new ColumnStats(count, sum, low, high);
+    }
+
+    /**
+     * Counts the values of a slice of a column within a range per bucket.
+     *
+     * @param column      The column.
+     * @param min         The inclusive lower bound, at least {@link #MIN_VALUE}.
+     * @param max         The inclusive upper bound.
+     * @param bucketWidth The width of every bucket.
+     * @param counts      The bucket counts, incremented in place.
+     * @param from        The first row, inclusive.
+     * @param to          The last row, exclusive.
+     */
+    static void histogram(int[] column, int min, int max, int bucketWidth, int[] counts, int from,
+            int to) {
+        for (int row = from; row < to; row++) {
+            int value = column[row];
+            if (value >= min && value <= max) {
+                counts[(int) (((long) value - min) / bucketWidth)]++;
+            }
+        }
+    }
+
+    /**
+     * Offers the rows of a slice of a column within a range to a top-K heap.
+     *
+     * @param column The column.
+     * @param min    The inclusive lower bound, at least {@link #MIN_VALUE}.
+     * @param max    The inclusive upper bound.
+     * @param heap   The heap.
+     * @param from   The first row, inclusive.
+     * @param to     The last row, exclusive.
+     */
+    static void topK(int[] column, int min, int max, TopKHeap heap, int from, int to) {
+        for (int row = from; row < to; row++) {
+            int value = column[row];
+            if (value >= min && value <= max && value >= heap.threshold()) {
+                heap.offer(value,
+                        row);
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.bankaya.pokemon.catalog;
+
+import java.util.Arrays;
+
+/**
+ * Bounded min-heap keeping the rows with the highest values, used by the top-K scans.
+ * <p>
+ * Every entry is packed in a {@code long}: the value in the high 32 bits and
+ * {@code Integer.MAX_VALUE - row} in the low 32 bits, so comparing keys orders by value and then
+ * prefers the lowest row, without allocating an object per candidate.
+ * </p>
+ */
+final class TopKHeap {
+
+    /** Packed entries; the smallest one is at index 0. */
+    private final long[] heap;
+
+    /** Number of entries. */
+    private int size;
+
+    /**
+     * Creates an empty heap.
+     *
+     * @param k The maximum number of entries.
+     */
+    TopKHeap(int k) {
+        this.heap = new long[Math.max(k,
+                0)];
+    }
+
+    /**
+     * Returns the smallest value a row must have to enter the heap.
+     *
+     * @return The smallest retained value once the heap is full, {@link CatalogSnapshot#NULL_INT}
+     *         otherwise.
+     */
+    int threshold() {
+        return size < heap.length ? CatalogSnapshot.NULL_INT : (int) (heap[0] >> 32);
+    }
+
+    /**
+     * Offers a row.
+     *
+     * @param value The value of the row.
+     * @param row   The row.
+     */
+    void offer(int value, int row) {
+        long key = ((long) value << 32) | (Integer.MAX_VALUE - row);
+        if (size < heap.length) {
+            heap[size] = key;
+            siftUp(size++);
+        } else if (heap.length > 0 && key > heap[0]) {
+            heap[0] = key;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Offers every entry of another heap.
+     *
+     * @param other The other heap.
+     * @return This heap.
+     */
+    TopKHeap merge(TopKHeap other) {
+        for (int i = 0; i < other.size; i++) {
+            long key = other.heap[i];
+            offer((int) (key >> 32),
+                    Integer.MAX_VALUE - (int) key);
+        }
+        return this;
+    }
+
+    /**
+     * Returns the retained rows.
+     *
+     * @return The rows, highest value first, then lowest row first.
+     */
+    int[] rows() {
+        long[] sorted = Arrays.copyOf(heap,
+                size);
+        Arrays.sort(sorted);
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = Integer.MAX_VALUE - (int) sorted[size - 1 - i];
+        }
+        return rows;
+    }
+
+    /**
+     * Restores the heap order upwards.
+     *
+     * @param index The index of the new entry.
+     */
+    private void siftUp(int index) {
+        long key = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] <= key) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = key;
+    }
+
+    /**
+     * Restores the heap order downwards.
+     *
+     * @param index The index of the replaced entry.
+     */
+    private void siftDown(int index) {
+        long key = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (key <= heap[child]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = key;
+    }
+}
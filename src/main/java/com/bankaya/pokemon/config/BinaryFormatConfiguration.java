@@ -0,0 +1,79 @@
+package com.bankaya.pokemon.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import com.bankaya.pokemon.api.PokemonController;
+import com.bankaya.pokemon.api.ProtobufJacksonHttpMessageConverter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Configuration class for the binary representations of the REST API.
+ * <p>
+ * Registers the message converters of CBOR ({@code application/cbor}), Smile
+ * ({@code application/x-jackson-smile}) and Protocol Buffers ({@code application/x-protobuf}),
+ * selected by the {@code Accept} header of the requests to the {@link PokemonController}. They
+ * share the Jackson configuration of the JSON converter: the representations carry the same
+ * properties under the same names, without the cost of parsing text. On the reactive stack, the
+ * same formats are registered as codecs by the {@link ReactiveWebConfiguration}.
+ * </p>
+ *
+ * <p><strong>Annotations:</strong></p>
+ * <ul>
+ *   <li>{@link Configuration}: Indicates that the class can be used by the Spring IoC container as
+ *   a source of bean definitions.</li>
+ *   <li>{@link ConditionalOnWebApplication}: Only applies to Spring MVC.</li>
+ * </ul>
+ *
+ * @see ProtobufJacksonHttpMessageConverter
+ */
+@Configuration
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class BinaryFormatConfiguration {
+
+    /**
+     * Creates the CBOR message converter.
+     *
+     * @param builder The Jackson configuration of the application.
+     * @return The {@link MappingJackson2CborHttpMessageConverter}.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory())
+                .build());
+    }
+
+    /**
+     * Creates the Smile message converter.
+     *
+     * @param builder The Jackson configuration of the application.
+     * @return The {@link MappingJackson2SmileHttpMessageConverter}.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory())
+                .build());
+    }
+
+    /**
+     * Creates the Protocol Buffers message converter of the DTOs.
+     *
+     * @param builder The Jackson configuration of the application.
+     * @return The {@link ProtobufJacksonHttpMessageConverter}.
+     */
+    @Bean
+    public ProtobufJacksonHttpMessageConverter protobufHttpMessageConverter(
+            Jackson2ObjectMapperBuilder builder) {
+        ProtobufMapper mapper = new ProtobufMapper();
+        builder.configure(mapper);
+        return new ProtobufJacksonHttpMessageConverter(mapper);
+    }
+}
@@ -0,0 +1,87 @@
+package com.bankaya.pokemon.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import com.bankaya.pokemon.catalog.ColumnScanners;
+import com.bankaya.pokemon.catalog.HeapPokemonRecordStorage;
+import com.bankaya.pokemon.catalog.IColumnScanner;
+import com.bankaya.pokemon.catalog.IPokemonRecordStorage;
+import com.bankaya.pokemon.catalog.OffHeapPokemonRecordStorage;
+import com.bankaya.pokemon.catalog.ResourceInterner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Configuration class for the local Pokemon catalog.
+ * <p>
+ * Registers the {@link CatalogProperties} bean so that the catalog store, the PokeAPI dump
+ * importer and the offline service implementation can be configured per profile, and selects the
+ * storage backend of the catalog records and the scanner of the analytics queries.
+ * </p>
+ *
+ * <p><strong>Annotations:</strong></p>
+ * <ul>
+ *   <li>{@link Configuration}: Indicates that the class can be used by the Spring IoC container as
+ *   a source of bean definitions.</li>
+ *   <li>{@link EnableConfigurationProperties}: Binds the {@code pokemon.catalog} properties.</li>
+ * </ul>
+ *
+ * @see CatalogProperties
+ */
+@Configuration
+@EnableConfigurationProperties(CatalogProperties.class)
+public class CatalogConfiguration {
+
+    /**
+     * Creates the storage backend of the catalog records.
+     * <p>
+     * {@link CatalogProperties.Storage#OFF_HEAP} keeps the records serialized in direct buffers
+     * bounded by {@link CatalogProperties#getOffHeapBudget()}; any other value keeps them on heap,
+     * with their resource references interned, bounded by {@link CatalogProperties#getHeapBudget()}.
+     * Both storages evict their least recently read records and publish their usage as actuator
+     * metrics.
+     * </p>
+     *
+     * @param properties   The catalog configuration properties.
+     * @param objectMapper The application object mapper, used to encode off-heap records.
+     * @param interner     The interning table for the resource references of heap records.
+     * @return The configured {@link IPokemonRecordStorage}.
+     */
+    @Bean
+    public IPokemonRecordStorage pokemonRecordStorage(CatalogProperties properties,
+            ObjectMapper objectMapper, ResourceInterner interner) {
+        if (properties.getStorage() == CatalogProperties.Storage.OFF_HEAP) {
+            return new OffHeapPokemonRecordStorage(objectMapper,
+                    properties.getOffHeapBudget().toBytes());
+        }
+        return new HeapPokemonRecordStorage(interner,
+                properties.getHeapBudget().toBytes());
+    }
+
+    /**
+     * Publishes the metrics of the selected storage backend, if it provides any.
+     *
+     * @param storage The storage backend of the catalog records.
+     * @return A {@link MeterBinder} delegating to the storage backend.
+     */
+    @Bean
+    public MeterBinder pokemonRecordStorageMetrics(IPokemonRecordStorage storage) {
+        return registry -> {
+            if (storage instanceof MeterBinder binder) {
+                binder.bindTo(registry);
+            }
+        };
+    }
+
+    /**
+     * Creates the scanner of the catalog analytics queries.
+     *
+     * @param properties The catalog configuration properties.
+     * @return The {@link IColumnScanner} selected by {@link CatalogProperties#getScanMode()}.
+     */
+    @Bean
+    public IColumnScanner columnScanner(CatalogProperties properties) {
+        return ColumnScanners.create(properties.getScanMode());
+    }
+}
@@ -0,0 +1,154 @@
+package com.bankaya.pokemon.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import lombok.Data;
+
+/**
+ * Configuration properties for the local Pokemon catalog.
+ * <p>
+ * The catalog is an in-memory store of compact Pokemon records that can be populated from a
+ * local copy of the public PokeAPI static data dump (the {@code api-data} repository layout).
+ * These properties control where the dump is read from and how the import is executed.
+ * </p>
+ *
+ * <p><strong>Prefix:</strong> {@code pokemon.catalog}</p>
+ *
+ * <p><strong>Example:</strong></p>
+ * <pre>
+ * pokemon:
+ *   catalog:
+ *     dump-directory: /opt/pokeapi/api-data
+ *     import-on-startup: true
+ *     import-parallelism: 4
+ *     import-interval: 10m
+ *     storage: off-heap
+ *     heap-budget: 64MB
+ *     off-heap-budget: 64MB
+ *     load-name-list: true
+ *     name-list-retry-backoff: 2s
+ *     name-index-rebuild-delay: 1s
+ *     snapshot-rebuild-delay: 1s
+ *     fuzzy-mode: suggest
+ *     fuzzy-max-distance: 2
+ *     scan-mode: auto
+ * </pre>
+ *
+ * @see CatalogConfiguration
+ */
+@Data
+@ConfigurationProperties(prefix = "pokemon.catalog")
+public class CatalogProperties {
+
+    /**
+     * Root directory of the PokeAPI data dump. Both the repository root (containing
+     * {@code data/api/v2}) and the {@code data} directory itself are accepted. When {@code null},
+     * no import is performed.
+     */
+    private Path dumpDirectory;
+
+    /** Whether the dump should be imported once the application is ready. */
+    private boolean importOnStartup = true;
+
+    /** Number of worker threads used to parse dump files. Defaults to the available cores. */
+    private int importParallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Interval between the background re-imports of the dump, which only parse the changed files
+     * and remove the records of the deleted ones. When {@code null}, the dump is only imported on
+     * startup.
+     */
+    private Duration importInterval;
+
+    /** Where the catalog records are kept. */
+    private Storage storage = Storage.HEAP;
+
+    /**
+     * Maximum estimated size of the records when {@link Storage#HEAP} is selected; the least
+     * recently read records are evicted beyond it.
+     */
+    private DataSize heapBudget = DataSize.ofMegabytes(64);
+
+    /** Maximum size of the encoded records when {@link Storage#OFF_HEAP} is selected. */
+    private DataSize offHeapBudget = DataSize.ofMegabytes(64);
+
+    /**
+     * Whether the full list of Pokemon names is loaded from the PokeAPI on startup to feed the
+     * name indexes. When disabled, only the names of cataloged Pokemon are indexed.
+     */
+    private boolean loadNameList = true;
+
+    /**
+     * Delay before the first retry of a failed name list load; it doubles on every retry.
+     */
+    private Duration nameListRetryBackoff = Duration.ofSeconds(2);
+
+    /** Delay between the first catalog change and the background rebuild of the name indexes. */
+    private Duration nameIndexRebuildDelay = Duration.ofSeconds(1);
+
+    /**
+     * Delay between the first catalog change and the background rebuild of the columnar snapshot
+     * used by the scans. Changes made in the meantime are coalesced into the same rebuild.
+     */
+    private Duration snapshotRebuildDelay = Duration.ofSeconds(1);
+
+    /** How unknown Pokemon names are handled before calling the PokeAPI. */
+    private FuzzyMode fuzzyMode = FuzzyMode.OFF;
+
+    /** Maximum edit distance between an unknown name and its suggestions. */
+    private int fuzzyMaxDistance = 2;
+
+    /** How the columns of the catalog are scanned by the analytics queries. */
+    private ScanMode scanMode = ScanMode.AUTO;
+
+    /**
+     * Available storages for the catalog records.
+     */
+    public enum Storage {
+
+        /** Records are kept as plain objects on the Java heap. */
+        HEAP,
+
+        /** Records are kept serialized in direct buffers, outside the Java heap. */
+        OFF_HEAP
+
+    }
+
+    /**
+     * Handling of Pokemon names that are not in the PokeAPI name list.
+     */
+    public enum FuzzyMode {
+
+        /** Unknown names are sent to the PokeAPI as they are. */
+        OFF,
+
+        /** Unknown names are rejected locally with the closest known names as suggestions. */
+        SUGGEST,
+
+        /** Unknown names are replaced by the closest known name, if any. */
+        RESOLVE
+
+    }
+
+    /**
+     * Available scanners for the catalog analytics queries.
+     */
+    public enum ScanMode {
+
+        /** The Vector API scanner when available, the fork-join scanner otherwise. */
+        AUTO,
+
+        /** Columns are scanned sequentially. */
+        SCALAR,
+
+        /** Columns are split across the common fork-join pool. */
+        FORK_JOIN,
+
+        /** Columns are scanned with SIMD instructions; requires the {@code java21} build. */
+        VECTOR
+
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.bankaya.pokemon.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import lombok.Data;
+
+/**
+ * Configuration properties for the resolution of location-area encounters.
+ * <p>
+ * Encounter lists and location areas change only with new PokeAPI data releases, so both are
+ * cached for a long time. Location areas are shared by many Pokemon and are cached separately.
+ * </p>
+ *
+ * <p><strong>Prefix:</strong> {@code pokemon.encounters}</p>
+ *
+ * <p><strong>Example:</strong></p>
+ * <pre>
+ * pokemon:
+ *   encounters:
+ *     cache-ttl: 24h
+ *     location-area-cache-ttl: 7d
+ *     concurrency: 8
+ * </pre>
+ *
+ * @see com.bankaya.pokemon.service.IPokemonEncounterService
+ */
+@Data
+@ConfigurationProperties(prefix = "pokemon.encounters")
+public class EncounterProperties {
+
+    /** How long the resolved encounters of a Pokemon are reused. */
+    private Duration cacheTtl = Duration.ofHours(24);
+
+    /** How long a resolved location area is reused. */
+    private Duration locationAreaCacheTtl = Duration.ofDays(7);
+
+    /** Maximum number of location areas resolved at the same time for a single Pokemon. */
+    private int concurrency = 8;
+
+}
@@ -0,0 +1,39 @@
+package com.bankaya.pokemon.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import lombok.Data;
+
+/**
+ * Configuration properties for the expansion of linked resources.
+ * <p>
+ * When a client asks to expand the abilities or held items of a Pokemon, the referenced
+ * resources are fetched from the PokeAPI concurrently and kept in a shared cache, so the same
+ * ability requested for many Pokemon costs a single upstream call. Evolution chains are resolved
+ * and cached the same way, with one entry per chain shared by all its members.
+ * </p>
+ *
+ * <p><strong>Prefix:</strong> {@code pokemon.expand}</p>
+ *
+ * <p><strong>Example:</strong></p>
+ * <pre>
+ * pokemon:
+ *   expand:
+ *     concurrency: 8
+ *     cache-ttl: 1h
+ * </pre>
+ *
+ * @see com.bankaya.pokemon.service.IPokemonExpansionService
+ * @see com.bankaya.pokemon.service.IPokemonEvolutionService
+ */
+@Data
+@ConfigurationProperties(prefix = "pokemon.expand")
+public class ExpandProperties {
+
+    /** Maximum number of linked resources fetched at the same time for a single request. */
+    private int concurrency = 8;
+
+    /** How long a resolved resource is reused before being fetched again. */
+    private Duration cacheTtl = Duration.ofHours(1);
+
+}
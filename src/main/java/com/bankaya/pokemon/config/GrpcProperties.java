@@ -0,0 +1,44 @@
+package com.bankaya.pokemon.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import lombok.Data;
+
+/**
+ * Configuration properties for the gRPC transport of the Pokemon operations.
+ * <p>
+ * The {@code bankaya.pokemon.v1.PokemonService} of {@code pokemon.proto} is served next to the
+ * REST API and the SOAP endpoint, on a plaintext HTTP/2 port bound to the loopback interface
+ * and, when {@code in-process-name} is set, on an in-process transport for clients of the same
+ * JVM.
+ * </p>
+ *
+ * <p><strong>Prefix:</strong> {@code pokemon.grpc}</p>
+ *
+ * <p><strong>Example:</strong></p>
+ * <pre>
+ * pokemon:
+ *   grpc:
+ *     enabled: true
+ *     port: 9090
+ *     in-process-name: pokemon
+ * </pre>
+ *
+ * @see GrpcServerConfiguration
+ */
+@Data
+@ConfigurationProperties(prefix = "pokemon.grpc")
+public class GrpcProperties {
+
+    /** Whether the gRPC service is started. */
+    private boolean enabled;
+
+    /**
+     * Port of the loopback listener; {@code 0} picks a free port and {@code -1} disables the
+     * listener.
+     */
+    private int port = 9090;
+
+    /** Name of the in-process server, or {@code null} for none. */
+    private String inProcessName;
+
+}
@@ -0,0 +1,48 @@
+package com.bankaya.pokemon.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import com.bankaya.pokemon.adapter.IPokemonGrpcAdapter;
+import com.bankaya.pokemon.grpc.PokemonGrpcServer;
+import com.bankaya.pokemon.grpc.PokemonGrpcService;
+
+/**
+ * Configuration class of the gRPC transport.
+ * <p>
+ * With {@code pokemon.grpc.enabled: true}, the {@link PokemonGrpcService} is served by a
+ * {@link PokemonGrpcServer} started and stopped with the application context, on the loopback
+ * listener and the in-process transport of the {@link GrpcProperties}.
+ * </p>
+ *
+ * <p><strong>Annotations:</strong></p>
+ * <ul>
+ *   <li>{@link Configuration}: Indicates that the class can be used by the Spring IoC container as
+ *   a source of bean definitions.</li>
+ *   <li>{@link EnableConfigurationProperties}: Binds the {@code pokemon.grpc} properties.</li>
+ *   <li>{@link ConditionalOnProperty}: Only applies when the gRPC transport is enabled.</li>
+ * </ul>
+ *
+ * @see GrpcProperties
+ */
+@Configuration
+@EnableConfigurationProperties(GrpcProperties.class)
+@ConditionalOnProperty(prefix = "pokemon.grpc", name = "enabled")
+public class GrpcServerConfiguration {
+
+    /**
+     * Creates the server of the gRPC service.
+     *
+     * @param adapter    The adapter answering the calls.
+     * @param properties The gRPC configuration.
+     * @return The {@link PokemonGrpcServer}.
+     */
+    @Bean
+    public PokemonGrpcServer pokemonGrpcServer(IPokemonGrpcAdapter adapter,
+            GrpcProperties properties) {
+        return new PokemonGrpcServer(new PokemonGrpcService(adapter),
+                properties.getPort(),
+                properties.getInProcessName());
+    }
+}
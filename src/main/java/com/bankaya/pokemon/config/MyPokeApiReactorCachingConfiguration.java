@@ -1,6 +1,7 @@
 package com.bankaya.pokemon.config;
 
 import java.time.Duration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -25,6 +26,9 @@ import skaro.pokeapi.PokeApiReactorCachingConfiguration;
  *   <li>{@link Import}: Allows for importing additional configuration classes. Here, it imports 
  *   {@link PokeApiReactorCachingConfiguration}.</li>
  *   <li>{@link EnableCaching}: Enables Spring's annotation-driven cache management capability.</li>
+ *   <li>{@link EnableConfigurationProperties}: Binds the {@code pokemon.expand} properties of the
+ *   linked resource expansion, the {@code pokemon.encounters} properties of the encounter
+ *   resolution and the {@code pokemon.revalidation} properties of the upstream revalidation.</li>
  * </ul>
  * 
  * <p><strong>Purpose:</strong></p>
@@ -50,6 +54,8 @@ import skaro.pokeapi.PokeApiReactorCachingConfiguration;
 @Configuration
 @Import(PokeApiReactorCachingConfiguration.class)
 @EnableCaching
+@EnableConfigurationProperties({ ExpandProperties.class, EncounterProperties.class,
+        RevalidationProperties.class })
 public class MyPokeApiReactorCachingConfiguration {
 
     /**
@@ -0,0 +1,114 @@
+package com.bankaya.pokemon.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ReactorResourceFactory;
+import org.springframework.http.codec.CodecConfigurer.CustomCodecs;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import com.bankaya.pokemon.api.PokemonController;
+import com.bankaya.pokemon.api.ProtobufJacksonEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * Configuration class of the reactive stack: the REST API served by WebFlux on Reactor Netty
+ * instead of Spring MVC on Undertow.
+ * <p>
+ * Applies when the application runs with {@code spring.main.web-application-type: reactive}
+ * (the {@code reactive} profile). The {@link PokemonController} is served as it is: its
+ * {@code Mono} and {@code Flux} results are written by the event loop that received the request,
+ * without servlet async dispatch. The server runs on the global Reactor Netty resources, whose
+ * event loops are the ones of the {@link HttpClient} calling the PokeAPI, so a request and its
+ * upstream calls share the same threads.
+ * </p>
+ *
+ * <p>The REST contracts are those of the servlet stack: the CBOR, Smile and Protocol Buffers
+ * representations are registered as codecs, and the cached responses are served by the
+ * {@link com.bankaya.pokemon.api.RenderedResponseWebFilter}. The SOAP endpoint needs a servlet
+ * container and is not served.</p>
+ *
+ * <p><strong>Annotations:</strong></p>
+ * <ul>
+ *   <li>{@link Configuration}: Indicates that the class can be used by the Spring IoC container as
+ *   a source of bean definitions.</li>
+ *   <li>{@link ConditionalOnWebApplication}: Only applies to the reactive stack.</li>
+ * </ul>
+ *
+ * @see BinaryFormatConfiguration
+ */
+@Configuration
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveWebConfiguration {
+
+    /**
+     * Creates the Reactor Netty resources of the server, the global ones unless defined
+     * elsewhere.
+     *
+     * @return The {@link ReactorResourceFactory}.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ReactorResourceFactory reactorResourceFactory() {
+        return new ReactorResourceFactory();
+    }
+
+    /**
+     * Creates the Reactor Netty server. It is declared explicitly because Undertow, also on the
+     * classpath, would otherwise be preferred for the reactive stack.
+     *
+     * @param resourceFactory The Reactor Netty resources shared with the {@link HttpClient}.
+     * @param customizers     The customizers of the server.
+     * @return The {@link NettyReactiveWebServerFactory}.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory(
+            ReactorResourceFactory resourceFactory,
+            ObjectProvider<NettyServerCustomizer> customizers) {
+        NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory();
+        factory.setResourceFactory(resourceFactory);
+        customizers.orderedStream().forEach(factory::addServerCustomizers);
+        return factory;
+    }
+
+    /**
+     * Registers the codecs of the binary representations, with the Jackson configuration of the
+     * JSON codecs.
+     *
+     * @param builder The Jackson configuration of the application.
+     * @return The {@link WebFluxConfigurer}.
+     */
+    @Bean
+    public WebFluxConfigurer binaryFormatCodecs(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper cbor = builder.factory(new CBORFactory()).build();
+        ObjectMapper smile = builder.factory(new SmileFactory()).build();
+        ProtobufMapper protobuf = new ProtobufMapper();
+        builder.configure(protobuf);
+        return new WebFluxConfigurer() {
+
+            @Override
+            public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+                CustomCodecs codecs = configurer.customCodecs();
+                codecs.register(new Jackson2CborEncoder(cbor));
+                codecs.register(new Jackson2CborDecoder(cbor));
+                codecs.register(new Jackson2SmileEncoder(smile));
+                codecs.register(new Jackson2SmileDecoder(smile));
+                codecs.register(new ProtobufJacksonEncoder(protobuf));
+            }
+        };
+    }
+}
@@ -0,0 +1,149 @@
+package com.bankaya.pokemon.config;
+
+import java.util.Set;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.CacheControl;
+import com.bankaya.pokemon.api.ContentCoding;
+import com.bankaya.pokemon.api.PokemonEtagFilter;
+import com.bankaya.pokemon.api.RenderedResponseCache;
+import com.bankaya.pokemon.api.RenderedResponseFilter;
+import com.bankaya.pokemon.api.RenderedResponseWebFilter;
+import com.bankaya.pokemon.catalog.PokemonCatalogStore;
+import com.bankaya.pokemon.catalog.PokemonRecordConverter;
+import com.bankaya.pokemon.endpoint.SoapPayloadCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Configuration class for the caches of rendered responses.
+ * <p>
+ * Registers the {@link RenderedResponseCache} and the {@link RenderedResponseFilter} serving it
+ * on the Pokemon resources, the {@link PokemonEtagFilter} validating the responses rendered by
+ * Spring MVC, and the {@link SoapPayloadCache} of the SOAP endpoint; their metrics are published
+ * with the other actuator metrics. On the reactive stack, the {@link RenderedResponseWebFilter}
+ * takes the place of both filters. With {@code pokemon.response-cache.enabled: false}, every REST
+ * request is rendered by Spring MVC without validators and every SOAP payload is marshalled.
+ * </p>
+ *
+ * <p><strong>Annotations:</strong></p>
+ * <ul>
+ *   <li>{@link Configuration}: Indicates that the class can be used by the Spring IoC container as
+ *   a source of bean definitions.</li>
+ *   <li>{@link EnableConfigurationProperties}: Binds the {@code pokemon.response-cache}
+ *   properties.</li>
+ *   <li>{@link ConditionalOnProperty}: Skips the cache when it is disabled.</li>
+ *   <li>{@link ConditionalOnWebApplication}: Registers the filters of the running stack.</li>
+ * </ul>
+ *
+ * @see ResponseCacheProperties
+ */
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfiguration {
+
+    /**
+     * Creates the cache of rendered responses. Its compressor is stopped with the context, through
+     * the inferred {@code shutdown} destroy method.
+     *
+     * @param catalogStore    The catalog whose records are rendered.
+     * @param recordConverter The converter applied to the records before rendering.
+     * @param objectMapper    The object mapper of the message converters.
+     * @param properties      The response cache configuration.
+     * @return The {@link RenderedResponseCache}.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "pokemon.response-cache", name = "enabled", matchIfMissing = true)
+    public RenderedResponseCache renderedResponseCache(PokemonCatalogStore catalogStore,
+            PokemonRecordConverter recordConverter, ObjectMapper objectMapper,
+            ResponseCacheProperties properties) {
+        return properties.isPrecompress() ? new RenderedResponseCache(catalogStore,
+                recordConverter,
+                objectMapper,
+                properties.getMaxSize().toBytes(),
+                ContentCoding.precompressed(),
+                RenderedResponseCache.compressor(properties.getCompressionThreads()))
+                : new RenderedResponseCache(catalogStore,
+                        recordConverter,
+                        objectMapper,
+                        properties.getMaxSize().toBytes(),
+                        Set.of());
+    }
+
+    /**
+     * Registers the filter serving the cached responses on the Pokemon resources.
+     *
+     * @param cache      The cache of rendered responses.
+     * @param properties The response cache configuration.
+     * @return The filter registration.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "pokemon.response-cache", name = "enabled", matchIfMissing = true)
+    @ConditionalOnWebApplication(type = Type.SERVLET)
+    public FilterRegistrationBean<RenderedResponseFilter> renderedResponseFilter(
+            RenderedResponseCache cache, ResponseCacheProperties properties) {
+        FilterRegistrationBean<RenderedResponseFilter> registration = new FilterRegistrationBean<>(
+                new RenderedResponseFilter(cache,
+                        CacheControl.maxAge(properties.getMaxAge()).cachePublic()
+                                .getHeaderValue()));
+        registration.addUrlPatterns("/api/v1/pokemon/*");
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+        return registration;
+    }
+
+    /**
+     * Registers the filter adding entity tags to the Pokemon reads answered by Spring MVC. It runs
+     * after the {@link RenderedResponseFilter}, so cached bodies are never buffered again.
+     *
+     * @param properties The response cache configuration.
+     * @return The filter registration.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "pokemon.response-cache", name = "enabled", matchIfMissing = true)
+    @ConditionalOnWebApplication(type = Type.SERVLET)
+    public FilterRegistrationBean<PokemonEtagFilter> pokemonEtagFilter(
+            ResponseCacheProperties properties) {
+        FilterRegistrationBean<PokemonEtagFilter> registration = new FilterRegistrationBean<>(
+                new PokemonEtagFilter(CacheControl.maxAge(properties.getMaxAge()).cachePublic()
+                        .getHeaderValue()));
+        registration.addUrlPatterns("/api/v1/pokemon/*");
+        registration.setOrder(Ordered.LOWEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Creates the web filter serving the cached responses, and tagging the rendered ones, when the
+     * REST API runs on WebFlux.
+     *
+     * @param cache      The cache of rendered responses.
+     * @param properties The response cache configuration.
+     * @return The {@link RenderedResponseWebFilter}.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "pokemon.response-cache", name = "enabled", matchIfMissing = true)
+    @ConditionalOnWebApplication(type = Type.REACTIVE)
+    public RenderedResponseWebFilter renderedResponseWebFilter(RenderedResponseCache cache,
+            ResponseCacheProperties properties) {
+        return new RenderedResponseWebFilter(cache,
+                CacheControl.maxAge(properties.getMaxAge()).cachePublic().getHeaderValue());
+    }
+
+    /**
+     * Creates the cache of marshalled SOAP payloads; it never caches when the caches are disabled.
+     *
+     * @param catalogStore The catalog whose Pokemon are cached.
+     * @param properties   The response cache configuration.
+     * @return The {@link SoapPayloadCache}.
+     */
+    @Bean
+    public SoapPayloadCache soapPayloadCache(PokemonCatalogStore catalogStore,
+            ResponseCacheProperties properties) {
+        return new SoapPayloadCache(catalogStore,
+                properties.isEnabled() ? properties.getSoapMaxSize().toBytes() : 0);
+    }
+}
@@ -0,0 +1,66 @@
+package com.bankaya.pokemon.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import lombok.Data;
+
+/**
+ * Configuration properties for the caches of rendered responses.
+ * <p>
+ * The JSON bodies of the Pokemon details, abilities and held items of cataloged Pokemon are
+ * rendered once, kept in direct buffers and written as they are to later requests, until the
+ * catalog record changes or is evicted, or the body is evicted to make room for more recently
+ * used ones. The SOAP payloads of the same operations are marshalled
+ * once the same way. REST responses carry a strong {@code ETag} and a {@code Cache-Control}
+ * header, and conditional requests are answered with {@code 304 Not Modified}. Bodies are
+ * compressed once when they enter the cache, and clients get the variant they accept.
+ * </p>
+ *
+ * <p><strong>Prefix:</strong> {@code pokemon.response-cache}</p>
+ *
+ * <p><strong>Example:</strong></p>
+ * <pre>
+ * pokemon:
+ *   response-cache:
+ *     enabled: true
+ *     max-size: 32MB
+ *     max-age: 60s
+ *     precompress: true
+ *     compression-threads: 2
+ *     soap-max-size: 32MB
+ * </pre>
+ *
+ * @see ResponseCacheConfiguration
+ */
+@Data
+@ConfigurationProperties(prefix = "pokemon.response-cache")
+public class ResponseCacheProperties {
+
+    /** Whether rendered responses and SOAP payloads are cached. */
+    private boolean enabled = true;
+
+    /**
+     * Maximum size of the rendered bodies; the least recently used bodies are evicted beyond it.
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(32);
+
+    /**
+     * Whether cached bodies are kept as gzip and Brotli variants, compressed once, instead of
+     * uncompressed.
+     */
+    private boolean precompress = true;
+
+    /**
+     * Threads compressing the bodies entering the cache, off the request path; bodies are served
+     * uncompressed until they are compressed.
+     */
+    private int compressionThreads = 2;
+
+    /** Lifetime announced in the {@code Cache-Control} header of the cached operations. */
+    private Duration maxAge = Duration.ofSeconds(60);
+
+    /** Maximum size of the marshalled SOAP payloads. */
+    private DataSize soapMaxSize = DataSize.ofMegabytes(32);
+
+}
@@ -0,0 +1,46 @@
+package com.bankaya.pokemon.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import lombok.Data;
+
+/**
+ * Configuration properties for the revalidation of the Pokemon fetched from the PokeAPI.
+ * <p>
+ * The validators ({@code ETag} and {@code Last-Modified}) of every Pokemon fetched from the
+ * PokeAPI are kept with its catalog record. Once the record is older than {@link #ttl}, it is
+ * revalidated in the background with a conditional request: a {@code 304 Not Modified} extends
+ * its lifetime without downloading the resource again, and a new version replaces it.
+ * </p>
+ *
+ * <p><strong>Prefix:</strong> {@code pokemon.revalidation}</p>
+ *
+ * <p><strong>Example:</strong></p>
+ * <pre>
+ * pokemon:
+ *   revalidation:
+ *     enabled: true
+ *     ttl: 24h
+ *     check-interval: 1m
+ *     concurrency: 4
+ * </pre>
+ *
+ * @see com.bankaya.pokemon.service.RevalidatingPokemonClient
+ */
+@Data
+@ConfigurationProperties(prefix = "pokemon.revalidation")
+public class RevalidationProperties {
+
+    /** Whether expired records are revalidated in the background. */
+    private boolean enabled = true;
+
+    /** How long a fetched Pokemon is considered fresh. */
+    private Duration ttl = Duration.ofHours(24);
+
+    /** Interval between two searches for expired records. */
+    private Duration checkInterval = Duration.ofMinutes(1);
+
+    /** Maximum number of conditional requests sent at the same time. */
+    private int concurrency = 4;
+
+}
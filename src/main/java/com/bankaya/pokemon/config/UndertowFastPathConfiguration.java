@@ -0,0 +1,66 @@
+package com.bankaya.pokemon.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.web.embedded.undertow.UndertowDeploymentInfoCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import com.bankaya.pokemon.adapter.IPokemonRestAdapter;
+import com.bankaya.pokemon.api.PokemonFastPathHandler;
+import com.bankaya.pokemon.api.RenderedResponseCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.undertow.Undertow;
+
+/**
+ * Configuration class of the Undertow fast path of the Pokemon reads.
+ * <p>
+ * With {@code pokemon.fast-path.enabled: true}, the {@link PokemonFastPathHandler} is registered
+ * as an outer handler of the servlet deployment: the plain reads of a Pokemon, its abilities and
+ * its held items are answered before the servlet chain, and everything else is handed over to it
+ * unchanged.
+ * </p>
+ *
+ * <p><strong>Annotations:</strong></p>
+ * <ul>
+ *   <li>{@link Configuration}: Indicates that the class can be used by the Spring IoC container as
+ *   a source of bean definitions.</li>
+ *   <li>{@link ConditionalOnProperty}: Only applies when the fast path is enabled.</li>
+ *   <li>{@link ConditionalOnWebApplication} and {@link ConditionalOnClass}: Only applies to
+ *   Spring MVC on Undertow.</li>
+ * </ul>
+ *
+ * @see ResponseCacheConfiguration
+ */
+@Configuration
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@ConditionalOnClass(Undertow.class)
+@ConditionalOnProperty(prefix = "pokemon.fast-path", name = "enabled")
+public class UndertowFastPathConfiguration {
+
+    /**
+     * Registers the fast path ahead of the servlet chain.
+     *
+     * @param adapter      The adapter answering the reads not cached.
+     * @param objectMapper The object mapper of the message converters.
+     * @param cache        The cache of rendered responses, if enabled.
+     * @param properties   The response cache configuration.
+     * @return The {@link UndertowDeploymentInfoCustomizer}.
+     */
+    @Bean
+    public UndertowDeploymentInfoCustomizer pokemonFastPath(IPokemonRestAdapter adapter,
+            ObjectMapper objectMapper, ObjectProvider<RenderedResponseCache> cache,
+            ResponseCacheProperties properties) {
+        String cacheControl = CacheControl.maxAge(properties.getMaxAge()).cachePublic()
+                .getHeaderValue();
+        return deploymentInfo -> deploymentInfo.addOuterHandlerChainWrapper(
+                next -> new PokemonFastPathHandler(next,
+                        adapter,
+                        objectMapper.writer(),
+                        cache.getIfAvailable(),
+                        cacheControl));
+    }
+}
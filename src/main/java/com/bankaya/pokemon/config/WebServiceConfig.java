@@ -1,5 +1,10 @@
 package com.bankaya.pokemon.config;
 
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.boot.web.servlet.ServletRegistrationBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -7,10 +12,14 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.ws.config.annotation.EnableWs;
 import org.springframework.ws.config.annotation.WsConfigurerAdapter;
+import org.springframework.ws.server.endpoint.adapter.method.MethodReturnValueHandler;
+import org.springframework.ws.soap.axiom.AxiomSoapMessageFactory;
 import org.springframework.ws.transport.http.MessageDispatcherServlet;
 import org.springframework.ws.wsdl.wsdl11.DefaultWsdl11Definition;
 import org.springframework.xml.xsd.SimpleXsdSchema;
 import org.springframework.xml.xsd.XsdSchema;
+import com.bankaya.pokemon.endpoint.FastInfosetFilter;
+import com.bankaya.pokemon.endpoint.SoapPayloadMethodProcessor;
 
 /**
  * Configuration class for setting up SOAP Web Services within the Spring application.
@@ -25,6 +34,8 @@ import org.springframework.xml.xsd.XsdSchema;
  *   <li>{@link EnableWs}: Enables SOAP Web Services in the Spring application.</li>
  *   <li>{@link Configuration}: Indicates that the class can be used by the Spring IoC container as 
  *   a source of bean definitions.</li>
+ *   <li>{@link ConditionalOnWebApplication}: Spring-WS needs a servlet container; the SOAP
+ *   endpoint is not served on the reactive stack.</li>
  * </ul>
  * 
  * <p><strong>Purpose:</strong></p>
@@ -34,6 +45,9 @@ import org.springframework.xml.xsd.XsdSchema;
  *   <li>Defines the WSDL for the Pokemon service, specifying the port type, location URI, target 
  *   namespace, and associated schema.</li>
  *   <li>Loads the XSD schema for validating SOAP messages.</li>
+ *   <li>Reads the SOAP requests with a streaming (StAX) message factory instead of SAAJ, and
+ *   streams the response payloads into the output stream.</li>
+ *   <li>Negotiates Fast Infoset for the clients that send or accept it.</li>
  * </ul>
  * 
  * <p><strong>Usage:</strong></p>
@@ -46,11 +60,13 @@ import org.springframework.xml.xsd.XsdSchema;
  * @see Configuration
  * @see WsConfigurerAdapter
  * @see MessageDispatcherServlet
+ * @see AxiomSoapMessageFactory
  * @see DefaultWsdl11Definition
  * @see XsdSchema
  */
 @EnableWs
 @Configuration
+@ConditionalOnWebApplication(type = Type.SERVLET)
 public class WebServiceConfig extends WsConfigurerAdapter {
     
     /**
@@ -89,6 +105,68 @@ public class WebServiceConfig extends WsConfigurerAdapter {
         return new ServletRegistrationBean<>(servlet, "/ws/*");
     }
 
+    /**
+     * Defines the message factory of the {@link MessageDispatcherServlet}, found by its bean name.
+     * <p>
+     * Every request carries a handful of short strings ({@code nameOrId} and the optional
+     * {@code expand} and {@code fields} elements), which SAAJ would turn into a full DOM of the
+     * envelope before JAXB reads it again. The Axiom factory pull-parses the envelope instead:
+     * </p>
+     * <ul>
+     *   <li><strong>No payload caching:</strong> the body is handed to the endpoint mapping and the
+     *   JAXB argument resolver as a StAX source over the request stream, so the request element
+     *   is unmarshalled straight from the parser and no tree is built for it.</li>
+     *   <li><strong>Shared parser factory:</strong> the {@code XMLInputFactory} is created once per
+     *   message factory and reused by every request, with external entities disabled.</li>
+     * </ul>
+     * <p>
+     * The payload can only be read once, which is fine as long as no interceptor reads it before
+     * the endpoint. Set {@code pokemon.soap.streaming: false} to go back to SAAJ.
+     * </p>
+     *
+     * @return The {@link AxiomSoapMessageFactory}.
+     */
+    @Bean(name = MessageDispatcherServlet.DEFAULT_MESSAGE_FACTORY_BEAN_NAME)
+    @ConditionalOnProperty(prefix = "pokemon.soap", name = "streaming", matchIfMissing = true)
+    public AxiomSoapMessageFactory messageFactory() {
+        AxiomSoapMessageFactory messageFactory = new AxiomSoapMessageFactory();
+        messageFactory.setPayloadCaching(false);
+        return messageFactory;
+    }
+
+    /**
+     * Registers the {@link FastInfosetFilter} on the SOAP endpoint.
+     * <p>
+     * Clients sending {@code application/fastinfoset} or {@code application/soap+fastinfoset},
+     * or listing them in their {@code Accept} header, exchange binary XML; the others keep using
+     * text XML. MTOM requests ({@code multipart/related}) are read by the Axiom message factory
+     * as they are; the responses carry no binary content, so they are never sent as MTOM. Set
+     * {@code pokemon.soap.fast-infoset: false} to answer text XML only.
+     * </p>
+     *
+     * @return The filter registration.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "pokemon.soap", name = "fast-infoset", matchIfMissing = true)
+    public FilterRegistrationBean<FastInfosetFilter> fastInfosetFilter() {
+        FilterRegistrationBean<FastInfosetFilter> registration = new FilterRegistrationBean<>(
+                new FastInfosetFilter());
+        registration.addUrlPatterns("/ws/*");
+        return registration;
+    }
+
+    /**
+     * Registers the {@link SoapPayloadMethodProcessor}, which sets the payloads returned by the
+     * endpoint on the response messages: as streaming payloads on the Axiom messages, written into
+     * the body otherwise.
+     *
+     * @param returnValueHandlers The custom return value handlers.
+     */
+    @Override
+    public void addReturnValueHandlers(List<MethodReturnValueHandler> returnValueHandlers) {
+        returnValueHandlers.add(new SoapPayloadMethodProcessor());
+    }
+
     /**
      * Defines the WSDL (Web Services Description Language) for the Pokémon SOAP service.
      * <p>
@@ -0,0 +1,35 @@
+package com.bankaya.pokemon.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Class AbilityDetailDto.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class AbilityDetailDto {
+
+    /** The id. */
+    private Integer id;
+
+    /** The name. */
+    private String name;
+
+    /** The English effect. */
+    private String effect;
+
+    /** The English short effect. */
+    private String shortEffect;
+
+    /** The generation. */
+    private NamedApiResourceDto<?> generation;
+
+}
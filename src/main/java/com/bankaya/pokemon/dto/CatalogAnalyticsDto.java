@@ -0,0 +1,50 @@
+package com.bankaya.pokemon.dto;
+
+import java.util.List;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Class CatalogAnalyticsDto.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class CatalogAnalyticsDto {
+
+    /** The attribute. */
+    private String attribute;
+
+    /** The count. */
+    private Long count;
+
+    /** The sum. */
+    private Long sum;
+
+    /** The min. */
+    private Integer min;
+
+    /** The max. */
+    private Integer max;
+
+    /** The average. */
+    private Double average;
+
+    /** The histogram. */
+    private List<HistogramBucketDto> histogram;
+
+    /** The top. */
+    private List<RankedPokemonDto> top;
+
+    /** The scanner. */
+    private String scanner;
+
+}
@@ -0,0 +1,38 @@
+package com.bankaya.pokemon.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Class EncounterDto.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class EncounterDto {
+
+    /** The min level. */
+    private Integer minLevel;
+
+    /** The max level. */
+    private Integer maxLevel;
+
+    /** The condition values. */
+    private List<NamedApiResourceDto<?>> conditionValues;
+
+    /** The chance. */
+    private Integer chance;
+
+    /** The method. */
+    private NamedApiResourceDto<?> method;
+
+}
@@ -0,0 +1,29 @@
+package com.bankaya.pokemon.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Class EvolutionChainDto.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class EvolutionChainDto {
+
+    /** The id. */
+    private Integer id;
+
+    /** The stages, in breadth-first order from the base species. */
+    private List<EvolutionStageDto> stages;
+
+}
@@ -0,0 +1,42 @@
+package com.bankaya.pokemon.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Class EvolutionStageDto.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class EvolutionStageDto {
+
+    /** The species. */
+    private NamedApiResourceDto<?> species;
+
+    /** The name of the species it evolves from. */
+    private String evolvesFrom;
+
+    /** The depth in the chain; 0 for the base species. */
+    private Integer depth;
+
+    /** The evolution trigger. */
+    private NamedApiResourceDto<?> trigger;
+
+    /** The min level. */
+    private Integer minLevel;
+
+    /** The item. */
+    private NamedApiResourceDto<?> item;
+
+    /** The default Pokemon of the species. */
+    private PokemonDto pokemon;
+
+}
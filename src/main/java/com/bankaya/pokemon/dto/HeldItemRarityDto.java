@@ -0,0 +1,32 @@
+package com.bankaya.pokemon.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Class HeldItemRarityDto.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class HeldItemRarityDto {
+
+    /** The pokemon. */
+    private NamedApiResourceDto<PokemonDto> pokemon;
+
+    /** The item. */
+    private NamedApiResourceDto<?> item;
+
+    /** The version. */
+    private NamedApiResourceDto<?> version;
+
+    /** The rarity. */
+    private Integer rarity;
+
+}
@@ -0,0 +1,29 @@
+package com.bankaya.pokemon.dto;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Class HistogramBucketDto.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class HistogramBucketDto {
+
+    /** The from. */
+    private Integer from;
+
+    /** The to. */
+    private Integer to;
+
+    /** The count. */
+    private Integer count;
+
+}
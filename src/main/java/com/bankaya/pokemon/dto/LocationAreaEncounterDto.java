@@ -0,0 +1,35 @@
+package com.bankaya.pokemon.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Class LocationAreaEncounterDto.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class LocationAreaEncounterDto {
+
+    /** The location area. */
+    private NamedApiResourceDto<?> locationArea;
+
+    /** The location containing the area. */
+    private NamedApiResourceDto<?> location;
+
+    /** The English name of the location area. */
+    private String name;
+
+    /** The version details. */
+    private List<VersionEncounterDetailDto> versionDetails;
+
+}
@@ -0,0 +1,36 @@
+package com.bankaya.pokemon.dto;
+
+import java.util.List;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Class PokemonExpandedDto.
+ * <p>
+ * A Pokemon together with the linked resources it references, each resolved once even if it is
+ * referenced several times. Expansions that were not requested are omitted.
+ * </p>
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class PokemonExpandedDto {
+
+    /** The pokemon. */
+    private PokemonDto pokemon;
+
+    /** The details of the abilities. */
+    private List<AbilityDetailDto> abilityDetails;
+
+    /** The details of the held items. */
+    private List<ItemDetailDto> itemDetails;
+
+}
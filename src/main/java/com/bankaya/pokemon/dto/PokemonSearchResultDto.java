@@ -0,0 +1,27 @@
+package com.bankaya.pokemon.dto;
+
+import java.util.List;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Class PokemonSearchResultDto, shaped like the PokeAPI named resource lists.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class PokemonSearchResultDto {
+
+    /** The number of matching Pokemon. */
+    private Integer count;
+
+    /** The matching Pokemon, sorted by id. */
+    private List<NamedApiResourceDto<PokemonDto>> results;
+
+}
@@ -0,0 +1,32 @@
+package com.bankaya.pokemon.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The Class VersionEncounterDetailDto.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public class VersionEncounterDetailDto {
+
+    /** The version. */
+    private NamedApiResourceDto<?> version;
+
+    /** The max chance. */
+    private Integer maxChance;
+
+    /** The encounter details. */
+    private List<EncounterDto> encounterDetails;
+
+}
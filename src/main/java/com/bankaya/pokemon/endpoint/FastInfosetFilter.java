@@ -0,0 +1,348 @@
+package com.bankaya.pokemon.endpoint;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Locale;
+import javax.xml.transform.Result;
+import javax.xml.transform.Source;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+import org.jvnet.fastinfoset.FastInfosetResult;
+import org.jvnet.fastinfoset.FastInfosetSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.xml.transform.TransformerHelper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Servlet filter negotiating Fast Infoset, the binary encoding of XML, on the SOAP endpoint.
+ * <p>
+ * Spring-WS only reads and writes text XML, so the filter transcodes at the HTTP boundary:
+ * </p>
+ * <ul>
+ *   <li>Requests sent as {@code application/fastinfoset} (SOAP 1.1) or
+ *   {@code application/soap+fastinfoset} (SOAP 1.2) are decoded into the equivalent text XML
+ *   request before the {@code MessageDispatcherServlet}.</li>
+ *   <li>Clients that sent Fast Infoset, or list one of those types in their {@code Accept} header,
+ *   get the SOAP response (faults included) encoded as Fast Infoset, with its own length.</li>
+ *   <li>Every other request and response, such as the WSDL, goes through unchanged.</li>
+ * </ul>
+ * <p>
+ * Fast Infoset responses are buffered before they are encoded, so they are not streamed as the
+ * text ones are; the gain is on the wire, where the repeated element names of long lists are
+ * written once.
+ * </p>
+ *
+ * @see PokemonEndpoint
+ */
+@Slf4j
+public class FastInfosetFilter extends OncePerRequestFilter {
+
+    /** Content type of Fast Infoset SOAP 1.1 messages. */
+    static final String FAST_INFOSET = "application/fastinfoset";
+
+    /** Content type of Fast Infoset SOAP 1.2 messages. */
+    static final String SOAP_FAST_INFOSET = "application/soap+fastinfoset";
+
+    /** Content type of text SOAP 1.1 messages. */
+    private static final String TEXT_XML = "text/xml";
+
+    /** Content type of text SOAP 1.2 messages. */
+    private static final String SOAP_XML = "application/soap+xml";
+
+    /** Transformations between the encodings. */
+    private static final TransformerHelper TRANSFORMER_HELPER = new TransformerHelper();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+        String xmlType = textType(request.getContentType());
+        HttpServletRequest xmlRequest = request;
+        if (xmlType != null) {
+            try {
+                xmlRequest = new XmlRequest(request,
+                        xmlType,
+                        transcode(new FastInfosetSource(request.getInputStream()),
+                                StreamResult::new));
+            } catch (TransformerException e) {
+                log.debug("Malformed Fast Infoset request: {}",
+                        e.toString());
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST);
+                return;
+            }
+        }
+        if (xmlType == null && !acceptsFastInfoset(request.getHeader(HttpHeaders.ACCEPT))) {
+            filterChain.doFilter(xmlRequest,
+                    response);
+            return;
+        }
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(xmlRequest,
+                wrapper);
+        String fastInfosetType = fastInfosetType(wrapper.getContentType());
+        if (fastInfosetType == null || wrapper.getContentSize() == 0) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        byte[] encoded;
+        try {
+            encoded = transcode(new StreamSource(wrapper.getContentInputStream()),
+                    FastInfosetResult::new);
+        } catch (TransformerException e) {
+            throw new ServletException("Unable to encode the SOAP response as Fast Infoset", e);
+        }
+        response.setContentType(fastInfosetType);
+        response.setContentLength(encoded.length);
+        response.getOutputStream().write(encoded);
+    }
+
+    /**
+     * Returns the text XML content type of a Fast Infoset one.
+     *
+     * @param contentType The {@code Content-Type} of the request, may be {@code null}.
+     * @return The text XML type, with the parameters of the SOAP 1.2 type, or {@code null} if the
+     *         request is not Fast Infoset.
+     */
+    static String textType(String contentType) {
+        return swapType(contentType,
+                FAST_INFOSET,
+                TEXT_XML,
+                SOAP_FAST_INFOSET,
+                SOAP_XML);
+    }
+
+    /**
+     * Returns the Fast Infoset content type of a text XML one.
+     *
+     * @param contentType The {@code Content-Type} of the response, may be {@code null}.
+     * @return The Fast Infoset type, with the parameters of the SOAP 1.2 type, or {@code null} if
+     *         the response is not text XML.
+     */
+    static String fastInfosetType(String contentType) {
+        return swapType(contentType,
+                TEXT_XML,
+                FAST_INFOSET,
+                SOAP_XML,
+                SOAP_FAST_INFOSET);
+    }
+
+    /**
+     * Checks whether an {@code Accept} header lists a Fast Infoset type.
+     *
+     * @param accept The {@code Accept} header, may be {@code null}.
+     * @return {@code true} if the client reads Fast Infoset.
+     */
+    static boolean acceptsFastInfoset(String accept) {
+        if (accept == null) {
+            return false;
+        }
+        String lower = accept.toLowerCase(Locale.ROOT);
+        return lower.contains(FAST_INFOSET) || lower.contains(SOAP_FAST_INFOSET);
+    }
+
+    /**
+     * Swaps the SOAP 1.1 or SOAP 1.2 media type of a content type. The charset is set to UTF-8 for
+     * text XML and dropped for Fast Infoset; the other parameters, such as the SOAP 1.2
+     * {@code action}, are kept.
+     *
+     * @param contentType The content type, may be {@code null}.
+     * @param soap11From  The SOAP 1.1 type to replace.
+     * @param soap11To    Its replacement.
+     * @param soap12From  The SOAP 1.2 type to replace.
+     * @param soap12To    Its replacement.
+     * @return The swapped content type, or {@code null} if it is none of the two types.
+     */
+    private static String swapType(String contentType, String soap11From, String soap11To,
+            String soap12From, String soap12To) {
+        if (contentType == null) {
+            return null;
+        }
+        String[] parts = contentType.split(";");
+        String type = parts[0].trim().toLowerCase(Locale.ROOT);
+        String swapped = type.equals(soap11From) ? soap11To : type.equals(soap12From) ? soap12To
+                : null;
+        if (swapped == null) {
+            return null;
+        }
+        StringBuilder result = new StringBuilder(swapped);
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (!parameter.isEmpty() && !parameter.toLowerCase(Locale.ROOT).startsWith(
+                    "charset=")) {
+                result.append("; ").append(parameter);
+            }
+        }
+        if (swapped.equals(TEXT_XML) || swapped.equals(SOAP_XML)) {
+            result.append("; charset=utf-8");
+        }
+        return result.toString();
+    }
+
+    /**
+     * Copies a document from one encoding to the other.
+     *
+     * @param source The document.
+     * @param result Factory of the result writing into a stream.
+     * @return The transcoded document.
+     * @throws TransformerException If the document cannot be read.
+     */
+    private static byte[] transcode(Source source, ResultFactory result)
+            throws TransformerException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        TRANSFORMER_HELPER.transform(source,
+                result.create(out));
+        return out.toByteArray();
+    }
+
+    /**
+     * Factory of a result writing into a stream.
+     */
+    @FunctionalInterface
+    private interface ResultFactory {
+
+        /**
+         * Creates the result.
+         *
+         * @param out The stream.
+         * @return The result.
+         */
+        Result create(ByteArrayOutputStream out);
+
+    }
+
+    /**
+     * Request whose Fast Infoset body was decoded into text XML.
+     */
+    private static class XmlRequest extends HttpServletRequestWrapper {
+
+        /** The text XML content type. */
+        private final String contentType;
+
+        /** The text XML body. */
+        private final byte[] body;
+
+        /**
+         * Wraps a request.
+         *
+         * @param request     The Fast Infoset request.
+         * @param contentType The text XML content type.
+         * @param body        The text XML body.
+         */
+        XmlRequest(HttpServletRequest request, String contentType, byte[] body) {
+            super(request);
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        @Override
+        public String getContentType() {
+            return contentType;
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                return contentType;
+            }
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                return String.valueOf(body.length);
+            }
+            return super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name) || HttpHeaders.CONTENT_LENGTH
+                    .equalsIgnoreCase(name)) {
+                return Collections.enumeration(Collections.singletonList(getHeader(name)));
+            }
+            return super.getHeaders(name);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            InputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+
+                @Override
+                public int read() throws IOException {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    return in.read(b,
+                            off,
+                            len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    try {
+                        return in.available() == 0;
+                    } catch (IOException e) {
+                        return true;
+                    }
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                /**
+                 * The body is already in memory, so the whole of it is available at once: the
+                 * listener is notified that data is available and then that all data was read.
+                 *
+                 * @param readListener The listener of the non-blocking read.
+                 */
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.bankaya.pokemon.endpoint;
+
+import java.io.ByteArrayInputStream;
+import javax.xml.XMLConstants;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Result;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.stream.StreamSource;
+import org.springframework.xml.transform.TransformerHelper;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Payload of an XML fragment marshalled beforehand, as cached by the {@link SoapPayloadCache}.
+ * <p>
+ * On a streaming message, the events of the fragment are copied from a pull parser to the writer
+ * of the SOAP message, without building a tree of the fragment.
+ * </p>
+ */
+@RequiredArgsConstructor
+class FragmentPayload implements SoapPayload {
+
+    /** Parser factory shared by every fragment; fragments never declare a DTD. */
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    /** Transformations into the payload results of non-streaming messages. */
+    private static final TransformerHelper TRANSFORMER_HELPER = new TransformerHelper();
+
+    /** The root element of the fragment. */
+    private final QName name;
+
+    /** The UTF-8 fragment, never modified. */
+    private final byte[] fragment;
+
+    @Override
+    public QName getName() {
+        return name;
+    }
+
+    @Override
+    public void writeTo(XMLStreamWriter writer) throws XMLStreamException {
+        XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(new ByteArrayInputStream(
+                fragment));
+        try {
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT -> copyStartElement(reader,
+                            writer);
+                    case XMLStreamConstants.END_ELEMENT -> writer.writeEndElement();
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA,
+                            XMLStreamConstants.SPACE -> writer.writeCharacters(reader
+                                    .getTextCharacters(),
+                                    reader.getTextStart(),
+                                    reader.getTextLength());
+                    default -> {
+                        // Document events, comments and processing instructions are not copied.
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Override
+    public void writeTo(Result result) {
+        try {
+            Transformer transformer = TRANSFORMER_HELPER.createTransformer();
+            transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION,
+                    "yes");
+            transformer.transform(new StreamSource(new ByteArrayInputStream(fragment)),
+                    result);
+        } catch (TransformerException e) {
+            throw new IllegalStateException("Unable to write the " + name.getLocalPart()
+                    + " fragment", e);
+        }
+    }
+
+    /**
+     * Copies a start element, with its namespace declarations and attributes.
+     *
+     * @param reader The parser, on the start element.
+     * @param writer The writer.
+     * @throws XMLStreamException If the element cannot be written.
+     */
+    private static void copyStartElement(XMLStreamReader reader, XMLStreamWriter writer)
+            throws XMLStreamException {
+        writer.writeStartElement(nonNull(reader.getPrefix()),
+                reader.getLocalName(),
+                nonNull(reader.getNamespaceURI()));
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            String prefix = reader.getNamespacePrefix(i);
+            if (prefix == null || prefix.isEmpty()) {
+                writer.writeDefaultNamespace(reader.getNamespaceURI(i));
+            } else {
+                writer.writeNamespace(prefix,
+                        reader.getNamespaceURI(i));
+            }
+        }
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String namespace = nonNull(reader.getAttributeNamespace(i));
+            if (namespace.isEmpty()) {
+                writer.writeAttribute(reader.getAttributeLocalName(i),
+                        reader.getAttributeValue(i));
+            } else {
+                writer.writeAttribute(nonNull(reader.getAttributePrefix(i)),
+                        namespace,
+                        reader.getAttributeLocalName(i),
+                        reader.getAttributeValue(i));
+            }
+        }
+    }
+
+    /**
+     * Maps the missing prefixes and namespaces of the parser to the empty string.
+     *
+     * @param value The prefix or namespace URI.
+     * @return The value, or the empty string.
+     */
+    private static String nonNull(String value) {
+        return value == null ? XMLConstants.DEFAULT_NS_PREFIX : value;
+    }
+
+    /**
+     * Creates the parser factory of the fragments.
+     *
+     * @return The factory.
+     */
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD,
+                Boolean.FALSE);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES,
+                Boolean.FALSE);
+        return factory;
+    }
+}
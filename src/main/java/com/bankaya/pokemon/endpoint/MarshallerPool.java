@@ -0,0 +1,168 @@
+package com.bankaya.pokemon.endpoint;
+
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.Result;
+import com.bankaya.pokemon.xsd.ObjectFactory;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.JAXBIntrospector;
+import jakarta.xml.bind.Marshaller;
+
+/**
+ * Pool of the JAXB marshallers of the SOAP responses.
+ * <p>
+ * The {@link JAXBContext} of the xjc-generated types is created once and is thread-safe, but its
+ * marshallers are not, and creating one per response costs more than marshalling a small
+ * payload. Marshallers are borrowed for the duration of one call and returned afterwards:
+ * </p>
+ * <ul>
+ *   <li>An empty pool creates a new marshaller instead of waiting, so no call blocks.</li>
+ *   <li>At most {@code maxIdle} marshallers are kept; the extra ones of a burst are
+ *   dropped.</li>
+ *   <li>Every marshaller writes fragments, without XML declaration, so the responses can be
+ *   written into a SOAP body that is already open.</li>
+ * </ul>
+ *
+ * @see SoapPayloadCache
+ */
+public class MarshallerPool {
+
+    /** Context of the xjc-generated types. */
+    private final JAXBContext context;
+
+    /** Root element names of the responses. */
+    private final JAXBIntrospector introspector;
+
+    /** Idle marshallers. */
+    private final BlockingQueue<Marshaller> idle;
+
+    /**
+     * Creates a pool of marshallers of a context.
+     *
+     * @param context The JAXB context.
+     * @param maxIdle The maximum number of idle marshallers.
+     */
+    public MarshallerPool(JAXBContext context, int maxIdle) {
+        this.context = context;
+        this.introspector = context.createJAXBIntrospector();
+        this.idle = new ArrayBlockingQueue<>(maxIdle);
+    }
+
+    /**
+     * Creates a pool of marshallers of the SOAP types, keeping two idle marshallers per
+     * processor.
+     *
+     * @return The pool.
+     * @throws IllegalStateException If the JAXB context cannot be created.
+     */
+    public static MarshallerPool create() {
+        try {
+            return new MarshallerPool(JAXBContext.newInstance(ObjectFactory.class),
+                    2 * Runtime.getRuntime().availableProcessors());
+        } catch (JAXBException e) {
+            throw new IllegalStateException("Unable to create the SOAP JAXB context", e);
+        }
+    }
+
+    /**
+     * Returns the root element name of a response.
+     *
+     * @param response The JAXB response.
+     * @return The element name, or {@code null} if the type is not a root element.
+     */
+    public QName elementName(Object response) {
+        return introspector.getElementName(response);
+    }
+
+    /**
+     * Marshals a response into a stream.
+     *
+     * @param response The JAXB response.
+     * @param out      The stream, left open.
+     * @throws IllegalStateException If the response cannot be marshalled.
+     */
+    public void marshal(Object response, OutputStream out) {
+        marshal(response,
+                marshaller -> marshaller.marshal(response,
+                        out));
+    }
+
+    /**
+     * Marshals a response into a StAX writer, after the events already written to it.
+     *
+     * @param response The JAXB response.
+     * @param writer   The writer, neither flushed nor closed.
+     * @throws IllegalStateException If the response cannot be marshalled.
+     */
+    public void marshal(Object response, XMLStreamWriter writer) {
+        marshal(response,
+                marshaller -> marshaller.marshal(response,
+                        writer));
+    }
+
+    /**
+     * Marshals a response into a result.
+     *
+     * @param response The JAXB response.
+     * @param result   The result.
+     * @throws IllegalStateException If the response cannot be marshalled.
+     */
+    public void marshal(Object response, Result result) {
+        marshal(response,
+                marshaller -> marshaller.marshal(response,
+                        result));
+    }
+
+    /**
+     * Returns the number of idle marshallers.
+     *
+     * @return The number of marshallers.
+     */
+    public int idle() {
+        return idle.size();
+    }
+
+    /**
+     * Runs a marshalling call with a borrowed marshaller.
+     *
+     * @param response The JAXB response, for the error message.
+     * @param call     The call.
+     * @throws IllegalStateException If the response cannot be marshalled.
+     */
+    private void marshal(Object response, MarshallerCall call) {
+        Marshaller marshaller = idle.poll();
+        try {
+            if (marshaller == null) {
+                marshaller = context.createMarshaller();
+                marshaller.setProperty(Marshaller.JAXB_FRAGMENT,
+                        Boolean.TRUE);
+            }
+            call.marshal(marshaller);
+        } catch (JAXBException e) {
+            // A marshaller that failed midway is not returned to the pool.
+            throw new IllegalStateException("Unable to marshal " + response.getClass()
+                    .getSimpleName(), e);
+        }
+        idle.offer(marshaller);
+    }
+
+    /**
+     * Marshalling call of a borrowed marshaller.
+     */
+    @FunctionalInterface
+    private interface MarshallerCall {
+
+        /**
+         * Marshals with the marshaller.
+         *
+         * @param marshaller The borrowed marshaller.
+         * @throws JAXBException If marshalling fails.
+         */
+        void marshal(Marshaller marshaller) throws JAXBException;
+
+    }
+}
@@ -0,0 +1,42 @@
+package com.bankaya.pokemon.endpoint;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.Result;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Payload of a JAXB response marshalled when it is written, with a pooled marshaller.
+ * <p>
+ * On a streaming message, the response is marshalled directly into the output stream of the SOAP
+ * message; nothing but the JAXB object is kept until then.
+ * </p>
+ *
+ * @see MarshallerPool
+ */
+@RequiredArgsConstructor
+class MarshallingPayload implements SoapPayload {
+
+    /** The JAXB response. */
+    private final Object response;
+
+    /** Marshallers of the response. */
+    private final MarshallerPool marshallers;
+
+    @Override
+    public QName getName() {
+        return marshallers.elementName(response);
+    }
+
+    @Override
+    public void writeTo(XMLStreamWriter writer) {
+        marshallers.marshal(response,
+                writer);
+    }
+
+    @Override
+    public void writeTo(Result result) {
+        marshallers.marshal(response,
+                result);
+    }
+}
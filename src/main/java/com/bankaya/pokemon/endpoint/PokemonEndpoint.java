@@ -6,10 +6,13 @@ import org.springframework.ws.server.endpoint.annotation.RequestPayload;
 import org.springframework.ws.server.endpoint.annotation.ResponsePayload;
 
 import com.bankaya.pokemon.adapter.IPokemonSoapAdapter;
+import com.bankaya.pokemon.endpoint.SoapPayloadCache.Operation;
 import com.bankaya.pokemon.xsd.GetPokemonAbilitiesRequest;
 import com.bankaya.pokemon.xsd.GetPokemonAbilitiesResponse;
 import com.bankaya.pokemon.xsd.GetPokemonDetailsRequest;
 import com.bankaya.pokemon.xsd.GetPokemonDetailsResponse;
+import com.bankaya.pokemon.xsd.GetPokemonEncountersRequest;
+import com.bankaya.pokemon.xsd.GetPokemonEncountersResponse;
 import com.bankaya.pokemon.xsd.GetPokemonHeldItemsRequest;
 import com.bankaya.pokemon.xsd.GetPokemonHeldItemsResponse;
 
@@ -23,6 +26,16 @@ import lombok.RequiredArgsConstructor;
  * It leverages the {@link IPokemonSoapAdapter} to interact with the underlying Pokemon services.
  * </p>
  * 
+ * <p>The details, abilities and held items of cataloged Pokemon are returned as XML fragments
+ * marshalled once by the {@link SoapPayloadCache}; the adapter is only called when the fragment is
+ * not cached. Requests with {@code expand} values or a {@code fields} mask are answered by the
+ * adapter and marshalled on each call.</p>
+ * 
+ * <p>Every operation returns a {@link SoapPayload}, handled by the
+ * {@link SoapPayloadMethodProcessor}: uncached responses are marshalled straight into the output
+ * stream of streaming messages, so long ability and held item lists are never held as a
+ * tree.</p>
+ * 
  * <p><strong>Namespace URI:</strong> {@code http://bankaya.com/pokemon/xsd}</p>
  * 
  * <p><strong>Annotations:</strong>
@@ -40,6 +53,9 @@ public class PokemonEndpoint {
     /** Adapter for interacting with Pokemon SOAP services. */
     private final IPokemonSoapAdapter adapter;
 
+    /** Cache of the marshalled response payloads. */
+    private final SoapPayloadCache payloadCache;
+
     /** Namespace URI for the SOAP requests. */
     private static final String NAMESPACE_URI = "http://bankaya.com/pokemon/xsd";
 
@@ -47,16 +63,20 @@ public class PokemonEndpoint {
      * Handles the SOAP request to retrieve detailed information about a specific Pokemon.
      *
      * @param request The {@link GetPokemonDetailsRequest} containing the name or ID of the Pokemon.
-     * @return A {@link GetPokemonDetailsResponse} containing detailed information about the 
-     * requested Pokemon.
+     * @return The {@link GetPokemonDetailsResponse} payload containing detailed information about
+     * the requested Pokemon.
      * 
      * <p><strong>SOAP Action:</strong> {@code getPokemonDetailsRequest}</p>
      */
     @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getPokemonDetailsRequest")
     @ResponsePayload
-    public GetPokemonDetailsResponse getPokemonDetails(
-            @RequestPayload GetPokemonDetailsRequest request) {
-        return adapter.getPokemonDetails(request);
+    public SoapPayload getPokemonDetails(@RequestPayload GetPokemonDetailsRequest request) {
+        if (!request.getExpand().isEmpty() || !request.getFields().isEmpty()) {
+            return payloadCache.marshal(adapter.getPokemonDetails(request));
+        }
+        return payloadCache.get(Operation.DETAILS,
+                request.getNameOrId(),
+                () -> adapter.getPokemonDetails(request));
     }
 
     /**
@@ -64,16 +84,20 @@ public class PokemonEndpoint {
      *
      * @param request The {@link GetPokemonAbilitiesRequest} containing the name or ID of the 
      * Pokemon.
-     * @return A {@link GetPokemonAbilitiesResponse} containing the abilities of the requested 
-     * Pokemon.
+     * @return The {@link GetPokemonAbilitiesResponse} payload containing the abilities of the
+     * requested Pokemon.
      * 
      * <p><strong>SOAP Action:</strong> {@code getPokemonAbilitiesRequest}</p>
      */
     @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getPokemonAbilitiesRequest")
     @ResponsePayload
-    public GetPokemonAbilitiesResponse getPokemonAbilities(
-            @RequestPayload GetPokemonAbilitiesRequest request) {
-        return adapter.getPokemonAbilities(request);
+    public SoapPayload getPokemonAbilities(@RequestPayload GetPokemonAbilitiesRequest request) {
+        if (!request.getFields().isEmpty()) {
+            return payloadCache.marshal(adapter.getPokemonAbilities(request));
+        }
+        return payloadCache.get(Operation.ABILITIES,
+                request.getNameOrId(),
+                () -> adapter.getPokemonAbilities(request));
     }
 
     /**
@@ -81,15 +105,36 @@ public class PokemonEndpoint {
      *
      * @param request The {@link GetPokemonHeldItemsRequest} containing the name or ID of the 
      * Pokemon.
-     * @return A {@link GetPokemonHeldItemsResponse} containing the held items of the requested 
-     * Pokemon.
+     * @return The {@link GetPokemonHeldItemsResponse} payload containing the held items of the
+     * requested Pokemon.
      * 
      * <p><strong>SOAP Action:</strong> {@code getPokemonHeldItemsRequest}</p>
      */
     @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getPokemonHeldItemsRequest")
     @ResponsePayload
-    public GetPokemonHeldItemsResponse getPokemonHeldItems(
-            @RequestPayload GetPokemonHeldItemsRequest request) {
-        return adapter.getPokemonHeldItems(request);
+    public SoapPayload getPokemonHeldItems(@RequestPayload GetPokemonHeldItemsRequest request) {
+        if (!request.getFields().isEmpty()) {
+            return payloadCache.marshal(adapter.getPokemonHeldItems(request));
+        }
+        return payloadCache.get(Operation.HELD_ITEMS,
+                request.getNameOrId(),
+                () -> adapter.getPokemonHeldItems(request));
+    }
+
+    /**
+     * Handles the SOAP request to retrieve the location areas where a specific Pokemon can be
+     * encountered.
+     *
+     * @param request The {@link GetPokemonEncountersRequest} containing the name or ID of the
+     * Pokemon.
+     * @return The {@link GetPokemonEncountersResponse} payload containing the encounters of the
+     * requested Pokemon.
+     * 
+     * <p><strong>SOAP Action:</strong> {@code getPokemonEncountersRequest}</p>
+     */
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "getPokemonEncountersRequest")
+    @ResponsePayload
+    public SoapPayload getPokemonEncounters(@RequestPayload GetPokemonEncountersRequest request) {
+        return payloadCache.marshal(adapter.getPokemonEncounters(request));
     }
 }
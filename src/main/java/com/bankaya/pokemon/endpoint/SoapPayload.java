@@ -0,0 +1,43 @@
+package com.bankaya.pokemon.endpoint;
+
+import javax.xml.transform.Result;
+import org.springframework.ws.WebServiceMessage;
+import org.springframework.ws.stream.StreamingPayload;
+import org.springframework.ws.stream.StreamingWebServiceMessage;
+
+/**
+ * Response payload of the {@link PokemonEndpoint}, written into the SOAP body when the response
+ * is sent.
+ * <p>
+ * Streaming messages (the Axiom ones of {@code WebServiceConfig}) keep the payload as it is and
+ * write it straight to the output stream after the envelope start, so the response element is
+ * never held as a tree. Other messages (SAAJ) get it written into their payload result.
+ * </p>
+ *
+ * @see SoapPayloadCache
+ * @see SoapPayloadMethodProcessor
+ */
+public interface SoapPayload extends StreamingPayload {
+
+    /**
+     * Writes the payload into a result.
+     *
+     * @param result The result.
+     * @throws IllegalStateException If the payload cannot be written.
+     */
+    void writeTo(Result result);
+
+    /**
+     * Sets the payload of a response message: streamed when the message supports it, written into
+     * its payload result otherwise.
+     *
+     * @param response The response message.
+     */
+    default void writeTo(WebServiceMessage response) {
+        if (response instanceof StreamingWebServiceMessage streaming) {
+            streaming.setStreamingPayload(this);
+        } else {
+            writeTo(response.getPayloadResult());
+        }
+    }
+}
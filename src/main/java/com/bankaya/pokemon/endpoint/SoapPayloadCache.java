@@ -0,0 +1,275 @@
+package com.bankaya.pokemon.endpoint;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import javax.xml.namespace.QName;
+import com.bankaya.pokemon.catalog.ICatalogListener;
+import com.bankaya.pokemon.catalog.PokemonCatalogStore;
+import com.bankaya.pokemon.dto.PokemonDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Getter;
+import lombok.Value;
+
+/**
+ * Cache of the marshalled SOAP response payloads of cataloged Pokemon.
+ * <p>
+ * The response element of an operation ({@code getPokemonDetailsResponse},
+ * {@code getPokemonAbilitiesResponse} or {@code getPokemonHeldItemsResponse}) is marshalled
+ * once per Pokemon into an XML fragment, without XML declaration, and returned to Spring-WS as a
+ * {@link SoapPayload}: the fragment is copied into the SOAP body when the response is written,
+ * without converting the record to the JAXB types nor marshalling it again. Responses that are not
+ * cached are marshalled straight into the SOAP body instead, with the pooled marshallers of a
+ * {@link MarshallerPool}.
+ * </p>
+ *
+ * <p><strong>Invalidation:</strong></p>
+ * <ul>
+ *   <li>Fragments are keyed by operation and canonical Pokemon id, so a Pokemon requested by name
+ *   and by id shares the same fragment.</li>
+ *   <li>The cache is an {@link ICatalogListener}: the fragments of a Pokemon are dropped when its
+ *   record is replaced or evicted.</li>
+ *   <li>Pokemon not in the catalog yet, and fragments that do not fit in {@link #maxBytes}, are
+ *   marshalled on every request.</li>
+ * </ul>
+ *
+ * @see PokemonEndpoint
+ */
+public class SoapPayloadCache implements ICatalogListener, MeterBinder {
+
+    /** Namespace of the response elements. */
+    private static final String NAMESPACE_URI = "http://bankaya.com/pokemon/xsd";
+
+    /** Catalog whose Pokemon are cached. */
+    private final PokemonCatalogStore catalogStore;
+
+    /** Marshallers of the xjc-generated types. */
+    private final MarshallerPool marshallers;
+
+    /** Maximum size of the cached fragments. */
+    private final long maxBytes;
+
+    /** Marshalled fragments, indexed by operation and Pokemon id. */
+    private final Map<Key, byte[]> fragments = new ConcurrentHashMap<>();
+
+    /** Size of the cached fragments. */
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    /** Incremented on every catalog change. */
+    private final AtomicLong generation = new AtomicLong();
+
+    /** Responses served from a cached fragment. */
+    private final AtomicLong hits = new AtomicLong();
+
+    /** Responses that had to be marshalled. */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates the cache, with its own marshaller pool, and registers it on the catalog store.
+     *
+     * @param catalogStore The catalog whose Pokemon are cached.
+     * @param maxBytes     The maximum size of the cached fragments; {@code 0} disables caching.
+     * @throws IllegalStateException If the JAXB context cannot be created.
+     */
+    public SoapPayloadCache(PokemonCatalogStore catalogStore, long maxBytes) {
+        this(catalogStore,
+                MarshallerPool.create(),
+                maxBytes);
+    }
+
+    /**
+     * Creates the cache and registers it on the catalog store.
+     *
+     * @param catalogStore The catalog whose Pokemon are cached.
+     * @param marshallers  The marshallers of the responses.
+     * @param maxBytes     The maximum size of the cached fragments; {@code 0} disables caching.
+     */
+    public SoapPayloadCache(PokemonCatalogStore catalogStore, MarshallerPool marshallers,
+            long maxBytes) {
+        this.catalogStore = catalogStore;
+        this.marshallers = marshallers;
+        this.maxBytes = maxBytes;
+        catalogStore.addListener(this);
+    }
+
+    /**
+     * Returns the payload of an operation on a Pokemon, from the cache when possible.
+     *
+     * @param operation The operation.
+     * @param nameOrId  The name or ID of the Pokemon.
+     * @param response  Supplier of the JAXB response when the fragment is not cached.
+     * @return The payload, or {@code null} if the supplier returned {@code null}.
+     */
+    public SoapPayload get(Operation operation, String nameOrId, Supplier<Object> response) {
+        Optional<Integer> id = catalogStore.resolveId(nameOrId);
+        if (id.isEmpty()) {
+            return marshal(response.get());
+        }
+        Key key = new Key(operation, id.get());
+        byte[] cached = fragments.get(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return new FragmentPayload(operation.getElementName(),
+                    cached);
+        }
+        long expected = generation.get();
+        Object value = response.get();
+        if (value == null) {
+            return null;
+        }
+        misses.incrementAndGet();
+        if (maxBytes == 0) {
+            return new MarshallingPayload(value,
+                    marshallers);
+        }
+        byte[] fragment = toBytes(value);
+        if (usedBytes.get() + fragment.length <= maxBytes && generation.get() == expected
+                && fragments.putIfAbsent(key,
+                        fragment) == null) {
+            usedBytes.addAndGet(fragment.length);
+            // The record may have been replaced while the fragment was being stored.
+            if (generation.get() != expected && fragments.remove(key,
+                    fragment)) {
+                usedBytes.addAndGet(-fragment.length);
+            }
+        }
+        return new FragmentPayload(operation.getElementName(),
+                fragment);
+    }
+
+    /**
+     * Returns the payload of a response that is not cached, marshalled when it is written.
+     *
+     * @param response The JAXB response, may be {@code null}.
+     * @return The payload, or {@code null} if the response is {@code null}.
+     */
+    public SoapPayload marshal(Object response) {
+        return response == null ? null : new MarshallingPayload(response,
+                marshallers);
+    }
+
+    /**
+     * Returns the number of cached fragments.
+     *
+     * @return The number of fragments.
+     */
+    public int size() {
+        return fragments.size();
+    }
+
+    @Override
+    public void onPut(PokemonDto previous, PokemonDto current) {
+        generation.incrementAndGet();
+        if (previous != null && previous.getId() != null) {
+            invalidate(previous.getId());
+        }
+        if (current != null && current.getId() != null) {
+            invalidate(current.getId());
+        }
+    }
+
+    @Override
+    public void onRemove(int id) {
+        generation.incrementAndGet();
+        invalidate(id);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("pokemon.soap.cache.used",
+                usedBytes,
+                AtomicLong::get).baseUnit(BaseUnits.BYTES)
+                .description("Bytes used by the marshalled SOAP payloads").register(registry);
+        Gauge.builder("pokemon.soap.cache.entries",
+                this,
+                SoapPayloadCache::size)
+                .description("Marshalled SOAP payloads cached").register(registry);
+        FunctionCounter.builder("pokemon.soap.cache.hits",
+                hits,
+                AtomicLong::get)
+                .description("SOAP responses written from a cached payload").register(registry);
+        FunctionCounter.builder("pokemon.soap.cache.misses",
+                misses,
+                AtomicLong::get)
+                .description("SOAP responses that had to be marshalled").register(registry);
+    }
+
+    /**
+     * Drops every cached fragment of a Pokemon.
+     *
+     * @param id The Pokemon id.
+     */
+    private void invalidate(int id) {
+        for (Operation operation : Operation.values()) {
+            byte[] removed = fragments.remove(new Key(operation, id));
+            if (removed != null) {
+                usedBytes.addAndGet(-removed.length);
+            }
+        }
+    }
+
+    /**
+     * Marshals a response element into an XML fragment.
+     *
+     * @param response The JAXB response.
+     * @return The UTF-8 fragment, without XML declaration.
+     * @throws IllegalStateException If the response cannot be marshalled.
+     */
+    byte[] toBytes(Object response) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1024);
+        marshallers.marshal(response,
+                out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Operations whose payloads are cached.
+     */
+    @Getter
+    public enum Operation {
+
+        /** {@code getPokemonDetails}, without expansions. */
+        DETAILS("getPokemonDetailsResponse"),
+
+        /** {@code getPokemonAbilities}. */
+        ABILITIES("getPokemonAbilitiesResponse"),
+
+        /** {@code getPokemonHeldItems}. */
+        HELD_ITEMS("getPokemonHeldItemsResponse");
+
+        /** The response element of the operation. */
+        private final QName elementName;
+
+        /**
+         * Creates an operation.
+         *
+         * @param responseElement The local name of the response element.
+         */
+        Operation(String responseElement) {
+            this.elementName = new QName(NAMESPACE_URI,
+                    responseElement);
+        }
+
+    }
+
+    /**
+     * Key of a cached fragment.
+     */
+    @Value
+    private static class Key {
+
+        /** The operation. */
+        Operation operation;
+
+        /** The Pokemon id. */
+        int id;
+
+    }
+}
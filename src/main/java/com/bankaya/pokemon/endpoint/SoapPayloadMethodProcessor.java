@@ -0,0 +1,33 @@
+package com.bankaya.pokemon.endpoint;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.server.endpoint.adapter.method.MethodReturnValueHandler;
+import org.springframework.ws.server.endpoint.annotation.ResponsePayload;
+
+/**
+ * Return value handler of the {@link SoapPayload} returned by the {@link PokemonEndpoint}
+ * methods annotated with {@link ResponsePayload}.
+ * <p>
+ * The payload is set on the response message as it is: streamed by the Axiom messages, written
+ * into the payload result of the SAAJ ones.
+ * </p>
+ *
+ * @see SoapPayload#writeTo(org.springframework.ws.WebServiceMessage)
+ */
+public class SoapPayloadMethodProcessor implements MethodReturnValueHandler {
+
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return returnType.hasMethodAnnotation(ResponsePayload.class) && SoapPayload.class
+                .isAssignableFrom(returnType.getParameterType());
+    }
+
+    @Override
+    public void handleReturnValue(MessageContext messageContext, MethodParameter returnType,
+            Object returnValue) {
+        if (returnValue != null) {
+            ((SoapPayload) returnValue).writeTo(messageContext.getResponse());
+        }
+    }
+}
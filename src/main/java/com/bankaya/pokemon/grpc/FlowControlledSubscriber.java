@@ -0,0 +1,92 @@
+package com.bankaya.pokemon.grpc;
+
+import java.util.function.Function;
+import org.reactivestreams.Subscription;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import reactor.core.publisher.BaseSubscriber;
+
+/**
+ * Subscriber writing a {@link reactor.core.publisher.Flux} to a server-streaming gRPC call, at the
+ * pace of its flow control.
+ * <p>
+ * A value is requested from the publisher only while {@link ServerCallStreamObserver#isReady()}
+ * holds, one at a time, and requesting resumes from the on-ready handler once the transport has
+ * drained its buffers. Cancelling the call disposes the subscription.
+ * </p>
+ *
+ * <p>The on-ready handler and the signals of the publisher may run on different threads;
+ * {@link #pull()} is guarded so that a single value is outstanding at a time.</p>
+ *
+ * @param <T> The type of the messages.
+ */
+class FlowControlledSubscriber<T> extends BaseSubscriber<T> {
+
+    /**
+     * Observer of the call.
+     */
+    private final ServerCallStreamObserver<T> observer;
+
+    /**
+     * Mapping of the errors of the publisher to the status of the call.
+     */
+    private final Function<Throwable, Status> errorStatus;
+
+    /**
+     * Whether a value has been requested and not received yet.
+     */
+    private boolean outstanding;
+
+    /**
+     * Creates the subscriber and registers it as the on-ready and on-cancel handler of the call.
+     * Must be created in the call's thread, before the service method returns.
+     *
+     * @param observer    The observer of the call.
+     * @param errorStatus The mapping of the errors to the status of the call.
+     */
+    FlowControlledSubscriber(ServerCallStreamObserver<T> observer,
+            Function<Throwable, Status> errorStatus) {
+        this.observer = observer;
+        this.errorStatus = errorStatus;
+        observer.setOnReadyHandler(this::pull);
+        observer.setOnCancelHandler(this::dispose);
+    }
+
+    @Override
+    protected void hookOnSubscribe(Subscription subscription) {
+        pull();
+    }
+
+    @Override
+    protected void hookOnNext(T value) {
+        synchronized (this) {
+            outstanding = false;
+        }
+        observer.onNext(value);
+        pull();
+    }
+
+    @Override
+    protected void hookOnComplete() {
+        observer.onCompleted();
+    }
+
+    @Override
+    protected void hookOnError(Throwable throwable) {
+        observer.onError(errorStatus.apply(throwable).asRuntimeException());
+    }
+
+    /**
+     * Requests the next value if the call can send it and none is outstanding.
+     */
+    private void pull() {
+        synchronized (this) {
+            if (outstanding || upstream() == null || isDisposed() || observer.isCancelled()
+                    || !observer.isReady()) {
+                return;
+            }
+            outstanding = true;
+        }
+        request(1);
+    }
+}
@@ -0,0 +1,126 @@
+package com.bankaya.pokemon.grpc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.springframework.context.SmartLifecycle;
+import io.grpc.BindableService;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Server of the gRPC service, bound to the lifecycle of the application context.
+ * <p>
+ * Starts a Netty server on the loopback interface, unless the port is negative, and an
+ * in-process server when a name is given. Both serve the same service instance; the in-process
+ * server runs the calls on the threads of its clients, since the service never blocks. On stop,
+ * the servers stop accepting calls and the running ones get a few seconds to finish.
+ * </p>
+ *
+ * @see PokemonGrpcService
+ */
+@Slf4j
+public class PokemonGrpcServer implements SmartLifecycle {
+
+    /** Seconds the running calls are given to finish on stop. */
+    private static final long SHUTDOWN_SECONDS = 5;
+
+    /**
+     * Service served.
+     */
+    private final BindableService service;
+
+    /**
+     * Port of the loopback listener; {@code 0} for a free port, negative for none.
+     */
+    private final int port;
+
+    /**
+     * Name of the in-process server, or {@code null}.
+     */
+    private final String inProcessName;
+
+    /**
+     * Running servers; empty when stopped.
+     */
+    private final List<Server> servers = new ArrayList<>();
+
+    /**
+     * Port of the loopback listener once started, or {@code -1}.
+     */
+    private volatile int localPort = -1;
+
+    /**
+     * Creates the server.
+     *
+     * @param service       The service served.
+     * @param port          The port of the loopback listener; {@code 0} for a free port, negative
+     *                      for none.
+     * @param inProcessName The name of the in-process server, or {@code null}.
+     */
+    public PokemonGrpcServer(BindableService service, int port, String inProcessName) {
+        this.service = service;
+        this.port = port;
+        this.inProcessName = inProcessName;
+    }
+
+    @Override
+    public synchronized void start() {
+        try {
+            if (port >= 0) {
+                Server server = NettyServerBuilder.forAddress(new InetSocketAddress("localhost",
+                        port)).addService(service).build().start();
+                servers.add(server);
+                localPort = server.getPort();
+                log.info("gRPC server listening on localhost:{}",
+                        localPort);
+            }
+            if (inProcessName != null && !inProcessName.isBlank()) {
+                servers.add(InProcessServerBuilder.forName(inProcessName).addService(service)
+                        .directExecutor().build().start());
+                log.info("gRPC in-process server started: {}",
+                        inProcessName);
+            }
+        } catch (IOException e) {
+            stop();
+            throw new UncheckedIOException("Unable to start the gRPC server", e);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        servers.forEach(Server::shutdown);
+        for (Server server : servers) {
+            try {
+                if (!server.awaitTermination(SHUTDOWN_SECONDS,
+                        TimeUnit.SECONDS)) {
+                    server.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                server.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+        servers.clear();
+        localPort = -1;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return !servers.isEmpty();
+    }
+
+    /**
+     * Returns the port of the loopback listener.
+     *
+     * @return The port, or {@code -1} if the listener is not running.
+     */
+    public int getPort() {
+        return localPort;
+    }
+}
@@ -0,0 +1,173 @@
+package com.bankaya.pokemon.grpc;
+
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import com.bankaya.pokemon.adapter.IPokemonGrpcAdapter;
+import com.bankaya.pokemon.grpc.proto.BatchRequest;
+import com.bankaya.pokemon.grpc.proto.BatchResponse;
+import com.bankaya.pokemon.grpc.proto.CatalogRequest;
+import com.bankaya.pokemon.grpc.proto.HeldItemsRequest;
+import com.bankaya.pokemon.grpc.proto.Pokemon;
+import com.bankaya.pokemon.grpc.proto.PokemonAbilities;
+import com.bankaya.pokemon.grpc.proto.PokemonHeldItems;
+import com.bankaya.pokemon.grpc.proto.PokemonRequest;
+import com.bankaya.pokemon.grpc.proto.PokemonServiceGrpc;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * gRPC implementation of the {@code bankaya.pokemon.v1.PokemonService} of {@code pokemon.proto}.
+ * <p>
+ * Every call is delegated to the {@link IPokemonGrpcAdapter}, the way the REST controller and the
+ * SOAP endpoint delegate to their adapters. The errors are reported with the gRPC status matching
+ * the HTTP status the REST API would answer:
+ * </p>
+ * <ul>
+ *   <li>{@code NOT_FOUND}: unknown Pokemon, whether the adapter finds nothing or fails with
+ *   {@code 404 Not Found}.</li>
+ *   <li>{@code INVALID_ARGUMENT}: missing name or ID, a batch of more than
+ *   {@value #MAX_BATCH_SIZE} names or IDs, or a {@code 400 Bad Request} of the services.</li>
+ *   <li>{@code UNAVAILABLE}: errors of the PokeAPI.</li>
+ *   <li>{@code INTERNAL}: any other error, logged but not described to the client.</li>
+ * </ul>
+ *
+ * <p>{@code StreamCatalog} follows the flow control of the call: a record is read from the
+ * catalog only when the transport is ready to send it, so slow clients do not fill the server's
+ * buffers.</p>
+ *
+ * @see PokemonGrpcServer
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class PokemonGrpcService extends PokemonServiceGrpc.PokemonServiceImplBase {
+
+    /**
+     * Maximum number of names or IDs of a {@code GetPokemonBatch} call.
+     */
+    static final int MAX_BATCH_SIZE = 100;
+
+    /**
+     * Adapter answering the calls.
+     */
+    private final IPokemonGrpcAdapter adapter;
+
+    @Override
+    public void getPokemonDetails(PokemonRequest request,
+            StreamObserver<Pokemon> responseObserver) {
+        reply(request.getNameOrId(),
+                adapter.getPokemonDetails(request.getNameOrId()),
+                responseObserver);
+    }
+
+    @Override
+    public void getPokemonAbilities(PokemonRequest request,
+            StreamObserver<PokemonAbilities> responseObserver) {
+        reply(request.getNameOrId(),
+                adapter.getPokemonAbilities(request.getNameOrId()),
+                responseObserver);
+    }
+
+    @Override
+    public void getPokemonHeldItems(HeldItemsRequest request,
+            StreamObserver<PokemonHeldItems> responseObserver) {
+        reply(request.getNameOrId(),
+                adapter.getPokemonHeldItems(request.getNameOrId(),
+                        request.getVersion()),
+                responseObserver);
+    }
+
+    @Override
+    public void getPokemonBatch(BatchRequest request,
+            StreamObserver<BatchResponse> responseObserver) {
+        if (request.getNamesOrIdsCount() > MAX_BATCH_SIZE) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(
+                    "At most " + MAX_BATCH_SIZE + " names or IDs per batch").asRuntimeException());
+            return;
+        }
+        if (request.getNamesOrIdsList().stream().anyMatch(String::isBlank)) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(
+                    "Names or IDs must not be empty").asRuntimeException());
+            return;
+        }
+        reply("batch",
+                adapter.getPokemonBatch(request.getNamesOrIdsList()),
+                responseObserver);
+    }
+
+    @Override
+    public void streamCatalog(CatalogRequest request, StreamObserver<Pokemon> responseObserver) {
+        adapter.streamCatalog().subscribe(new FlowControlledSubscriber<>(
+                (ServerCallStreamObserver<Pokemon>) responseObserver,
+                PokemonGrpcService::status));
+    }
+
+    /**
+     * Completes a unary call with the single value of the adapter.
+     *
+     * @param <T>              The type of the response.
+     * @param nameOrId         The name or ID of the request, for the error descriptions.
+     * @param response         The response of the adapter.
+     * @param responseObserver The observer of the call.
+     */
+    private static <T> void reply(String nameOrId, Mono<T> response,
+            StreamObserver<T> responseObserver) {
+        if (nameOrId.isBlank()) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(
+                    "Name or ID must not be empty").asRuntimeException());
+            return;
+        }
+        response.switchIfEmpty(Mono.error(() -> Status.NOT_FOUND.withDescription(
+                "Unknown Pokemon: " + nameOrId).asRuntimeException())).subscribe(value -> {
+                    responseObserver.onNext(value);
+                    responseObserver.onCompleted();
+                },
+                        error -> responseObserver.onError(status(error).asRuntimeException()));
+    }
+
+    /**
+     * Maps an error of the adapter to the gRPC status of the call.
+     *
+     * @param error The error.
+     * @return The status.
+     */
+    static Status status(Throwable error) {
+        Status status = Status.fromThrowable(error);
+        if (status.getCode() != Status.Code.UNKNOWN) {
+            return status;
+        }
+        if (error instanceof ResponseStatusException response) {
+            return status(response.getStatusCode().value()).withDescription(response.getReason());
+        }
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().value() == 404
+                    ? Status.NOT_FOUND.withDescription("Unknown Pokemon")
+                    : Status.UNAVAILABLE.withDescription("PokeAPI error: " + response
+                            .getStatusCode().value());
+        }
+        if (error instanceof IllegalArgumentException) {
+            return Status.INVALID_ARGUMENT.withDescription(error.getMessage());
+        }
+        log.error("gRPC call failed",
+                error);
+        return Status.INTERNAL.withDescription("Internal error");
+    }
+
+    /**
+     * Maps an HTTP status of the services to a gRPC status.
+     *
+     * @param httpStatus The HTTP status code.
+     * @return The status.
+     */
+    private static Status status(int httpStatus) {
+        return switch (httpStatus) {
+            case 400 -> Status.INVALID_ARGUMENT;
+            case 404 -> Status.NOT_FOUND;
+            case 429, 502, 503, 504 -> Status.UNAVAILABLE;
+            default -> Status.INTERNAL;
+        };
+    }
+}
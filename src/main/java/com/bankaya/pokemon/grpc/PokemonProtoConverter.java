@@ -0,0 +1,145 @@
+package com.bankaya.pokemon.grpc;
+
+import java.util.List;
+import com.bankaya.pokemon.dto.NamedApiResourceDto;
+import com.bankaya.pokemon.dto.PokemonAbilityDto;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.dto.PokemonHeldItemDto;
+import com.bankaya.pokemon.dto.PokemonHeldItemVersionDto;
+import com.bankaya.pokemon.grpc.proto.NamedApiResource;
+import com.bankaya.pokemon.grpc.proto.Pokemon;
+import com.bankaya.pokemon.grpc.proto.PokemonAbility;
+import com.bankaya.pokemon.grpc.proto.PokemonHeldItem;
+import com.bankaya.pokemon.grpc.proto.PokemonHeldItemVersion;
+
+/**
+ * Converter from the Pokemon DTOs to the Protocol Buffers messages of {@code pokemon.proto}.
+ * <p>
+ * The generated messages are built field by field: missing numbers stay unset (the fields are
+ * {@code optional}), missing strings and resources are left at their defaults, and {@code null}
+ * list elements are skipped.
+ * </p>
+ */
+public final class PokemonProtoConverter {
+
+    private PokemonProtoConverter() {
+    }
+
+    /**
+     * Converts a Pokemon.
+     *
+     * @param dto The Pokemon.
+     * @return The message.
+     */
+    public static Pokemon toProto(PokemonDto dto) {
+        Pokemon.Builder pokemon = Pokemon.newBuilder();
+        if (dto.getId() != null) {
+            pokemon.setId(dto.getId());
+        }
+        if (dto.getName() != null) {
+            pokemon.setName(dto.getName());
+        }
+        if (dto.getBaseExperience() != null) {
+            pokemon.setBaseExperience(dto.getBaseExperience());
+        }
+        if (dto.getLocationAreaEncounters() != null) {
+            pokemon.setLocationAreaEncounters(dto.getLocationAreaEncounters());
+        }
+        return pokemon.addAllAbilities(abilities(dto.getAbilities())).addAllHeldItems(heldItems(dto
+                .getHeldItems())).build();
+    }
+
+    /**
+     * Converts the abilities of a Pokemon.
+     *
+     * @param dtos The abilities, may be {@code null}.
+     * @return The messages.
+     */
+    public static List<PokemonAbility> abilities(List<PokemonAbilityDto> dtos) {
+        return dtos == null ? List.of() : dtos.stream().filter(dto -> dto != null).map(
+                PokemonProtoConverter::toProto).toList();
+    }
+
+    /**
+     * Converts the held items of a Pokemon.
+     *
+     * @param dtos The held items, may be {@code null}.
+     * @return The messages.
+     */
+    public static List<PokemonHeldItem> heldItems(List<PokemonHeldItemDto> dtos) {
+        return dtos == null ? List.of() : dtos.stream().filter(dto -> dto != null).map(
+                PokemonProtoConverter::toProto).toList();
+    }
+
+    /**
+     * Converts an ability.
+     *
+     * @param dto The ability.
+     * @return The message.
+     */
+    private static PokemonAbility toProto(PokemonAbilityDto dto) {
+        PokemonAbility.Builder ability = PokemonAbility.newBuilder();
+        if (dto.getIsHidden() != null) {
+            ability.setIsHidden(dto.getIsHidden());
+        }
+        if (dto.getSlot() != null) {
+            ability.setSlot(dto.getSlot());
+        }
+        if (dto.getAbility() != null) {
+            ability.setAbility(toProto(dto.getAbility()));
+        }
+        return ability.build();
+    }
+
+    /**
+     * Converts a held item.
+     *
+     * @param dto The held item.
+     * @return The message.
+     */
+    private static PokemonHeldItem toProto(PokemonHeldItemDto dto) {
+        PokemonHeldItem.Builder item = PokemonHeldItem.newBuilder();
+        if (dto.getItem() != null) {
+            item.setItem(toProto(dto.getItem()));
+        }
+        if (dto.getVersionDetails() != null) {
+            dto.getVersionDetails().stream().filter(version -> version != null).forEach(
+                    version -> item.addVersionDetails(toProto(version)));
+        }
+        return item.build();
+    }
+
+    /**
+     * Converts the details of a held item in a version.
+     *
+     * @param dto The version details.
+     * @return The message.
+     */
+    private static PokemonHeldItemVersion toProto(PokemonHeldItemVersionDto dto) {
+        PokemonHeldItemVersion.Builder version = PokemonHeldItemVersion.newBuilder();
+        if (dto.getVersion() != null) {
+            version.setVersion(toProto(dto.getVersion()));
+        }
+        if (dto.getRarity() != null) {
+            version.setRarity(dto.getRarity());
+        }
+        return version.build();
+    }
+
+    /**
+     * Converts a named resource.
+     *
+     * @param dto The resource.
+     * @return The message.
+     */
+    private static NamedApiResource toProto(NamedApiResourceDto<?> dto) {
+        NamedApiResource.Builder resource = NamedApiResource.newBuilder();
+        if (dto.getName() != null) {
+            resource.setName(dto.getName());
+        }
+        if (dto.getUrl() != null) {
+            resource.setUrl(dto.getUrl());
+        }
+        return resource.build();
+    }
+}
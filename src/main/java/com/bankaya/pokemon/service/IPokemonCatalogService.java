@@ -0,0 +1,89 @@
+package com.bankaya.pokemon.service;
+
+import java.util.List;
+import com.bankaya.pokemon.catalog.CatalogSnapshot.NumericColumn;
+import com.bankaya.pokemon.dto.CatalogAnalyticsDto;
+import com.bankaya.pokemon.dto.HeldItemRarityDto;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.dto.PokemonSearchResultDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service interface for queries over the whole local catalog.
+ *
+ * <p>Unlike {@link IPokemonService}, which resolves a single Pokemon, these operations answer
+ * questions across the catalog (for example, which Pokemon may have a given ability) from the
+ * indexes maintained over the {@link com.bankaya.pokemon.catalog.PokemonCatalogStore}. Only
+ * Pokemon already imported or cached are considered; the PokeAPI is never called.</p>
+ */
+public interface IPokemonCatalogService {
+
+    /**
+     * Searches the Pokemon having a combination of abilities, held items and game versions.
+     *
+     * @param abilities Names of the abilities to match.
+     * @param items     Names of the held items to match.
+     * @param versions  Names of the game versions in which the Pokemon holds an item.
+     * @param matchAll  {@code true} to require every given resource, {@code false} to require any
+     *                  of them.
+     * @return A {@link Mono} emitting the matching Pokemon.
+     */
+    Mono<PokemonSearchResultDto> searchPokemon(List<String> abilities, List<String> items,
+            List<String> versions, boolean matchAll);
+
+    /**
+     * Finds the items held in a game version with at least a given rarity.
+     *
+     * @param version   The name of the game version.
+     * @param minRarity The minimum rarity, in percent.
+     * @param limit     The maximum number of results.
+     * @return A {@link Mono} emitting the matching (Pokemon, item) pairs, most common first.
+     */
+    Mono<List<HeldItemRarityDto>> findHeldItemsByRarity(String version, int minRarity, int limit);
+
+    /**
+     * Completes a partial Pokemon name.
+     *
+     * @param prefix The beginning of the name.
+     * @param limit  The maximum number of suggestions.
+     * @return A {@link Mono} emitting the known names starting with the prefix, best ranked
+     *         first.
+     */
+    Mono<List<String>> autocomplete(String prefix, int limit);
+
+    /**
+     * Suggests the known Pokemon names closest to a possibly misspelled name.
+     *
+     * @param name  The name typed by the user.
+     * @param limit The maximum number of suggestions.
+     * @return A {@link Mono} emitting the names within the configured edit distance, closest
+     *         first.
+     */
+    Mono<List<String>> suggestNames(String name, int limit);
+
+    /**
+     * Aggregates a numeric attribute over the whole catalog.
+     *
+     * @param attribute   The attribute.
+     * @param min         The inclusive lower bound of the values considered, {@code null} for
+     *                    none.
+     * @param max         The inclusive upper bound of the values considered, {@code null} for
+     *                    none.
+     * @param bucketWidth The width of the histogram buckets, {@code null} for no histogram.
+     * @param top         The number of Pokemon with the highest values to return.
+     * @return A {@link Mono} emitting the count, sum, range and average of the values, with the
+     *         optional histogram and ranking.
+     */
+    Mono<CatalogAnalyticsDto> analyze(NumericColumn attribute, Integer min, Integer max,
+            Integer bucketWidth, int top);
+
+    /**
+     * Streams every cataloged Pokemon.
+     *
+     * @return A {@link Flux} emitting the records by ascending id; each record is read from the
+     *         catalog when it is requested, and Pokemon evicted in the meantime are skipped.
+     */
+    Flux<PokemonDto> streamCatalog();
+
+}
@@ -0,0 +1,24 @@
+package com.bankaya.pokemon.service;
+
+import com.bankaya.pokemon.dto.LocationAreaEncounterDto;
+import com.bankaya.pokemon.dto.PokemonDto;
+import reactor.core.publisher.Flux;
+
+/**
+ * Service interface for the location areas where a Pokemon can be encountered.
+ *
+ * <p>A {@link PokemonDto} only exposes the URL of its encounter list. This service fetches and
+ * decodes that list and resolves the location area of every encounter, so clients receive the
+ * encounters ready to use.</p>
+ */
+public interface IPokemonEncounterService {
+
+    /**
+     * Resolves the location-area encounters of a Pokemon.
+     *
+     * @param pokemon The Pokemon whose encounters are resolved.
+     * @return A {@link Flux} emitting the encounters as they are decoded and resolved, in the
+     *         order of the PokeAPI; empty if the Pokemon has no encounter list.
+     */
+    Flux<LocationAreaEncounterDto> getEncounters(PokemonDto pokemon);
+}
@@ -0,0 +1,24 @@
+package com.bankaya.pokemon.service;
+
+import com.bankaya.pokemon.dto.EvolutionChainDto;
+import com.bankaya.pokemon.dto.PokemonDto;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service interface for the evolution chains of Pokemon.
+ *
+ * <p>Reaching the evolution chain of a Pokemon through the PokeAPI takes several sequential calls
+ * (Pokemon, species, evolution chain, then every member). This service resolves the whole chain,
+ * with the details of every member, in a single operation.</p>
+ */
+public interface IPokemonEvolutionService {
+
+    /**
+     * Resolves the evolution chain of a Pokemon.
+     *
+     * @param pokemon The Pokemon whose chain is resolved.
+     * @return A {@link Mono} emitting the chain with the default Pokemon of every species; members
+     *         that cannot be fetched are returned without details.
+     */
+    Mono<EvolutionChainDto> getEvolutionChain(PokemonDto pokemon);
+}
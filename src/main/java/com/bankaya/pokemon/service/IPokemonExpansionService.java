@@ -0,0 +1,67 @@
+package com.bankaya.pokemon.service;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.dto.PokemonExpandedDto;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service interface for the expansion of the resources linked from a Pokemon.
+ *
+ * <p>A {@link PokemonDto} only references its abilities and held items by name and URL. Expanding
+ * it resolves those references into their details (effect text, cost, etc.) in the same call, so
+ * a client needs one round trip instead of one per referenced resource.</p>
+ */
+public interface IPokemonExpansionService {
+
+    /**
+     * Resolves the linked resources of a Pokemon.
+     *
+     * @param pokemon    The Pokemon whose references are resolved.
+     * @param expansions The kinds of references to resolve.
+     * @return A {@link Mono} emitting the Pokemon with the details of the requested resources.
+     *         Resources that cannot be resolved are left out.
+     */
+    Mono<PokemonExpandedDto> expand(PokemonDto pokemon, Set<Expansion> expansions);
+
+    /**
+     * Kinds of linked resources that can be expanded.
+     */
+    enum Expansion {
+
+        /** The abilities of the Pokemon. */
+        ABILITIES,
+
+        /** The items held by the Pokemon. */
+        ITEMS;
+
+        /**
+         * Parses the expansion names given by a client, such as {@code abilities,items}.
+         *
+         * @param names The case-insensitive expansion names; blank names are ignored.
+         * @return The requested expansions.
+         * @throws IllegalArgumentException If a name is not a known expansion.
+         */
+        public static Set<Expansion> parse(Collection<String> names) {
+            Set<Expansion> expansions = EnumSet.noneOf(Expansion.class);
+            for (String name : names) {
+                if (name == null || name.isBlank()) {
+                    continue;
+                }
+                try {
+                    expansions.add(valueOf(name.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown expansion: " + name
+                            + ". Expected one of " + Arrays.toString(values()).toLowerCase(
+                                    Locale.ROOT));
+                }
+            }
+            return expansions;
+        }
+
+    }
+}
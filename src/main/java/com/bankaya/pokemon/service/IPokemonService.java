@@ -1,6 +1,7 @@
 package com.bankaya.pokemon.service;
 
 import java.util.List;
+import com.bankaya.pokemon.catalog.FieldSelection;
 import com.fasterxml.jackson.core.type.TypeReference;
 import reactor.core.publisher.Mono;
 
@@ -65,4 +66,64 @@ public interface IPokemonService {
      * @return A {@link Mono} emitting a list of held items converted to the specified type.
      */
     <V> Mono<List<V>> getPokemonHeldItems(String nameOrId, TypeReference<List<V>> typeRef);
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the items held by a specific Pokemon in a single game version.
+     * 
+     * <p>
+     * Only the held items the Pokemon may hold in the given version are returned, and their
+     * version details are restricted to that version.
+     * </p>
+     * 
+     * @param <V>      The type to which each held item should be converted.
+     * @param nameOrId The name or ID of the Pokemon whose held items are to be retrieved.
+     * @param version  The name of the game version.
+     * @param typeRef  The {@link TypeReference} representing the target type for the list of held
+     *                 items.
+     * @return A {@link Mono} emitting a list of held items converted to the specified type.
+     */
+    <V> Mono<List<V>> getPokemonHeldItems(String nameOrId, String version,
+            TypeReference<List<V>> typeRef);
+
+    /**
+     * Retrieves the selected fields of a specific Pokemon.
+     * 
+     * <p>
+     * Only the selected fields are read from the catalog and converted into the target type; the
+     * others are absent from the result.
+     * </p>
+     * 
+     * @param <T>        The type to which the selected fields should be converted.
+     * @param nameOrId   The name or ID of the Pokemon to retrieve.
+     * @param fields     The fields to retrieve.
+     * @param targetType The {@link Class} object representing the target type.
+     * @return A {@link Mono} emitting the selected Pokemon fields converted to the target type.
+     */
+    <T> Mono<T> getPokemonDetails(String nameOrId, FieldSelection fields, Class<T> targetType);
+
+    /**
+     * Retrieves the selected fields of the abilities of a specific Pokemon.
+     * 
+     * @param <U>         The type to which each ability should be converted.
+     * @param nameOrId    The name or ID of the Pokemon whose abilities are to be retrieved.
+     * @param fields      The fields to retrieve in every ability.
+     * @param elementType The {@link Class} object representing the target type of every ability.
+     * @return A {@link Mono} emitting the list of abilities converted to the specified type.
+     */
+    <U> Mono<List<U>> getPokemonAbilities(String nameOrId, FieldSelection fields,
+            Class<U> elementType);
+
+    /**
+     * Retrieves the selected fields of the items held by a specific Pokemon.
+     * 
+     * @param <V>         The type to which each held item should be converted.
+     * @param nameOrId    The name or ID of the Pokemon whose held items are to be retrieved.
+     * @param version     The name of the game version to restrict the items to, or {@code null}
+     *                    for every version.
+     * @param fields      The fields to retrieve in every held item.
+     * @param elementType The {@link Class} object representing the target type of every item.
+     * @return A {@link Mono} emitting the list of held items converted to the specified type.
+     */
+    <V> Mono<List<V>> getPokemonHeldItems(String nameOrId, String version, FieldSelection fields,
+            Class<V> elementType);
+}
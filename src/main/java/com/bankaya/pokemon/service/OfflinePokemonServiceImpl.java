@@ -0,0 +1,191 @@
+package com.bankaya.pokemon.service;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import com.bankaya.pokemon.catalog.CatalogSnapshot;
+import com.bankaya.pokemon.catalog.FieldSelection;
+import com.bankaya.pokemon.catalog.HeldItemVersionIndex;
+import com.bankaya.pokemon.catalog.PokemonCatalogStore;
+import com.bankaya.pokemon.catalog.PokemonRecordConverter;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service implementation serving Pokemon data exclusively from the local catalog.
+ *
+ * <p>This implementation never calls the PokeAPI. Every lookup is resolved against the
+ * {@link PokemonCatalogStore}, which is populated by importing a local copy of the PokeAPI data
+ * dump. Lookups are in-memory hash probes, so the returned {@link Mono} completes immediately on
+ * the caller thread.</p>
+ *
+ * <p>Since the imported catalog does not change between imports, reads are served from the
+ * columnar {@link CatalogSnapshot} of the store, and each operation only materializes the part
+ * of the record it returns; with a field selection, only the selected lists are materialized.
+ * Records stored after the latest snapshot was built (by a re-import, until the coalesced rebuild
+ * runs) are read from the store itself.</p>
+ *
+ * <p>Pokemon that are not part of the catalog result in an empty {@link Mono}.</p>
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ *   <li>{@code @Profile("offline")}: Replaces {@link PokemonServiceImpl} when the
+ *   {@code offline} profile is active.</li>
+ *   <li>{@code @Service}: Marks this class as a Spring service component.</li>
+ *   <li>{@code @Slf4j}: Enables logging capabilities using SLF4J.</li>
+ * </ul>
+ *
+ * @see IPokemonService
+ * @see com.bankaya.pokemon.catalog.PokeApiDumpImporter
+ */
+@Profile("offline")
+@RequiredArgsConstructor
+@Service
+@Slf4j
+public class OfflinePokemonServiceImpl implements IPokemonService {
+
+    /**
+     * Local catalog holding the imported Pokemon records.
+     */
+    private final PokemonCatalogStore catalogStore;
+
+    /**
+     * Converter from catalog records to the requested target types.
+     */
+    private final PokemonRecordConverter recordConverter;
+
+    /**
+     * Held items of the cataloged Pokemon partitioned by game version.
+     */
+    private final HeldItemVersionIndex heldItemIndex;
+
+    /**
+     * Looks up a Pokemon in the catalog snapshot and materializes part of its row. A Pokemon
+     * missing from the snapshot is read from the store, in case it was stored after the snapshot
+     * was built.
+     *
+     * @param nameOrId    The name or ID of the Pokemon to look up.
+     * @param materialize Function materializing the requested part of the row.
+     * @param extract     Function extracting the same part from a record of the store.
+     * @param <R>         The type of the materialized value.
+     * @return A {@link Mono} emitting the materialized value, or empty if the Pokemon is not in
+     *         the catalog.
+     */
+    private <R> Mono<R> findPokemon(String nameOrId,
+            BiFunction<CatalogSnapshot, Integer, R> materialize,
+            Function<PokemonDto, R> extract) {
+        return Mono.justOrEmpty(catalogStore.resolveId(nameOrId)).flatMap(id -> {
+            CatalogSnapshot snapshot = catalogStore.snapshot();
+            int row = snapshot.rowOf(id);
+            log.debug("Pokemon id: {}, catalog row: {}",
+                    id,
+                    row);
+            return row < 0 ? Mono.justOrEmpty(catalogStore.find(id).map(extract))
+                    : Mono.justOrEmpty(materialize.apply(snapshot,
+                            row));
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> Mono<T> getPokemonDetails(String nameOrId, Class<T> targetType) {
+        return findPokemon(nameOrId,
+                CatalogSnapshot::materialize,
+                Function.identity()).map(pokemon -> recordConverter.convert(pokemon,
+                        targetType));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <U> Mono<List<U>> getPokemonAbilities(String nameOrId, TypeReference<List<U>> typeRef) {
+        return findPokemon(nameOrId,
+                CatalogSnapshot::materializeAbilities,
+                PokemonDto::getAbilities)
+                .map(abilities -> recordConverter.convert(abilities,
+                        typeRef));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <V> Mono<List<V>> getPokemonHeldItems(String nameOrId, TypeReference<List<V>> typeRef) {
+        return findPokemon(nameOrId,
+                CatalogSnapshot::materializeHeldItems,
+                PokemonDto::getHeldItems)
+                .map(heldItems -> recordConverter.convert(heldItems,
+                        typeRef));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <V> Mono<List<V>> getPokemonHeldItems(String nameOrId, String version,
+            TypeReference<List<V>> typeRef) {
+        return Mono.justOrEmpty(catalogStore.resolveId(nameOrId))
+                .map(id -> recordConverter.convert(heldItemIndex.heldItems(version,
+                        id),
+                        typeRef));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Materializes the abilities and held items of the row only when they are selected.
+     */
+    @Override
+    public <T> Mono<T> getPokemonDetails(String nameOrId, FieldSelection fields,
+            Class<T> targetType) {
+        return findPokemon(nameOrId,
+                (snapshot, row) -> snapshot.materialize(row,
+                        fields),
+                Function.identity()).map(pokemon -> recordConverter.project(pokemon,
+                                fields,
+                                targetType));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <U> Mono<List<U>> getPokemonAbilities(String nameOrId, FieldSelection fields,
+            Class<U> elementType) {
+        return findPokemon(nameOrId,
+                CatalogSnapshot::materializeAbilities,
+                PokemonDto::getAbilities)
+                .map(abilities -> recordConverter.projectAll(abilities,
+                        fields,
+                        elementType));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <V> Mono<List<V>> getPokemonHeldItems(String nameOrId, String version,
+            FieldSelection fields, Class<V> elementType) {
+        if (version != null) {
+            return Mono.justOrEmpty(catalogStore.resolveId(nameOrId))
+                    .map(id -> recordConverter.projectAll(heldItemIndex.heldItems(version,
+                            id),
+                            fields,
+                            elementType));
+        }
+        return findPokemon(nameOrId,
+                CatalogSnapshot::materializeHeldItems,
+                PokemonDto::getHeldItems)
+                .map(heldItems -> recordConverter.projectAll(heldItems,
+                        fields,
+                        elementType));
+    }
+}
@@ -0,0 +1,336 @@
+package com.bankaya.pokemon.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import com.bankaya.pokemon.catalog.BkTree.Match;
+import com.bankaya.pokemon.catalog.CatalogSnapshot;
+import com.bankaya.pokemon.catalog.CatalogSnapshot.NumericColumn;
+import com.bankaya.pokemon.catalog.ColumnStats;
+import com.bankaya.pokemon.catalog.FuzzyNameIndex;
+import com.bankaya.pokemon.catalog.HeldItemVersionIndex;
+import com.bankaya.pokemon.catalog.IColumnScanner;
+import com.bankaya.pokemon.catalog.NameAutocompleteIndex;
+import com.bankaya.pokemon.catalog.PokemonCatalogStore;
+import com.bankaya.pokemon.catalog.ResourceBitmapIndex;
+import com.bankaya.pokemon.catalog.ResourceBitmapIndex.Dimension;
+import com.bankaya.pokemon.dto.CatalogAnalyticsDto;
+import com.bankaya.pokemon.dto.HeldItemRarityDto;
+import com.bankaya.pokemon.dto.HistogramBucketDto;
+import com.bankaya.pokemon.dto.NamedApiResourceDto;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.dto.PokemonSearchResultDto;
+import com.bankaya.pokemon.dto.RankedPokemonDto;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service implementation answering catalog-wide queries from the in-memory indexes.
+ *
+ * <p>Searches are resolved against the {@link ResourceBitmapIndex}, so they complete on the
+ * caller thread in microseconds regardless of the catalog size, and held item queries against
+ * the version partitions of the {@link HeldItemVersionIndex}. The matching ids are turned into
+ * named resources using the names kept by the {@link PokemonCatalogStore}. Name completion is
+ * served by the {@link NameAutocompleteIndex} and name suggestions by the {@link FuzzyNameIndex},
+ * which also cover Pokemon not cataloged yet. Analytics scan the numeric columns of the
+ * {@link CatalogSnapshot} with the configured {@link IColumnScanner}.</p>
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ *   <li>{@code @Service}: Marks this class as a Spring service component.</li>
+ *   <li>{@code @Slf4j}: Enables logging capabilities using SLF4J.</li>
+ * </ul>
+ *
+ * @see IPokemonCatalogService
+ */
+@Service
+@Slf4j
+public class PokemonCatalogServiceImpl implements IPokemonCatalogService {
+
+    /** Maximum number of histogram buckets of an analytics query. */
+    static final int MAX_BUCKETS = 1000;
+
+    /**
+     * Local catalog, used to resolve the names of the matching Pokemon.
+     */
+    private final PokemonCatalogStore catalogStore;
+
+    /**
+     * Reverse indexes of the catalog.
+     */
+    private final ResourceBitmapIndex resourceIndex;
+
+    /**
+     * Held items of the catalog partitioned by game version.
+     */
+    private final HeldItemVersionIndex heldItemIndex;
+
+    /**
+     * Prefix index over every known Pokemon name.
+     */
+    private final NameAutocompleteIndex autocompleteIndex;
+
+    /**
+     * Typo-tolerant index over every known Pokemon name.
+     */
+    private final FuzzyNameIndex fuzzyNameIndex;
+
+    /**
+     * Scanner of the catalog columns.
+     */
+    private final IColumnScanner columnScanner;
+
+    /**
+     * Base URI of the PokeAPI, used to build the URLs of the results.
+     */
+    private final String baseUri;
+
+    /**
+     * Creates the service.
+     *
+     * @param catalogStore  The local catalog.
+     * @param resourceIndex The reverse indexes of the catalog.
+     * @param heldItemIndex The held items of the catalog per game version.
+     * @param autocompleteIndex The prefix index over the Pokemon names.
+     * @param fuzzyNameIndex The typo-tolerant index over the Pokemon names.
+     * @param columnScanner The scanner of the catalog columns.
+     * @param baseUri       The base URI of the PokeAPI.
+     */
+    public PokemonCatalogServiceImpl(PokemonCatalogStore catalogStore,
+            ResourceBitmapIndex resourceIndex, HeldItemVersionIndex heldItemIndex,
+            NameAutocompleteIndex autocompleteIndex, FuzzyNameIndex fuzzyNameIndex,
+            IColumnScanner columnScanner,
+            @Value("${skaro.pokeapi.base-uri:https://pokeapi.co/api/v2/}") String baseUri) {
+        this.catalogStore = catalogStore;
+        this.resourceIndex = resourceIndex;
+        this.heldItemIndex = heldItemIndex;
+        this.autocompleteIndex = autocompleteIndex;
+        this.fuzzyNameIndex = fuzzyNameIndex;
+        this.columnScanner = columnScanner;
+        this.baseUri = baseUri.endsWith("/") ? baseUri : baseUri + "/";
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<PokemonSearchResultDto> searchPokemon(List<String> abilities, List<String> items,
+            List<String> versions, boolean matchAll) {
+        return Mono.fromSupplier(() -> {
+            Map<Dimension, List<String>> terms = new EnumMap<>(Dimension.class);
+            addTerms(terms,
+                    Dimension.ABILITY,
+                    abilities);
+            addTerms(terms,
+                    Dimension.ITEM,
+                    items);
+            addTerms(terms,
+                    Dimension.VERSION,
+                    versions);
+            RoaringBitmap matches = resourceIndex.query(terms,
+                    matchAll);
+            log.debug("Catalog search {} (match all: {}) found {} Pokemon",
+                    terms,
+                    matchAll,
+                    matches.getCardinality());
+            return toResult(matches);
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<List<HeldItemRarityDto>> findHeldItemsByRarity(String version, int minRarity,
+            int limit) {
+        return Mono.fromSupplier(() -> heldItemIndex.topByRarity(version,
+                minRarity,
+                limit).stream().map(entry -> HeldItemRarityDto.builder()
+                        .pokemon(pokemonResource(entry.getPokemonId())).item(entry.getItem())
+                        .version(entry.getVersion()).rarity(entry.getRarity()).build())
+                .toList());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<List<String>> autocomplete(String prefix, int limit) {
+        return Mono.just(autocompleteIndex.complete(prefix,
+                limit));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<List<String>> suggestNames(String name, int limit) {
+        return Mono.fromSupplier(() -> fuzzyNameIndex.suggest(name,
+                limit).stream().map(Match::getName).toList());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Without bounds, the histogram spans the values found. Queries that would need more than
+     * {@link #MAX_BUCKETS} buckets are rejected.</p>
+     */
+    @Override
+    public Mono<CatalogAnalyticsDto> analyze(NumericColumn attribute, Integer min, Integer max,
+            Integer bucketWidth, int top) {
+        return Mono.fromSupplier(() -> {
+            CatalogSnapshot snapshot = catalogStore.snapshot();
+            int[] column = snapshot.column(attribute);
+            int low = min == null ? IColumnScanner.MIN_VALUE : min;
+            int high = max == null ? Integer.MAX_VALUE : max;
+            ColumnStats stats = columnScanner.aggregate(column,
+                    low,
+                    high);
+            CatalogAnalyticsDto result = CatalogAnalyticsDto.builder()
+                    .attribute(attribute.name().toLowerCase(Locale.ROOT))
+                    .count(stats.getCount())
+                    .sum(stats.getSum())
+                    .min(stats.getCount() == 0 ? null : stats.getMin())
+                    .max(stats.getCount() == 0 ? null : stats.getMax())
+                    .average(stats.average())
+                    .scanner(columnScanner.name()).build();
+            if (bucketWidth != null) {
+                result.setHistogram(histogram(column,
+                        min != null ? min : stats.getMin(),
+                        max != null ? max : stats.getMax(),
+                        bucketWidth));
+            }
+            if (top > 0) {
+                result.setTop(ranking(snapshot,
+                        column,
+                        columnScanner.topK(column,
+                                low,
+                                high,
+                                top)));
+            }
+            log.debug("Catalog analytics of {} scanned {} rows with the {} scanner",
+                    attribute,
+                    column.length,
+                    columnScanner.name());
+            return result;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Only the ids are collected up front; every record is read from the storage (and decoded,
+     * when it is kept off-heap) as the subscriber requests it, so a slow consumer never holds the
+     * whole catalog in memory.</p>
+     */
+    @Override
+    public Flux<PokemonDto> streamCatalog() {
+        return Flux.defer(() -> Flux.fromStream(Arrays.stream(catalogStore.ids()).boxed()))
+                .mapNotNull(id -> catalogStore.find(id.intValue()).orElse(null));
+    }
+
+    /**
+     * Builds the histogram of a column.
+     *
+     * @param column      The column.
+     * @param min         The start of the first bucket.
+     * @param max         The inclusive upper bound.
+     * @param bucketWidth The width of every bucket.
+     * @return The buckets; empty when {@code max} is below {@code min}.
+     */
+    private List<HistogramBucketDto> histogram(int[] column, int min, int max, int bucketWidth) {
+        int low = Math.max(min,
+                IColumnScanner.MIN_VALUE);
+        if (IColumnScanner.bucketCount(low,
+                max,
+                bucketWidth) > MAX_BUCKETS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "The histogram would have more than " + MAX_BUCKETS + " buckets");
+        }
+        int[] counts = columnScanner.histogram(column,
+                low,
+                max,
+                bucketWidth);
+        List<HistogramBucketDto> buckets = new ArrayList<>(counts.length);
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            long from = (long) low + (long) bucket * bucketWidth;
+            buckets.add(HistogramBucketDto.builder().from((int) from)
+                    .to((int) Math.min(from + bucketWidth - 1,
+                            max))
+                    .count(counts[bucket]).build());
+        }
+        return buckets;
+    }
+
+    /**
+     * Builds the ranking of the rows with the highest values.
+     *
+     * @param snapshot The snapshot scanned.
+     * @param column   The column.
+     * @param rows     The rows, highest value first.
+     * @return The ranked Pokemon.
+     */
+    private List<RankedPokemonDto> ranking(CatalogSnapshot snapshot, int[] column, int[] rows) {
+        List<RankedPokemonDto> ranking = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            ranking.add(RankedPokemonDto.builder()
+                    .pokemon(new NamedApiResourceDto<>(snapshot.name(row),
+                            baseUri + "pokemon/" + snapshot.id(row) + "/"))
+                    .value(column[row]).build());
+        }
+        return ranking;
+    }
+
+    /**
+     * Adds the non-empty terms of a dimension to a query.
+     *
+     * @param terms     The query terms.
+     * @param dimension The dimension.
+     * @param names     The requested resource names, may be {@code null}.
+     */
+    private static void addTerms(Map<Dimension, List<String>> terms, Dimension dimension,
+            List<String> names) {
+        if (names != null && !names.isEmpty()) {
+            terms.put(dimension,
+                    names);
+        }
+    }
+
+    /**
+     * Builds the search result of a set of Pokemon ids.
+     *
+     * @param matches The ids of the matching Pokemon.
+     * @return The result, skipping Pokemon evicted since the query.
+     */
+    private PokemonSearchResultDto toResult(RoaringBitmap matches) {
+        List<NamedApiResourceDto<PokemonDto>> results = new ArrayList<>(
+                matches.getCardinality());
+        matches.forEach((int id) -> {
+            NamedApiResourceDto<PokemonDto> pokemon = pokemonResource(id);
+            if (pokemon.getName() != null) {
+                results.add(pokemon);
+            }
+        });
+        return PokemonSearchResultDto.builder().count(results.size()).results(results).build();
+    }
+
+    /**
+     * Builds the named resource of a cataloged Pokemon.
+     *
+     * @param id The Pokemon id.
+     * @return The resource; its name is {@code null} if the Pokemon was evicted.
+     */
+    private NamedApiResourceDto<PokemonDto> pokemonResource(int id) {
+        return new NamedApiResourceDto<>(catalogStore.nameOf(id),
+                baseUri + "pokemon/" + id + "/");
+    }
+}
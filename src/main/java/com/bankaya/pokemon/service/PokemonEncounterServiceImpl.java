@@ -0,0 +1,286 @@
+package com.bankaya.pokemon.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import com.bankaya.pokemon.config.EncounterProperties;
+import com.bankaya.pokemon.dto.LocationAreaEncounterDto;
+import com.bankaya.pokemon.dto.NamedApiResourceDto;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBufAllocator;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * Service implementation resolving encounters from the PokeAPI.
+ *
+ * <p>The encounter list of a Pokemon is a JSON array that can be large for common Pokemon. Its
+ * body is decoded incrementally with a non-blocking Jackson tokenizer, so every encounter is
+ * emitted as soon as its bytes have arrived, and its location area is resolved while the rest of
+ * the list is still being read (at most {@link EncounterProperties#getConcurrency()} at a time,
+ * preserving the order of the list).</p>
+ *
+ * <p><strong>Caching:</strong></p>
+ * <ul>
+ *   <li>The resolved encounters of a Pokemon are replayed for
+ *   {@link EncounterProperties#getCacheTtl()}; concurrent requests for the same Pokemon share a
+ *   single upstream call, even while it is still streaming.</li>
+ *   <li>Location areas are shared by many Pokemon. Each one is fetched once and reused for
+ *   {@link EncounterProperties#getLocationAreaCacheTtl()}, whichever Pokemon requested it.</li>
+ *   <li>Failures are not cached: the next request fetches again.</li>
+ * </ul>
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ *   <li>{@code @Service}: Marks this class as a Spring service component.</li>
+ *   <li>{@code @Slf4j}: Enables logging capabilities using SLF4J.</li>
+ * </ul>
+ *
+ * @see IPokemonEncounterService
+ */
+@Service
+@Slf4j
+public class PokemonEncounterServiceImpl implements IPokemonEncounterService {
+
+    /** Language of the location area names. */
+    private static final String LANGUAGE = "en";
+
+    /** Element type decoded from the encounter list. */
+    private static final ResolvableType ENCOUNTER_TYPE = ResolvableType.forClass(
+            LocationAreaEncounterDto.class);
+
+    /**
+     * HTTP client used to fetch the encounter lists and location areas.
+     */
+    private final HttpClient httpClient;
+
+    /**
+     * Jackson ObjectMapper used to read the location areas.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Encounter configuration.
+     */
+    private final EncounterProperties properties;
+
+    /**
+     * Streaming decoder of the encounter lists.
+     */
+    private final Jackson2JsonDecoder decoder;
+
+    /**
+     * Factory wrapping the Netty buffers of the responses for the decoder.
+     */
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(
+            ByteBufAllocator.DEFAULT);
+
+    /**
+     * Resolved encounters, indexed by Pokemon id.
+     */
+    private final Map<Integer, CachedEncounters> encounters = new ConcurrentHashMap<>();
+
+    /**
+     * Resolved location areas, indexed by URL.
+     */
+    private final Map<String, Mono<LocationArea>> locationAreas = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the service.
+     *
+     * @param httpClient   The HTTP client used to call the PokeAPI.
+     * @param objectMapper The object mapper used to decode the responses.
+     * @param properties   The encounter configuration.
+     */
+    public PokemonEncounterServiceImpl(HttpClient httpClient, ObjectMapper objectMapper,
+            EncounterProperties properties) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.decoder = new Jackson2JsonDecoder(objectMapper);
+    }
+
+    /**
+     * Resolves the location-area encounters of a Pokemon, from the cache when possible.
+     *
+     * @param pokemon The Pokemon whose encounters are resolved.
+     * @return A {@link Flux} emitting the resolved encounters.
+     */
+    @Override
+    public Flux<LocationAreaEncounterDto> getEncounters(PokemonDto pokemon) {
+        String uri = pokemon.getLocationAreaEncounters();
+        if (uri == null || uri.isBlank()) {
+            return Flux.empty();
+        }
+        long now = System.nanoTime();
+        return encounters.compute(pokemon.getId(),
+                (id, cached) -> cached != null && cached.isValid(now) ? cached
+                        : fetchEncounters(id,
+                                uri,
+                                now + properties.getCacheTtl().toNanos()))
+                .getEncounters();
+    }
+
+    /**
+     * Returns the number of cached location areas.
+     *
+     * @return The number of location areas resolved or being resolved.
+     */
+    public int locationAreaCacheSize() {
+        return locationAreas.size();
+    }
+
+    /**
+     * Fetches, decodes and resolves the encounter list of a Pokemon.
+     *
+     * @param id        The Pokemon id.
+     * @param uri       The URL of the encounter list.
+     * @param expiresAt The {@link System#nanoTime()} at which the entry expires.
+     * @return The cache entry, replaying the resolved encounters to every subscriber. A failed
+     *         fetch removes its own entry, and only that one.
+     */
+    private CachedEncounters fetchEncounters(int id, String uri, long expiresAt) {
+        AtomicReference<CachedEncounters> self = new AtomicReference<>();
+        Flux<DataBuffer> body = httpClient.get().uri(uri).response((response, content) -> {
+            int status = response.status().code();
+            return status == 200 ? content.retain().<DataBuffer>map(bufferFactory::wrap)
+                    : Flux.<DataBuffer>error(new ResponseStatusException(HttpStatusCode.valueOf(
+                            status),
+                            "Unable to fetch the encounters of Pokemon " + id));
+        });
+        Flux<LocationAreaEncounterDto> resolved = decoder.decode(body,
+                ENCOUNTER_TYPE,
+                MediaType.APPLICATION_JSON,
+                null)
+                .cast(LocationAreaEncounterDto.class)
+                .flatMapSequential(this::resolveLocationArea,
+                        Math.max(properties.getConcurrency(),
+                                1))
+                .onErrorResume(error -> {
+                    encounters.remove(id,
+                            self.get());
+                    return Flux.error(error);
+                })
+                .cache();
+        CachedEncounters cached = new CachedEncounters(resolved, expiresAt);
+        self.set(cached);
+        return cached;
+    }
+
+    /**
+     * Completes an encounter with its location and the English name of its location area.
+     *
+     * @param encounter The decoded encounter.
+     * @return A {@link Mono} emitting the encounter; unchanged if the area cannot be resolved.
+     */
+    private Mono<LocationAreaEncounterDto> resolveLocationArea(LocationAreaEncounterDto encounter) {
+        NamedApiResourceDto<?> area = encounter.getLocationArea();
+        if (area == null || area.getUrl() == null) {
+            return Mono.just(encounter);
+        }
+        return locationAreas.computeIfAbsent(area.getUrl(),
+                url -> Mono.defer(() -> fetchLocationArea(url))
+                        .cache(value -> properties.getLocationAreaCacheTtl(),
+                                error -> Duration.ZERO,
+                                () -> Duration.ZERO))
+                .map(resolved -> {
+                    encounter.setLocation(resolved.getLocation());
+                    encounter.setName(resolved.getName() != null ? resolved.getName()
+                            : area.getName());
+                    return encounter;
+                })
+                .onErrorResume(error -> {
+                    log.warn("Unable to resolve location area {}: {}",
+                            area.getName(),
+                            error.getMessage());
+                    return Mono.just(encounter);
+                });
+    }
+
+    /**
+     * Fetches a location area.
+     *
+     * @param url The URL of the location area.
+     * @return A {@link Mono} emitting its location and English name.
+     */
+    private Mono<LocationArea> fetchLocationArea(String url) {
+        return httpClient.get().uri(url).responseSingle((response, body) -> {
+            int status = response.status().code();
+            return status == 200 ? body.asByteArray()
+                    : Mono.<byte[]>error(new ResponseStatusException(HttpStatusCode.valueOf(
+                            status),
+                            "Unable to fetch " + url));
+        }).flatMap(bytes -> Mono.fromCallable(() -> locationArea(objectMapper.readTree(bytes))));
+    }
+
+    /**
+     * Reads the location and the English name of a location area.
+     *
+     * @param area The {@code location-area} resource, in its PokeAPI JSON form.
+     * @return The resolved location area.
+     */
+    private static LocationArea locationArea(JsonNode area) {
+        String name = null;
+        for (JsonNode entry : area.path("names")) {
+            if (LANGUAGE.equals(entry.path("language").path("name").asText())) {
+                name = entry.path("name").asText(null);
+                break;
+            }
+        }
+        JsonNode location = area.path("location");
+        return new LocationArea(location.isObject() ? new NamedApiResourceDto<>(location.path(
+                "name").asText(null),
+                location.path("url").asText(null)) : null, name);
+    }
+
+    /**
+     * Resolved attributes of a location area.
+     */
+    @Value
+    private static class LocationArea {
+
+        /** The location containing the area. */
+        NamedApiResourceDto<?> location;
+
+        /** The English name of the area. */
+        String name;
+
+    }
+
+    /**
+     * Cached encounters of a Pokemon.
+     */
+    @Value
+    private static class CachedEncounters {
+
+        /** The encounters, replayed to every subscriber. */
+        Flux<LocationAreaEncounterDto> encounters;
+
+        /** The {@link System#nanoTime()} at which the entry expires. */
+        long expiresAt;
+
+        /**
+         * Checks whether the entry is still valid.
+         *
+         * @param now The current {@link System#nanoTime()}.
+         * @return {@code true} if the entry has not expired.
+         */
+        boolean isValid(long now) {
+            return expiresAt - now > 0;
+        }
+    }
+}
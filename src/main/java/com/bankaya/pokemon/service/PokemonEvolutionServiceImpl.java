@@ -0,0 +1,301 @@
+package com.bankaya.pokemon.service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import com.bankaya.pokemon.catalog.PokemonNameRegistry;
+import com.bankaya.pokemon.config.ExpandProperties;
+import com.bankaya.pokemon.dto.EvolutionChainDto;
+import com.bankaya.pokemon.dto.EvolutionStageDto;
+import com.bankaya.pokemon.dto.NamedApiResourceDto;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import skaro.pokeapi.client.PokeApiClient;
+import skaro.pokeapi.resource.evolutionchain.EvolutionChain;
+import skaro.pokeapi.resource.pokemon.Pokemon;
+import skaro.pokeapi.resource.pokemonspecies.PokemonSpecies;
+
+/**
+ * Service implementation resolving evolution chains through the PokeAPI.
+ *
+ * <p>The chain of a Pokemon is found through its species with {@link PokeApiClient}, then
+ * flattened into an immutable graph: one stage per species in breadth-first order, each with the
+ * species it evolves from and its first evolution condition. The graph is cached by chain id and
+ * every member of the chain is mapped to that id, so a request for any member after the first
+ * one skips the species lookup and shares the same entry.</p>
+ *
+ * <p>The default Pokemon of every species (the one with the species id) is fetched through
+ * {@link IPokemonService} in parallel, at most {@link ExpandProperties#getConcurrency()} at a
+ * time, which stores it in the catalog; later requests for the chain are then answered from
+ * memory.</p>
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ *   <li>{@code @Service}: Marks this class as a Spring service component.</li>
+ *   <li>{@code @Slf4j}: Enables logging capabilities using SLF4J.</li>
+ *   <li>{@code @RequiredArgsConstructor}: Generates a constructor with required arguments (final fields).</li>
+ * </ul>
+ *
+ * @see IPokemonEvolutionService
+ */
+@RequiredArgsConstructor
+@Service
+@Slf4j
+public class PokemonEvolutionServiceImpl implements IPokemonEvolutionService {
+
+    /**
+     * Client for fetching resources from the PokeAPI.
+     */
+    private final PokeApiClient pokeApiClient;
+
+    /**
+     * Jackson ObjectMapper used to read the PokeAPI resources.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Service fetching the members of the chains.
+     */
+    private final IPokemonService pokemonService;
+
+    /**
+     * Expansion configuration.
+     */
+    private final ExpandProperties properties;
+
+    /**
+     * Chain graphs, indexed by chain id.
+     */
+    private final Map<Integer, Mono<ChainGraph>> chains = new ConcurrentHashMap<>();
+
+    /**
+     * Chain ids, indexed by Pokemon id.
+     */
+    private final Map<Integer, Integer> chainIds = new ConcurrentHashMap<>();
+
+    /**
+     * Resolves the evolution chain of a Pokemon with the details of every member.
+     *
+     * @param pokemon The Pokemon whose chain is resolved.
+     * @return A {@link Mono} emitting the evolution chain.
+     */
+    @Override
+    public Mono<EvolutionChainDto> getEvolutionChain(PokemonDto pokemon) {
+        return chainIdOf(pokemon).flatMap(this::chain)
+                .doOnNext(graph -> chainIds.put(pokemon.getId(),
+                        graph.getId()))
+                .flatMap(this::withMembers);
+    }
+
+    /**
+     * Returns the number of cached chains.
+     *
+     * @return The number of chains resolved or being resolved.
+     */
+    public int chainCacheSize() {
+        return chains.size();
+    }
+
+    /**
+     * Finds the evolution chain id of a Pokemon, through its species if it is not known yet.
+     * <p>
+     * The species of a default Pokemon has its name, so the species is fetched by the name of the
+     * Pokemon. Only when there is no such species, as for the alternate forms (such as
+     * {@code deoxys-attack}), is the Pokemon resource fetched to read the name of its species.
+     * </p>
+     *
+     * @param pokemon The Pokemon.
+     * @return A {@link Mono} emitting the chain id.
+     */
+    private Mono<Integer> chainIdOf(PokemonDto pokemon) {
+        Integer known = chainIds.get(pokemon.getId());
+        if (known != null) {
+            return Mono.just(known);
+        }
+        String name = pokemon.getName() == null ? String.valueOf(pokemon.getId())
+                : pokemon.getName();
+        return pokeApiClient.getResource(PokemonSpecies.class,
+                name)
+                .onErrorResume(PokemonEvolutionServiceImpl::isNotFound,
+                        error -> pokeApiClient.getResource(Pokemon.class,
+                                name)
+                                .map(resource -> objectMapper.<JsonNode>valueToTree(resource)
+                                        .path("species").path("name").asText(null))
+                                .flatMap(species -> pokeApiClient.getResource(
+                                        PokemonSpecies.class,
+                                        species)))
+                .flatMap(species -> Mono.justOrEmpty(PokemonNameRegistry.idFromUrl(objectMapper
+                        .<JsonNode>valueToTree(species).path("evolution_chain").path("url")
+                        .asText(null))))
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "No evolution chain for Pokemon " + pokemon.getId())));
+    }
+
+    /**
+     * Tells whether an error of the {@link PokeApiClient} means that the resource does not exist.
+     *
+     * @param error The error.
+     * @return {@code true} for a {@code 404 Not Found}.
+     */
+    private static boolean isNotFound(Throwable error) {
+        return error instanceof WebClientResponseException response && response.getStatusCode()
+                .value() == 404;
+    }
+
+    /**
+     * Returns the graph of a chain, from the cache when possible.
+     *
+     * @param chainId The chain id.
+     * @return A {@link Mono} emitting the graph.
+     */
+    private Mono<ChainGraph> chain(int chainId) {
+        return chains.computeIfAbsent(chainId,
+                key -> Mono.defer(() -> pokeApiClient.getResource(EvolutionChain.class,
+                        String.valueOf(key)))
+                        .map(resource -> graph(objectMapper.valueToTree(resource)))
+                        .doOnNext(graph -> graph.getMemberIds().stream()
+                                .filter(Objects::nonNull)
+                                .forEach(member -> chainIds.put(member,
+                                        graph.getId())))
+                        .cache(value -> properties.getCacheTtl(),
+                                error -> Duration.ZERO,
+                                () -> Duration.ZERO));
+    }
+
+    /**
+     * Fetches the default Pokemon of every stage of a chain in parallel.
+     *
+     * @param graph The chain graph.
+     * @return A {@link Mono} emitting the chain with the details of its members.
+     */
+    private Mono<EvolutionChainDto> withMembers(ChainGraph graph) {
+        List<EvolutionStageDto> stages = graph.getStages();
+        return Flux.range(0,
+                stages.size())
+                .flatMapSequential(index -> member(stages.get(index),
+                        graph.getMemberIds().get(index)),
+                        Math.max(properties.getConcurrency(),
+                                1))
+                .collectList()
+                .map(members -> EvolutionChainDto.builder().id(graph.getId()).stages(members)
+                        .build());
+    }
+
+    /**
+     * Creates a stage of a response with the details of its default Pokemon.
+     *
+     * @param stage    The stage of the cached graph, never modified.
+     * @param memberId The id of the default Pokemon, or {@code null} if unknown.
+     * @return A {@link Mono} emitting the new stage.
+     */
+    private Mono<EvolutionStageDto> member(EvolutionStageDto stage, Integer memberId) {
+        Mono<PokemonDto> pokemon = memberId == null ? Mono.empty()
+                : pokemonService.getPokemonDetails(String.valueOf(memberId),
+                        PokemonDto.class)
+                        .onErrorResume(error -> {
+                            log.warn("Unable to fetch evolution chain member {}: {}",
+                                    memberId,
+                                    error.getMessage());
+                            return Mono.empty();
+                        });
+        return pokemon.map(details -> copy(stage,
+                details))
+                .defaultIfEmpty(copy(stage,
+                        null));
+    }
+
+    /**
+     * Flattens an evolution chain into stages.
+     *
+     * @param chain The {@code evolution-chain} resource, in its PokeAPI JSON form.
+     * @return The chain graph, in breadth-first order from the base species.
+     */
+    static ChainGraph graph(JsonNode chain) {
+        List<EvolutionStageDto> stages = new ArrayList<>();
+        List<Integer> memberIds = new ArrayList<>();
+        Deque<JsonNode> links = new ArrayDeque<>();
+        Deque<EvolutionStageDto> parents = new ArrayDeque<>();
+        links.add(chain.path("chain"));
+        parents.add(new EvolutionStageDto());
+        while (!links.isEmpty()) {
+            JsonNode link = links.poll();
+            EvolutionStageDto parent = parents.poll();
+            JsonNode details = link.path("evolution_details").path(0);
+            NamedApiResourceDto<?> species = resource(link.path("species"));
+            EvolutionStageDto stage = EvolutionStageDto.builder().species(species)
+                    .evolvesFrom(parent.getSpecies() == null ? null
+                            : parent.getSpecies().getName())
+                    .depth(parent.getDepth() == null ? 0 : parent.getDepth() + 1)
+                    .trigger(resource(details.path("trigger")))
+                    .minLevel(details.path("min_level").isNumber() ? details.path("min_level")
+                            .intValue() : null)
+                    .item(resource(details.path("item"))).build();
+            stages.add(stage);
+            memberIds.add(species == null ? null : PokemonNameRegistry.idFromUrl(species.getUrl()));
+            for (JsonNode next : link.path("evolves_to")) {
+                links.add(next);
+                parents.add(stage);
+            }
+        }
+        return new ChainGraph(chain.path("id").asInt(), List.copyOf(stages),
+                Collections.unmodifiableList(memberIds));
+    }
+
+    /**
+     * Copies a stage of the cached graph.
+     *
+     * @param stage   The stage.
+     * @param pokemon The default Pokemon of the species, or {@code null}.
+     * @return A new stage.
+     */
+    private static EvolutionStageDto copy(EvolutionStageDto stage, PokemonDto pokemon) {
+        return EvolutionStageDto.builder().species(stage.getSpecies())
+                .evolvesFrom(stage.getEvolvesFrom()).depth(stage.getDepth())
+                .trigger(stage.getTrigger()).minLevel(stage.getMinLevel()).item(stage.getItem())
+                .pokemon(pokemon).build();
+    }
+
+    /**
+     * Reads an optional named resource reference.
+     *
+     * @param node The node.
+     * @return The reference, or {@code null} if the node is not an object.
+     */
+    private static NamedApiResourceDto<?> resource(JsonNode node) {
+        return node.isObject() ? new NamedApiResourceDto<>(node.path("name").asText(null),
+                node.path("url").asText(null)) : null;
+    }
+
+    /**
+     * Immutable graph of an evolution chain.
+     */
+    @Value
+    static class ChainGraph {
+
+        /** The chain id. */
+        int id;
+
+        /** The stages, in breadth-first order; never modified. */
+        List<EvolutionStageDto> stages;
+
+        /** The id of the default Pokemon of every stage; {@code null} when unknown. */
+        List<Integer> memberIds;
+
+    }
+}
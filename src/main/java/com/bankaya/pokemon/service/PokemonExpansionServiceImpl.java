@@ -0,0 +1,277 @@
+package com.bankaya.pokemon.service;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Service;
+import com.bankaya.pokemon.config.ExpandProperties;
+import com.bankaya.pokemon.dto.AbilityDetailDto;
+import com.bankaya.pokemon.dto.ItemDetailDto;
+import com.bankaya.pokemon.dto.NamedApiResourceDto;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.dto.PokemonExpandedDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import skaro.pokeapi.client.PokeApiClient;
+import skaro.pokeapi.resource.ability.Ability;
+import skaro.pokeapi.resource.item.Item;
+
+/**
+ * Service implementation resolving the linked resources of a Pokemon through the PokeAPI.
+ *
+ * <p>The references of a Pokemon are deduplicated and fetched concurrently with
+ * {@link PokeApiClient}, at most {@link ExpandProperties#getConcurrency()} at a time, and the
+ * results are returned in the order of the references. Every resolved resource is shared through
+ * a cache of cached {@link Mono}s keyed by kind and name:</p>
+ * <ul>
+ *   <li>Concurrent requests for the same resource subscribe to a single upstream call.</li>
+ *   <li>A resolved resource is reused for {@link ExpandProperties#getCacheTtl()}; failures are not
+ *   cached, so the next request retries them.</li>
+ *   <li>The cache holds at most one entry per ability and item of the PokeAPI.</li>
+ * </ul>
+ *
+ * <p>Only the English effect texts are kept.</p>
+ *
+ * <p>Annotations:</p>
+ * <ul>
+ *   <li>{@code @Service}: Marks this class as a Spring service component.</li>
+ *   <li>{@code @Slf4j}: Enables logging capabilities using SLF4J.</li>
+ *   <li>{@code @RequiredArgsConstructor}: Generates a constructor with required arguments (final fields).</li>
+ * </ul>
+ *
+ * @see IPokemonExpansionService
+ */
+@RequiredArgsConstructor
+@Service
+@Slf4j
+public class PokemonExpansionServiceImpl implements IPokemonExpansionService {
+
+    /** Language of the effect texts. */
+    private static final String LANGUAGE = "en";
+
+    /**
+     * Client for fetching resources from the PokeAPI.
+     */
+    private final PokeApiClient pokeApiClient;
+
+    /**
+     * Jackson ObjectMapper used to read the PokeAPI resources.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Expansion configuration.
+     */
+    private final ExpandProperties properties;
+
+    /**
+     * Resolved resources, indexed by kind and lower-case name.
+     */
+    private final Map<Reference, Mono<Object>> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Resolves the linked resources of a Pokemon.
+     *
+     * <p>Distinct references are resolved concurrently, sharing the resource cache with every
+     * other request.</p>
+     *
+     * @param pokemon    The Pokemon whose references are resolved.
+     * @param expansions The kinds of references to resolve.
+     * @return A {@link Mono} emitting the Pokemon with the details of the requested resources.
+     */
+    @Override
+    public Mono<PokemonExpandedDto> expand(PokemonDto pokemon, Set<Expansion> expansions) {
+        Set<Reference> references = new LinkedHashSet<>();
+        if (expansions.contains(Expansion.ABILITIES) && pokemon.getAbilities() != null) {
+            pokemon.getAbilities().forEach(ability -> collect(references,
+                    Expansion.ABILITIES,
+                    ability.getAbility()));
+        }
+        if (expansions.contains(Expansion.ITEMS) && pokemon.getHeldItems() != null) {
+            pokemon.getHeldItems().forEach(heldItem -> collect(references,
+                    Expansion.ITEMS,
+                    heldItem.getItem()));
+        }
+        return Flux.fromIterable(references)
+                .flatMapSequential(this::resolve,
+                        Math.max(properties.getConcurrency(),
+                                1))
+                .collectList()
+                .map(details -> PokemonExpandedDto.builder().pokemon(pokemon)
+                        .abilityDetails(expansions.contains(Expansion.ABILITIES)
+                                ? select(details,
+                                        AbilityDetailDto.class)
+                                : null)
+                        .itemDetails(expansions.contains(Expansion.ITEMS)
+                                ? select(details,
+                                        ItemDetailDto.class)
+                                : null)
+                        .build());
+    }
+
+    /**
+     * Returns the number of cached resources.
+     *
+     * @return The number of resources resolved or being resolved.
+     */
+    public int cacheSize() {
+        return cache.size();
+    }
+
+    /**
+     * Resolves a referenced resource through the shared cache.
+     *
+     * @param reference The reference.
+     * @return A {@link Mono} emitting the resource details, or empty if it cannot be resolved.
+     */
+    private Mono<Object> resolve(Reference reference) {
+        return cache.computeIfAbsent(reference,
+                key -> Mono.defer(() -> load(key)).cache(value -> properties.getCacheTtl(),
+                        error -> Duration.ZERO,
+                        () -> Duration.ZERO))
+                .onErrorResume(error -> {
+                    log.warn("Unable to expand {} {}: {}",
+                            reference.getKind(),
+                            reference.getName(),
+                            error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Fetches a referenced resource from the PokeAPI.
+     *
+     * @param reference The reference.
+     * @return A {@link Mono} emitting an {@link AbilityDetailDto} or an {@link ItemDetailDto}.
+     */
+    private Mono<Object> load(Reference reference) {
+        String name = reference.getName();
+        if (reference.getKind() == Expansion.ABILITIES) {
+            return pokeApiClient.getResource(Ability.class,
+                    name).<Object>map(ability -> abilityDetail(objectMapper.valueToTree(ability),
+                            name));
+        }
+        return pokeApiClient.getResource(Item.class,
+                name).<Object>map(item -> itemDetail(objectMapper.valueToTree(item),
+                        name));
+    }
+
+    /**
+     * Reads the details of an ability.
+     *
+     * @param ability The {@code ability} resource, in its PokeAPI JSON form.
+     * @param name    The referenced name, used when the resource has none.
+     * @return The ability details.
+     */
+    static AbilityDetailDto abilityDetail(JsonNode ability, String name) {
+        JsonNode effect = englishEffect(ability);
+        return AbilityDetailDto.builder().id(intValue(ability.path("id")))
+                .name(ability.path("name").asText(name))
+                .effect(effect.path("effect").asText(null))
+                .shortEffect(effect.path("short_effect").asText(null))
+                .generation(resource(ability.path("generation"))).build();
+    }
+
+    /**
+     * Reads the details of an item.
+     *
+     * @param item The {@code item} resource, in its PokeAPI JSON form.
+     * @param name The referenced name, used when the resource has none.
+     * @return The item details.
+     */
+    static ItemDetailDto itemDetail(JsonNode item, String name) {
+        JsonNode effect = englishEffect(item);
+        return ItemDetailDto.builder().id(intValue(item.path("id")))
+                .name(item.path("name").asText(name))
+                .cost(intValue(item.path("cost")))
+                .category(resource(item.path("category")))
+                .effect(effect.path("effect").asText(null))
+                .shortEffect(effect.path("short_effect").asText(null)).build();
+    }
+
+    /**
+     * Finds the English entry of the {@code effect_entries} of a resource.
+     *
+     * @param resource The resource.
+     * @return The English entry, or a missing node if there is none.
+     */
+    private static JsonNode englishEffect(JsonNode resource) {
+        for (JsonNode entry : resource.path("effect_entries")) {
+            if (LANGUAGE.equals(entry.path("language").path("name").asText())) {
+                return entry;
+            }
+        }
+        return MissingNode.getInstance();
+    }
+
+    /**
+     * Reads an optional integer.
+     *
+     * @param node The node.
+     * @return The integer, or {@code null} if the node is not a number.
+     */
+    private static Integer intValue(JsonNode node) {
+        return node.isNumber() ? node.intValue() : null;
+    }
+
+    /**
+     * Reads an optional named resource reference.
+     *
+     * @param node The node.
+     * @return The reference, or {@code null} if the node is not an object.
+     */
+    private static NamedApiResourceDto<?> resource(JsonNode node) {
+        return node.isObject() ? new NamedApiResourceDto<>(node.path("name").asText(null),
+                node.path("url").asText(null)) : null;
+    }
+
+    /**
+     * Adds a resource reference to the references to resolve.
+     *
+     * @param references The collected references.
+     * @param kind       The kind of resource.
+     * @param resource   The reference, ignored when {@code null} or unnamed.
+     */
+    private static void collect(Set<Reference> references, Expansion kind,
+            NamedApiResourceDto<?> resource) {
+        if (resource != null && resource.getName() != null) {
+            references.add(new Reference(kind, resource.getName().toLowerCase(Locale.ROOT)));
+        }
+    }
+
+    /**
+     * Selects the resolved details of one kind.
+     *
+     * @param <T>     The details type.
+     * @param details The resolved details of every kind.
+     * @param type    The details type.
+     * @return The details of that type, in reference order.
+     */
+    private static <T> List<T> select(List<Object> details, Class<T> type) {
+        return details.stream().filter(type::isInstance).map(type::cast).toList();
+    }
+
+    /**
+     * A reference to a linked resource.
+     */
+    @Value
+    private static class Reference {
+
+        /** The kind of resource. */
+        Expansion kind;
+
+        /** The lower-case resource name. */
+        String name;
+
+    }
+}
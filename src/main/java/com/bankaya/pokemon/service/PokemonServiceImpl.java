@@ -1,14 +1,23 @@
 package com.bankaya.pokemon.service;
 
 import java.util.List;
+import java.util.stream.Collectors;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import com.bankaya.pokemon.catalog.BkTree.Match;
+import com.bankaya.pokemon.catalog.FieldSelection;
+import com.bankaya.pokemon.catalog.FuzzyNameIndex;
+import com.bankaya.pokemon.catalog.HeldItemVersionIndex;
+import com.bankaya.pokemon.catalog.PokemonCatalogStore;
+import com.bankaya.pokemon.catalog.PokemonRecordConverter;
+import com.bankaya.pokemon.config.CatalogProperties;
+import com.bankaya.pokemon.dto.PokemonDto;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Mono;
-import skaro.pokeapi.client.PokeApiClient;
-import skaro.pokeapi.resource.pokemon.Pokemon;
 
 /**
  * Service implementation for handling Pokemon-related operations.
@@ -17,14 +26,24 @@ import skaro.pokeapi.resource.pokemon.Pokemon;
  * abilities, and held items. It utilizes reactive programming paradigms
  * provided by Project Reactor to handle asynchronous data streams.</p>
  * 
+ * <p>The {@link PokemonCatalogStore} is used as a read-through cache tier: Pokemon already in the
+ * catalog are served from it, and Pokemon fetched from the PokeAPI are stored in it as compact
+ * records. Depending on the configured storage, those records live on heap or off heap.</p>
+ * 
  * <p>Dependencies:</p>
  * <ul>
- *   <li>{@link PokeApiClient}: Client for interacting with the PokeAPI.</li>
- *   <li>{@link ObjectMapper}: Jackson's object mapper for converting JSON data.</li>
+ *   <li>{@link RevalidatingPokemonClient}: Client fetching the Pokemon from the PokeAPI and
+ *   revalidating them once they expire.</li>
+ *   <li>{@link PokemonCatalogStore}: Cache tier holding the compact Pokemon records.</li>
+ *   <li>{@link PokemonRecordConverter}: Converter from records to the requested types.</li>
+ *   <li>{@link HeldItemVersionIndex}: Held items of the cataloged Pokemon per game version.</li>
+ *   <li>{@link FuzzyNameIndex}: Resolution of misspelled names before calling the PokeAPI.</li>
  * </ul>
  * 
  * <p>Annotations:</p>
  * <ul>
+ *   <li>{@code @Profile("!offline")}: Active unless the {@code offline} profile is selected, in
+ *   which case {@link OfflinePokemonServiceImpl} is used instead.</li>
  *   <li>{@code @Service}: Marks this class as a Spring service component.</li>
  *   <li>{@code @Slf4j}: Enables logging capabilities using SLF4J.</li>
  *   <li>{@code @RequiredArgsConstructor}: Generates a constructor with required arguments (final fields).</li>
@@ -32,37 +51,124 @@ import skaro.pokeapi.resource.pokemon.Pokemon;
  * 
  * @see IPokemonService
  */
+@Profile("!offline")
 @RequiredArgsConstructor
 @Service
 @Slf4j
 public class PokemonServiceImpl implements IPokemonService {
 
     /**
-     * Client for fetching resources from the PokeAPI.
+     * Fields read to filter the held items of a Pokemon by version.
+     */
+    private static final FieldSelection HELD_ITEMS_BY_VERSION = FieldSelection.parse(List.of(
+            "id,held_items"),
+            FieldSelection.POKEMON);
+
+    /**
+     * Client for fetching and revalidating Pokemon from the PokeAPI.
+     */
+    private final RevalidatingPokemonClient pokemonClient;
+
+    /**
+     * Cache tier holding the compact Pokemon records.
+     */
+    private final PokemonCatalogStore catalogStore;
+
+    /**
+     * Converter from catalog records to the requested target types.
+     */
+    private final PokemonRecordConverter recordConverter;
+
+    /**
+     * Held items of the cataloged Pokemon partitioned by game version.
+     */
+    private final HeldItemVersionIndex heldItemIndex;
+
+    /**
+     * Typo-tolerant index over every known Pokemon name.
+     */
+    private final FuzzyNameIndex fuzzyNameIndex;
+
+    /**
+     * Fetches a Pokemon record based on its name or ID.
+     * 
+     * <p>The record is served from the {@link PokemonCatalogStore} when present; otherwise it is
+     * fetched from the PokeAPI and stored in the catalog. Names known not to exist are handled
+     * locally by {@link #resolveUnknown(String)}, without an upstream round trip.</p>
+     * 
+     * @param nameOrId The name or ID of the Pokemon to fetch.
+     * @return A {@link Mono} emitting the compact {@link PokemonDto} record.
+     */
+    private Mono<PokemonDto> fetchPokemon(String nameOrId) {
+        return fetchPokemon(nameOrId,
+                FieldSelection.ALL);
+    }
+
+    /**
+     * Fetches the selected fields of a Pokemon record based on its name or ID.
+     * 
+     * <p>Cataloged records are read with {@link PokemonCatalogStore#find(String, FieldSelection)},
+     * so storages holding serialized records only decode the selected fields. Records fetched
+     * from the PokeAPI are complete.</p>
+     * 
+     * @param nameOrId The name or ID of the Pokemon to fetch.
+     * @param fields   The fields to read from the catalog.
+     * @return A {@link Mono} emitting the {@link PokemonDto} record.
      */
-    private final PokeApiClient pokeApiClient;
-    
+    private Mono<PokemonDto> fetchPokemon(String nameOrId, FieldSelection fields) {
+        return Mono.defer(() -> Mono.justOrEmpty(catalogStore.find(nameOrId,
+                fields)))
+                .switchIfEmpty(Mono.defer(() -> fuzzyNameIndex.isUnknown(nameOrId)
+                        ? resolveUnknown(nameOrId)
+                        : fetchUpstream(nameOrId)));
+    }
+
     /**
-     * Jackson ObjectMapper for converting JSON data to Java objects.
+     * Handles a name that is not in the PokeAPI name list, according to the fuzzy mode.
+     * 
+     * <p>In {@code RESOLVE} mode the closest known name is fetched instead. Otherwise, or when no
+     * known name is close enough, a {@code 404 Not Found} error listing the closest names is
+     * returned.</p>
+     * 
+     * @param nameOrId The unknown name.
+     * @return A {@link Mono} emitting the record of the resolved Pokemon, or an error.
      */
-    private final ObjectMapper objectMapper;
+    private Mono<PokemonDto> resolveUnknown(String nameOrId) {
+        List<Match> matches = fuzzyNameIndex.suggest(nameOrId,
+                3);
+        if (fuzzyNameIndex.getMode() == CatalogProperties.FuzzyMode.RESOLVE
+                && !matches.isEmpty()) {
+            String resolved = matches.get(0).getName();
+            log.info("Resolved unknown Pokemon {} to {}",
+                    nameOrId,
+                    resolved);
+            return Mono.defer(() -> Mono.justOrEmpty(catalogStore.find(resolved)))
+                    .switchIfEmpty(Mono.defer(() -> fetchUpstream(resolved)));
+        }
+        String suggestions = matches.stream().map(Match::getName)
+                .collect(Collectors.joining(", "));
+        return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND,
+                suggestions.isEmpty() ? "Unknown Pokemon: " + nameOrId
+                        : "Unknown Pokemon: " + nameOrId + ". Did you mean: " + suggestions));
+    }
 
     /**
      * Fetches a Pokemon entity from the PokeAPI based on its name or ID.
      * 
-     * <p>This method sends a request to the PokeAPI to retrieve the Pokemon's details
-     * and logs essential information upon successful retrieval.</p>
+     * <p>This method sends a request to the PokeAPI to retrieve the Pokemon's details and logs
+     * essential information upon successful retrieval. The {@link RevalidatingPokemonClient}
+     * stores the compact record in the catalog, shares the download between concurrent misses of
+     * the same Pokemon and revalidates the record once it expires.</p>
      * 
      * @param nameOrId The name or ID of the Pokemon to fetch.
-     * @return A {@link Mono} emitting the fetched {@link Pokemon} object.
-     */
-    private Mono<Pokemon> fetchPokemon(String nameOrId) {
-        return pokeApiClient.getResource(Pokemon.class,
-                nameOrId).doOnNext(
-                        p -> log.debug("Pokemon id: {}, Name: {}, Base Experience: {}",
-                                p.getId(),
-                                p.getName(),
-                                p.getBaseExperience()));
+     * @return A {@link Mono} emitting the compact {@link PokemonDto} record.
+     */
+    private Mono<PokemonDto> fetchUpstream(String nameOrId) {
+        return pokemonClient.fetch(nameOrId).doOnNext(
+                p -> log.debug("Pokemon id: {}, Name: {}, Base Experience: {}",
+                        p.getId(),
+                        p.getName(),
+                        p.getBaseExperience()));
     }
 
     /**
@@ -77,7 +183,7 @@ public class PokemonServiceImpl implements IPokemonService {
      */
     @Override
     public <T> Mono<T> getPokemonDetails(String nameOrId, Class<T> targetType) {
-        return fetchPokemon(nameOrId).map(pokemon -> objectMapper.convertValue(pokemon,
+        return fetchPokemon(nameOrId).map(pokemon -> recordConverter.convert(pokemon,
                 targetType));
     }
 
@@ -98,7 +204,7 @@ public class PokemonServiceImpl implements IPokemonService {
     @Override
     public <U> Mono<List<U>> getPokemonAbilities(String nameOrId, TypeReference<List<U>> typeRef) {
         return fetchPokemon(nameOrId)
-                .map(pokemon -> objectMapper.convertValue(pokemon.getAbilities(),
+                .map(pokemon -> recordConverter.convert(pokemon.getAbilities(),
                         typeRef));
     }
 
@@ -119,7 +225,102 @@ public class PokemonServiceImpl implements IPokemonService {
     @Override
     public <V> Mono<List<V>> getPokemonHeldItems(String nameOrId, TypeReference<List<V>> typeRef) {
         return fetchPokemon(nameOrId)
-                .map(pokemon -> objectMapper.convertValue(pokemon.getHeldItems(),
+                .map(pokemon -> recordConverter.convert(pokemon.getHeldItems(),
                         typeRef));
     }
+
+    /**
+     * Retrieves the items held by a specific Pokemon in a single game version.
+     * 
+     * <p>
+     * The held items are read from the {@link HeldItemVersionIndex}, which is updated as soon as
+     * the record is stored in the catalog. Records the storage could not keep are filtered
+     * directly.
+     * </p>
+     * 
+     * @param <V>      The type to which each held item should be converted.
+     * @param nameOrId The name or ID of the Pokemon whose held items are to be retrieved.
+     * @param version  The name of the game version.
+     * @param typeRef  The {@link TypeReference} representing the target type for the list of held
+     *                 items.
+     * @return A {@link Mono} emitting a list of held items converted to the specified type.
+     */
+    @Override
+    public <V> Mono<List<V>> getPokemonHeldItems(String nameOrId, String version,
+            TypeReference<List<V>> typeRef) {
+        return fetchPokemon(nameOrId)
+                .map(pokemon -> recordConverter.convert(heldItemIndex.contains(pokemon.getId())
+                        ? heldItemIndex.heldItems(version,
+                                pokemon.getId())
+                        : HeldItemVersionIndex.filter(pokemon,
+                                version),
+                        typeRef));
+    }
+
+    /**
+     * Retrieves the selected fields of a specific Pokemon.
+     * 
+     * <p>Only the selected fields are decoded from the catalog and projected by the
+     * {@link PokemonRecordConverter}.</p>
+     * 
+     * @param <T>        The type to which the selected fields should be converted.
+     * @param nameOrId   The name or ID of the Pokemon to retrieve.
+     * @param fields     The fields to retrieve.
+     * @param targetType The {@link Class} object representing the target type.
+     * @return A {@link Mono} emitting the selected Pokemon fields converted to the target type.
+     */
+    @Override
+    public <T> Mono<T> getPokemonDetails(String nameOrId, FieldSelection fields,
+            Class<T> targetType) {
+        return fetchPokemon(nameOrId,
+                fields).map(pokemon -> recordConverter.project(pokemon,
+                        fields,
+                        targetType));
+    }
+
+    /**
+     * Retrieves the selected fields of the abilities of a specific Pokemon.
+     * 
+     * @param <U>         The type to which each ability should be converted.
+     * @param nameOrId    The name or ID of the Pokemon whose abilities are to be retrieved.
+     * @param fields      The fields to retrieve in every ability.
+     * @param elementType The {@link Class} object representing the target type of every ability.
+     * @return A {@link Mono} emitting the list of abilities converted to the specified type.
+     */
+    @Override
+    public <U> Mono<List<U>> getPokemonAbilities(String nameOrId, FieldSelection fields,
+            Class<U> elementType) {
+        return fetchPokemon(nameOrId,
+                fields.nest("abilities"))
+                .map(pokemon -> recordConverter.projectAll(pokemon.getAbilities(),
+                        fields,
+                        elementType));
+    }
+
+    /**
+     * Retrieves the selected fields of the items held by a specific Pokemon.
+     * 
+     * <p>With a version, the held items are read from the {@link HeldItemVersionIndex} as in
+     * {@link #getPokemonHeldItems(String, String, TypeReference)}.</p>
+     * 
+     * @param <V>         The type to which each held item should be converted.
+     * @param nameOrId    The name or ID of the Pokemon whose held items are to be retrieved.
+     * @param version     The name of the game version, or {@code null} for every version.
+     * @param fields      The fields to retrieve in every held item.
+     * @param elementType The {@link Class} object representing the target type of every item.
+     * @return A {@link Mono} emitting the list of held items converted to the specified type.
+     */
+    @Override
+    public <V> Mono<List<V>> getPokemonHeldItems(String nameOrId, String version,
+            FieldSelection fields, Class<V> elementType) {
+        return fetchPokemon(nameOrId,
+                version == null ? fields.nest("held_items") : HELD_ITEMS_BY_VERSION)
+                .map(pokemon -> recordConverter.projectAll(version == null ? pokemon.getHeldItems()
+                        : heldItemIndex.contains(pokemon.getId()) ? heldItemIndex.heldItems(version,
+                                pokemon.getId())
+                                : HeldItemVersionIndex.filter(pokemon,
+                                        version),
+                        fields,
+                        elementType));
+    }
 }
@@ -0,0 +1,418 @@
+package com.bankaya.pokemon.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import com.bankaya.pokemon.catalog.ICatalogListener;
+import com.bankaya.pokemon.catalog.PokemonCatalogStore;
+import com.bankaya.pokemon.config.RevalidationProperties;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.HttpClientResponse;
+
+/**
+ * Client of the {@code pokemon} resource of the PokeAPI keeping the validators of every response.
+ * <p>
+ * A Pokemon resource weighs hundreds of kilobytes but almost never changes. Every Pokemon fetched
+ * with {@link #fetch(String)} is stored in the {@link PokemonCatalogStore}, and the {@code ETag}
+ * and {@code Last-Modified} headers of the response are kept with its expiration time as long as
+ * the catalog holds the record; once the record expires, {@link #revalidate(int)} sends them back as
+ * {@code If-None-Match} and {@code If-Modified-Since} (a response without validators is simply
+ * downloaded again):
+ * </p>
+ * <ul>
+ *   <li>{@code 304 Not Modified}: the catalog record is kept and its lifetime is extended by
+ *   {@link RevalidationProperties#getTtl()}, without downloading the resource.</li>
+ *   <li>{@code 200 OK}: the new version replaces the record in the {@link PokemonCatalogStore},
+ *   which invalidates every cache derived from it.</li>
+ * </ul>
+ *
+ * <p>Expired records are searched every {@link RevalidationProperties#getCheckInterval()} once
+ * the application is ready, and revalidated in the background, at most
+ * {@link RevalidationProperties#getConcurrency()} at a time. Records imported from a dump have no
+ * validators and never expire; the validators of an evicted record are dropped with it.</p>
+ *
+ * <p>Concurrent fetches of the same name or ID share a single download: a burst of requests for
+ * a Pokemon that is not cataloged yet costs one upstream round trip.</p>
+ *
+ * @see PokemonServiceImpl
+ */
+@Component
+@Slf4j
+public class RevalidatingPokemonClient implements ICatalogListener, MeterBinder {
+
+    /** Catalog holding the fetched Pokemon. */
+    private final PokemonCatalogStore catalogStore;
+
+    /** Revalidation configuration. */
+    private final RevalidationProperties properties;
+
+    /** HTTP client used to call the PokeAPI. */
+    private final HttpClient httpClient;
+
+    /** Reader of the Pokemon resources. */
+    private final ObjectReader pokemonReader;
+
+    /** Base URI of the PokeAPI. */
+    private final String baseUri;
+
+    /** Downloads in progress, indexed by lower-case name or ID. */
+    private final Map<String, Mono<PokemonDto>> downloads = new ConcurrentHashMap<>();
+
+    /** Validators of the fetched Pokemon, indexed by Pokemon id. */
+    private final Map<Integer, Validators> validators = new ConcurrentHashMap<>();
+
+    /** Revalidations answered with {@code 304 Not Modified}. */
+    private final AtomicLong notModified = new AtomicLong();
+
+    /** Revalidations that downloaded a new version. */
+    private final AtomicLong modified = new AtomicLong();
+
+    /** Body bytes not downloaded thanks to {@code 304 Not Modified} answers. */
+    private final AtomicLong savedBytes = new AtomicLong();
+
+    /** Periodic search for expired records; {@code null} until started. */
+    private volatile Disposable schedule;
+
+    /**
+     * Creates the client and registers it on the catalog store.
+     *
+     * @param catalogStore The catalog holding the fetched Pokemon.
+     * @param properties   The revalidation configuration.
+     * @param httpClient   The HTTP client used to call the PokeAPI.
+     * @param objectMapper The object mapper used to read the resources.
+     * @param baseUri      The base URI of the PokeAPI.
+     */
+    public RevalidatingPokemonClient(PokemonCatalogStore catalogStore,
+            RevalidationProperties properties, HttpClient httpClient, ObjectMapper objectMapper,
+            @Value("${skaro.pokeapi.base-uri:https://pokeapi.co/api/v2/}") String baseUri) {
+        this.catalogStore = catalogStore;
+        this.properties = properties;
+        this.httpClient = httpClient;
+        this.pokemonReader = objectMapper.readerFor(PokemonDto.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.baseUri = baseUri.endsWith("/") ? baseUri : baseUri + "/";
+        catalogStore.addListener(this);
+    }
+
+    /**
+     * Fetches a Pokemon, stores it in the catalog and keeps the validators of the response. A
+     * fetch of a name or ID already being downloaded waits for that download instead.
+     *
+     * @param nameOrId The name or ID of the Pokemon.
+     * @return A {@link Mono} emitting the Pokemon, read back from the catalog when it was stored.
+     */
+    public Mono<PokemonDto> fetch(String nameOrId) {
+        String key = PokemonCatalogStore.normalize(nameOrId);
+        return Mono.defer(() -> downloads.computeIfAbsent(key,
+                this::download))
+                .map(pokemon -> pokemon.getId() == null ? pokemon
+                        : catalogStore.find(pokemon.getId()).orElse(pokemon));
+    }
+
+    /**
+     * Starts the shared download of a Pokemon, removed from the downloads in progress once done.
+     *
+     * @param key The lower-case name or ID of the Pokemon.
+     * @return A {@link Mono} replaying the stored Pokemon to every subscriber.
+     */
+    private Mono<PokemonDto> download(String key) {
+        AtomicReference<Mono<PokemonDto>> self = new AtomicReference<>();
+        Mono<PokemonDto> download = get(baseUri + "pokemon/" + key,
+                null).map(response -> {
+                    PokemonDto pokemon = response.getPokemon();
+                    store(pokemon,
+                            response.getValidators());
+                    return pokemon;
+                })
+                .doFinally(signal -> downloads.remove(key,
+                        self.get()))
+                .cache();
+        self.set(download);
+        return download;
+    }
+
+    /**
+     * Revalidates a fetched Pokemon with a conditional request.
+     *
+     * @param id The Pokemon id.
+     * @return A {@link Mono} emitting {@code true} if a new version replaced the catalog record,
+     *         or {@code false} if the record is unchanged or was not fetched by this client.
+     */
+    public Mono<Boolean> revalidate(int id) {
+        Validators known = validators.get(id);
+        if (known == null) {
+            return Mono.just(false);
+        }
+        return get(baseUri + "pokemon/" + id,
+                known).map(response -> {
+                    if (response.getPokemon() == null) {
+                        notModified.incrementAndGet();
+                        savedBytes.addAndGet(known.getLength());
+                        if (catalogStore.contains(id)) {
+                            validators.replace(id,
+                                    known,
+                                    response.getValidators());
+                        } else {
+                            validators.remove(id,
+                                    known);
+                        }
+                        return false;
+                    }
+                    modified.incrementAndGet();
+                    store(response.getPokemon(),
+                            response.getValidators());
+                    return true;
+                });
+    }
+
+    /**
+     * Stores a downloaded Pokemon in the catalog, then keeps its validators if the catalog
+     * accepted the record.
+     *
+     * @param pokemon    The Pokemon.
+     * @param validators The validators of the response.
+     */
+    private void store(PokemonDto pokemon, Validators validators) {
+        catalogStore.put(pokemon);
+        if (pokemon.getId() != null && catalogStore.contains(pokemon.getId())) {
+            this.validators.put(pokemon.getId(),
+                    validators);
+        } else if (pokemon.getId() != null) {
+            this.validators.remove(pokemon.getId());
+        }
+    }
+
+    /**
+     * Revalidates every expired Pokemon.
+     *
+     * @return A {@link Mono} emitting the number of Pokemon replaced by a new version.
+     */
+    public Mono<Long> revalidateExpired() {
+        long now = System.nanoTime();
+        return Flux.fromIterable(validators.entrySet())
+                .filter(entry -> !entry.getValue().isValid(now))
+                .map(Map.Entry::getKey)
+                .flatMap(id -> revalidate(id).onErrorResume(error -> {
+                    log.warn("Unable to revalidate Pokemon {}: {}",
+                            id,
+                            error.getMessage());
+                    return Mono.just(false);
+                }),
+                        Math.max(properties.getConcurrency(),
+                                1))
+                .filter(Boolean::booleanValue)
+                .count();
+    }
+
+    /**
+     * Checks whether a Pokemon is revalidated when it expires.
+     *
+     * @param id The Pokemon id.
+     * @return {@code true} if the Pokemon was fetched by this client.
+     */
+    public boolean isRevalidated(int id) {
+        return validators.containsKey(id);
+    }
+
+    /**
+     * Starts the periodic search for expired records once the application is ready, if enabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        schedule = Flux.interval(properties.getCheckInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> revalidateExpired(),
+                        1)
+                .subscribe(replaced -> {
+                    if (replaced > 0) {
+                        log.info("Replaced {} Pokemon with a new PokeAPI version",
+                                replaced);
+                    }
+                });
+    }
+
+    /**
+     * Stops the periodic search for expired records.
+     */
+    @PreDestroy
+    public void shutdown() {
+        Disposable current = schedule;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    @Override
+    public void onPut(PokemonDto previous, PokemonDto current) {
+        // The validators are stored with the responses.
+    }
+
+    @Override
+    public void onRemove(int id) {
+        validators.remove(id);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("pokemon.upstream.validators",
+                validators,
+                Map::size)
+                .description("Fetched Pokemon that can be revalidated").register(registry);
+        FunctionCounter.builder("pokemon.upstream.revalidation.not.modified",
+                notModified,
+                AtomicLong::get)
+                .description("Revalidations answered with 304 Not Modified").register(registry);
+        FunctionCounter.builder("pokemon.upstream.revalidation.modified",
+                modified,
+                AtomicLong::get)
+                .description("Revalidations that downloaded a new version").register(registry);
+        FunctionCounter.builder("pokemon.upstream.revalidation.saved",
+                savedBytes,
+                AtomicLong::get).baseUnit(BaseUnits.BYTES)
+                .description("Body bytes not downloaded thanks to 304 Not Modified")
+                .register(registry);
+    }
+
+    /**
+     * Sends a request, conditional when validators are known.
+     *
+     * @param uri   The resource URL.
+     * @param known The validators of the cached version, or {@code null}.
+     * @return A {@link Mono} emitting the response; without Pokemon on {@code 304 Not Modified}.
+     */
+    private Mono<Response> get(String uri, Validators known) {
+        return httpClient.headers(headers -> {
+            if (known != null && known.getEtag() != null) {
+                headers.set(HttpHeaders.IF_NONE_MATCH,
+                        known.getEtag());
+            }
+            if (known != null && known.getLastModified() != null) {
+                headers.set(HttpHeaders.IF_MODIFIED_SINCE,
+                        known.getLastModified());
+            }
+        }).get().uri(uri).responseSingle((response, body) -> {
+            int status = response.status().code();
+            if (known != null && status == HttpResponseStatus.NOT_MODIFIED.code()) {
+                return Mono.just(new Response(null, known.renew(response,
+                        expiresAt())));
+            }
+            if (status != HttpResponseStatus.OK.code()) {
+                return Mono.<Response>error(new ResponseStatusException(HttpStatusCode.valueOf(
+                        status),
+                        "Unable to fetch " + uri));
+            }
+            return body.asByteArray().flatMap(bytes -> Mono.fromCallable(() -> new Response(
+                    pokemonReader.readValue(bytes),
+                    Validators.of(response,
+                            bytes.length,
+                            expiresAt()))));
+        });
+    }
+
+    /**
+     * Returns the expiration time of a response received now.
+     *
+     * @return The {@link System#nanoTime()} at which it expires.
+     */
+    private long expiresAt() {
+        return System.nanoTime() + properties.getTtl().toNanos();
+    }
+
+    /**
+     * A response of the PokeAPI.
+     */
+    @lombok.Value
+    private static class Response {
+
+        /** The Pokemon, or {@code null} if the cached version is still valid. */
+        PokemonDto pokemon;
+
+        /** The validators of the version. */
+        Validators validators;
+
+    }
+
+    /**
+     * Validators of a fetched Pokemon.
+     */
+    @lombok.Value
+    static class Validators {
+
+        /** The {@code ETag} header, or {@code null}. */
+        String etag;
+
+        /** The {@code Last-Modified} header, or {@code null}. */
+        String lastModified;
+
+        /** The length of the body, in bytes. */
+        long length;
+
+        /** The {@link System#nanoTime()} at which the version expires. */
+        long expiresAt;
+
+        /**
+         * Reads the validators of a full response.
+         *
+         * @param response  The response.
+         * @param length    The length of the body.
+         * @param expiresAt The expiration time.
+         * @return The validators.
+         */
+        static Validators of(HttpClientResponse response, long length, long expiresAt) {
+            return new Validators(response.responseHeaders().get(HttpHeaders.ETAG),
+                    response.responseHeaders().get(HttpHeaders.LAST_MODIFIED), length,
+                    expiresAt);
+        }
+
+        /**
+         * Renews the validators after a {@code 304 Not Modified}, which may update them.
+         *
+         * @param response  The response.
+         * @param expiresAt The new expiration time.
+         * @return The renewed validators.
+         */
+        Validators renew(HttpClientResponse response, long expiresAt) {
+            String newEtag = response.responseHeaders().get(HttpHeaders.ETAG);
+            String newLastModified = response.responseHeaders().get(HttpHeaders.LAST_MODIFIED);
+            return new Validators(newEtag != null ? newEtag : etag,
+                    newLastModified != null ? newLastModified : lastModified, length,
+                    expiresAt);
+        }
+
+        /**
+         * Checks whether the version is still fresh.
+         *
+         * @param now The current {@link System#nanoTime()}.
+         * @return {@code true} if the version has not expired.
+         */
+        boolean isValid(long now) {
+            return expiresAt - now > 0;
+        }
+    }
+}
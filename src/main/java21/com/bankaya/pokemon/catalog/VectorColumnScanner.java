@@ -0,0 +1,158 @@
+package com.bankaya.pokemon.catalog;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD column scanner, built on the incubating Vector API.
+ * <p>
+ * Every step compares a whole vector of values against the range at once and works on the
+ * resulting lane mask:
+ * </p>
+ * <ul>
+ *   <li>Aggregates count the set lanes and reduce the masked values with {@code ADD}, {@code MIN}
+ *   and {@code MAX}. Lane sums and their reduction are kept in {@code int}, so the sum is
+ *   recomputed with a scalar pass whenever the matching values are large or numerous enough to
+ *   overflow it.</li>
+ *   <li>Histograms compute the bucket of every lane in vector registers; only the increments are
+ *   scalar.</li>
+ *   <li>Top-K scans skip every vector with no lane above the current heap threshold, which is most
+ *   of them once the heap is full.</li>
+ * </ul>
+ *
+ * <p>Only compiled by the {@code java21} build profile, which adds the
+ * {@code jdk.incubator.vector} module; loaded through {@link ColumnScanners}. The tail of a column
+ * that does not fill a vector is scanned with the {@link ScalarColumnScanner} loops.</p>
+ */
+public class VectorColumnScanner implements IColumnScanner {
+
+    /** Preferred vector shape of the platform. */
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public ColumnStats aggregate(int[] column, int min, int max) {
+        int low = Math.max(min, MIN_VALUE);
+        int bound = SPECIES.loopBound(column.length);
+        long count = 0;
+        IntVector sums = IntVector.zero(SPECIES);
+        IntVector lows = IntVector.broadcast(SPECIES, Integer.MAX_VALUE);
+        IntVector highs = IntVector.broadcast(SPECIES, Integer.MIN_VALUE);
+        for (int row = 0; row < bound; row += SPECIES.length()) {
+            IntVector values = IntVector.fromArray(SPECIES, column, row);
+            VectorMask<Integer> matches = values.compare(VectorOperators.GE, low)
+                    .and(values.compare(VectorOperators.LE, max));
+            count += matches.trueCount();
+            sums = sums.add(values, matches);
+            lows = lows.min(values.blend(Integer.MAX_VALUE, matches.not()));
+            highs = highs.max(values.blend(Integer.MIN_VALUE, matches.not()));
+        }
+        if (count == 0) {
+            return ScalarColumnScanner.aggregate(column,
+                    low,
+                    max,
+                    bound,
+                    column.length);
+        }
+        int lowest = lows.reduceLanes(VectorOperators.MIN);
+        int highest = highs.reduceLanes(VectorOperators.MAX);
+        // The lane sums and their int reduction are exact while the sum of every matching value
+        // is bounded by an int, whatever the way the values are spread across the lanes.
+        long magnitude = Math.max(Math.abs((long) lowest),
+                Math.abs((long) highest));
+        long sum = count * magnitude <= Integer.MAX_VALUE
+                ? sums.reduceLanesToLong(VectorOperators.ADD)
+                : ScalarColumnScanner.aggregate(column,
+                        low,
+                        max,
+                        0,
+                        bound).getSum();
+        ColumnStats vector = new ColumnStats(count, sum, lowest, highest);
+        return vector.merge(ScalarColumnScanner.aggregate(column,
+                low,
+                max,
+                bound,
+                column.length));
+    }
+
+    @Override
+    public int[] histogram(int[] column, int min, int max, int bucketWidth) {
+        int low = Math.max(min, MIN_VALUE);
+        int[] counts = new int[IColumnScanner.bucketCount(low, max, bucketWidth)];
+        int bound = SPECIES.loopBound(column.length);
+        // Bucket indexes are only computed in int lanes when value - min cannot overflow.
+        boolean narrow = (long) max - low <= Integer.MAX_VALUE;
+        int[] buckets = new int[SPECIES.length()];
+        for (int row = 0; narrow && row < bound; row += SPECIES.length()) {
+            IntVector values = IntVector.fromArray(SPECIES, column, row);
+            VectorMask<Integer> matches = values.compare(VectorOperators.GE, low)
+                    .and(values.compare(VectorOperators.LE, max));
+            if (!matches.anyTrue()) {
+                continue;
+            }
+            values.sub(low).div(bucketWidth).intoArray(buckets, 0);
+            for (int lane = 0; lane < buckets.length; lane++) {
+                if (matches.laneIsSet(lane)) {
+                    counts[buckets[lane]]++;
+                }
+            }
+        }
+        ScalarColumnScanner.histogram(column,
+                low,
+                max,
+                bucketWidth,
+                counts,
+                narrow ? bound : 0,
+                column.length);
+        return counts;
+    }
+
+    @Override
+    public int[] topK(int[] column, int min, int max, int k) {
+        int low = Math.max(min, MIN_VALUE);
+        TopKHeap heap = new TopKHeap(k);
+        int bound = SPECIES.loopBound(column.length);
+        for (int row = 0; row < bound; row += SPECIES.length()) {
+            IntVector values = IntVector.fromArray(SPECIES, column, row);
+            int floor = Math.max(low,
+                    heap.threshold());
+            VectorMask<Integer> matches = values.compare(VectorOperators.GE, floor)
+                    .and(values.compare(VectorOperators.LE, max));
+            for (int lane = matches.firstTrue(); lane < SPECIES.length(); lane = nextLane(
+                    matches,
+                    lane)) {
+                heap.offer(column[row + lane],
+                        row + lane);
+            }
+        }
+        ScalarColumnScanner.topK(column,
+                low,
+                max,
+                heap,
+                bound,
+                column.length);
+        return heap.rows();
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + SPECIES.vectorBitSize();
+    }
+
+    /**
+     * Finds the next set lane of a mask.
+     *
+     * @param mask The mask.
+     * @param lane The current lane.
+     * @return The next set lane, or the number of lanes if there is none.
+     */
+    private static int nextLane(VectorMask<Integer> mask, int lane) {
+        for (int next = lane + 1; next < mask.length(); next++) {
+            if (mask.laneIsSet(next)) {
+                return next;
+            }
+        }
+        return mask.length();
+    }
+}
@@ -3,6 +3,7 @@ package com.bankaya.pokemon.adapter;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -17,6 +18,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 import com.bankaya.pokemon.dto.PokemonAbilityDto;
 import com.bankaya.pokemon.dto.PokemonDto;
 import com.bankaya.pokemon.dto.PokemonHeldItemDto;
@@ -183,4 +186,29 @@ public class PokemonRestAdapterImplTest {
                         any(TypeReference.class));
     }
 
+    /**
+     * Tests that unknown expansion and attribute names are rejected by the adapter.
+     * <p>
+     * <strong>Scenario:</strong>
+     * The adapter is invoked with an unknown expansion and an unknown analytics attribute; both
+     * fail with a {@code 400 Bad Request} error without calling any service.
+     * </p>
+     */
+    @Test
+    public void testRejectsUnknownParameters() {
+        ResponseStatusException expand = assertThrows(ResponseStatusException.class,
+                () -> adapter.getPokemonDetails(nameOrId,
+                        List.of("moves")).block());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                expand.getStatusCode());
+        ResponseStatusException attribute = assertThrows(ResponseStatusException.class,
+                () -> adapter.analyzeCatalog("weight",
+                        null,
+                        null,
+                        null,
+                        10).block());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                attribute.getStatusCode());
+        Mockito.verifyNoInteractions(pokemonService);
+    }
 }
@@ -12,10 +12,13 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
 import com.bankaya.pokemon.adapter.IPokemonRestAdapter;
+import com.bankaya.pokemon.catalog.FieldSelection;
 import com.bankaya.pokemon.dto.PokemonAbilityDto;
 import com.bankaya.pokemon.dto.PokemonDto;
 import com.bankaya.pokemon.dto.PokemonHeldItemDto;
 import com.bankaya.pokemon.fixture.PokemonFixture;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import reactor.core.publisher.Mono;
 
@@ -152,4 +155,64 @@ public class PokemonControllerTest {
         Mockito.verify(adapter,
                 Mockito.times(1)).getPokemonHeldItems(nameOrId);
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that the `GET /api/v1/pokemon/held-items` endpoint rejects a limit out of range.
+     * <p>
+     * <strong>Scenario:</strong>
+     * The endpoint is invoked with a limit below 1 and another one above the maximum; both are
+     * rejected with {@code 400 Bad Request} without calling the adapter.
+     * </p>
+     */
+    @Test
+    public void testFindHeldItemsByRarityRejectsLimitOutOfRange() {
+        webTestClient.get().uri("/api/v1/pokemon/held-items?version=red&limit=0").exchange()
+                .expectStatus().isBadRequest();
+        webTestClient.get().uri("/api/v1/pokemon/held-items?version=red&limit=100000").exchange()
+                .expectStatus().isBadRequest();
+        Mockito.verifyNoInteractions(adapter);
+    }
+
+    /**
+     * Tests that the `GET /api/v1/pokemon/suggest` endpoint rejects a limit out of range.
+     * <p>
+     * <strong>Scenario:</strong>
+     * The endpoint is invoked with a negative limit and another one above the maximum; both are
+     * rejected with {@code 400 Bad Request} without calling the adapter.
+     * </p>
+     */
+    @Test
+    public void testSuggestNamesRejectsLimitOutOfRange() {
+        webTestClient.get().uri("/api/v1/pokemon/suggest?q=pikachuu&limit=-1").exchange()
+                .expectStatus().isBadRequest();
+        webTestClient.get().uri("/api/v1/pokemon/suggest?q=pikachuu&limit=1000").exchange()
+                .expectStatus().isBadRequest();
+        Mockito.verifyNoInteractions(adapter);
+    }
+
+    /**
+     * Tests that the `GET /api/v1/pokemon/{nameOrId}` endpoint keeps the field selection when
+     * references are expanded.
+     * <p>
+     * <strong>Scenario:</strong>
+     * The endpoint is invoked with both {@code expand} and {@code fields}; the adapter is asked
+     * for the expanded Pokemon restricted to the selected fields and its body is returned.
+     * </p>
+     */
+    @Test
+    public void testGetPokemonExpandedFields() {
+        ObjectNode body = JsonNodeFactory.instance.objectNode();
+        body.putObject("pokemon").put("name",
+                nameOrId);
+        Mockito.when(adapter.getPokemonDetails(Mockito.eq(nameOrId),
+                Mockito.eq(List.of("abilities")),
+                Mockito.any(FieldSelection.class))).thenReturn(Mono.just(body));
+        webTestClient.get().uri("/api/v1/pokemon/{nameOrId}?expand=abilities&fields=name",
+                nameOrId).accept(MediaType.APPLICATION_JSON).exchange().expectStatus().isOk()
+                .expectBody().jsonPath("$.pokemon.name").isEqualTo(nameOrId)
+                .jsonPath("$.pokemon.id").doesNotExist();
+        Mockito.verify(adapter,
+                Mockito.never()).getPokemonDetails(Mockito.anyString(),
+                        Mockito.<List<String>>any());
+    }
+}
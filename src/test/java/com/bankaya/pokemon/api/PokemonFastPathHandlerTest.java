@@ -0,0 +1,243 @@
+package com.bankaya.pokemon.api;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.bankaya.pokemon.adapter.IPokemonRestAdapter;
+import com.bankaya.pokemon.api.RenderedResponseCache.Operation;
+import com.bankaya.pokemon.catalog.HeapPokemonRecordStorage;
+import com.bankaya.pokemon.catalog.PokemonCatalogStore;
+import com.bankaya.pokemon.catalog.PokemonRecordConverter;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.fixture.PokemonFixture;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.undertow.Undertow;
+import reactor.core.publisher.Mono;
+
+/**
+ * Test class for {@link PokemonFastPathHandler}.
+ * <p>
+ * Runs the handler on an Undertow server in front of a stub of the servlet chain, and verifies
+ * that cached bodies, bodies rendered on a miss, adapter reads and their errors are answered by
+ * the handler while every other request reaches the servlet chain.
+ * </p>
+ *
+ * @see PokemonFastPathHandler
+ */
+public class PokemonFastPathHandlerTest {
+
+    /** Body written by the stub of the servlet chain. */
+    private static final String MVC = "mvc";
+
+    /** Cache-Control header of the handler under test. */
+    private static final String CACHE_CONTROL = "max-age=60, public";
+
+    /** Object mapper of the message converters. */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /** Client of the server. */
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    /** Cache of the handler under test. */
+    private RenderedResponseCache cache;
+
+    /** Adapter of the handler under test. */
+    private IPokemonRestAdapter adapter;
+
+    /** Server running the handler. */
+    private Undertow server;
+
+    /** Base URI of the Pokemon resources, set once the server is started. */
+    private String baseUri;
+
+    /**
+     * Starts the handler with a catalog holding the sample record.
+     */
+    @BeforeEach
+    public void setup() {
+        PokemonCatalogStore store = new PokemonCatalogStore(new HeapPokemonRecordStorage());
+        cache = new RenderedResponseCache(store, new PokemonRecordConverter(objectMapper),
+                objectMapper, 1 << 20);
+        store.put(PokemonFixture.createSamplePokemonDto());
+        adapter = mock(IPokemonRestAdapter.class);
+        server = Undertow.builder().addHttpListener(0,
+                "localhost").setHandler(new PokemonFastPathHandler(exchange -> exchange
+                        .getResponseSender().send(MVC),
+                        adapter,
+                        objectMapper.writer(),
+                        cache,
+                        CACHE_CONTROL)).build();
+        server.start();
+        InetSocketAddress address = (InetSocketAddress) server.getListenerInfo().get(0)
+                .getAddress();
+        baseUri = "http://localhost:" + address.getPort() + "/api/v1/pokemon/";
+    }
+
+    /**
+     * Stops the server.
+     */
+    @AfterEach
+    public void tearDown() {
+        server.stop();
+    }
+
+    /**
+     * Tests that a cached body is written with its validators.
+     */
+    @Test
+    public void testCachedBody() throws Exception {
+        HttpResponse<byte[]> response = get("chansey",
+                null);
+        RenderedResponse rendered = cache.find(Operation.DETAILS,
+                "chansey");
+        byte[] bytes = new byte[rendered.length()];
+        rendered.getBody().get(bytes);
+        assertEquals(200,
+                response.statusCode());
+        assertEquals(rendered.getEtag(),
+                response.headers().firstValue(HttpHeaders.ETAG).orElse(null));
+        assertEquals(CACHE_CONTROL,
+                response.headers().firstValue(HttpHeaders.CACHE_CONTROL).orElse(null));
+        assertArrayEquals(bytes,
+                response.body());
+        assertEquals(304,
+                get("113",
+                        rendered.getEtag()).statusCode());
+    }
+
+    /**
+     * Tests that a Pokemon not in the catalog is read from the adapter and tagged.
+     */
+    @Test
+    public void testAdapterRead() throws Exception {
+        PokemonDto pokemon = PokemonFixture.createSamplePokemonDto();
+        pokemon.setId(25);
+        pokemon.setName("pikachu");
+        when(adapter.getPokemonDetails("pikachu")).thenReturn(Mono.just(pokemon));
+        HttpResponse<byte[]> response = get("pikachu",
+                null);
+        byte[] expected = objectMapper.writeValueAsBytes(pokemon);
+        assertArrayEquals(expected,
+                response.body());
+        assertEquals(RenderedResponse.etag(ByteBuffer.wrap(expected)),
+                response.headers().firstValue(HttpHeaders.ETAG).orElse(null));
+    }
+
+    /**
+     * Tests that query parameters and other resources reach the servlet chain.
+     */
+    @Test
+    public void testFallBack() throws Exception {
+        assertEquals(MVC,
+                new String(get("chansey/held-items?version=red",
+                        null).body()));
+        assertEquals(MVC,
+                new String(get("chansey/encounters",
+                        null).body()));
+    }
+
+    /**
+     * Tests that the reads the adapter cannot answer are ended on the fast path, with a single
+     * adapter call each.
+     */
+    @Test
+    public void testErrorResponses() throws Exception {
+        when(adapter.getPokemonDetails("missingno")).thenReturn(Mono.empty());
+        when(adapter.getPokemonDetails("pikachuu")).thenReturn(Mono.error(
+                new ResponseStatusException(HttpStatus.NOT_FOUND, "Unable to fetch pikachuu")));
+        when(adapter.getPokemonAbilities("error")).thenReturn(Mono.error(
+                new IllegalStateException("upstream")));
+        assertError(get("missingno",
+                null),
+                HttpStatus.NOT_FOUND,
+                "/api/v1/pokemon/missingno");
+        assertError(get("pikachuu",
+                null),
+                HttpStatus.NOT_FOUND,
+                "/api/v1/pokemon/pikachuu");
+        assertError(get("error/abilities",
+                null),
+                HttpStatus.INTERNAL_SERVER_ERROR,
+                "/api/v1/pokemon/error/abilities");
+        verify(adapter).getPokemonDetails("missingno");
+        verify(adapter).getPokemonDetails("pikachuu");
+        verify(adapter).getPokemonAbilities("error");
+    }
+
+    /**
+     * Tests that the collection resources reach the servlet chain without any adapter call.
+     */
+    @Test
+    public void testCollections() throws Exception {
+        assertEquals(MVC,
+                new String(get("analytics",
+                        null).body()));
+        assertEquals(MVC,
+                new String(get("search",
+                        null).body()));
+        verify(adapter,
+                never()).getPokemonDetails(anyString());
+    }
+
+    /**
+     * Asserts that a response is the error body of Spring Boot.
+     *
+     * @param response The response.
+     * @param status   The expected status.
+     * @param path     The expected request path.
+     * @throws Exception If the body cannot be parsed.
+     */
+    private void assertError(HttpResponse<byte[]> response, HttpStatus status, String path)
+            throws Exception {
+        JsonNode body = objectMapper.readTree(response.body());
+        assertEquals(status.value(),
+                response.statusCode());
+        assertEquals(status.value(),
+                body.get("status").asInt());
+        assertEquals(status.getReasonPhrase(),
+                body.get("error").asText());
+        assertEquals(path,
+                body.get("path").asText());
+        assertTrue(body.has("timestamp"));
+    }
+
+    /**
+     * Sends a read to the server.
+     *
+     * @param path        The path after the base URI.
+     * @param ifNoneMatch The {@code If-None-Match} header, or {@code null}.
+     * @return The response.
+     * @throws Exception If the request fails.
+     */
+    private HttpResponse<byte[]> get(String path, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUri + path));
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH,
+                    ifNoneMatch);
+        }
+        return client.send(request.build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
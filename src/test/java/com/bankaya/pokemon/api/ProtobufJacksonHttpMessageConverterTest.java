@@ -0,0 +1,84 @@
+package com.bankaya.pokemon.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.fixture.PokemonFixture;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+
+/**
+ * Test class for {@link ProtobufJacksonHttpMessageConverter}.
+ * <p>
+ * Verifies the schema derived from the DTO classes, the round trip of a Pokemon with abilities
+ * and held items, and that lists are left to the other converters.
+ * </p>
+ *
+ * @see ProtobufJacksonHttpMessageConverter
+ */
+public class ProtobufJacksonHttpMessageConverterTest {
+
+    /** The Protocol Buffers media type. */
+    private static final MediaType PROTOBUF = MediaType.parseMediaType(
+            ProtobufJacksonHttpMessageConverter.APPLICATION_PROTOBUF_VALUE);
+
+    /** Converter under test. */
+    private final ProtobufJacksonHttpMessageConverter converter =
+            new ProtobufJacksonHttpMessageConverter(new ProtobufMapper());
+
+    /**
+     * Tests that the schema of a Pokemon has one message per DTO class.
+     */
+    @Test
+    public void testSchema() {
+        List<String> messages = converter.schema(PokemonDto.class).getSource().getMessageNames();
+        assertTrue(messages.containsAll(List.of("PokemonDto",
+                "PokemonAbilityDto",
+                "PokemonHeldItemDto",
+                "PokemonHeldItemVersionDto",
+                "NamedApiResourceDto")));
+    }
+
+    /**
+     * Tests that a Pokemon is read back as it was written.
+     */
+    @Test
+    public void testRoundTrip() throws Exception {
+        PokemonDto pokemon = PokemonFixture.createSamplePokemonDto();
+        pokemon.setHeldItems(PokemonFixture.createSampleHeldItems());
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(pokemon,
+                PROTOBUF,
+                output);
+        assertEquals(PROTOBUF,
+                output.getHeaders().getContentType());
+        MockHttpInputMessage input = new MockHttpInputMessage(output.getBodyAsBytes());
+        input.getHeaders().setContentType(PROTOBUF);
+        assertEquals(pokemon,
+                converter.read(PokemonDto.class,
+                        input));
+    }
+
+    /**
+     * Tests that only single DTOs are converted.
+     */
+    @Test
+    public void testListsNotConverted() {
+        assertTrue(converter.canWrite(PokemonDto.class,
+                PROTOBUF));
+        assertFalse(converter.canWrite(List.class,
+                PROTOBUF));
+        assertFalse(converter.canWrite(String.class,
+                PROTOBUF));
+        assertFalse(converter.canWrite(PokemonDto.class,
+                MediaType.APPLICATION_JSON));
+    }
+}
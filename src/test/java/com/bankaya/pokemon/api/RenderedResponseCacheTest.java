@@ -0,0 +1,224 @@
+package com.bankaya.pokemon.api;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bankaya.pokemon.api.RenderedResponseCache.Operation;
+import com.bankaya.pokemon.catalog.HeapPokemonRecordStorage;
+import com.bankaya.pokemon.catalog.PokemonCatalogStore;
+import com.bankaya.pokemon.catalog.PokemonRecordConverter;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.fixture.PokemonFixture;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Test class for {@link RenderedResponseCache}.
+ * <p>
+ * Verifies that the cached bodies are the ones Spring MVC would write, that they are dropped
+ * when the catalog record changes, that the least recently used ones are evicted, and that they
+ * are compressed off the request path.
+ * </p>
+ *
+ * @see RenderedResponseCache
+ * @see RenderedResponseFilter
+ */
+public class RenderedResponseCacheTest {
+
+    /** Object mapper of the message converters. */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /** Converter applied by the services. */
+    private final PokemonRecordConverter recordConverter = new PokemonRecordConverter(
+            objectMapper);
+
+    /** Catalog holding the sample record. */
+    private PokemonCatalogStore store;
+
+    /** Cache under test. */
+    private RenderedResponseCache cache;
+
+    /**
+     * Creates a catalog holding the sample record.
+     */
+    @BeforeEach
+    public void setup() {
+        store = new PokemonCatalogStore(new HeapPokemonRecordStorage());
+        cache = new RenderedResponseCache(store, recordConverter, objectMapper, 1 << 20);
+        store.put(PokemonFixture.createSamplePokemonDto());
+    }
+
+    /**
+     * Tests that a body is rendered once and shared by name and id.
+     */
+    @Test
+    public void testRenderedOnce() throws Exception {
+        byte[] expected = objectMapper.writeValueAsBytes(recordConverter.convert(store.find(
+                "chansey").get(),
+                PokemonDto.class));
+        assertArrayEquals(expected,
+                bytes(cache.get(Operation.DETAILS,
+                        "Chansey")));
+        assertArrayEquals(expected,
+                bytes(cache.get(Operation.DETAILS,
+                        "113")));
+        assertEquals(1,
+                cache.size());
+        assertTrue(cache.get(Operation.DETAILS,
+                "113").isDirect());
+        assertNull(cache.get(Operation.DETAILS,
+                "pikachu"));
+    }
+
+    /**
+     * Tests that replacing a record drops its bodies.
+     */
+    @Test
+    public void testInvalidatedOnPut() {
+        cache.get(Operation.DETAILS,
+                "chansey");
+        cache.get(Operation.ABILITIES,
+                "chansey");
+        assertEquals(2,
+                cache.size());
+        PokemonDto updated = PokemonFixture.createSamplePokemonDto();
+        updated.setBaseExperience(999);
+        store.put(updated);
+        assertEquals(0,
+                cache.size());
+        assertTrue(new String(bytes(cache.get(Operation.DETAILS,
+                "chansey"))).contains("999"));
+    }
+
+    /**
+     * Tests that a body rendered while its own record is replaced is served but not cached, while
+     * a change of another Pokemon does not prevent caching it.
+     */
+    @Test
+    public void testConcurrentChanges() {
+        List<Runnable> duringRender = new ArrayList<>();
+        PokemonRecordConverter racing = new PokemonRecordConverter(objectMapper) {
+            @Override
+            public <T> T convert(Object record, Class<T> targetType) {
+                duringRender.forEach(Runnable::run);
+                duringRender.clear();
+                return super.convert(record,
+                        targetType);
+            }
+        };
+        RenderedResponseCache racingCache = new RenderedResponseCache(store, racing,
+                objectMapper, 1 << 20);
+        PokemonDto updated = PokemonFixture.createSamplePokemonDto();
+        updated.setBaseExperience(999);
+        duringRender.add(() -> store.put(updated));
+        assertNotNull(racingCache.get(Operation.DETAILS,
+                "chansey"));
+        assertEquals(0,
+                racingCache.size());
+
+        PokemonDto other = PokemonFixture.createSamplePokemonDto();
+        other.setId(242);
+        other.setName("blissey");
+        duringRender.add(() -> store.put(other));
+        assertNotNull(racingCache.get(Operation.DETAILS,
+                "chansey"));
+        assertEquals(1,
+                racingCache.size());
+    }
+
+    /**
+     * Tests that bodies beyond the size limit are served without being cached.
+     */
+    @Test
+    public void testSizeLimit() {
+        RenderedResponseCache small = new RenderedResponseCache(store, recordConverter,
+                objectMapper, 0);
+        assertTrue(small.get(Operation.ABILITIES,
+                "chansey").hasRemaining());
+        assertEquals(0,
+                small.size());
+    }
+
+    /**
+     * Tests that the least recently used bodies are evicted when the cache is full.
+     */
+    @Test
+    public void testEviction() {
+        int length = cache.find(Operation.DETAILS,
+                "chansey").length();
+        PokemonDto blissey = PokemonFixture.createSamplePokemonDto();
+        blissey.setId(242);
+        blissey.setName("blissey");
+        store.put(blissey);
+        RenderedResponseCache small = new RenderedResponseCache(store, recordConverter,
+                objectMapper, length, Set.of());
+        small.find(Operation.DETAILS,
+                "chansey");
+        small.find(Operation.DETAILS,
+                "blissey");
+        assertEquals(1,
+                small.size());
+        assertNull(small.findCached(Operation.DETAILS,
+                "chansey"));
+        assertNotNull(small.findCached(Operation.DETAILS,
+                "blissey"));
+        assertTrue(small.usedBytes() <= length);
+    }
+
+    /**
+     * Tests that bodies are served uncompressed until the compressor has compressed them.
+     */
+    @Test
+    public void testCompressedOffRequestPath() {
+        List<Runnable> tasks = new ArrayList<>();
+        RenderedResponseCache deferred = new RenderedResponseCache(store, recordConverter,
+                objectMapper, 1 << 20, Set.of(ContentCoding.GZIP), tasks::add);
+        RenderedResponse response = deferred.find(Operation.DETAILS,
+                "chansey");
+        assertEquals(ContentCoding.IDENTITY,
+                response.negotiate("gzip"));
+        assertEquals(response.length(),
+                deferred.usedBytes());
+        assertEquals(1,
+                tasks.size());
+        tasks.forEach(Runnable::run);
+        assertEquals(ContentCoding.GZIP,
+                response.negotiate("gzip"));
+        assertEquals(response.length(ContentCoding.GZIP),
+                deferred.usedBytes());
+        assertArrayEquals(bytes(response.getBody()),
+                bytes(deferred.body(response,
+                        ContentCoding.IDENTITY)));
+    }
+
+    /**
+     * Tests that records without held items are left to Spring MVC.
+     */
+    @Test
+    public void testMissingList() {
+        assertNull(cache.get(Operation.HELD_ITEMS,
+                "chansey"));
+    }
+
+    /**
+     * Reads the remaining bytes of a buffer.
+     *
+     * @param buffer The buffer.
+     * @return The bytes.
+     */
+    private static byte[] bytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,308 @@
+package com.bankaya.pokemon.api;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.bankaya.pokemon.api.RenderedResponseCache.Operation;
+import com.bankaya.pokemon.catalog.HeapPokemonRecordStorage;
+import com.bankaya.pokemon.catalog.PokemonCatalogStore;
+import com.bankaya.pokemon.catalog.PokemonRecordConverter;
+import com.bankaya.pokemon.fixture.PokemonFixture;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Test class for {@link RenderedResponseFilter} and {@link PokemonEtagFilter}.
+ * <p>
+ * Verifies the validators of the cached operations, the {@code 304 Not Modified} answers to
+ * matching conditional requests, and that both filters tag the same body identically.
+ * </p>
+ *
+ * @see RenderedResponseFilter
+ * @see PokemonEtagFilter
+ */
+public class RenderedResponseFilterTest {
+
+    /** Path of the sample details. */
+    private static final String DETAILS_PATH = "/api/v1/pokemon/chansey";
+
+    /** Cache-Control header of the filter under test. */
+    private static final String CACHE_CONTROL = "max-age=60, public";
+
+    /** Object mapper of the message converters. */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /** Cache of the filter under test. */
+    private RenderedResponseCache cache;
+
+    /** Filter under test. */
+    private RenderedResponseFilter filter;
+
+    /**
+     * Creates a catalog holding the sample record and the filter serving it.
+     */
+    @BeforeEach
+    public void setup() {
+        PokemonCatalogStore store = new PokemonCatalogStore(new HeapPokemonRecordStorage());
+        cache = new RenderedResponseCache(store, new PokemonRecordConverter(objectMapper),
+                objectMapper, 1 << 20);
+        filter = new RenderedResponseFilter(cache, CACHE_CONTROL);
+        store.put(PokemonFixture.createSamplePokemonDto());
+    }
+
+    /**
+     * Tests that a cached body is written with its validators.
+     */
+    @Test
+    public void testCachedBody() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", DETAILS_PATH),
+                response,
+                chain);
+        RenderedResponse rendered = cache.find(Operation.DETAILS,
+                "chansey");
+        assertNull(chain.getRequest());
+        assertEquals(200,
+                response.getStatus());
+        assertEquals(rendered.getEtag(),
+                response.getHeader(HttpHeaders.ETAG));
+        assertEquals(CACHE_CONTROL,
+                response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertArrayEquals(bytes(rendered),
+                response.getContentAsByteArray());
+    }
+
+    /**
+     * Tests that a matching {@code If-None-Match} is answered with {@code 304} and no body.
+     */
+    @Test
+    public void testNotModified() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", DETAILS_PATH);
+        request.addHeader(HttpHeaders.IF_NONE_MATCH,
+                "\"other\", " + cache.find(Operation.DETAILS,
+                        "113").getEtag());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request,
+                response,
+                new MockFilterChain());
+        assertEquals(304,
+                response.getStatus());
+        assertEquals(0,
+                response.getContentAsByteArray().length);
+        assertEquals(0.5,
+                cache.notModifiedRatio());
+    }
+
+    /**
+     * Tests that clients accepting gzip get the precompressed variant with its own validator.
+     */
+    @Test
+    public void testGzipVariant() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", DETAILS_PATH);
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING,
+                "gzip, br;q=0");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request,
+                response,
+                new MockFilterChain());
+        RenderedResponse rendered = cache.find(Operation.DETAILS,
+                "chansey");
+        byte[] compressed = response.getContentAsByteArray();
+        assertEquals("gzip",
+                response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(RenderedResponseFilter.VARY,
+                response.getHeader(HttpHeaders.VARY));
+        assertEquals(compressed.length,
+                response.getContentLength());
+        assertEquals(rendered.getEtag(ContentCoding.GZIP),
+                response.getHeader(HttpHeaders.ETAG));
+        assertArrayEquals(bytes(rendered),
+                new GZIPInputStream(new ByteArrayInputStream(compressed)).readAllBytes());
+    }
+
+    /**
+     * Tests the selection of the variant from the {@code Accept-Encoding} header.
+     */
+    @Test
+    public void testNegotiate() {
+        assertEquals(ContentCoding.BROTLI,
+                ContentCoding.negotiate("gzip, deflate, br",
+                        true,
+                        true));
+        assertEquals(ContentCoding.GZIP,
+                ContentCoding.negotiate("gzip, deflate, br",
+                        false,
+                        true));
+        assertEquals(ContentCoding.GZIP,
+                ContentCoding.negotiate("br;q=0.5, gzip",
+                        true,
+                        true));
+        assertEquals(ContentCoding.GZIP,
+                ContentCoding.negotiate("*",
+                        false,
+                        true));
+        assertEquals(ContentCoding.IDENTITY,
+                ContentCoding.negotiate("gzip;q=0, deflate",
+                        true,
+                        true));
+        assertEquals(ContentCoding.IDENTITY,
+                ContentCoding.negotiate(null,
+                        true,
+                        true));
+    }
+
+    /**
+     * Tests that clients preferring a binary representation go through the controller.
+     */
+    @Test
+    public void testBinaryAccept() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", DETAILS_PATH);
+        request.addHeader(HttpHeaders.ACCEPT,
+                "application/cbor, application/json;q=0.5");
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request,
+                response,
+                chain);
+        assertNotNull(chain.getRequest());
+        assertTrue(RenderedResponseFilter.acceptsJson("application/json, */*"));
+        assertTrue(RenderedResponseFilter.acceptsJson("application/x-protobuf;q=0.5, */*"));
+        assertFalse(RenderedResponseFilter.acceptsJson("application/x-protobuf"));
+    }
+
+    /**
+     * Tests that requests with query parameters go through the controller without the caching
+     * headers.
+     */
+    @Test
+    public void testQueryString() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET",
+                "/api/v1/pokemon/chansey/held-items");
+        request.setQueryString("version=red");
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request,
+                response,
+                chain);
+        assertNotNull(chain.getRequest());
+        assertNull(response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals(0,
+                cache.size());
+    }
+
+    /**
+     * Tests that the collection resources are not taken for Pokemon reads.
+     */
+    @Test
+    public void testCollections() throws Exception {
+        for (String collection : List.of("search",
+                "analytics",
+                "autocomplete",
+                "suggest",
+                "held-items")) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET",
+                    "/api/v1/pokemon/" + collection);
+            assertNull(RenderedResponseFilter.operation(RenderedResponseFilter.segments(
+                    request)));
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request,
+                    response,
+                    chain);
+            assertNotNull(chain.getRequest());
+            assertNull(response.getHeader(HttpHeaders.CACHE_CONTROL));
+            assertNull(response.getHeader(HttpHeaders.VARY));
+        }
+        assertEquals(Operation.HELD_ITEMS,
+                RenderedResponseFilter.operation(RenderedResponseFilter.segments(
+                        "/api/v1/pokemon/chansey/held-items")));
+    }
+
+    /**
+     * Tests that error responses rendered by Spring MVC carry neither validators nor caching
+     * headers.
+     */
+    @Test
+    public void testErrorResponse() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new PokemonEtagFilter(CACHE_CONTROL).doFilter(new MockHttpServletRequest("GET",
+                "/api/v1/pokemon/missingno"),
+                response,
+                new MockFilterChain(new HttpServlet() {
+
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected void service(HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+                        response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                        response.getOutputStream().write("{}".getBytes());
+                    }
+                }));
+        assertEquals(404,
+                response.getStatus());
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+        assertNull(response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    /**
+     * Tests that a body rendered by Spring MVC gets the entity tag of the cached one.
+     */
+    @Test
+    public void testSameEtagOnBothPaths() throws Exception {
+        RenderedResponse rendered = cache.find(Operation.DETAILS,
+                "chansey");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new PokemonEtagFilter(CACHE_CONTROL).doFilter(new MockHttpServletRequest("GET",
+                DETAILS_PATH),
+                response,
+                new MockFilterChain(new HttpServlet() {
+
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected void service(HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+                        response.getOutputStream().write(bytes(rendered));
+                    }
+                }));
+        assertEquals(rendered.getEtag(),
+                response.getHeader(HttpHeaders.ETAG));
+        assertEquals(CACHE_CONTROL,
+                response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals(RenderedResponseFilter.VARY,
+                response.getHeader(HttpHeaders.VARY));
+    }
+
+    /**
+     * Reads the body of a rendered response.
+     *
+     * @param rendered The rendered response.
+     * @return The bytes.
+     */
+    private static byte[] bytes(RenderedResponse rendered) {
+        byte[] bytes = new byte[rendered.length()];
+        rendered.getBody().get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,149 @@
+package com.bankaya.pokemon.api;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+
+import com.bankaya.pokemon.api.RenderedResponseCache.Operation;
+import com.bankaya.pokemon.catalog.HeapPokemonRecordStorage;
+import com.bankaya.pokemon.catalog.PokemonCatalogStore;
+import com.bankaya.pokemon.catalog.PokemonRecordConverter;
+import com.bankaya.pokemon.fixture.PokemonFixture;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Test class for {@link RenderedResponseWebFilter}.
+ * <p>
+ * Verifies that the reactive stack answers the cached operations with the same body and
+ * validators as the servlet filters, and tags the bodies rendered by the controller.
+ * </p>
+ *
+ * @see RenderedResponseWebFilter
+ * @see RenderedResponseFilterTest
+ */
+public class RenderedResponseWebFilterTest {
+
+    /** Path of the sample details. */
+    private static final String DETAILS_PATH = "/api/v1/pokemon/chansey";
+
+    /** Cache-Control header of the filter under test. */
+    private static final String CACHE_CONTROL = "max-age=60, public";
+
+    /** Object mapper of the codecs. */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /** Cache of the filter under test. */
+    private RenderedResponseCache cache;
+
+    /** Filter under test. */
+    private RenderedResponseWebFilter filter;
+
+    /**
+     * Creates a catalog holding the sample record and the filter serving it.
+     */
+    @BeforeEach
+    public void setup() {
+        PokemonCatalogStore store = new PokemonCatalogStore(new HeapPokemonRecordStorage());
+        cache = new RenderedResponseCache(store, new PokemonRecordConverter(objectMapper),
+                objectMapper, 1 << 20);
+        filter = new RenderedResponseWebFilter(cache, CACHE_CONTROL);
+        store.put(PokemonFixture.createSamplePokemonDto());
+    }
+
+    /**
+     * Tests that a cached body is written with its validators, without calling the controller.
+     */
+    @Test
+    public void testCachedBody() {
+        AtomicBoolean called = new AtomicBoolean();
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(
+                DETAILS_PATH));
+        filter.filter(exchange,
+                ex -> {
+                    called.set(true);
+                    return Mono.empty();
+                }).block();
+        RenderedResponse rendered = cache.find(Operation.DETAILS,
+                "chansey");
+        assertFalse(called.get());
+        assertEquals(rendered.getEtag(),
+                exchange.getResponse().getHeaders().getETag());
+        assertEquals(CACHE_CONTROL,
+                exchange.getResponse().getHeaders().getCacheControl());
+        assertEquals(RenderedResponseFilter.VARY,
+                exchange.getResponse().getHeaders().getFirst(HttpHeaders.VARY));
+        assertArrayEquals(bytes(rendered),
+                exchange.getResponse().getBodyAsString().block().getBytes(
+                        StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Tests that a matching {@code If-None-Match} is answered with {@code 304} and no body.
+     */
+    @Test
+    public void testNotModified() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(
+                DETAILS_PATH).header(HttpHeaders.IF_NONE_MATCH,
+                        cache.find(Operation.DETAILS,
+                                "113").getEtag()));
+        filter.filter(exchange,
+                ex -> Mono.empty()).block();
+        assertEquals(HttpStatus.NOT_MODIFIED,
+                exchange.getResponse().getStatusCode());
+        assertTrue(exchange.getResponse().getBodyAsString().blockOptional().orElse("")
+                .isEmpty());
+    }
+
+    /**
+     * Tests that a body rendered by the controller gets the entity tag of the cached one, and
+     * that a matching {@code If-None-Match} then gets {@code 304}.
+     */
+    @Test
+    public void testSameEtagOnBothPaths() {
+        RenderedResponse rendered = cache.find(Operation.DETAILS,
+                "chansey");
+        WebFilterChain controller = ex -> ex.getResponse().writeWith(Mono.just(ex.getResponse()
+                .bufferFactory().wrap(bytes(rendered))));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(
+                DETAILS_PATH).queryParam("fields",
+                        "id,name,base_experience,abilities,held_items,location_area_encounters"));
+        filter.filter(exchange,
+                controller).block();
+        assertEquals(rendered.getEtag(),
+                exchange.getResponse().getHeaders().getETag());
+        MockServerWebExchange conditional = MockServerWebExchange.from(MockServerHttpRequest.get(
+                DETAILS_PATH).queryParam("version",
+                        "red").header(HttpHeaders.IF_NONE_MATCH,
+                                rendered.getEtag()));
+        filter.filter(conditional,
+                controller).block();
+        assertEquals(HttpStatus.NOT_MODIFIED,
+                conditional.getResponse().getStatusCode());
+    }
+
+    /**
+     * Reads the body of a rendered response.
+     *
+     * @param rendered The rendered response.
+     * @return The bytes.
+     */
+    private static byte[] bytes(RenderedResponse rendered) {
+        byte[] bytes = new byte[rendered.length()];
+        rendered.getBody().get(bytes);
+        return bytes;
+    }
+}
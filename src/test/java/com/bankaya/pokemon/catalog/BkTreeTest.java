@@ -0,0 +1,84 @@
+package com.bankaya.pokemon.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.bankaya.pokemon.catalog.BkTree.Match;
+
+/**
+ * Test class for {@link BkTree}.
+ * <p>
+ * Verifies the bounded edit distance and that searches return every name within the distance,
+ * closest first.
+ * </p>
+ *
+ * @see BkTree
+ * @see FuzzyNameIndex
+ */
+public class BkTreeTest {
+
+    /** Tree under test. */
+    private final BkTree tree = BkTree.build(Map.of("pikachu", 25, "pichu", 172, "raichu", 26,
+            "charizard", 6, "charmander", 4, "charmeleon", 5));
+
+    /**
+     * Tests the bounded Levenshtein distance.
+     */
+    @Test
+    public void testDistance() {
+        assertEquals(1,
+                BkTree.distance("pikachuu",
+                        "pikachu",
+                        Integer.MAX_VALUE));
+        assertEquals(4,
+                BkTree.distance("pikachu",
+                        "raichu",
+                        Integer.MAX_VALUE));
+        assertEquals(2,
+                BkTree.distance("pikachu",
+                        "raichu",
+                        1));
+    }
+
+    /**
+     * Tests that near-misses resolve to the closest names.
+     */
+    @Test
+    public void testSearch() {
+        List<Match> matches = tree.search("charizzard",
+                2,
+                5);
+        assertEquals("charizard",
+                matches.get(0).getName());
+        assertEquals(1,
+                matches.get(0).getDistance());
+        assertEquals(List.of("pikachu", "pichu"),
+                tree.search("pikchu",
+                        2,
+                        5).stream().map(Match::getName).toList());
+        assertTrue(tree.search("bulbasaur",
+                2,
+                5).isEmpty());
+        assertTrue(BkTree.empty().search("pikachu",
+                2,
+                5).isEmpty());
+    }
+
+    /**
+     * Tests that a limit below 1 returns no match instead of failing.
+     */
+    @Test
+    public void testSearchWithoutLimit() {
+        assertTrue(tree.search("pikachu",
+                2,
+                0).isEmpty());
+        assertTrue(tree.search("pikachu",
+                2,
+                -1).isEmpty());
+    }
+}
@@ -0,0 +1,106 @@
+package com.bankaya.pokemon.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.bankaya.pokemon.config.CatalogProperties;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.fixture.PokemonFixture;
+
+/**
+ * Test class for {@link CatalogSnapshot}.
+ * <p>
+ * Verifies that rows are sorted by id, that materialized records are equal to the original ones,
+ * including {@code null} values, and that the store rebuilds its snapshot only after changes.
+ * </p>
+ *
+ * @see CatalogSnapshot
+ * @see PokemonCatalogStore
+ */
+public class CatalogSnapshotTest {
+
+    /**
+     * Tests that every row materializes a record equal to the one it was built from.
+     */
+    @Test
+    public void testMaterializeRoundTrip() {
+        PokemonDto chansey = PokemonFixture.createSamplePokemonDto();
+        PokemonDto blissey = PokemonFixture.createSamplePokemonDto();
+        blissey.setId(242);
+        blissey.setName("blissey");
+        blissey.setBaseExperience(null);
+        blissey.setHeldItems(PokemonFixture.createSampleHeldItems());
+        CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(blissey,
+                chansey));
+        assertEquals(2,
+                snapshot.size());
+        assertEquals(0,
+                snapshot.rowOf(113));
+        assertEquals(CatalogSnapshot.NULL_INT,
+                snapshot.baseExperience(1));
+        assertEquals(chansey,
+                snapshot.materialize(0));
+        assertEquals(blissey,
+                snapshot.materialize(1));
+        assertNull(snapshot.materializeHeldItems(0));
+        assertTrue(snapshot.rowOf(1) < 0);
+    }
+
+    /**
+     * Tests that materialized records do not share mutable state with the snapshot, and that
+     * {@code null} hidden flags are kept.
+     */
+    @Test
+    public void testMaterializedRecordsAreIndependent() {
+        PokemonDto chansey = PokemonFixture.createSamplePokemonDto();
+        chansey.getAbilities().get(0).setIsHidden(null);
+        CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(chansey));
+        PokemonDto first = snapshot.materialize(0);
+        assertNull(first.getAbilities().get(0).getIsHidden());
+        assertEquals(chansey,
+                first);
+        PokemonDto second = snapshot.materialize(0);
+        assertNotSame(first.getAbilities().get(0).getAbility(),
+                second.getAbilities().get(0).getAbility());
+        first.getAbilities().get(0).getAbility().setName("changed");
+        assertEquals(chansey,
+                snapshot.materialize(0));
+    }
+
+    /**
+     * Tests that the store reuses its snapshot until the catalog changes, and that changes are
+     * not rebuilt on the reading thread but by a later refresh.
+     */
+    @Test
+    public void testStoreSnapshotIsRebuiltAfterChanges() {
+        CatalogProperties properties = new CatalogProperties();
+        properties.setSnapshotRebuildDelay(Duration.ofMinutes(1));
+        PokemonCatalogStore store = new PokemonCatalogStore(new HeapPokemonRecordStorage(),
+                properties);
+        store.put(PokemonFixture.createSamplePokemonDto());
+        CatalogSnapshot first = store.snapshot();
+        assertSame(first,
+                store.snapshot());
+        PokemonDto blissey = PokemonFixture.createSamplePokemonDto();
+        blissey.setId(242);
+        blissey.setName("blissey");
+        store.put(blissey);
+        assertSame(first,
+                store.snapshot());
+        CatalogSnapshot second = store.refreshSnapshot();
+        assertNotSame(first,
+                second);
+        assertEquals(2,
+                second.size());
+        assertEquals("blissey",
+                second.name(second.rowOf(242)));
+    }
+}
@@ -0,0 +1,120 @@
+package com.bankaya.pokemon.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link IColumnScanner} implementations.
+ * <p>
+ * Verifies the scalar scans on a small column with unknown values and that the fork-join (and,
+ * when available, the Vector API) scanner returns the same results on a column large enough to
+ * be split.
+ * </p>
+ *
+ * @see ScalarColumnScanner
+ * @see ForkJoinColumnScanner
+ */
+public class ColumnScannerTest {
+
+    /** Small column, with an unknown value and ties. */
+    private static final int[] COLUMN = { 64, CatalogSnapshot.NULL_INT, 240, 142, 64, 240, 306 };
+
+    /** Reference scanner. */
+    private final IColumnScanner scalar = new ScalarColumnScanner();
+
+    /**
+     * Tests that aggregates skip unknown values and values out of range.
+     */
+    @Test
+    public void testAggregate() {
+        assertEquals(new ColumnStats(6, 1056, 64, 306),
+                scalar.aggregate(COLUMN,
+                        Integer.MIN_VALUE,
+                        Integer.MAX_VALUE));
+        assertEquals(new ColumnStats(3, 622, 142, 240),
+                scalar.aggregate(COLUMN,
+                        100,
+                        300));
+        assertEquals(ColumnStats.EMPTY,
+                scalar.aggregate(COLUMN,
+                        400,
+                        500));
+    }
+
+    /**
+     * Tests the bucket counts of a histogram.
+     */
+    @Test
+    public void testHistogram() {
+        assertArrayEquals(new int[] { 2, 1, 2, 1 },
+                scalar.histogram(COLUMN,
+                        0,
+                        399,
+                        100));
+    }
+
+    /**
+     * Tests that the ranking is ordered by value, then by row.
+     */
+    @Test
+    public void testTopK() {
+        assertArrayEquals(new int[] { 6, 2, 5 },
+                scalar.topK(COLUMN,
+                        Integer.MIN_VALUE,
+                        Integer.MAX_VALUE,
+                        3));
+        assertArrayEquals(new int[] { 3, 0, 4 },
+                scalar.topK(COLUMN,
+                        0,
+                        200,
+                        5));
+    }
+
+    /**
+     * Tests that every available scanner matches the scalar one on a large column.
+     */
+    @Test
+    public void testScannersAgree() {
+        Random random = new Random(42);
+        int[] column = new int[ForkJoinColumnScanner.THRESHOLD * 5 + 13];
+        for (int row = 0; row < column.length; row++) {
+            column[row] = random.nextInt(10) == 0 ? CatalogSnapshot.NULL_INT
+                    : random.nextInt(700);
+        }
+        IColumnScanner vector = ColumnScanners.vector();
+        List<IColumnScanner> scanners = vector == null ? List.of(new ForkJoinColumnScanner())
+                : List.of(new ForkJoinColumnScanner(), vector);
+        for (IColumnScanner scanner : scanners) {
+            assertEquals(scalar.aggregate(column,
+                    50,
+                    600),
+                    scanner.aggregate(column,
+                            50,
+                            600),
+                    scanner.name());
+            assertArrayEquals(scalar.histogram(column,
+                    0,
+                    699,
+                    25),
+                    scanner.histogram(column,
+                            0,
+                            699,
+                            25),
+                    scanner.name());
+            assertArrayEquals(scalar.topK(column,
+                    Integer.MIN_VALUE,
+                    650,
+                    20),
+                    scanner.topK(column,
+                            Integer.MIN_VALUE,
+                            650,
+                            20),
+                    scanner.name());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.bankaya.pokemon.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.fixture.PokemonFixture;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Test class for {@link FieldSelection}.
+ * <p>
+ * Verifies the parsing of the requested paths and the projection of a Pokemon onto a selection
+ * by the {@link PokemonRecordConverter}.
+ * </p>
+ *
+ * @see FieldSelection
+ */
+public class FieldSelectionTest {
+
+    /** Converter projecting the records. */
+    private final PokemonRecordConverter recordConverter = new PokemonRecordConverter(
+            new ObjectMapper());
+
+    /**
+     * Tests that dotted, comma separated and camel case paths are parsed into a tree.
+     */
+    @Test
+    public void testParse() {
+        FieldSelection fields = FieldSelection.parse(List.of("id,baseExperience",
+                "abilities.ability.name"),
+                FieldSelection.POKEMON);
+        assertFalse(fields.isAll());
+        assertTrue(fields.includes("id"));
+        assertTrue(fields.includes("base_experience"));
+        assertFalse(fields.includes("held_items"));
+        assertTrue(fields.get("abilities").includes("ability"));
+        assertFalse(fields.get("abilities").includes("slot"));
+        assertTrue(fields.get("abilities").get("ability").includes("name"));
+        assertFalse(fields.get("abilities").get("ability").includes("url"));
+    }
+
+    /**
+     * Tests that no path selects every field and that unknown fields are rejected.
+     */
+    @Test
+    public void testParseAllAndUnknown() {
+        assertSame(FieldSelection.ALL,
+                FieldSelection.parse(List.of(),
+                        FieldSelection.POKEMON));
+        assertThrows(IllegalArgumentException.class,
+                () -> FieldSelection.parse(List.of("weight"),
+                        FieldSelection.POKEMON));
+        assertThrows(IllegalArgumentException.class,
+                () -> FieldSelection.parse(List.of("name.first"),
+                        FieldSelection.POKEMON));
+    }
+
+    /**
+     * Tests that a projection only carries the selected fields.
+     */
+    @Test
+    public void testProject() {
+        PokemonDto pokemon = PokemonFixture.createSamplePokemonDto();
+        JsonNode projected = recordConverter.project(pokemon,
+                FieldSelection.parse(List.of("id,name,base_experience,abilities.slot"),
+                        FieldSelection.POKEMON),
+                JsonNode.class);
+        assertEquals(Set.of("id",
+                "name",
+                "base_experience",
+                "abilities"),
+                Set.copyOf(names(projected.fieldNames())));
+        assertEquals(pokemon.getName(),
+                projected.get("name").asText());
+        for (JsonNode ability : projected.get("abilities")) {
+            assertEquals(List.of("slot"),
+                    names(ability.fieldNames()));
+        }
+    }
+
+    /**
+     * Collects the names of the fields of a node.
+     *
+     * @param names The iterator over the names.
+     * @return The names, in order.
+     */
+    private static List<String> names(Iterator<String> names) {
+        List<String> list = new ArrayList<>();
+        names.forEachRemaining(list::add);
+        return list;
+    }
+}
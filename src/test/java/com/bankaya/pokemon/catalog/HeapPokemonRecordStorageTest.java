@@ -0,0 +1,120 @@
+package com.bankaya.pokemon.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.fixture.PokemonFixture;
+
+/**
+ * Test class for {@link HeapPokemonRecordStorage}.
+ * <p>
+ * Verifies that stored records are copied, that the byte budget is enforced by evicting the least
+ * recently read records and that interned resource references are left out of the estimate.
+ * </p>
+ *
+ * @see HeapPokemonRecordStorage
+ */
+public class HeapPokemonRecordStorageTest {
+
+    /**
+     * Tests that a stored record is read back as an equal, distinct instance.
+     */
+    @Test
+    public void testPutAndGet() {
+        HeapPokemonRecordStorage storage = new HeapPokemonRecordStorage();
+        PokemonDto pokemon = PokemonFixture.createSamplePokemonDto();
+        assertNull(storage.put(pokemon));
+        PokemonDto stored = storage.get(pokemon.getId());
+        assertEquals(pokemon,
+                stored);
+        assertNotSame(pokemon,
+                stored);
+        assertTrue(storage.getUsedBytes() > 0);
+    }
+
+    /**
+     * Tests that the least recently read record is evicted once the budget is exceeded.
+     */
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        PokemonDto first = PokemonFixture.createSamplePokemonDto();
+        PokemonDto second = PokemonFixture.createSamplePokemonDto();
+        second.setId(114);
+        PokemonDto third = PokemonFixture.createSamplePokemonDto();
+        third.setId(115);
+        long recordSize = measure(new HeapPokemonRecordStorage(interner(),
+                Long.MAX_VALUE),
+                first);
+        HeapPokemonRecordStorage storage = new HeapPokemonRecordStorage(interner(),
+                recordSize * 2);
+        List<Integer> evicted = new ArrayList<>();
+        storage.setEvictionListener(evicted::add);
+        storage.put(first);
+        storage.put(second);
+        storage.get(first.getId());
+        storage.put(third);
+        assertEquals(List.of(114),
+                evicted);
+        assertTrue(storage.contains(113));
+        assertFalse(storage.contains(114));
+        assertTrue(storage.getUsedBytes() <= recordSize * 2);
+        assertTrue(storage.remove(113));
+        assertEquals(1,
+                storage.size());
+    }
+
+    /**
+     * Tests that a record larger than the budget is not stored.
+     */
+    @Test
+    public void testRejectsRecordOverBudget() {
+        HeapPokemonRecordStorage storage = new HeapPokemonRecordStorage(interner(),
+                1);
+        storage.put(PokemonFixture.createSamplePokemonDto());
+        assertFalse(storage.contains(113));
+        assertEquals(0,
+                storage.getUsedBytes());
+    }
+
+    /**
+     * Tests that interned resource references are not counted against the budget.
+     */
+    @Test
+    public void testInternedReferencesAreNotCounted() {
+        PokemonDto pokemon = PokemonFixture.createSamplePokemonDto();
+        assertTrue(measure(new HeapPokemonRecordStorage(interner(),
+                Long.MAX_VALUE),
+                pokemon) < measure(new HeapPokemonRecordStorage(),
+                        pokemon));
+    }
+
+    /**
+     * Creates an interning table for the PokeAPI resource references.
+     *
+     * @return The interning table.
+     */
+    private static ResourceInterner interner() {
+        return new ResourceInterner("https://pokeapi.co/api/v2/");
+    }
+
+    /**
+     * Measures the estimated size of a record.
+     *
+     * @param storage An empty storage.
+     * @param pokemon The record.
+     * @return The number of bytes it uses once stored.
+     */
+    private static long measure(HeapPokemonRecordStorage storage, PokemonDto pokemon) {
+        storage.put(pokemon);
+        return storage.getUsedBytes();
+    }
+}
@@ -0,0 +1,123 @@
+package com.bankaya.pokemon.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.dto.PokemonHeldItemDto;
+import com.bankaya.pokemon.fixture.PokemonFixture;
+
+/**
+ * Test class for {@link HeldItemVersionIndex}.
+ * <p>
+ * Uses a record holding the sample items: the oval stone (rarity 50) and the lucky egg (rarity 5)
+ * are both held in diamond, while the lucky punch is not.
+ * </p>
+ *
+ * @see HeldItemVersionIndex
+ */
+public class HeldItemVersionIndexTest {
+
+    /** Catalog notifying the index. */
+    private PokemonCatalogStore store;
+
+    /** Index under test. */
+    private HeldItemVersionIndex index;
+
+    /**
+     * Creates an indexed catalog holding the sample record.
+     */
+    @BeforeEach
+    public void setup() {
+        store = new PokemonCatalogStore(new HeapPokemonRecordStorage());
+        index = new HeldItemVersionIndex(store);
+        store.put(createChansey());
+    }
+
+    /**
+     * Tests the held items of a Pokemon restricted to a version.
+     */
+    @Test
+    public void testHeldItemsByVersion() {
+        List<PokemonHeldItemDto> heldItems = index.heldItems("Diamond",
+                113);
+        assertEquals(2,
+                heldItems.size());
+        assertEquals("oval-stone",
+                heldItems.get(0).getItem().getName());
+        assertEquals("diamond",
+                heldItems.get(0).getVersionDetails().get(0).getVersion().getName());
+        assertEquals(1,
+                heldItems.get(0).getVersionDetails().size());
+        assertEquals(heldItems,
+                HeldItemVersionIndex.filter(createChansey(),
+                        "diamond"));
+    }
+
+    /**
+     * Tests the top-K query, which stops at the minimum rarity.
+     */
+    @Test
+    public void testTopByRarity() {
+        List<HeldItemVersionIndex.Entry> top = index.topByRarity("diamond",
+                10,
+                5);
+        assertEquals(1,
+                top.size());
+        assertEquals(50,
+                top.get(0).getRarity());
+        assertEquals(1,
+                index.topByRarity("diamond",
+                        0,
+                        1).size());
+    }
+
+    /**
+     * Tests that replacing a record removes its stale entries.
+     */
+    @Test
+    public void testReplaceRemovesStaleEntries() {
+        store.put(PokemonFixture.createSamplePokemonDto());
+        assertTrue(index.heldItems("diamond",
+                113).isEmpty());
+        assertTrue(index.contains(113));
+    }
+
+    /**
+     * Tests that an index created on a non-empty catalog indexes the stored records once, even
+     * when it is notified of them again.
+     */
+    @Test
+    public void testIndexesStoredRecords() {
+        HeldItemVersionIndex created = new HeldItemVersionIndex(store);
+        created.onPut(null,
+                createChansey());
+        assertTrue(created.contains(113));
+        assertEquals(2,
+                created.heldItems("diamond",
+                        113).size());
+        assertEquals(2,
+                created.topByRarity("diamond",
+                        0,
+                        10).size());
+        store.remove(113);
+        assertTrue(created.heldItems("diamond",
+                113).isEmpty());
+    }
+
+    /**
+     * Creates the sample record with the sample held items.
+     *
+     * @return The record.
+     */
+    private static PokemonDto createChansey() {
+        PokemonDto chansey = PokemonFixture.createSamplePokemonDto();
+        chansey.setHeldItems(PokemonFixture.createSampleHeldItems());
+        return chansey;
+    }
+}
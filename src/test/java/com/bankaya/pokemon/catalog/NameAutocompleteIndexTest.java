@@ -0,0 +1,141 @@
+package com.bankaya.pokemon.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bankaya.pokemon.config.CatalogProperties;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * Test class for {@link NameAutocompleteIndex}.
+ * <p>
+ * The index is fed by a {@link PokemonNameRegistry} over a catalog holding chansey; the PokeAPI
+ * name list is never loaded. New names are indexed by the background rebuild of the registry,
+ * which replaces the trie while readers keep completing names.
+ * </p>
+ *
+ * @see NameAutocompleteIndex
+ * @see PokemonNameRegistry
+ */
+public class NameAutocompleteIndexTest {
+
+    /** Catalog whose names are indexed. */
+    private PokemonCatalogStore store;
+
+    /** Registry feeding the index. */
+    private PokemonNameRegistry registry;
+
+    /** Index under test. */
+    private NameAutocompleteIndex index;
+
+    /**
+     * Creates the catalog, the registry and the index.
+     */
+    @BeforeEach
+    public void setup() {
+        store = new PokemonCatalogStore(new HeapPokemonRecordStorage());
+        store.put(PokemonDto.builder().id(113).name("Chansey").build());
+        registry = new PokemonNameRegistry(store, new CatalogProperties(), HttpClient.create(),
+                new ObjectMapper(), "http://127.0.0.1:1/api/v2");
+        index = new NameAutocompleteIndex(registry);
+    }
+
+    /**
+     * Stops the registry and the catalog.
+     */
+    @AfterEach
+    public void tearDown() {
+        registry.shutdown();
+        store.shutdown();
+    }
+
+    /**
+     * Tests that the names of the catalog are indexed on creation and kept once evicted.
+     */
+    @Test
+    public void testCompletesCatalogNames() {
+        assertEquals(List.of("chansey"),
+                index.complete(" CH",
+                        5));
+        store.remove(113);
+        assertEquals(List.of("chansey"),
+                index.complete("ch",
+                        5));
+        assertEquals(1,
+                index.size());
+    }
+
+    /**
+     * Tests that new names are indexed by the delayed background rebuild, not on the writer
+     * thread, while concurrent readers only ever see complete tries that never shrink.
+     *
+     * @throws Exception If the rebuild times out or a reader fails.
+     */
+    @Test
+    public void testAtomicBackgroundRebuild() throws Exception {
+        CompletableFuture<Map<String, Integer>> rebuilt = new CompletableFuture<>();
+        registry.onRebuild(names -> {
+            if (names.size() == 101) {
+                rebuilt.complete(names);
+            }
+        });
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> reader = readers.submit(() -> {
+                int seen = 0;
+                while (running.get()) {
+                    int size = index.size();
+                    List<String> names = index.complete("pokemon-",
+                            PrefixTrie.MAX_SUGGESTIONS);
+                    if (size < seen || names.size() > index.size()) {
+                        throw new AssertionError("Partial trie of " + size + " names");
+                    }
+                    seen = size;
+                }
+                return null;
+            });
+            for (int id = 1; id <= 100; id++) {
+                store.put(PokemonDto.builder().id(1000 + id).name(String.format("pokemon-%03d",
+                        id)).build());
+            }
+            assertEquals(1,
+                    index.size());
+
+            rebuilt.get(5,
+                    TimeUnit.SECONDS);
+            running.set(false);
+            reader.get(5,
+                    TimeUnit.SECONDS);
+        } finally {
+            running.set(false);
+            readers.shutdownNow();
+        }
+        assertEquals(101,
+                index.size());
+        List<String> completions = index.complete("pokemon-0",
+                3);
+        assertEquals(List.of("pokemon-001",
+                "pokemon-002",
+                "pokemon-003"),
+                completions);
+        assertFalse(index.complete("pokemon-100",
+                1).isEmpty());
+    }
+}
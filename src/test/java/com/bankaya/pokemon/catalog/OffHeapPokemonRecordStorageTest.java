@@ -0,0 +1,108 @@
+package com.bankaya.pokemon.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.fixture.PokemonFixture;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Test class for {@link OffHeapPokemonRecordStorage}.
+ * <p>
+ * Verifies that records survive the round trip through direct buffers and that the byte budget
+ * is enforced by evicting the least recently read records, and that sparse fieldsets are applied
+ * while decoding.
+ * </p>
+ *
+ * @see OffHeapPokemonRecordStorage
+ */
+public class OffHeapPokemonRecordStorageTest {
+
+    /** Object mapper used to encode the records. */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Tests that a stored record is decoded into an equal, distinct instance.
+     */
+    @Test
+    public void testPutAndGet() {
+        OffHeapPokemonRecordStorage storage = new OffHeapPokemonRecordStorage(objectMapper,
+                1024 * 1024);
+        PokemonDto pokemon = PokemonFixture.createSamplePokemonDto();
+        storage.put(pokemon);
+        PokemonDto stored = storage.get(pokemon.getId());
+        assertEquals(pokemon,
+                stored);
+        assertNotSame(pokemon,
+                stored);
+        assertTrue(storage.getUsedBytes() > 0);
+    }
+
+    /**
+     * Tests that only the selected fields are decoded.
+     */
+    @Test
+    public void testGetSelectedFields() {
+        OffHeapPokemonRecordStorage storage = new OffHeapPokemonRecordStorage(objectMapper,
+                1024 * 1024);
+        PokemonDto pokemon = PokemonFixture.createSamplePokemonDto();
+        storage.put(pokemon);
+        PokemonDto stored = storage.get(pokemon.getId(),
+                FieldSelection.parse(List.of("id,name"),
+                        FieldSelection.POKEMON));
+        assertEquals(pokemon.getId(),
+                stored.getId());
+        assertEquals(pokemon.getName(),
+                stored.getName());
+        assertNull(stored.getAbilities());
+        assertNull(stored.getBaseExperience());
+    }
+
+    /**
+     * Tests that the least recently read record is evicted once the budget is exceeded.
+     */
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        PokemonDto first = PokemonFixture.createSamplePokemonDto();
+        PokemonDto second = PokemonFixture.createSamplePokemonDto();
+        second.setId(114);
+        PokemonDto third = PokemonFixture.createSamplePokemonDto();
+        third.setId(115);
+        long recordSize = measure(first);
+        OffHeapPokemonRecordStorage storage = new OffHeapPokemonRecordStorage(objectMapper,
+                recordSize * 2);
+        List<Integer> evicted = new ArrayList<>();
+        storage.setEvictionListener(evicted::add);
+        storage.put(first);
+        storage.put(second);
+        storage.get(first.getId());
+        storage.put(third);
+        assertEquals(List.of(114),
+                evicted);
+        assertTrue(storage.contains(113));
+        assertFalse(storage.contains(114));
+        assertTrue(storage.getUsedBytes() <= recordSize * 2);
+    }
+
+    /**
+     * Measures the encoded size of a record.
+     *
+     * @param pokemon The record.
+     * @return The number of bytes it uses once stored.
+     */
+    private long measure(PokemonDto pokemon) {
+        OffHeapPokemonRecordStorage storage = new OffHeapPokemonRecordStorage(objectMapper,
+                Long.MAX_VALUE);
+        storage.put(pokemon);
+        return storage.getUsedBytes();
+    }
+}
@@ -0,0 +1,148 @@
+package com.bankaya.pokemon.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.bankaya.pokemon.config.CatalogProperties;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Test class for {@link PokeApiDumpImporter}.
+ * <p>
+ * Builds a minimal dump with the {@code api-data} layout in a temporary directory and verifies
+ * that the importer stores compact records, rewrites relative URLs, only re-parses files that
+ * changed and removes the records of deleted files.
+ * </p>
+ *
+ * @see PokeApiDumpImporter
+ * @see PokemonCatalogStore
+ */
+public class PokeApiDumpImporterTest {
+
+    /** Sample dump document, including a section the catalog does not keep. */
+    private static final String BULBASAUR = "{\"id\":1,\"name\":\"bulbasaur\","
+            + "\"base_experience\":64,\"moves\":[{\"move\":{\"name\":\"razor-wind\"}}],"
+            + "\"abilities\":[{\"is_hidden\":false,\"slot\":1,\"ability\":{\"name\":\"overgrow\","
+            + "\"url\":\"/api/v2/ability/65/\"}}],\"held_items\":[],"
+            + "\"location_area_encounters\":\"/api/v2/pokemon/1/encounters\"}";
+
+    /** Second sample dump document. */
+    private static final String CHANSEY = "{\"id\":113,\"name\":\"chansey\","
+            + "\"base_experience\":395,\"abilities\":[],\"held_items\":[]}";
+
+    /** Temporary dump root. */
+    @TempDir
+    Path dumpDirectory;
+
+    /** Store populated by the importer. */
+    private PokemonCatalogStore store;
+
+    /** Importer under test. */
+    private PokeApiDumpImporter importer;
+
+    /**
+     * Creates a two Pokemon dump and the importer under test.
+     *
+     * @throws IOException If the dump cannot be written.
+     */
+    @BeforeEach
+    public void setup() throws IOException {
+        writePokemon(1,
+                BULBASAUR);
+        writePokemon(113,
+                CHANSEY);
+        CatalogProperties properties = new CatalogProperties();
+        properties.setImportParallelism(2);
+        store = new PokemonCatalogStore(new HeapPokemonRecordStorage());
+        importer = new PokeApiDumpImporter(properties, store, new ObjectMapper(),
+                "https://pokeapi.co/api/v2/");
+    }
+
+    /**
+     * Tests that every dump document is imported and can be resolved by name or id.
+     */
+    @Test
+    public void testImportDump() {
+        PokeApiDumpImporter.ImportResult result = importer.importDump(dumpDirectory);
+        assertEquals(2,
+                result.getImported());
+        assertEquals(0,
+                result.getFailed());
+        PokemonDto bulbasaur = store.find("Bulbasaur").orElseThrow();
+        assertEquals(64,
+                bulbasaur.getBaseExperience());
+        assertEquals("https://pokeapi.co/api/v2/ability/65/",
+                bulbasaur.getAbilities().get(0).getAbility().getUrl());
+        assertEquals("https://pokeapi.co/api/v2/pokemon/1/encounters",
+                bulbasaur.getLocationAreaEncounters());
+        assertTrue(store.find("113").isPresent());
+    }
+
+    /**
+     * Tests that a second import only parses the files modified since the first one.
+     *
+     * @throws IOException If the dump cannot be modified.
+     */
+    @Test
+    public void testImportDumpIsIncremental() throws IOException {
+        importer.importDump(dumpDirectory);
+        Path chansey = writePokemon(113,
+                CHANSEY.replace("395",
+                        "396"));
+        Files.setLastModifiedTime(chansey,
+                FileTime.from(Instant.now().plusSeconds(60)));
+        PokeApiDumpImporter.ImportResult result = importer.importDump(dumpDirectory);
+        assertEquals(1,
+                result.getImported());
+        assertEquals(1,
+                result.getSkipped());
+        assertEquals(396,
+                store.find("chansey").orElseThrow().getBaseExperience());
+    }
+
+    /**
+     * Tests that a re-import removes the records whose file was deleted from the dump.
+     *
+     * @throws IOException If the dump cannot be modified.
+     */
+    @Test
+    public void testImportDumpRemovesDeletedFiles() throws IOException {
+        importer.importDump(dumpDirectory);
+        Files.delete(dumpDirectory.resolve("data/api/v2/pokemon/113/index.json"));
+        PokeApiDumpImporter.ImportResult result = importer.importDump(dumpDirectory);
+        assertEquals(1,
+                result.getRemoved());
+        assertEquals(1,
+                result.getSkipped());
+        assertFalse(store.find("chansey").isPresent());
+        assertFalse(store.find("113").isPresent());
+        assertTrue(store.find("bulbasaur").isPresent());
+    }
+
+    /**
+     * Writes a Pokemon document using the dump layout.
+     *
+     * @param id       The Pokemon id.
+     * @param document The JSON document.
+     * @return The written file.
+     * @throws IOException If the file cannot be written.
+     */
+    private Path writePokemon(int id, String document) throws IOException {
+        Path directory = dumpDirectory.resolve("data/api/v2/pokemon/" + id);
+        Files.createDirectories(directory);
+        return Files.writeString(directory.resolve("index.json"),
+                document);
+    }
+}
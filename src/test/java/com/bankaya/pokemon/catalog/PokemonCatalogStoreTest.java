@@ -0,0 +1,290 @@
+package com.bankaya.pokemon.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.bankaya.pokemon.config.CatalogProperties;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.fixture.PokemonFixture;
+
+/**
+ * Test class for {@link PokemonCatalogStore}.
+ * <p>
+ * Verifies the name index, the per-id serialization of the writes, the replay of the stored
+ * records to new listeners, the coalesced background rebuild of the snapshot, and that the
+ * listeners and the name index end up consistent with the storage once records have been put and
+ * evicted concurrently; evictions are notified by the background thread of the store.
+ * </p>
+ *
+ * @see PokemonCatalogStore
+ */
+public class PokemonCatalogStoreTest {
+
+    /** Store under test, stopped after every test. */
+    private PokemonCatalogStore store;
+
+    /**
+     * Stops the snapshot rebuild thread.
+     */
+    @AfterEach
+    public void tearDown() {
+        if (store != null) {
+            store.shutdown();
+        }
+    }
+
+    /**
+     * Tests that records are resolved by name or id, and that renaming a record never removes the
+     * name of another one.
+     */
+    @Test
+    public void testNameIndex() {
+        store = new PokemonCatalogStore(new HeapPokemonRecordStorage());
+        store.put(pokemon(113,
+                "Chansey"));
+        assertEquals(Optional.of(113),
+                store.resolveId(" CHANSEY "));
+        assertEquals(Optional.of(113),
+                store.resolveId("113"));
+        assertEquals("chansey",
+                store.nameOf(113));
+
+        store.put(pokemon(242,
+                "chansey"));
+        store.put(pokemon(113,
+                "blissey"));
+        assertEquals(Optional.of(242),
+                store.resolveId("chansey"));
+        assertEquals(Optional.of(113),
+                store.resolveId("blissey"));
+
+        assertTrue(store.remove(113));
+        assertFalse(store.remove(113));
+        assertEquals(Optional.empty(),
+                store.resolveId("blissey"));
+        assertEquals(Optional.empty(),
+                store.resolveId("113"));
+        assertEquals(Optional.of(242),
+                store.resolveId("chansey"));
+    }
+
+    /**
+     * Tests that concurrent writes of the same id never notify the listeners concurrently, and
+     * that the last notification is the stored record.
+     *
+     * @throws Exception If a writer fails or the test is interrupted.
+     */
+    @Test
+    public void testWritesAreSerializedPerId() throws Exception {
+        store = new PokemonCatalogStore(new HeapPokemonRecordStorage());
+        AtomicInteger active = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        List<Integer> notified = new ArrayList<>();
+        store.addListener(new ICatalogListener() {
+            @Override
+            public void onPut(PokemonDto previous, PokemonDto current) {
+                if (active.incrementAndGet() > 1) {
+                    overlapped.set(true);
+                }
+                notified.add(current.getBaseExperience());
+                Thread.yield();
+                active.decrementAndGet();
+            }
+
+            @Override
+            public void onRemove(int id) {
+            }
+        });
+        ExecutorService writers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> writes = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                PokemonDto pokemon = pokemon(113,
+                        "chansey");
+                pokemon.setBaseExperience(i);
+                writes.add(writers.submit(() -> store.put(pokemon)));
+            }
+            for (Future<?> write : writes) {
+                write.get(5,
+                        TimeUnit.SECONDS);
+            }
+        } finally {
+            writers.shutdownNow();
+        }
+        assertFalse(overlapped.get());
+        assertEquals(200,
+                notified.size());
+        assertEquals(notified.get(notified.size() - 1),
+                store.find(113).get().getBaseExperience());
+    }
+
+    /**
+     * Tests that a listener registered with replay is notified of every stored record, and of
+     * the later changes.
+     */
+    @Test
+    public void testListenerReplay() {
+        store = new PokemonCatalogStore(new HeapPokemonRecordStorage());
+        store.put(pokemon(113,
+                "chansey"));
+        store.put(pokemon(242,
+                "blissey"));
+        LiveIds live = new LiveIds();
+        store.addListenerWithReplay(live);
+        assertEquals(Set.of(113,
+                242),
+                live.ids);
+
+        store.remove(242);
+        store.put(pokemon(440,
+                "happiny"));
+        assertEquals(Set.of(113,
+                440),
+                live.ids);
+    }
+
+    /**
+     * Tests that the first snapshot is built right away, and that later changes are picked up by
+     * a single background rebuild without blocking the readers.
+     *
+     * @throws Exception If the test is interrupted.
+     */
+    @Test
+    public void testSnapshotScheduling() throws Exception {
+        CatalogProperties properties = new CatalogProperties();
+        properties.setSnapshotRebuildDelay(Duration.ofMillis(50));
+        store = new PokemonCatalogStore(new HeapPokemonRecordStorage(), properties);
+        store.put(pokemon(113,
+                "chansey"));
+        CatalogSnapshot first = store.snapshot();
+        assertTrue(first.rowOf(113) >= 0);
+        assertSame(first,
+                store.snapshot());
+
+        store.put(pokemon(242,
+                "blissey"));
+        store.put(pokemon(440,
+                "happiny"));
+        assertTrue(store.snapshot().rowOf(242) < 0);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (store.snapshot() == first && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        CatalogSnapshot rebuilt = store.snapshot();
+        assertTrue(rebuilt.rowOf(242) >= 0);
+        assertTrue(rebuilt.rowOf(440) >= 0);
+    }
+
+    /**
+     * Tests that the listeners and the name index match the storage once concurrent writers have
+     * filled a bounded storage, evicting records as they go.
+     *
+     * @throws Exception If a writer fails or the test is interrupted.
+     */
+    @Test
+    public void testConcurrentPutAndEvict() throws Exception {
+        HeapPokemonRecordStorage sizing = new HeapPokemonRecordStorage();
+        sizing.put(pokemon(113,
+                "chansey"));
+        store = new PokemonCatalogStore(new HeapPokemonRecordStorage(new ResourceInterner(
+                "https://pokeapi.co/api/v2/"), sizing.getUsedBytes() * 8));
+        LiveIds live = new LiveIds();
+        store.addListener(live);
+        int writers = 4;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> writes = new ArrayList<>();
+            for (int writer = 0; writer < writers; writer++) {
+                int first = writer * 100;
+                writes.add(executor.submit(() -> {
+                    start.await();
+                    for (int id = first; id < first + 100; id++) {
+                        store.put(pokemon(id % 150 + 1,
+                                "pokemon-" + (id % 150 + 1)));
+                        store.find(String.valueOf(id % 7 + 1));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> write : writes) {
+                write.get(10,
+                        TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Set<Integer> stored = IntStream.rangeClosed(1,
+                150).filter(store::contains).boxed().collect(Collectors.toSet());
+        assertTrue(stored.size() < 150);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!stored.equals(live.ids) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(stored,
+                live.ids);
+        assertEquals(stored,
+                IntStream.of(store.ids()).boxed().collect(Collectors.toSet()));
+        stored.forEach(id -> assertEquals(Optional.of(id),
+                store.resolveId("pokemon-" + id)));
+    }
+
+    /**
+     * Creates a copy of the sample record with another id and name.
+     *
+     * @param id   The Pokemon id.
+     * @param name The Pokemon name.
+     * @return The record.
+     */
+    private static PokemonDto pokemon(int id, String name) {
+        PokemonDto pokemon = PokemonFixture.createSamplePokemonDto();
+        pokemon.setId(id);
+        pokemon.setName(name);
+        return pokemon;
+    }
+
+    /**
+     * Listener tracking the ids of the records it was told are stored.
+     */
+    private static class LiveIds implements ICatalogListener {
+
+        /** Ids of the stored records. */
+        private final Set<Integer> ids = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public void onPut(PokemonDto previous, PokemonDto current) {
+            if (current != null) {
+                ids.add(current.getId());
+            } else if (previous != null) {
+                ids.remove(previous.getId());
+            }
+        }
+
+        @Override
+        public void onRemove(int id) {
+            ids.remove(id);
+        }
+    }
+}
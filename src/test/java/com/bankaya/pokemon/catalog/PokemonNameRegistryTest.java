@@ -0,0 +1,209 @@
+package com.bankaya.pokemon.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bankaya.pokemon.config.CatalogProperties;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * Test class for {@link PokemonNameRegistry}.
+ * <p>
+ * A local HTTP server plays the PokeAPI name list: it answers {@link #failures} requests with a
+ * {@code 503} JSON error body before serving a list holding {@code pikachu} (id 25).
+ * </p>
+ *
+ * @see PokemonNameRegistry
+ */
+public class PokemonNameRegistryTest {
+
+    /** Local server playing the PokeAPI. */
+    private HttpServer server;
+
+    /** Number of requests still answered with an error. */
+    private final AtomicInteger failures = new AtomicInteger();
+
+    /** Counted down on every request of the name list. */
+    private CountDownLatch requests;
+
+    /** Catalog whose names are registered. */
+    private PokemonCatalogStore store;
+
+    /** Catalog configuration, with short delays. */
+    private CatalogProperties properties;
+
+    /** Registry under test. */
+    private PokemonNameRegistry registry;
+
+    /**
+     * Starts the local server and creates the registry.
+     *
+     * @throws IOException If the server cannot be started.
+     */
+    @BeforeEach
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v2/pokemon",
+                this::respond);
+        server.start();
+        properties = new CatalogProperties();
+        properties.setNameListRetryBackoff(Duration.ofMillis(10));
+        properties.setNameIndexRebuildDelay(Duration.ofMillis(10));
+        store = new PokemonCatalogStore(new HeapPokemonRecordStorage());
+        store.put(PokemonDto.builder().id(113).name("Chansey").build());
+        registry = new PokemonNameRegistry(store, properties, HttpClient.create(),
+                new ObjectMapper(),
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/api/v2");
+    }
+
+    /**
+     * Stops the registry and the local server.
+     */
+    @AfterEach
+    public void tearDown() {
+        registry.shutdown();
+        store.shutdown();
+        server.stop(0);
+    }
+
+    /**
+     * Tests that the names of the catalog are registered, including those stored later.
+     *
+     * @throws Exception If the test is interrupted or the JSON cannot be parsed.
+     */
+    @Test
+    public void testRegistersCatalogNames() throws Exception {
+        CompletableFuture<Map<String, Integer>> rebuilt = new CompletableFuture<>();
+        registry.onRebuild(names -> {
+            if (names.containsKey("blissey")) {
+                rebuilt.complete(names);
+            }
+        });
+        assertEquals(113,
+                registry.idOf("chansey"));
+        store.put(PokemonDto.builder().id(242).name("blissey").build());
+        store.remove(113);
+
+        assertEquals(242,
+                rebuilt.get(5,
+                        TimeUnit.SECONDS).get("blissey"));
+        assertEquals(113,
+                registry.idOf("chansey"));
+        assertFalse(registry.isNameListLoaded());
+    }
+
+    /**
+     * Tests that error responses are retried until the name list is served.
+     *
+     * @throws Exception If the test is interrupted or the JSON cannot be parsed.
+     */
+    @Test
+    public void testRetriesFailedNameList() throws Exception {
+        failures.set(2);
+        requests = new CountDownLatch(3);
+        CompletableFuture<Map<String, Integer>> rebuilt = new CompletableFuture<>();
+        registry.onRebuild(names -> {
+            if (names.containsKey("pikachu")) {
+                rebuilt.complete(names);
+            }
+        });
+        registry.loadNameList();
+
+        assertEquals(25,
+                rebuilt.get(5,
+                        TimeUnit.SECONDS).get("pikachu"));
+        assertTrue(requests.await(5,
+                TimeUnit.SECONDS));
+        assertTrue(registry.isNameListLoaded());
+        assertEquals(113,
+                registry.idOf("chansey"));
+    }
+
+    /**
+     * Tests that the name list is not marked as loaded when every attempt fails.
+     *
+     * @throws Exception If the test is interrupted or the JSON cannot be parsed.
+     */
+    @Test
+    public void testFailedNameListIsNotLoaded() throws Exception {
+        failures.set(Integer.MAX_VALUE);
+        requests = new CountDownLatch(6);
+        registry.loadNameList();
+
+        assertTrue(requests.await(10,
+                TimeUnit.SECONDS));
+        assertFalse(registry.isNameListLoaded());
+        assertNull(registry.idOf("pikachu"));
+    }
+
+    /**
+     * Tests that an error body or an empty list is rejected.
+     *
+     * @throws Exception If the test is interrupted or the JSON cannot be parsed.
+     */
+    @Test
+    public void testParseNameList() throws Exception {
+        ObjectMapper reader = new ObjectMapper();
+        assertEquals(Map.of("pikachu",
+                25),
+                PokemonNameRegistry.parseNameList(reader.readTree(nameList())));
+        for (String body : new String[] { "{\"detail\": \"Too many requests\"}",
+                "{\"results\": []}" }) {
+            assertThrows(IllegalStateException.class,
+                    () -> PokemonNameRegistry.parseNameList(reader.readTree(body)));
+        }
+    }
+
+    /**
+     * Answers a request of the name list.
+     *
+     * @param exchange The exchange.
+     * @throws IOException If the response cannot be written.
+     */
+    private void respond(HttpExchange exchange) throws IOException {
+        boolean failed = failures.getAndDecrement() > 0;
+        byte[] bytes = (failed ? "{\"detail\": \"Service unavailable\"}" : nameList())
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type",
+                "application/json");
+        exchange.sendResponseHeaders(failed ? 503 : 200,
+                bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+        if (requests != null) {
+            requests.countDown();
+        }
+    }
+
+    /**
+     * Creates the JSON of a name list holding pikachu.
+     *
+     * @return The JSON document.
+     */
+    private static String nameList() {
+        return "{\"count\": 1, \"results\": [{\"name\": \"pikachu\", \"url\": "
+                + "\"https://pokeapi.co/api/v2/pokemon/25/\"}]}";
+    }
+}
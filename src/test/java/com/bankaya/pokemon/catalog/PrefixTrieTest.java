@@ -0,0 +1,57 @@
+package com.bankaya.pokemon.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link PrefixTrie}.
+ * <p>
+ * Verifies that completions are restricted to the prefix, ranked by Pokemon id and limited, and
+ * that unknown prefixes return nothing.
+ * </p>
+ *
+ * @see PrefixTrie
+ * @see NameAutocompleteIndex
+ */
+public class PrefixTrieTest {
+
+    /** Trie under test. */
+    private final PrefixTrie trie = PrefixTrie.build(Map.of("pikachu", 25, "pichu", 172,
+            "pikipek", 731, "pidgey", 16, "pikachu-rock-star", 10080, "bulbasaur", 1));
+
+    /**
+     * Tests that completions are ranked by id.
+     */
+    @Test
+    public void testComplete() {
+        assertEquals(List.of("pidgey", "pikachu", "pichu", "pikipek", "pikachu-rock-star"),
+                trie.complete("pi",
+                        10));
+        assertEquals(List.of("pikachu", "pikachu-rock-star"),
+                trie.complete("pikachu",
+                        10));
+        assertEquals(List.of("bulbasaur"),
+                trie.complete("",
+                        1));
+    }
+
+    /**
+     * Tests prefixes without matches and the empty trie.
+     */
+    @Test
+    public void testCompleteWithoutMatches() {
+        assertTrue(trie.complete("pikz",
+                10).isEmpty());
+        assertTrue(trie.complete("pikachu-rock-star-x",
+                10).isEmpty());
+        assertTrue(PrefixTrie.empty().complete("a",
+                10).isEmpty());
+        assertEquals(6,
+                trie.size());
+    }
+}
@@ -0,0 +1,97 @@
+package com.bankaya.pokemon.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bankaya.pokemon.catalog.ResourceBitmapIndex.Dimension;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.fixture.PokemonFixture;
+
+/**
+ * Test class for {@link ResourceBitmapIndex}.
+ * <p>
+ * Verifies that records are indexed as they are stored in the catalog, that {@code AND} and
+ * {@code OR} queries combine the bitmaps and that replaced records are re-indexed.
+ * </p>
+ *
+ * @see ResourceBitmapIndex
+ * @see PokemonCatalogStore
+ */
+public class ResourceBitmapIndexTest {
+
+    /** Catalog notifying the index. */
+    private PokemonCatalogStore store;
+
+    /** Index under test. */
+    private ResourceBitmapIndex index;
+
+    /**
+     * Creates an indexed catalog with chansey (no held items) and blissey (sample held items).
+     */
+    @BeforeEach
+    public void setup() {
+        store = new PokemonCatalogStore(new HeapPokemonRecordStorage());
+        index = new ResourceBitmapIndex(store);
+        store.put(PokemonFixture.createSamplePokemonDto());
+        store.put(createBlissey());
+    }
+
+    /**
+     * Tests {@code AND} and {@code OR} combinations across dimensions.
+     */
+    @Test
+    public void testQuery() {
+        assertArrayEquals(new int[] { 113, 242 },
+                index.query(Map.of(Dimension.ABILITY,
+                        List.of("Healer")),
+                        true).toArray());
+        assertArrayEquals(new int[] { 242 },
+                index.query(Map.of(Dimension.ABILITY,
+                        List.of("healer"),
+                        Dimension.ITEM,
+                        List.of("lucky-egg")),
+                        true).toArray());
+        assertArrayEquals(new int[] { 113, 242 },
+                index.query(Map.of(Dimension.ABILITY,
+                        List.of("natural-cure", "levitate")),
+                        false).toArray());
+        assertTrue(index.query(Map.of(Dimension.ABILITY,
+                List.of("natural-cure", "levitate")),
+                true).isEmpty());
+    }
+
+    /**
+     * Tests that replacing a record drops the resources it no longer references.
+     */
+    @Test
+    public void testReplaceReindexes() {
+        PokemonDto blissey = createBlissey();
+        blissey.setHeldItems(null);
+        store.put(blissey);
+        assertTrue(index.query(Map.of(Dimension.ITEM,
+                List.of("lucky-egg")),
+                true).isEmpty());
+        assertEquals(0,
+                index.size(Dimension.VERSION));
+    }
+
+    /**
+     * Creates a second record sharing the abilities of chansey and holding the sample items.
+     *
+     * @return The record.
+     */
+    private static PokemonDto createBlissey() {
+        PokemonDto blissey = PokemonFixture.createSamplePokemonDto();
+        blissey.setId(242);
+        blissey.setName("blissey");
+        blissey.setHeldItems(PokemonFixture.createSampleHeldItems());
+        return blissey;
+    }
+}
@@ -0,0 +1,125 @@
+package com.bankaya.pokemon.catalog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.fixture.PokemonFixture;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Test class for {@link ResourceInterner}.
+ * <p>
+ * Verifies that equal resource references are shared, that interned records are read back as
+ * fresh DTOs serializing exactly like the original ones and that references outside the PokeAPI
+ * are left untouched.
+ * </p>
+ *
+ * @see ResourceInterner
+ */
+public class ResourceInternerTest {
+
+    /** Interner under test. */
+    private final ResourceInterner interner = new ResourceInterner("https://pokeapi.co/api/v2/");
+
+    /**
+     * Tests that the same ability referenced by two records is stored once.
+     */
+    @Test
+    public void testInternSharesReferences() {
+        CatalogRecord first = CatalogRecord.of(PokemonFixture.createSamplePokemonDto(),
+                interner::intern);
+        CatalogRecord second = CatalogRecord.of(PokemonFixture.createSamplePokemonDto(),
+                interner::intern);
+        assertSame(first.abilities().get(0).ability(),
+                second.abilities().get(0).ability());
+        assertEquals(3,
+                interner.size());
+        assertEquals(6,
+                interner.getInternedReferences());
+    }
+
+    /**
+     * Tests that interned records are read back as independent DTOs with the same JSON output.
+     *
+     * @throws JsonProcessingException If the records cannot be serialized.
+     */
+    @Test
+    public void testInternedReferenceSerialization() throws JsonProcessingException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        String expected = objectMapper.writeValueAsString(PokemonFixture.createSamplePokemonDto());
+        CatalogRecord interned = CatalogRecord.of(PokemonFixture.createSamplePokemonDto(),
+                interner::intern);
+        PokemonDto first = interned.toDto();
+        PokemonDto second = interned.toDto();
+        assertEquals("https://pokeapi.co/api/v2/ability/30/",
+                first.getAbilities().get(0).getAbility().getUrl());
+        assertEquals(expected,
+                objectMapper.writeValueAsString(first));
+        assertNotSame(first.getAbilities().get(0).getAbility(),
+                second.getAbilities().get(0).getAbility());
+        first.getAbilities().get(0).getAbility().setName("other");
+        assertEquals(expected,
+                objectMapper.writeValueAsString(interned.toDto()));
+    }
+
+    /**
+     * Tests that references not following the PokeAPI URL pattern are not interned.
+     */
+    @Test
+    public void testInternIgnoresForeignUrls() {
+        for (String url : new String[] { "https://example.com/ability/1/",
+                "https://pokeapi.co/api/v2/ability/01/", "https://pokeapi.co/api/v2/ability/x/" }) {
+            CatalogRecord.Resource foreign = new CatalogRecord.Resource("custom", url, -1);
+            assertSame(foreign,
+                    interner.intern(foreign));
+        }
+        assertEquals(0,
+                interner.size());
+    }
+
+    /**
+     * Tests that interned references keep the shared URL prefix of their type and the id instead
+     * of their URL.
+     */
+    @Test
+    public void testInternedReferencesDropTheirUrl() {
+        CatalogRecord.Resource ability = interner.intern(new CatalogRecord.Resource("natural-cure",
+                "https://pokeapi.co/api/v2/ability/30/", -1));
+        CatalogRecord.Resource other = interner.intern(new CatalogRecord.Resource("serene-grace",
+                "https://pokeapi.co/api/v2/ability/32/", -1));
+        assertEquals(30,
+                ability.id());
+        assertSame(ability.urlPrefix(),
+                other.urlPrefix());
+        assertEquals("https://pokeapi.co/api/v2/ability/",
+                ability.urlPrefix());
+        assertEquals("https://pokeapi.co/api/v2/ability/30/",
+                ability.toDto().getUrl());
+    }
+
+    /**
+     * Tests that selective reads of the heap storage only convert the selected lists.
+     */
+    @Test
+    public void testSelectiveRead() {
+        HeapPokemonRecordStorage storage = new HeapPokemonRecordStorage(interner,
+                Long.MAX_VALUE);
+        storage.put(PokemonFixture.createSamplePokemonDto());
+        PokemonDto pokemon = storage.get(113,
+                FieldSelection.parse(List.of("name"),
+                        FieldSelection.POKEMON));
+        assertEquals("chansey",
+                pokemon.getName());
+        assertNull(pokemon.getAbilities());
+        assertEquals(PokemonFixture.createSamplePokemonDto(),
+                storage.get(113));
+    }
+}
@@ -0,0 +1,126 @@
+package com.bankaya.pokemon.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.xml.namespace.QName;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.oxm.jaxb.Jaxb2Marshaller;
+import org.springframework.ws.WebServiceMessage;
+import org.springframework.ws.server.endpoint.support.PayloadRootUtils;
+import org.springframework.ws.soap.axiom.AxiomSoapMessageFactory;
+import org.springframework.ws.transport.TransportConstants;
+import org.springframework.ws.transport.TransportInputStream;
+import org.springframework.xml.transform.TransformerFactoryUtils;
+
+import com.bankaya.pokemon.xsd.GetPokemonDetailsRequest;
+
+/**
+ * Test class for the message factory of {@link WebServiceConfig}.
+ * <p>
+ * Reads a request envelope as the {@code MessageDispatcherServlet} does: the endpoint mapping
+ * reads the payload root element, then the request element is unmarshalled from the same
+ * streamed payload.
+ * </p>
+ *
+ * @see WebServiceConfig#messageFactory()
+ */
+public class WebServiceConfigTest {
+
+    /** Request envelope with every optional element. */
+    private static final String ENVELOPE = """
+            <soapenv:Envelope xmlns:soapenv="http://schemas.xmlsoap.org/soap/envelope/"
+                              xmlns:pok="http://bankaya.com/pokemon/xsd">
+              <soapenv:Header/>
+              <soapenv:Body>
+                <pok:getPokemonDetailsRequest>
+                  <pok:nameOrId>pikachu</pok:nameOrId>
+                  <pok:expand>abilities</pok:expand>
+                  <pok:fields>name</pok:fields>
+                  <pok:fields>abilities.ability.name</pok:fields>
+                </pok:getPokemonDetailsRequest>
+              </soapenv:Body>
+            </soapenv:Envelope>
+            """;
+
+    /** Message factory under test. */
+    private AxiomSoapMessageFactory messageFactory;
+
+    /** Unmarshaller of the request elements. */
+    private Jaxb2Marshaller marshaller;
+
+    /**
+     * Creates the message factory and the unmarshaller.
+     */
+    @BeforeEach
+    public void setup() throws Exception {
+        messageFactory = new WebServiceConfig().messageFactory();
+        messageFactory.afterPropertiesSet();
+        marshaller = new Jaxb2Marshaller();
+        marshaller.setContextPath(GetPokemonDetailsRequest.class.getPackageName());
+        marshaller.afterPropertiesSet();
+    }
+
+    /**
+     * Tests that the streamed payload is routed by its root element and then unmarshalled.
+     */
+    @Test
+    public void testStreamedRequest() throws Exception {
+        WebServiceMessage message = messageFactory.createWebServiceMessage(new EnvelopeInputStream(
+                ENVELOPE.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(new QName("http://bankaya.com/pokemon/xsd", "getPokemonDetailsRequest"),
+                PayloadRootUtils.getPayloadRootQName(message.getPayloadSource(),
+                        TransformerFactoryUtils.newInstance()));
+        GetPokemonDetailsRequest request = (GetPokemonDetailsRequest) marshaller.unmarshal(message
+                .getPayloadSource());
+        assertEquals("pikachu",
+                request.getNameOrId());
+        assertEquals(List.of("abilities"),
+                request.getExpand());
+        assertEquals(List.of("name",
+                "abilities.ability.name"),
+                request.getFields());
+    }
+
+    /**
+     * Request stream of a SOAP 1.1 envelope, with its {@code Content-Type} header.
+     */
+    private static final class EnvelopeInputStream extends TransportInputStream {
+
+        /** Envelope bytes. */
+        private final byte[] envelope;
+
+        /**
+         * Creates the stream.
+         *
+         * @param envelope The envelope bytes.
+         */
+        private EnvelopeInputStream(byte[] envelope) {
+            this.envelope = envelope;
+        }
+
+        @Override
+        protected InputStream createInputStream() {
+            return new ByteArrayInputStream(envelope);
+        }
+
+        @Override
+        public Iterator<String> getHeaderNames() {
+            return List.of(TransportConstants.HEADER_CONTENT_TYPE).iterator();
+        }
+
+        @Override
+        public Iterator<String> getHeaders(String name) {
+            return TransportConstants.HEADER_CONTENT_TYPE.equalsIgnoreCase(name) ? List.of(
+                    "text/xml; charset=utf-8").iterator() : Collections.emptyIterator();
+        }
+    }
+}
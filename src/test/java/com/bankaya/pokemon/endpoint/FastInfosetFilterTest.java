@@ -0,0 +1,198 @@
+package com.bankaya.pokemon.endpoint;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+
+import org.junit.jupiter.api.Test;
+import org.jvnet.fastinfoset.FastInfosetResult;
+import org.jvnet.fastinfoset.FastInfosetSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+
+/**
+ * Test class for {@link FastInfosetFilter}.
+ * <p>
+ * Runs the filter in front of a stub of the {@code MessageDispatcherServlet} that records the
+ * request it reads and answers a text XML envelope.
+ * </p>
+ *
+ * @see FastInfosetFilter
+ */
+public class FastInfosetFilterTest {
+
+    /** Envelope exchanged by the stub. */
+    private static final String ENVELOPE = "<soapenv:Envelope "
+            + "xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\"><soapenv:Body>"
+            + "<pok:getPokemonDetailsRequest xmlns:pok=\"http://bankaya.com/pokemon/xsd\">"
+            + "<pok:nameOrId>pikachu</pok:nameOrId></pok:getPokemonDetailsRequest>"
+            + "</soapenv:Body></soapenv:Envelope>";
+
+    /** Filter under test. */
+    private final FastInfosetFilter filter = new FastInfosetFilter();
+
+    /** Content type and body read by the stub. */
+    private final AtomicReference<String[]> received = new AtomicReference<>();
+
+    /** Stub of the dispatcher servlet. */
+    private final FilterChain dispatcher = (request, response) -> {
+        received.set(new String[] { request.getContentType(),
+                new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8) });
+        response.setContentType("text/xml; charset=utf-8");
+        response.getOutputStream().write(ENVELOPE.getBytes(StandardCharsets.UTF_8));
+    };
+
+    /**
+     * Tests that a Fast Infoset request is read as text XML and answered with Fast Infoset.
+     */
+    @Test
+    public void testFastInfosetExchange() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/ws");
+        request.setContentType(FastInfosetFilter.FAST_INFOSET);
+        request.setContent(encode(ENVELOPE));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request,
+                response,
+                dispatcher);
+        assertEquals("text/xml; charset=utf-8",
+                received.get()[0]);
+        assertTrue(received.get()[1].contains("<pok:nameOrId>pikachu</pok:nameOrId>"));
+        assertTrue(response.getContentType().startsWith(FastInfosetFilter.FAST_INFOSET));
+        assertEquals(response.getContentAsByteArray().length,
+                response.getContentLength());
+        assertTrue(decode(response.getContentAsByteArray()).contains(
+                "<pok:nameOrId>pikachu</pok:nameOrId>"));
+    }
+
+    /**
+     * Tests that the decoded request body can be read without blocking through a read listener.
+     */
+    @Test
+    public void testReadListener() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/ws");
+        request.setContentType(FastInfosetFilter.FAST_INFOSET);
+        request.setContent(encode(ENVELOPE));
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        AtomicReference<Boolean> allDataRead = new AtomicReference<>(false);
+        filter.doFilter(request,
+                new MockHttpServletResponse(),
+                (servletRequest, servletResponse) -> {
+                    ServletInputStream in = servletRequest.getInputStream();
+                    in.setReadListener(new ReadListener() {
+
+                        @Override
+                        public void onDataAvailable() throws IOException {
+                            while (in.isReady() && !in.isFinished()) {
+                                body.write(in.read());
+                            }
+                        }
+
+                        @Override
+                        public void onAllDataRead() {
+                            allDataRead.set(true);
+                        }
+
+                        @Override
+                        public void onError(Throwable t) {
+                            throw new AssertionError(t);
+                        }
+                    });
+                });
+        assertTrue(allDataRead.get());
+        assertTrue(body.toString(StandardCharsets.UTF_8).contains(
+                "<pok:nameOrId>pikachu</pok:nameOrId>"));
+    }
+
+    /**
+     * Tests that a text request advertising Fast Infoset gets a Fast Infoset response.
+     */
+    @Test
+    public void testAccepted() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/ws");
+        request.setContentType("text/xml; charset=utf-8");
+        request.addHeader(HttpHeaders.ACCEPT,
+                "application/fastinfoset, text/xml");
+        request.setContent(ENVELOPE.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request,
+                response,
+                dispatcher);
+        assertEquals(ENVELOPE,
+                received.get()[1]);
+        assertTrue(response.getContentType().startsWith(FastInfosetFilter.FAST_INFOSET));
+    }
+
+    /**
+     * Tests that clients not advertising Fast Infoset keep text XML.
+     */
+    @Test
+    public void testPlainXml() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/ws");
+        request.setContentType("text/xml; charset=utf-8");
+        request.setContent(ENVELOPE.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request,
+                response,
+                dispatcher);
+        assertEquals("text/xml;charset=utf-8",
+                response.getContentType().replace(" ", ""));
+        assertEquals(ENVELOPE,
+                response.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Tests the mapping of the SOAP 1.2 content types, which keep their {@code action}.
+     */
+    @Test
+    public void testSoap12ContentTypes() {
+        assertEquals("application/soap+xml; action=\"urn:details\"; charset=utf-8",
+                FastInfosetFilter.textType("application/soap+fastinfoset; action=\"urn:details\""));
+        assertEquals("application/soap+fastinfoset; action=\"urn:details\"",
+                FastInfosetFilter.fastInfosetType(
+                        "application/soap+xml; charset=utf-8; action=\"urn:details\""));
+        assertNull(FastInfosetFilter.textType("text/xml; charset=utf-8"));
+    }
+
+    /**
+     * Encodes an XML document as Fast Infoset.
+     *
+     * @param xml The document.
+     * @return The Fast Infoset document.
+     */
+    private static byte[] encode(String xml) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TransformerFactory.newInstance().newTransformer().transform(new StreamSource(
+                new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8))),
+                new FastInfosetResult(out));
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a Fast Infoset document into text XML.
+     *
+     * @param fastInfoset The Fast Infoset document.
+     * @return The text XML document.
+     */
+    private static String decode(byte[] fastInfoset) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TransformerFactory.newInstance().newTransformer().transform(new FastInfosetSource(
+                new ByteArrayInputStream(fastInfoset)),
+                new StreamResult(out));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,54 @@
+package com.bankaya.pokemon.endpoint;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.namespace.QName;
+
+import org.junit.jupiter.api.Test;
+
+import com.bankaya.pokemon.xsd.GetPokemonHeldItemsResponse;
+
+/**
+ * Test class for {@link MarshallerPool}.
+ *
+ * @see MarshallerPool
+ */
+public class MarshallerPoolTest {
+
+    /** Pool under test. */
+    private final MarshallerPool pool = MarshallerPool.create();
+
+    /**
+     * Tests that sequential calls reuse one marshaller and write fragments.
+     */
+    @Test
+    public void testReused() {
+        for (int i = 0; i < 3; i++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            pool.marshal(new GetPokemonHeldItemsResponse(),
+                    out);
+            assertFalse(out.toString(StandardCharsets.UTF_8).startsWith("<?xml"));
+        }
+        assertEquals(1,
+                pool.idle());
+        assertEquals(new QName("http://bankaya.com/pokemon/xsd", "getPokemonHeldItemsResponse"),
+                pool.elementName(new GetPokemonHeldItemsResponse()));
+    }
+
+    /**
+     * Tests that a value outside the context is reported and its marshaller dropped.
+     */
+    @Test
+    public void testUnknownType() {
+        assertThrows(IllegalStateException.class,
+                () -> pool.marshal("response",
+                        new ByteArrayOutputStream()));
+        assertEquals(0,
+                pool.idle());
+    }
+}
@@ -0,0 +1,173 @@
+package com.bankaya.pokemon.endpoint;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.stream.StreamResult;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bankaya.pokemon.catalog.HeapPokemonRecordStorage;
+import com.bankaya.pokemon.catalog.PokemonCatalogStore;
+import com.bankaya.pokemon.endpoint.SoapPayloadCache.Operation;
+import com.bankaya.pokemon.fixture.PokemonFixture;
+import com.bankaya.pokemon.xsd.GetPokemonAbilitiesResponse;
+import com.bankaya.pokemon.xsd.PokemonAbility;
+
+/**
+ * Test class for {@link SoapPayloadCache}.
+ * <p>
+ * Counts the calls to the response supplier to verify that a fragment is marshalled once per
+ * cataloged Pokemon and marshalled again after the record changes.
+ * </p>
+ *
+ * @see SoapPayloadCache
+ */
+public class SoapPayloadCacheTest {
+
+    /** Catalog holding the sample record. */
+    private PokemonCatalogStore store;
+
+    /** Cache under test. */
+    private SoapPayloadCache cache;
+
+    /** Number of responses built. */
+    private final AtomicInteger calls = new AtomicInteger();
+
+    /**
+     * Creates a catalog holding the sample record.
+     */
+    @BeforeEach
+    public void setup() {
+        store = new PokemonCatalogStore(new HeapPokemonRecordStorage());
+        cache = new SoapPayloadCache(store, 1 << 20);
+        store.put(PokemonFixture.createSamplePokemonDto());
+    }
+
+    /**
+     * Tests that the fragment is marshalled once and shared by name and id.
+     */
+    @Test
+    public void testMarshalledOnce() throws Exception {
+        String first = read(cache.get(Operation.ABILITIES,
+                "chansey",
+                this::response));
+        String second = read(cache.get(Operation.ABILITIES,
+                "113",
+                this::response));
+        assertEquals(first,
+                second);
+        assertEquals(1,
+                calls.get());
+        assertTrue(first.contains("getPokemonAbilitiesResponse"));
+        assertFalse(first.startsWith("<?xml"));
+    }
+
+    /**
+     * Tests that replacing a record drops its fragments.
+     */
+    @Test
+    public void testInvalidatedOnPut() {
+        cache.get(Operation.ABILITIES,
+                "chansey",
+                this::response);
+        store.put(PokemonFixture.createSamplePokemonDto());
+        assertEquals(0,
+                cache.size());
+        cache.get(Operation.ABILITIES,
+                "chansey",
+                this::response);
+        assertEquals(2,
+                calls.get());
+    }
+
+    /**
+     * Tests that Pokemon outside the catalog are marshalled on every request.
+     */
+    @Test
+    public void testNotCataloged() {
+        cache.get(Operation.ABILITIES,
+                "pikachu",
+                this::response);
+        cache.get(Operation.ABILITIES,
+                "pikachu",
+                this::response);
+        assertEquals(2,
+                calls.get());
+        assertEquals(0,
+                cache.size());
+        assertNull(cache.get(Operation.DETAILS,
+                "pikachu",
+                () -> null));
+    }
+
+    /**
+     * Tests that cached and uncached payloads are streamed with the name of their response
+     * element.
+     */
+    @Test
+    public void testStreamedPayloads() throws Exception {
+        SoapPayload fragment = cache.get(Operation.ABILITIES,
+                "chansey",
+                this::response);
+        SoapPayload marshalled = cache.marshal(response());
+        assertEquals(Operation.ABILITIES.getElementName(),
+                fragment.getName());
+        assertEquals(Operation.ABILITIES.getElementName(),
+                marshalled.getName());
+        for (String written : new String[] { stream(fragment), stream(marshalled), read(fragment),
+                read(marshalled) }) {
+            assertTrue(written.contains("getPokemonAbilitiesResponse"));
+            assertTrue(written.contains("slot>1</"));
+            assertFalse(written.startsWith("<?xml"));
+        }
+    }
+
+    /**
+     * Builds a response, counting the calls.
+     *
+     * @return The response.
+     */
+    private Object response() {
+        calls.incrementAndGet();
+        GetPokemonAbilitiesResponse response = new GetPokemonAbilitiesResponse();
+        PokemonAbility ability = new PokemonAbility();
+        ability.setSlot(1);
+        response.getAbilities().add(ability);
+        return response;
+    }
+
+    /**
+     * Reads a payload, as written into a non-streaming message.
+     *
+     * @param payload The payload.
+     * @return The XML fragment.
+     */
+    private static String read(SoapPayload payload) {
+        StringWriter out = new StringWriter();
+        payload.writeTo(new StreamResult(out));
+        return out.toString();
+    }
+
+    /**
+     * Streams a payload, as into a streaming message.
+     *
+     * @param payload The payload.
+     * @return The XML fragment.
+     */
+    private static String stream(SoapPayload payload) throws Exception {
+        StringWriter out = new StringWriter();
+        XMLStreamWriter writer = XMLOutputFactory.newFactory().createXMLStreamWriter(out);
+        payload.writeTo(writer);
+        writer.flush();
+        return out.toString();
+    }
+}
@@ -0,0 +1,242 @@
+package com.bankaya.pokemon.grpc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.bankaya.pokemon.adapter.PokemonGrpcAdapterImpl;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.fixture.PokemonFixture;
+import com.bankaya.pokemon.grpc.proto.BatchRequest;
+import com.bankaya.pokemon.grpc.proto.BatchResponse;
+import com.bankaya.pokemon.grpc.proto.CatalogRequest;
+import com.bankaya.pokemon.grpc.proto.HeldItemsRequest;
+import com.bankaya.pokemon.grpc.proto.Pokemon;
+import com.bankaya.pokemon.grpc.proto.PokemonRequest;
+import com.bankaya.pokemon.grpc.proto.PokemonServiceGrpc;
+import com.bankaya.pokemon.service.IPokemonCatalogService;
+import com.bankaya.pokemon.service.IPokemonService;
+import com.fasterxml.jackson.core.type.TypeReference;
+
+import io.grpc.ManagedChannel;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Test class for {@link PokemonGrpcService}.
+ * <p>
+ * Serves the service on an in-process {@link PokemonGrpcServer}, with the
+ * {@link PokemonGrpcAdapterImpl} in front of mocked services, and verifies the unary calls, the
+ * batch, the status of the errors and the flow control of the catalog stream.
+ * </p>
+ *
+ * @see PokemonGrpcService
+ * @see PokemonGrpcAdapterImpl
+ */
+public class PokemonGrpcServiceTest {
+
+    /** Name of the in-process server. */
+    private static final String SERVER_NAME = "pokemon-grpc-test";
+
+    /** Mocked Pokemon service. */
+    private IPokemonService pokemonService;
+
+    /** Mocked catalog service. */
+    private IPokemonCatalogService catalogService;
+
+    /** Server under test. */
+    private PokemonGrpcServer server;
+
+    /** Channel to the server. */
+    private ManagedChannel channel;
+
+    /** Blocking stub of the service. */
+    private PokemonServiceGrpc.PokemonServiceBlockingStub stub;
+
+    /**
+     * Starts the in-process server and opens a channel to it.
+     */
+    @BeforeEach
+    public void setup() {
+        pokemonService = mock(IPokemonService.class);
+        catalogService = mock(IPokemonCatalogService.class);
+        server = new PokemonGrpcServer(new PokemonGrpcService(new PokemonGrpcAdapterImpl(
+                pokemonService, catalogService)),
+                -1,
+                SERVER_NAME);
+        server.start();
+        channel = InProcessChannelBuilder.forName(SERVER_NAME).directExecutor().build();
+        stub = PokemonServiceGrpc.newBlockingStub(channel);
+    }
+
+    /**
+     * Closes the channel and stops the server.
+     */
+    @AfterEach
+    public void tearDown() {
+        channel.shutdownNow();
+        server.stop();
+    }
+
+    /**
+     * Tests that the details, abilities and held items are converted from the DTOs.
+     */
+    @Test
+    public void testUnaryCalls() {
+        PokemonDto dto = PokemonFixture.createSamplePokemonDto();
+        when(pokemonService.getPokemonDetails("chansey",
+                PokemonDto.class)).thenReturn(Mono.just(dto));
+        when(pokemonService.getPokemonAbilities(eq("chansey"),
+                any(TypeReference.class))).thenReturn(Mono.just(dto.getAbilities()));
+        when(pokemonService.getPokemonHeldItems(eq("chansey"),
+                eq("red"),
+                any(TypeReference.class))).thenReturn(Mono.just(PokemonFixture
+                        .createSampleHeldItems()));
+        Pokemon pokemon = stub.getPokemonDetails(request("chansey"));
+        assertEquals(dto.getId().intValue(),
+                pokemon.getId());
+        assertEquals(dto.getName(),
+                pokemon.getName());
+        assertEquals(dto.getAbilities().size(),
+                pokemon.getAbilitiesCount());
+        assertEquals(dto.getAbilities().get(0).getAbility().getName(),
+                stub.getPokemonAbilities(request("chansey")).getAbilities(0).getAbility()
+                        .getName());
+        assertEquals(PokemonFixture.createSampleHeldItems().size(),
+                stub.getPokemonHeldItems(HeldItemsRequest.newBuilder().setNameOrId("chansey")
+                        .setVersion("red").build()).getHeldItemsCount());
+    }
+
+    /**
+     * Tests that unknown Pokemon, empty names and upstream errors get their status.
+     */
+    @Test
+    public void testErrorStatus() {
+        when(pokemonService.getPokemonDetails("missingno",
+                PokemonDto.class)).thenReturn(Mono.empty());
+        when(pokemonService.getPokemonDetails("pikachuu",
+                PokemonDto.class)).thenReturn(Mono.error(new ResponseStatusException(
+                        HttpStatus.NOT_FOUND, "Unknown Pokemon: pikachuu")));
+        when(pokemonService.getPokemonDetails("error",
+                PokemonDto.class)).thenReturn(Mono.error(new IllegalStateException("upstream")));
+        assertEquals(Status.Code.NOT_FOUND,
+                code(() -> stub.getPokemonDetails(request("missingno"))));
+        assertEquals(Status.Code.NOT_FOUND,
+                code(() -> stub.getPokemonDetails(request("pikachuu"))));
+        assertEquals(Status.Code.INVALID_ARGUMENT,
+                code(() -> stub.getPokemonDetails(request(""))));
+        StatusRuntimeException internal = assertThrows(StatusRuntimeException.class,
+                () -> stub.getPokemonDetails(request("error")));
+        assertEquals(Status.Code.INTERNAL,
+                internal.getStatus().getCode());
+        assertEquals("Internal error",
+                internal.getStatus().getDescription());
+    }
+
+    /**
+     * Tests that a batch keeps the request order and lists the Pokemon not found.
+     */
+    @Test
+    public void testBatch() {
+        PokemonDto chansey = PokemonFixture.createSamplePokemonDto();
+        PokemonDto pikachu = PokemonFixture.createSamplePokemonDto();
+        pikachu.setId(25);
+        pikachu.setName("pikachu");
+        when(pokemonService.getPokemonDetails("pikachu",
+                PokemonDto.class)).thenReturn(Mono.just(pikachu));
+        when(pokemonService.getPokemonDetails("missingno",
+                PokemonDto.class)).thenReturn(Mono.error(new ResponseStatusException(
+                        HttpStatus.NOT_FOUND)));
+        when(pokemonService.getPokemonDetails("113",
+                PokemonDto.class)).thenReturn(Mono.just(chansey));
+        BatchResponse batch = stub.getPokemonBatch(BatchRequest.newBuilder().addNamesOrIds(
+                "pikachu").addNamesOrIds("missingno").addNamesOrIds("113").build());
+        assertEquals(List.of("pikachu",
+                "chansey"),
+                batch.getPokemonList().stream().map(Pokemon::getName).toList());
+        assertEquals(List.of("missingno"),
+                batch.getNotFoundList());
+    }
+
+    /**
+     * Tests that batches larger than {@link PokemonGrpcService#MAX_BATCH_SIZE} are rejected
+     * without calling the services.
+     */
+    @Test
+    public void testOversizedBatch() {
+        BatchRequest.Builder batch = BatchRequest.newBuilder();
+        for (int id = 1; id <= PokemonGrpcService.MAX_BATCH_SIZE + 1; id++) {
+            batch.addNamesOrIds(String.valueOf(id));
+        }
+        assertEquals(Status.Code.INVALID_ARGUMENT,
+                code(() -> stub.getPokemonBatch(batch.build())));
+        verifyNoInteractions(pokemonService);
+    }
+
+    /**
+     * Tests that the catalog is streamed in order, and that records are only read as the client
+     * consumes them.
+     */
+    @Test
+    public void testStreamCatalog() {
+        AtomicInteger read = new AtomicInteger();
+        when(catalogService.streamCatalog()).thenReturn(Flux.range(1,
+                1000).map(id -> {
+                    read.incrementAndGet();
+                    PokemonDto dto = PokemonFixture.createSamplePokemonDto();
+                    dto.setId(id);
+                    return dto;
+                }));
+        Iterator<Pokemon> stream = stub.streamCatalog(CatalogRequest.getDefaultInstance());
+        assertEquals(1,
+                stream.next().getId());
+        assertTrue(read.get() < 1000,
+                "Read " + read.get() + " records before the client consumed them");
+        List<Integer> ids = new ArrayList<>(List.of(1));
+        stream.forEachRemaining(pokemon -> ids.add(pokemon.getId()));
+        assertEquals(1000,
+                ids.size());
+        assertEquals(1000,
+                ids.get(999).intValue());
+    }
+
+    /**
+     * Creates a request for a Pokemon.
+     *
+     * @param nameOrId The name or ID.
+     * @return The request.
+     */
+    private static PokemonRequest request(String nameOrId) {
+        return PokemonRequest.newBuilder().setNameOrId(nameOrId).build();
+    }
+
+    /**
+     * Runs a call expected to fail and returns its status code.
+     *
+     * @param call The call.
+     * @return The status code.
+     */
+    private static Status.Code code(Runnable call) {
+        return assertThrows(StatusRuntimeException.class,
+                call::run).getStatus().getCode();
+    }
+}
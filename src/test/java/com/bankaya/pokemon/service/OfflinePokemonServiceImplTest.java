@@ -0,0 +1,91 @@
+package com.bankaya.pokemon.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bankaya.pokemon.catalog.HeapPokemonRecordStorage;
+import com.bankaya.pokemon.catalog.HeldItemVersionIndex;
+import com.bankaya.pokemon.catalog.PokemonCatalogStore;
+import com.bankaya.pokemon.catalog.PokemonRecordConverter;
+import com.bankaya.pokemon.dto.PokemonAbilityDto;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.fixture.PokemonFixture;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Test class for {@link OfflinePokemonServiceImpl}.
+ * <p>
+ * The catalog holds the sample record when its snapshot is built; records stored afterwards
+ * are only in the store until the background rebuild runs.
+ * </p>
+ *
+ * @see OfflinePokemonServiceImpl
+ */
+public class OfflinePokemonServiceImplTest {
+
+    /** Catalog read by the service. */
+    private PokemonCatalogStore store;
+
+    /** Service under test. */
+    private OfflinePokemonServiceImpl service;
+
+    /**
+     * Creates the catalog and builds its snapshot.
+     */
+    @BeforeEach
+    public void setup() {
+        store = new PokemonCatalogStore(new HeapPokemonRecordStorage());
+        store.put(PokemonFixture.createSamplePokemonDto());
+        store.snapshot();
+        service = new OfflinePokemonServiceImpl(store, new PokemonRecordConverter(
+                new ObjectMapper()), new HeldItemVersionIndex(store));
+    }
+
+    /**
+     * Stops the snapshot rebuild thread.
+     */
+    @AfterEach
+    public void tearDown() {
+        store.shutdown();
+    }
+
+    /**
+     * Tests that a record of the snapshot is served from its row.
+     */
+    @Test
+    public void testReadsSnapshot() {
+        assertEquals(PokemonFixture.createSamplePokemonDto(),
+                service.getPokemonDetails("chansey",
+                        PokemonDto.class).block());
+    }
+
+    /**
+     * Tests that a record stored after the snapshot was built is read from the store.
+     */
+    @Test
+    public void testReadsRecordMissingFromSnapshot() {
+        PokemonDto pokemon = PokemonFixture.createSamplePokemonDto();
+        pokemon.setId(242);
+        pokemon.setName("blissey");
+        store.put(pokemon);
+        assertTrue(store.snapshot().rowOf(242) < 0);
+
+        assertEquals(pokemon,
+                service.getPokemonDetails("blissey",
+                        PokemonDto.class).block());
+        assertEquals(pokemon.getAbilities(),
+                service.getPokemonAbilities("242",
+                        new TypeReference<List<PokemonAbilityDto>>() {
+                        }).block());
+        assertNull(service.getPokemonDetails("missingno",
+                PokemonDto.class).block());
+    }
+}
@@ -0,0 +1,192 @@
+package com.bankaya.pokemon.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.bankaya.pokemon.catalog.CatalogSnapshot.NumericColumn;
+import com.bankaya.pokemon.catalog.ColumnScanners;
+import com.bankaya.pokemon.catalog.FuzzyNameIndex;
+import com.bankaya.pokemon.catalog.HeapPokemonRecordStorage;
+import com.bankaya.pokemon.catalog.HeldItemVersionIndex;
+import com.bankaya.pokemon.catalog.NameAutocompleteIndex;
+import com.bankaya.pokemon.catalog.PokemonCatalogStore;
+import com.bankaya.pokemon.catalog.ResourceBitmapIndex;
+import com.bankaya.pokemon.config.CatalogProperties.ScanMode;
+import com.bankaya.pokemon.dto.CatalogAnalyticsDto;
+import com.bankaya.pokemon.dto.HistogramBucketDto;
+import com.bankaya.pokemon.dto.NamedApiResourceDto;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.dto.PokemonSearchResultDto;
+import com.bankaya.pokemon.dto.RankedPokemonDto;
+import com.bankaya.pokemon.fixture.PokemonFixture;
+
+/**
+ * Test class for {@link PokemonCatalogServiceImpl}.
+ * <p>
+ * The catalog holds chansey (no held items), blissey (the sample held items) and happiny (no
+ * held items), all three with the sample abilities. Searches combine the bitmaps of the
+ * {@link ResourceBitmapIndex} with {@code AND} or {@code OR}, and analytics scan the columns of
+ * the catalog snapshot with the scalar scanner.
+ * </p>
+ *
+ * @see PokemonCatalogServiceImpl
+ */
+public class PokemonCatalogServiceImplTest {
+
+    /** Base URI of the PokeAPI. */
+    private static final String BASE_URI = "https://pokeapi.co/api/v2/";
+
+    /** Catalog queried by the service. */
+    private PokemonCatalogStore store;
+
+    /** Service under test. */
+    private PokemonCatalogServiceImpl service;
+
+    /**
+     * Creates the indexed catalog and the service.
+     */
+    @BeforeEach
+    public void setup() {
+        store = new PokemonCatalogStore(new HeapPokemonRecordStorage());
+        ResourceBitmapIndex resourceIndex = new ResourceBitmapIndex(store);
+        store.put(PokemonFixture.createSamplePokemonDto());
+        PokemonDto blissey = pokemon(242,
+                "blissey",
+                608);
+        blissey.setHeldItems(PokemonFixture.createSampleHeldItems());
+        store.put(blissey);
+        store.put(pokemon(440,
+                "happiny",
+                56));
+        service = new PokemonCatalogServiceImpl(store, resourceIndex,
+                new HeldItemVersionIndex(store), mock(NameAutocompleteIndex.class),
+                mock(FuzzyNameIndex.class), ColumnScanners.create(ScanMode.SCALAR), BASE_URI);
+    }
+
+    /**
+     * Stops the snapshot rebuild thread.
+     */
+    @AfterEach
+    public void tearDown() {
+        store.shutdown();
+    }
+
+    /**
+     * Tests that an {@code AND} search only returns the Pokemon matching every term.
+     */
+    @Test
+    public void testSearchMatchAll() {
+        PokemonSearchResultDto result = service.searchPokemon(List.of("healer"),
+                List.of("lucky-egg"),
+                null,
+                true).block();
+        assertEquals(1,
+                result.getCount());
+        assertEquals(List.of(new NamedApiResourceDto<PokemonDto>("blissey",
+                BASE_URI + "pokemon/242/")),
+                result.getResults());
+    }
+
+    /**
+     * Tests that an {@code OR} search returns the Pokemon matching any term, in id order.
+     */
+    @Test
+    public void testSearchMatchAny() {
+        PokemonSearchResultDto result = service.searchPokemon(List.of("natural-cure"),
+                List.of("lucky-egg"),
+                List.of(),
+                false).block();
+        assertEquals(3,
+                result.getCount());
+        assertEquals(List.of("chansey",
+                "blissey",
+                "happiny"),
+                result.getResults().stream().map(NamedApiResourceDto::getName).toList());
+        assertEquals(0,
+                service.searchPokemon(List.of("levitate"),
+                        null,
+                        null,
+                        false).block().getCount());
+    }
+
+    /**
+     * Tests the aggregates, the histogram and the ranking of a column.
+     */
+    @Test
+    public void testAnalyze() {
+        CatalogAnalyticsDto result = service.analyze(NumericColumn.BASE_EXPERIENCE,
+                null,
+                null,
+                300,
+                2).block();
+        assertEquals("base_experience",
+                result.getAttribute());
+        assertEquals(3,
+                result.getCount());
+        assertEquals(1059,
+                result.getSum());
+        assertEquals(56,
+                result.getMin());
+        assertEquals(608,
+                result.getMax());
+        assertEquals(353.0,
+                result.getAverage());
+        assertEquals(List.of(HistogramBucketDto.builder().from(56).to(355).count(1).build(),
+                HistogramBucketDto.builder().from(356).to(608).count(2).build()),
+                result.getHistogram());
+        assertEquals(List.of("blissey",
+                "chansey"),
+                result.getTop().stream().map(ranked -> ranked.getPokemon().getName()).toList());
+        assertEquals(List.of(608,
+                395),
+                result.getTop().stream().map(RankedPokemonDto::getValue).toList());
+    }
+
+    /**
+     * Tests that bounds filter the rows, and that histograms with too many buckets are rejected.
+     */
+    @Test
+    public void testAnalyzeBounds() {
+        CatalogAnalyticsDto result = service.analyze(NumericColumn.BASE_EXPERIENCE,
+                100,
+                500,
+                null,
+                0).block();
+        assertEquals(1,
+                result.getCount());
+        assertEquals(395,
+                result.getMin());
+        assertNull(result.getHistogram());
+        assertThrows(ResponseStatusException.class,
+                () -> service.analyze(NumericColumn.ID,
+                        0,
+                        PokemonCatalogServiceImpl.MAX_BUCKETS,
+                        1,
+                        0).block());
+    }
+
+    /**
+     * Creates a copy of the sample record with another id, name and base experience.
+     *
+     * @param id             The Pokemon id.
+     * @param name           The Pokemon name.
+     * @param baseExperience The base experience.
+     * @return The record.
+     */
+    private static PokemonDto pokemon(int id, String name, int baseExperience) {
+        PokemonDto pokemon = PokemonFixture.createSamplePokemonDto();
+        pokemon.setId(id);
+        pokemon.setName(name);
+        pokemon.setBaseExperience(baseExperience);
+        return pokemon;
+    }
+}
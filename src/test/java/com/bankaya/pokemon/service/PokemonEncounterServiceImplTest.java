@@ -0,0 +1,175 @@
+package com.bankaya.pokemon.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bankaya.pokemon.config.EncounterProperties;
+import com.bankaya.pokemon.dto.LocationAreaEncounterDto;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * Test class for {@link PokemonEncounterServiceImpl}.
+ * <p>
+ * A local HTTP server plays the PokeAPI: two Pokemon share the {@code viridian-forest-area}
+ * location area, and every request is counted per path.
+ * </p>
+ *
+ * @see PokemonEncounterServiceImpl
+ */
+public class PokemonEncounterServiceImplTest {
+
+    /** Local server playing the PokeAPI. */
+    private HttpServer server;
+
+    /** Number of requests received per path. */
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+
+    /** Base URL of the local server. */
+    private String baseUrl;
+
+    /** Service under test. */
+    private PokemonEncounterServiceImpl service;
+
+    /**
+     * Starts the local server and creates the service.
+     *
+     * @throws IOException If the server cannot be started.
+     */
+    @BeforeEach
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/api/v2/";
+        server.createContext("/api/v2/pokemon/10/encounters",
+                exchange -> respond(exchange,
+                        "[" + encounter("viridian-forest-area",
+                                1) + "]"));
+        server.createContext("/api/v2/pokemon/25/encounters",
+                exchange -> respond(exchange,
+                        "[" + encounter("viridian-forest-area",
+                                1) + "," + encounter("power-plant-area",
+                                        2) + "]"));
+        server.createContext("/api/v2/location-area/1/",
+                exchange -> respond(exchange,
+                        """
+                        {"id": 1, "name": "viridian-forest-area",
+                         "names": [{"name": "Viridian Forest", "language": {"name": "en"}}],
+                         "location": {"name": "viridian-forest", "url": "location/1/"}}
+                        """));
+        server.createContext("/api/v2/location-area/2/",
+                exchange -> respond(exchange,
+                        "{\"id\": 2, \"name\": \"power-plant-area\", \"names\": [], \"location\": null}"));
+        server.start();
+        service = new PokemonEncounterServiceImpl(HttpClient.create(), new ObjectMapper(),
+                new EncounterProperties());
+    }
+
+    /**
+     * Stops the local server.
+     */
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    /**
+     * Tests that encounters are decoded in order with their location area resolved.
+     */
+    @Test
+    public void testGetEncountersResolvesLocationAreas() {
+        List<LocationAreaEncounterDto> encounters = service.getEncounters(pokemon(25))
+                .collectList().block();
+
+        assertEquals(2,
+                encounters.size());
+        assertEquals("Viridian Forest",
+                encounters.get(0).getName());
+        assertEquals("viridian-forest",
+                encounters.get(0).getLocation().getName());
+        assertEquals("red",
+                encounters.get(0).getVersionDetails().get(0).getVersion().getName());
+        assertEquals(5,
+                encounters.get(0).getVersionDetails().get(0).getEncounterDetails().get(0)
+                        .getMinLevel());
+        assertEquals("power-plant-area",
+                encounters.get(1).getName());
+    }
+
+    /**
+     * Tests that encounter lists are cached per Pokemon and location areas shared between
+     * Pokemon.
+     */
+    @Test
+    public void testGetEncountersCachesListsAndLocationAreas() {
+        service.getEncounters(pokemon(25)).collectList().block();
+        service.getEncounters(pokemon(25)).collectList().block();
+        service.getEncounters(pokemon(10)).collectList().block();
+
+        assertEquals(1,
+                hits.get("/api/v2/pokemon/25/encounters").get());
+        assertEquals(1,
+                hits.get("/api/v2/location-area/1/").get());
+        assertEquals(2,
+                service.locationAreaCacheSize());
+    }
+
+    /**
+     * Creates a Pokemon whose encounter list is served by the local server.
+     *
+     * @param id The Pokemon id.
+     * @return The Pokemon.
+     */
+    private PokemonDto pokemon(int id) {
+        return PokemonDto.builder().id(id).name("pokemon-" + id)
+                .locationAreaEncounters(baseUrl + "pokemon/" + id + "/encounters").build();
+    }
+
+    /**
+     * Creates the JSON of an encounter.
+     *
+     * @param area The location area name.
+     * @param id   The location area id.
+     * @return The encounter JSON.
+     */
+    private String encounter(String area, int id) {
+        return "{\"location_area\": {\"name\": \"" + area + "\", \"url\": \"" + baseUrl
+                + "location-area/" + id + "/\"}, \"version_details\": [{\"version\": {\"name\": "
+                + "\"red\", \"url\": \"version/1/\"}, \"max_chance\": 10, \"encounter_details\": "
+                + "[{\"min_level\": 5, \"max_level\": 7, \"condition_values\": [], \"chance\": 10, "
+                + "\"method\": {\"name\": \"walk\", \"url\": \"encounter-method/1/\"}}]}]}";
+    }
+
+    /**
+     * Writes a JSON response and counts the request.
+     *
+     * @param exchange The exchange.
+     * @param body     The JSON body.
+     * @throws IOException If the response cannot be written.
+     */
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        hits.computeIfAbsent(exchange.getRequestURI().getPath(),
+                key -> new AtomicInteger()).incrementAndGet();
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type",
+                "application/json");
+        exchange.sendResponseHeaders(200,
+                bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
@@ -0,0 +1,195 @@
+package com.bankaya.pokemon.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.bankaya.pokemon.config.ExpandProperties;
+import com.bankaya.pokemon.dto.EvolutionChainDto;
+import com.bankaya.pokemon.dto.EvolutionStageDto;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Mono;
+import skaro.pokeapi.client.PokeApiClient;
+import skaro.pokeapi.resource.evolutionchain.EvolutionChain;
+import skaro.pokeapi.resource.pokemon.Pokemon;
+import skaro.pokeapi.resource.pokemonspecies.PokemonSpecies;
+
+/**
+ * Unit test class for {@link PokemonEvolutionServiceImpl}.
+ * <p>
+ * The PokeAPI client returns empty resources and the mocked object mapper turns them into the
+ * JSON of the charmander chain (charmander, charmeleon at level 16, charizard at level 36).
+ * </p>
+ *
+ * @see PokemonEvolutionServiceImpl
+ */
+@ExtendWith(MockitoExtension.class)
+public class PokemonEvolutionServiceImplTest {
+
+    /** Base URL of the sample resources. */
+    private static final String BASE = "https://pokeapi.co/api/v2/";
+
+    /** Mocked PokeAPI client. */
+    @Mock
+    private PokeApiClient pokeApiClient;
+
+    /** Mocked object mapper returning the sample resources. */
+    @Mock
+    private ObjectMapper objectMapper;
+
+    /** Mocked service returning the chain members. */
+    @Mock
+    private IPokemonService pokemonService;
+
+    /** Service under test. */
+    private PokemonEvolutionServiceImpl service;
+
+    /**
+     * Stubs the PokeAPI resources of the charmander chain.
+     *
+     * @throws Exception If the sample JSON cannot be parsed.
+     */
+    @BeforeEach
+    public void setup() throws Exception {
+        ObjectMapper reader = new ObjectMapper();
+        JsonNode pokemon = reader.readTree("{\"species\": {\"name\": \"charizard\"}}");
+        JsonNode species = reader.readTree("{\"evolution_chain\": {\"url\": \"" + BASE
+                + "evolution-chain/2/\"}}");
+        JsonNode chain = reader.readTree("{\"id\": 2, \"chain\": {" + species("charmander",
+                4) + ", \"evolution_details\": [], \"evolves_to\": [{" + species("charmeleon",
+                        5) + ", \"evolution_details\": [" + levelUp(16) + "], \"evolves_to\": [{"
+                + species("charizard",
+                        6) + ", \"evolution_details\": [" + levelUp(36)
+                + "], \"evolves_to\": []}]}]}}");
+        when(pokeApiClient.getResource(eq(PokemonSpecies.class),
+                anyString())).thenReturn(Mono.just(new PokemonSpecies()));
+        when(pokeApiClient.getResource(eq(EvolutionChain.class),
+                anyString())).thenReturn(Mono.just(new EvolutionChain()));
+        when(objectMapper.<JsonNode>valueToTree(any())).thenAnswer(invocation -> {
+            Object resource = invocation.getArgument(0);
+            return resource instanceof Pokemon ? pokemon
+                    : resource instanceof PokemonSpecies ? species : chain;
+        });
+        when(pokemonService.getPokemonDetails(anyString(),
+                eq(PokemonDto.class))).thenAnswer(invocation -> Mono.just(PokemonDto.builder()
+                        .id(Integer.valueOf(invocation.getArgument(0))).build()));
+        service = new PokemonEvolutionServiceImpl(pokeApiClient, objectMapper, pokemonService,
+                new ExpandProperties());
+    }
+
+    /**
+     * Tests that the chain is flattened with the details of every member.
+     */
+    @Test
+    public void testGetEvolutionChain() {
+        EvolutionChainDto chain = service.getEvolutionChain(member(5, "charmeleon")).block();
+
+        assertEquals(2,
+                chain.getId());
+        List<EvolutionStageDto> stages = chain.getStages();
+        assertEquals(List.of("charmander", "charmeleon", "charizard"),
+                stages.stream().map(stage -> stage.getSpecies().getName()).toList());
+        assertNull(stages.get(0).getEvolvesFrom());
+        assertEquals("charmeleon",
+                stages.get(2).getEvolvesFrom());
+        assertEquals(2,
+                stages.get(2).getDepth());
+        assertEquals(36,
+                stages.get(2).getMinLevel());
+        assertEquals("level-up",
+                stages.get(1).getTrigger().getName());
+        assertEquals(6,
+                stages.get(2).getPokemon().getId());
+    }
+
+    /**
+     * Tests that every member of a chain shares the cached graph.
+     */
+    @Test
+    public void testChainIsSharedByItsMembers() {
+        service.getEvolutionChain(member(5, "charmeleon")).block();
+        service.getEvolutionChain(member(6, "charizard")).block();
+        service.getEvolutionChain(member(4, "charmander")).block();
+
+        verify(pokeApiClient,
+                times(1)).getResource(EvolutionChain.class,
+                        "2");
+        verify(pokeApiClient,
+                never()).getResource(eq(Pokemon.class),
+                        anyString());
+        assertEquals(1,
+                service.chainCacheSize());
+    }
+
+    /**
+     * Tests that the species of an alternate form is read from its Pokemon resource.
+     */
+    @Test
+    public void testGetEvolutionChainOfForm() {
+        when(pokeApiClient.getResource(PokemonSpecies.class,
+                "charizard-mega-x")).thenReturn(Mono.error(new WebClientResponseException(404,
+                        "Not Found",
+                        null,
+                        null,
+                        null)));
+        when(pokeApiClient.getResource(Pokemon.class,
+                "charizard-mega-x")).thenReturn(Mono.just(new Pokemon()));
+
+        assertEquals(2,
+                service.getEvolutionChain(member(10034, "charizard-mega-x")).block().getId());
+        verify(pokeApiClient).getResource(PokemonSpecies.class,
+                "charizard");
+    }
+
+    /**
+     * Creates a chain member.
+     *
+     * @param id   The Pokemon id.
+     * @param name The Pokemon name.
+     * @return The member.
+     */
+    private static PokemonDto member(int id, String name) {
+        return PokemonDto.builder().id(id).name(name).build();
+    }
+
+    /**
+     * Creates the JSON of the species of a chain link.
+     *
+     * @param name The species name.
+     * @param id   The species id.
+     * @return The JSON member.
+     */
+    private static String species(String name, int id) {
+        return "\"species\": {\"name\": \"" + name + "\", \"url\": \"" + BASE + "pokemon-species/"
+                + id + "/\"}";
+    }
+
+    /**
+     * Creates the JSON of a level-up evolution condition.
+     *
+     * @param level The minimum level.
+     * @return The JSON object.
+     */
+    private static String levelUp(int level) {
+        return "{\"min_level\": " + level + ", \"trigger\": {\"name\": \"level-up\", \"url\": \""
+                + BASE + "evolution-trigger/1/\"}}";
+    }
+}
@@ -0,0 +1,148 @@
+package com.bankaya.pokemon.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.bankaya.pokemon.config.ExpandProperties;
+import com.bankaya.pokemon.dto.AbilityDetailDto;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.bankaya.pokemon.dto.PokemonExpandedDto;
+import com.bankaya.pokemon.fixture.PokemonFixture;
+import com.bankaya.pokemon.service.IPokemonExpansionService.Expansion;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Mono;
+import skaro.pokeapi.client.PokeApiClient;
+import skaro.pokeapi.resource.ability.Ability;
+
+/**
+ * Unit test class for {@link PokemonExpansionServiceImpl}.
+ * <p>
+ * The sample Pokemon references three abilities; the PokeAPI client is mocked to count the
+ * upstream calls.
+ * </p>
+ *
+ * @see PokemonExpansionServiceImpl
+ */
+@ExtendWith(MockitoExtension.class)
+public class PokemonExpansionServiceImplTest {
+
+    /** Mocked PokeAPI client. */
+    @Mock
+    private PokeApiClient pokeApiClient;
+
+    /** Object mapper used to read the resources. */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /** Service under test. */
+    private PokemonExpansionServiceImpl service;
+
+    /**
+     * Creates the service with the default configuration.
+     */
+    @BeforeEach
+    public void setup() {
+        service = new PokemonExpansionServiceImpl(pokeApiClient, objectMapper,
+                new ExpandProperties());
+    }
+
+    /**
+     * Tests that every referenced ability is fetched once, even across requests.
+     */
+    @Test
+    public void testExpandAbilitiesDeduplicatesUpstreamCalls() {
+        when(pokeApiClient.getResource(eq(Ability.class),
+                anyString())).thenReturn(Mono.just(new Ability()));
+        PokemonDto pokemon = PokemonFixture.createSamplePokemonDto();
+        Set<Expansion> expansions = EnumSet.of(Expansion.ABILITIES);
+
+        PokemonExpandedDto first = service.expand(pokemon,
+                expansions).block();
+        PokemonExpandedDto second = service.expand(pokemon,
+                expansions).block();
+
+        assertEquals(List.of("natural-cure", "serene-grace", "healer"),
+                first.getAbilityDetails().stream().map(AbilityDetailDto::getName).toList());
+        assertEquals(first,
+                second);
+        assertNull(first.getItemDetails());
+        assertEquals(3,
+                service.cacheSize());
+        verify(pokeApiClient,
+                times(1)).getResource(Ability.class,
+                        "natural-cure");
+    }
+
+    /**
+     * Tests that a resource that cannot be fetched is left out and retried later.
+     */
+    @Test
+    public void testExpandSkipsFailedResources() {
+        when(pokeApiClient.getResource(eq(Ability.class),
+                anyString())).thenReturn(Mono.error(new IllegalStateException("unavailable")));
+        PokemonDto pokemon = PokemonFixture.createSamplePokemonDto();
+
+        service.expand(pokemon,
+                EnumSet.of(Expansion.ABILITIES)).block();
+        PokemonExpandedDto expanded = service.expand(pokemon,
+                EnumSet.of(Expansion.ABILITIES)).block();
+
+        assertEquals(0,
+                expanded.getAbilityDetails().size());
+        verify(pokeApiClient,
+                times(2)).getResource(Ability.class,
+                        "healer");
+    }
+
+    /**
+     * Tests that the English effect texts are extracted from an ability.
+     *
+     * @throws Exception If the sample JSON cannot be parsed.
+     */
+    @Test
+    public void testAbilityDetailReadsEnglishEffect() throws Exception {
+        AbilityDetailDto detail = PokemonExpansionServiceImpl.abilityDetail(objectMapper.readTree(
+                """
+                {"id": 30, "name": "natural-cure",
+                 "effect_entries": [
+                   {"effect": "Heilt", "short_effect": "Heilt", "language": {"name": "de"}},
+                   {"effect": "Cures on switch.", "short_effect": "Cures.",
+                    "language": {"name": "en"}}],
+                 "generation": {"name": "generation-iii", "url": "https://pokeapi.co/api/v2/generation/3/"}}
+                """),
+                "natural-cure");
+
+        assertEquals(30,
+                detail.getId());
+        assertEquals("Cures on switch.",
+                detail.getEffect());
+        assertEquals("Cures.",
+                detail.getShortEffect());
+        assertEquals("generation-iii",
+                detail.getGeneration().getName());
+    }
+
+    /**
+     * Tests the parsing of the expansion names.
+     */
+    @Test
+    public void testParseExpansions() {
+        assertEquals(EnumSet.allOf(Expansion.class),
+                Expansion.parse(List.of("Abilities", " items", "")));
+    }
+}
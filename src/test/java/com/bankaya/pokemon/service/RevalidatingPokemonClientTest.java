@@ -0,0 +1,289 @@
+package com.bankaya.pokemon.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bankaya.pokemon.catalog.HeapPokemonRecordStorage;
+import com.bankaya.pokemon.catalog.OffHeapPokemonRecordStorage;
+import com.bankaya.pokemon.catalog.PokemonCatalogStore;
+import com.bankaya.pokemon.config.RevalidationProperties;
+import com.bankaya.pokemon.dto.PokemonDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * Test class for {@link RevalidatingPokemonClient}.
+ * <p>
+ * A local HTTP server plays the PokeAPI and honors the validators: {@code pikachu} (id 25) is
+ * served with an {@code ETag} and {@code raichu} (id 26) with a {@code Last-Modified} only. Both
+ * change version when {@link #version} is incremented.
+ * </p>
+ *
+ * @see RevalidatingPokemonClient
+ */
+public class RevalidatingPokemonClientTest {
+
+    /** {@code Last-Modified} of the first version. */
+    private static final String LAST_MODIFIED = "Wed, 01 Jan 2025 00:00:00 GMT";
+
+    /** Local server playing the PokeAPI. */
+    private HttpServer server;
+
+    /** Current version of the resources. */
+    private final AtomicInteger version = new AtomicInteger(1);
+
+    /** Status of every response sent by the server. */
+    private final List<Integer> statuses = new CopyOnWriteArrayList<>();
+
+    /** Revalidation configuration. */
+    private final RevalidationProperties properties = new RevalidationProperties();
+
+    /** Catalog holding the fetched Pokemon. */
+    private PokemonCatalogStore store;
+
+    /** Registry of the client metrics. */
+    private SimpleMeterRegistry registry;
+
+    /** Client under test. */
+    private RevalidatingPokemonClient client;
+
+    /** Released before the server answers, when set. */
+    private volatile CountDownLatch release;
+
+    /** Length of the body of pikachu. */
+    private int bodyLength;
+
+    /**
+     * Starts the local server and creates the client.
+     *
+     * @throws IOException If the server cannot be started.
+     */
+    @BeforeEach
+    public void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v2/pokemon/",
+                this::respond);
+        server.start();
+        store = new PokemonCatalogStore(new HeapPokemonRecordStorage());
+        client = new RevalidatingPokemonClient(store, properties, HttpClient.create(),
+                new ObjectMapper(),
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/api/v2");
+        registry = new SimpleMeterRegistry();
+        client.bindTo(registry);
+    }
+
+    /**
+     * Stops the local server.
+     */
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    /**
+     * Tests that an unchanged resource is revalidated without downloading it again.
+     */
+    @Test
+    public void testNotModifiedByEtag() {
+        client.fetch("pikachu").block();
+        properties.setTtl(Duration.ZERO);
+
+        assertEquals(0,
+                client.revalidateExpired().block());
+        assertEquals(List.of(200, 304),
+                statuses);
+        assertEquals(1,
+                count("pokemon.upstream.revalidation.not.modified"));
+        assertEquals(bodyLength,
+                count("pokemon.upstream.revalidation.saved"));
+        assertEquals(100,
+                store.find("pikachu").get().getBaseExperience());
+    }
+
+    /**
+     * Tests that a new version replaces the catalog record.
+     */
+    @Test
+    public void testModified() {
+        client.fetch("pikachu").block();
+        version.incrementAndGet();
+
+        assertTrue(client.revalidate(25).block());
+        assertEquals(List.of(200, 200),
+                statuses);
+        assertEquals(200,
+                store.find("pikachu").get().getBaseExperience());
+        assertEquals(1,
+                count("pokemon.upstream.revalidation.modified"));
+
+        assertFalse(client.revalidate(25).block());
+        assertEquals(304,
+                statuses.get(2));
+    }
+
+    /**
+     * Tests that {@code Last-Modified} is used when there is no {@code ETag}.
+     */
+    @Test
+    public void testNotModifiedByDate() {
+        client.fetch("26").block();
+
+        assertFalse(client.revalidate(26).block());
+        assertEquals(List.of(200, 304),
+                statuses);
+    }
+
+    /**
+     * Tests that fresh records are not revalidated, and evicted ones no longer.
+     */
+    @Test
+    public void testFreshAndEvicted() {
+        client.fetch("pikachu").block();
+
+        assertEquals(0,
+                client.revalidateExpired().block());
+        assertEquals(1,
+                statuses.size());
+
+        client.onRemove(25);
+        assertFalse(client.isRevalidated(25));
+    }
+
+    /**
+     * Tests that concurrent fetches of the same Pokemon share a single download, and that every
+     * caller gets its own copy of the record.
+     *
+     * @throws Exception If the fetches fail or time out.
+     */
+    @Test
+    public void testConcurrentFetchesShareDownload() throws Exception {
+        release = new CountDownLatch(1);
+        CompletableFuture<PokemonDto> first = client.fetch("pikachu").toFuture();
+        CompletableFuture<PokemonDto> second = client.fetch("Pikachu").toFuture();
+        release.countDown();
+
+        assertEquals(25,
+                first.get(5,
+                        TimeUnit.SECONDS).getId());
+        assertEquals(first.get(),
+                second.get(5,
+                        TimeUnit.SECONDS));
+        assertNotSame(first.get(),
+                second.get());
+        assertEquals(List.of(200),
+                statuses);
+
+        client.fetch("pikachu").block();
+        assertEquals(List.of(200, 200),
+                statuses);
+    }
+
+    /**
+     * Tests that the validators of a record rejected by the catalog storage are not kept.
+     */
+    @Test
+    public void testRejectedRecordIsNotRevalidated() {
+        PokemonCatalogStore rejecting = new PokemonCatalogStore(new OffHeapPokemonRecordStorage(
+                new ObjectMapper(),
+                1));
+        RevalidatingPokemonClient rejectingClient = new RevalidatingPokemonClient(rejecting,
+                properties,
+                HttpClient.create(),
+                new ObjectMapper(),
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/api/v2");
+
+        assertEquals(25,
+                rejectingClient.fetch("pikachu").block().getId());
+        assertFalse(rejecting.contains(25));
+        assertFalse(rejectingClient.isRevalidated(25));
+        assertFalse(rejectingClient.revalidate(25).block());
+        assertEquals(List.of(200),
+                statuses);
+    }
+
+    /**
+     * Serves a Pokemon, honoring the validators of the request.
+     *
+     * @param exchange The exchange.
+     * @throws IOException If the response cannot be written.
+     */
+    private void respond(HttpExchange exchange) throws IOException {
+        CountDownLatch latch = release;
+        if (latch != null) {
+            try {
+                latch.await(5,
+                        TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        String path = exchange.getRequestURI().getPath();
+        boolean pikachu = path.endsWith("/pikachu") || path.endsWith("/25");
+        String etag = "\"v" + version.get() + "\"";
+        String lastModified = version.get() == 1 ? LAST_MODIFIED
+                : "Thu, 02 Jan 2025 00:00:00 GMT";
+        boolean notModified = pikachu ? etag.equals(exchange.getRequestHeaders().getFirst(
+                "If-None-Match"))
+                : lastModified.equals(exchange.getRequestHeaders().getFirst(
+                        "If-Modified-Since"));
+        if (pikachu) {
+            exchange.getResponseHeaders().add("ETag",
+                    etag);
+        } else {
+            exchange.getResponseHeaders().add("Last-Modified",
+                    lastModified);
+        }
+        if (notModified) {
+            statuses.add(304);
+            exchange.sendResponseHeaders(304,
+                    -1);
+            exchange.close();
+            return;
+        }
+        byte[] bytes = ("{\"id\": " + (pikachu ? 25 : 26) + ", \"name\": \""
+                + (pikachu ? "pikachu" : "raichu") + "\", \"base_experience\": "
+                + version.get() * 100 + ", \"order\": 35, \"abilities\": []}")
+                .getBytes(StandardCharsets.UTF_8);
+        if (pikachu) {
+            bodyLength = bytes.length;
+        }
+        statuses.add(200);
+        exchange.getResponseHeaders().add("Content-Type",
+                "application/json");
+        exchange.sendResponseHeaders(200,
+                bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    /**
+     * Reads a counter of the client.
+     *
+     * @param name The counter name.
+     * @return The count.
+     */
+    private double count(String name) {
+        return registry.get(name).functionCounter().count();
+    }
+}